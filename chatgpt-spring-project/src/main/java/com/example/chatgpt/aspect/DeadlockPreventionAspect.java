@@ -1,72 +1,124 @@
 package com.example.chatgpt.aspect;
 
+import com.example.chatgpt.util.ConflictRetry;
+import com.example.chatgpt.util.KeyedLockRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * 전역 데드락 방지 AOP
+ * 데드락 방지 AOP (행사/팀 단위 락 + 충돌 재시도)
+ * - 메서드 인자에서 eventCode/teamCode를 찾아 해당 키의 락만 획득 (다른 팀과는 병렬 실행)
+ * - 인자 이름이 eventCode/teamCode이거나, 요청 DTO의 getEventCode()/getTeamCode() 사용
+ * - 키가 없거나 readOnly/NOT_SUPPORTED 이면 락 없이 실행, 중첩 호출은 가장 바깥 락을 그대로 사용
+ * - 낙관적 락 충돌/데드락은 @RetryOnConflict 가 붙은 DB 전용 메서드만 ConflictRetry로 새 트랜잭션에서 재시도
+ * - 트랜잭션 인터셉터보다 바깥에서 실행 (락은 커밋 이후 해제, 재시도마다 새 트랜잭션)
  */
 @Component
 @Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+@RequiredArgsConstructor
 @Slf4j
 public class DeadlockPreventionAspect {
-    
-    // 전역 락 (모든 DB 작업을 순차적으로 처리)
-    private static final Object GLOBAL_DB_LOCK = new Object();
-    
+
+    private final KeyedLockRegistry keyedLockRegistry;
+    private final ConflictRetry conflictRetry;
+
+    // 요청 DTO 클래스별 키 접근자 캐시
+    private final Map<Class<?>, Optional<Method>> eventCodeGetters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<Method>> teamCodeGetters = new ConcurrentHashMap<>();
+
     /**
-     * @Transactional 어노테이션이 있는 모든 메서드에 데드락 방지 적용
+     * @Transactional 어노테이션이 있는 모든 메서드에 행사/팀 락 적용
      */
     @Around("@annotation(transactional)")
     public Object preventDeadlock(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        
-        boolean isLongRunning = methodName.contains("ChatGpt") || 
-                methodName.contains("generate") || 
-                className.contains("BusinessPlan");
-        
-        synchronized(GLOBAL_DB_LOCK) {
-            try {
-                log.debug("데드락 방지 Lock 획득: {}.{}", className, methodName);
-                
-                if (isLongRunning) {
-                    // 긴 작업에는 별도 처리 (Lock 없이)
-                    log.debug("긴 작업 감지, Lock 우회: {}.{}", className, methodName);
-                    return joinPoint.proceed();
-                } else {
-                    return joinPoint.proceed();
-                }
-                
-            } catch (Exception e) {
-                if (isDeadlockException(e)) {
-                    log.warn("데드락 감지됨, 재시도: {}.{} - {}", className, methodName, e.getMessage());
-                    
-                    // 랜덤 지연 후 재시도
-                    Thread.sleep(100 + (long)(Math.random() * 200));
-                    return joinPoint.proceed();
-                }
-                throw e;
-                
-            } finally {
-                log.debug("데드락 방지 Lock 해제: {}.{}", className, methodName);
-            }
+        if (isNonTransactional(transactional)) {
+            return joinPoint.proceed();
+        }
+        if (transactional.readOnly() || !keyedLockRegistry.isEnabled() || keyedLockRegistry.isHeldByCurrentThread()) {
+            return proceedWithRetry(joinPoint);
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Integer eventCode = findKey(signature, joinPoint.getArgs(), "eventCode", eventCodeGetters);
+        Integer teamCode = findKey(signature, joinPoint.getArgs(), "teamCode", teamCodeGetters);
+
+        try (KeyedLockRegistry.Handle ignored = keyedLockRegistry.acquire(eventCode, teamCode)) {
+            log.debug("행사/팀 락 획득: {}.{} (event: {}, team: {})",
+                      signature.getDeclaringType().getSimpleName(), signature.getName(), eventCode, teamCode);
+            return proceedWithRetry(joinPoint);
         }
     }
-    
+
     /**
-     * 데드락 관련 예외인지 확인
+     * 가장 바깥 트랜잭션만 충돌 재시도 (이미 진행 중인 트랜잭션 안에서는 재시도해도 같은 결과)
+     * - 메서드 전체를 다시 실행하므로 @RetryOnConflict 로 DB 전용임을 표시한 메서드만 재시도
      */
-    private boolean isDeadlockException(Throwable e) {
-        String message = e.getMessage();
-        if (message == null) return false;
-        
-        return message.toLowerCase().contains("deadlock") ||
-               message.contains("1213") ||  // MySQL 데드락 에러 코드
-               message.contains("40001");   // SQL State 데드락
+    private Object proceedWithRetry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !isRetryable(joinPoint)) {
+            return joinPoint.proceed();
+        }
+        return conflictRetry.call(joinPoint.getSignature().toShortString(), joinPoint::proceed);
+    }
+
+    private boolean isRetryable(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return method.isAnnotationPresent(RetryOnConflict.class);
+    }
+
+    /**
+     * 트랜잭션 없이 실행되는 메서드 (LLM 호출 후 내부에서 짧은 트랜잭션을 직접 여는 흐름, 락/재시도는 TransactionRunner 담당)
+     */
+    private boolean isNonTransactional(Transactional transactional) {
+        return transactional.propagation() == Propagation.NOT_SUPPORTED
+                || transactional.propagation() == Propagation.NEVER;
+    }
+
+    /**
+     * 락 키 탐색 (같은 이름의 Integer 인자 → 요청 DTO getter 순)
+     */
+    private Integer findKey(MethodSignature signature, Object[] args, String name,
+                            Map<Class<?>, Optional<Method>> getterCache) {
+        String[] parameterNames = signature.getParameterNames();
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (name.equals(parameterNames[i]) && args[i] instanceof Integer key) {
+                    return key;
+                }
+            }
+        }
+
+        for (Object arg : args) {
+            if (arg == null || BeanUtils.isSimpleValueType(arg.getClass())) {
+                continue;
+            }
+            Optional<Method> getter = getterCache.computeIfAbsent(arg.getClass(), type -> Optional
+                    .ofNullable(ReflectionUtils.findMethod(type, "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1)))
+                    .filter(method -> method.getReturnType() == Integer.class));
+            if (getter.isPresent()) {
+                Object key = ReflectionUtils.invokeMethod(getter.get(), arg);
+                if (key != null) {
+                    return (Integer) key;
+                }
+            }
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.example.chatgpt.aspect;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌/데드락 시 메서드 전체 재시도 허용 (DeadlockPreventionAspect)
+ * - DB 작업만 하는 @Transactional 메서드에만 사용 (LLM 호출 등 외부 호출이 있으면 재시도마다 다시 호출됨)
+ * - LLM 호출이 있는 흐름은 TransactionRunner.write 로 쓰기 단계만 재시도
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,35 @@
+package com.example.chatgpt.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 비동기 작업(async_job) 설정
+ * - 작업 큐는 DB 테이블, 인스턴스마다 고정 개수 워커로 실행
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.job")
+@Data
+@Slf4j
+public class AsyncJobConfig {
+    private Integer workerThreads = 4;          // 인스턴스당 동시 실행 작업 수
+    private Long pollIntervalMs = 1000L;        // 대기 작업 확인 주기
+    private Long heartbeatMs = 15000L;          // 실행 중 작업 heartbeat 주기
+    private Long staleAfterMs = 90000L;         // heartbeat가 이 시간 이상 끊기면 중단된 작업으로 보고 재실행
+    private Integer maxAttempts = 3;            // 최초 실행 포함 최대 실행 횟수
+    private Long retryBackoffMs = 5000L;        // 일시적 오류 재시도 대기 (회차마다 2배)
+    private Long shutdownWaitMs = 5000L;        // 종료 시 중단된 작업을 대기 상태로 되돌릴 때까지 기다리는 시간
+
+    @PostConstruct
+    public void init() {
+        log.info("=== Async Job Configuration ===");
+        log.info("워커: {}개, 확인 주기: {}ms, heartbeat: {}ms, 중단 판정: {}ms",
+                 workerThreads, pollIntervalMs, heartbeatMs, staleAfterMs);
+        log.info("최대 실행: {}회, 재시도 대기: {}ms~, 종료 대기: {}ms", maxAttempts, retryBackoffMs, shutdownWaitMs);
+        log.info("===============================");
+    }
+}
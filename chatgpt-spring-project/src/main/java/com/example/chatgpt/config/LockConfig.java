@@ -0,0 +1,45 @@
+package com.example.chatgpt.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 동시성 제어 설정
+ * - 행사/팀 락: 키(eventCode/teamCode)를 고정 개수 스트라이프로 해시, 인스턴스 내 경합만 줄이는 용도
+ * - 정합성은 DB(@Version 낙관적 락, 원자적 UPDATE)가 보장, 충돌 시 지수 백오프 + 지터로 재시도
+ * - 관리자 일괄 작업은 DB 리스(job_lease)로 인스턴스 간 중복 실행 방지
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.lock")
+@Data
+@Slf4j
+public class LockConfig {
+    private Boolean enabled = true;         // false면 락 없이 실행 (DB 락에만 의존)
+    private Integer eventStripes = 64;      // 행사 락 스트라이프 수
+    private Integer teamStripes = 256;      // 팀 락 스트라이프 수
+    private Long waitTimeoutMs = 60000L;    // 락 대기 최대 시간 (초과 시 예외)
+    
+    // 낙관적 락 충돌/데드락 재시도
+    private Integer conflictMaxAttempts = 4;    // 최초 시도 포함 최대 시도 횟수
+    private Long conflictBackoffMs = 50L;       // 첫 재시도 기준 대기 (회차마다 2배)
+    private Long conflictMaxBackoffMs = 1000L;  // 재시도 대기 상한
+    
+    // 관리자 일괄 작업 리스 (인스턴스 간)
+    private Long leaseTtlMs = 120000L;          // 리스 유효 시간 (heartbeat 없이 이 시간이 지나면 다른 인스턴스가 인수)
+    private Long leaseHeartbeatMs = 30000L;     // 리스 연장 주기
+
+    @PostConstruct
+    public void init() {
+        log.info("=== Concurrency Configuration ===");
+        log.info("행사/팀 락: {} (스트라이프 행사 {}, 팀 {}, 최대 대기 {}ms)",
+                 enabled, eventStripes, teamStripes, waitTimeoutMs);
+        log.info("충돌 재시도: 최대 {}회, 백오프 {}ms ~ {}ms (지터)",
+                 conflictMaxAttempts, conflictBackoffMs, conflictMaxBackoffMs);
+        log.info("작업 리스: 유효 {}ms, 연장 주기 {}ms", leaseTtlMs, leaseHeartbeatMs);
+        log.info("=================================");
+    }
+}
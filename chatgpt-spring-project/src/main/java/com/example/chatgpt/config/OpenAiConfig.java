@@ -17,6 +17,52 @@ public class OpenAiConfig {
     private String model;
     private Double temperature;
     private Integer maxTokens;
+    private Integer contextWindowTokens = 128000; // 모델 컨텍스트 윈도우 (프롬프트 + 응답)
+    private Boolean jsonModeEnabled = true;     // 모델이 response_format(json_object)을 지원하는지
+    
+    // Rate Limit 대기 설정 (x-ratelimit-* 헤더 기반)
+    private Long rateLimitMaxWaitMs = 30000L;   // 허가 대기 최대 시간
+    private Integer rateLimitMaxQueue = 200;    // 동시에 대기 가능한 호출 수
+    private Integer rateLimitRetries = 1;       // 429 수신 시 재시도 횟수
+    
+    // 호출 스케줄러 (우선순위 클래스 + 행사별 공정 분배)
+    private Integer schedulerMaxConcurrent = 8; // 동시에 진행하는 OpenAI 호출 수
+    
+    // 지출 제출 시 재무제표 완성 + 역량 분석을 한 번의 호출로 처리 (false면 2회 순차 호출)
+    private Boolean combinedExpenseAnalysis = true;
+    
+    // 호출 타임아웃 (응답이 오지 않는 호출을 실패로 처리)
+    private Long callTimeoutMs = 120000L;
+    
+    // 서킷 브레이커 (호출 위치별, 열리면 즉시 기본값 폴백)
+    private Boolean circuitEnabled = true;
+    private Integer circuitWindowSize = 20;             // 판정 대상 최근 호출 수
+    private Integer circuitMinimumCalls = 5;            // 판정 시작 최소 호출 수
+    private Integer circuitFailureRateThreshold = 50;   // 실패율 임계치 (%)
+    private Long circuitSlowCallMs = 60000L;            // 느린 호출 기준
+    private Integer circuitSlowCallRateThreshold = 80;  // 느린 호출 비율 임계치 (%)
+    private Long circuitOpenMs = 30000L;                // OPEN 유지 시간 (냉각)
+    private Integer circuitHalfOpenProbes = 2;          // HALF_OPEN 탐침 호출 수
+    
+    // 비용 메트릭 단가 (USD / 100만 토큰)
+    private Double promptPricePerMillion = 0.15;
+    private Double completionPricePerMillion = 0.60;
+    
+    // 녹화/재생 (off | record | replay)
+    private String recordMode = "off";
+    private String recordDir = "./openai-recordings";
+    
+    // 응답 캐시 설정
+    private Boolean cacheEnabled = true;        // 메모리 캐시 사용 여부
+    private Boolean cacheDbEnabled = false;     // llm_response_cache 테이블 사용 여부
+    private Integer cacheMaxEntries = 1000;     // 메모리 캐시 최대 개수
+    private Long cacheTtlMinutes = 1440L;       // 캐시 유효 시간 (분)
+    
+    // 비동기/스트리밍 응답 타임아웃 (Mono/Flux/SSE 엔드포인트)
+    private Long asyncRequestTimeoutMs = 300000L;
+    
+    // Stage6 국가별 사업계획서 생성 제한 시간 (국가당, 재시도 포함)
+    private Long countryPlanTimeoutMs = 240000L;
     
     @PostConstruct
     public void init() {
@@ -25,6 +71,20 @@ public class OpenAiConfig {
         log.info("Model: {}", model);
         log.info("Temperature: {}", temperature);
         log.info("Max Tokens: {}", maxTokens);
+        log.info("Context Window: {} tokens", contextWindowTokens);
+        log.info("JSON 모드: {}", jsonModeEnabled);
+        log.info("Rate Limit 최대 대기: {}ms, 대기열: {}, 429 재시도: {}", rateLimitMaxWaitMs, rateLimitMaxQueue, rateLimitRetries);
+        log.info("호출 스케줄러 동시 실행: {}", schedulerMaxConcurrent);
+        log.info("지출 통합 분석(1회 호출): {}", combinedExpenseAnalysis);
+        log.info("호출 타임아웃: {}ms", callTimeoutMs);
+        log.info("서킷 브레이커: {} (최근 {}건, 실패율 {}%, 느린 호출 {}ms/{}%, OPEN {}ms, 탐침 {}건)",
+                 circuitEnabled, circuitWindowSize, circuitFailureRateThreshold, circuitSlowCallMs,
+                 circuitSlowCallRateThreshold, circuitOpenMs, circuitHalfOpenProbes);
+        log.info("토큰 단가 (USD/1M): 프롬프트 {}, 응답 {}", promptPricePerMillion, completionPricePerMillion);
+        log.info("녹화/재생 모드: {} ({})", recordMode, recordDir);
+        log.info("응답 캐시: {} (DB: {}, 최대 {}개, TTL {}분)", cacheEnabled, cacheDbEnabled, cacheMaxEntries, cacheTtlMinutes);
+        log.info("비동기/스트리밍 응답 타임아웃: {}ms", asyncRequestTimeoutMs);
+        log.info("국가별 사업계획서 생성 제한 시간: {}ms", countryPlanTimeoutMs);
         
         if (key == null || key.isEmpty() || key.equals("your-api-key-here")) {
             log.error("⚠️  OpenAI API Key가 설정되지 않았습니다!");
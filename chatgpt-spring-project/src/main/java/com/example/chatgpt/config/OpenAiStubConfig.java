@@ -0,0 +1,50 @@
+package com.example.chatgpt.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * OpenAI 스텁 서버 설정 (openai-stub 프로필 전용)
+ * - 지연 시간은 로그정규분포 (중앙값 + sigma, 최대값으로 절단)
+ * - 분당 요청/토큰 한도를 넘기거나 확률적으로 429 응답
+ */
+@Configuration
+@Profile("openai-stub")
+@ConfigurationProperties(prefix = "openai.stub")
+@Data
+@Slf4j
+public class OpenAiStubConfig {
+    // 응답 지연 (로그정규분포)
+    private Long latencyMedianMs = 800L;        // 지연 시간 중앙값
+    private Double latencySigma = 0.5;          // 로그 표준편차 (0이면 고정 지연)
+    private Long latencyMaxMs = 10000L;         // 지연 시간 상한
+    private Long streamChunkDelayMs = 20L;      // 스트리밍 조각 간 지연
+    
+    // 토큰 수
+    private Integer genericCompletionTokens = 400; // 기본(마크다운) 응답 길이
+    
+    // 429 주입
+    private Double rateLimitProbability = 0.0;  // 무작위 429 확률 (0.0 ~ 1.0)
+    private Integer retryAfterSeconds = 1;      // 429 응답의 retry-after
+    private Integer requestsPerMinute = 0;      // 분당 요청 한도 (0 = 무제한)
+    private Integer tokensPerMinute = 0;        // 분당 토큰 한도 (0 = 무제한)
+    
+    // 응답 본문 재정의 디렉터리 (파일명이 같으면 classpath 기본값 대신 사용)
+    private String cannedDir;
+    
+    @PostConstruct
+    public void init() {
+        log.info("=== OpenAI Stub Configuration ===");
+        log.info("지연: 중앙값 {}ms, sigma {}, 최대 {}ms, 스트리밍 조각 {}ms",
+                 latencyMedianMs, latencySigma, latencyMaxMs, streamChunkDelayMs);
+        log.info("429 주입: 확률 {}, retry-after {}초, 분당 요청 {}, 분당 토큰 {}",
+                 rateLimitProbability, retryAfterSeconds, requestsPerMinute, tokensPerMinute);
+        log.info("응답 재정의 디렉터리: {}", cannedDir);
+        log.info("=================================");
+    }
+}
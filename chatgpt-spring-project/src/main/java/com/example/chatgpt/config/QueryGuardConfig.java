@@ -0,0 +1,29 @@
+package com.example.chatgpt.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 요청당 SQL 실행 수 감시 설정 (N+1 회귀 감지)
+ * - 개발/테스트 환경에서 켜고, failOnExceed=true 이면 한도를 넘는 순간 요청을 실패시킴
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.query-guard")
+@Data
+@Slf4j
+public class QueryGuardConfig {
+    private Boolean enabled = false;            // 요청당 SQL 수 집계 여부
+    private Integer maxStatements = 30;         // 요청 하나에서 허용하는 SQL 실행 수
+    private Boolean failOnExceed = false;       // true: 초과 시 예외, false: 경고 로그 + 메트릭만
+
+    @PostConstruct
+    public void init() {
+        log.info("=== Query Guard Configuration ===");
+        log.info("요청당 SQL 감시: {} (한도 {}개, 초과 시 {})", enabled, maxStatements, failOnExceed ? "실패" : "경고");
+        log.info("=================================");
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.chatgpt.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 랜덤 퀴즈/돌발질문 샘플링 인덱스 설정
+ * - 질문 ID만 메모리에 올려 두고 뽑은 뒤 ID로 한 건만 조회 (ORDER BY RAND() / 카테고리 전체 조회 제거)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.question-sampling")
+@Data
+@Slf4j
+public class QuestionSamplingConfig {
+    private Long refreshMs = 300000L;           // ID 인덱스 재적재 주기 (백그라운드, 질문 테이블 변경 + 다른 인스턴스의 답변 반영)
+    private Boolean excludeAnswered = true;     // 돌발질문: 팀이 이미 답한 질문 제외 (모두 답했으면 전체에서 선택)
+
+    @PostConstruct
+    public void init() {
+        log.info("=== Question Sampling Configuration ===");
+        log.info("ID 인덱스 재적재 주기: {}ms, 답변한 돌발질문 제외: {}", refreshMs, excludeAnswered);
+        log.info("=======================================");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.chatgpt.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 요약보기 일괄처리 매출 산정 설정
+ * - map-reduce: 팀을 샤드로 나눠 공통 기준으로 병렬 채점 → 서버에서 점수를 매출 범위로 환산
+ * - 비활성화 시 전체 팀을 한 번의 호출로 매출 배정 (팀 수가 많으면 응답이 잘릴 수 있음)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.revenue-scoring")
+@Data
+@Slf4j
+public class RevenueScoringConfig {
+    private Boolean mapReduceEnabled = true;    // 샤드 병렬 채점 사용 여부
+    private Integer shardSize = 10;             // 호출 1회당 채점할 팀 수
+    private Integer shardAttempts = 2;          // 샤드별 최대 호출 횟수 (누락된 팀만 다시 채점)
+    private Long minRevenue = 20000000L;        // 최소 매출 (2천만원)
+    private Long maxRevenue = 500000000L;       // 최대 매출 (5억원)
+    private Double spreadRatio = 0.30;          // 평균 대비 최대 차이 (±30%)
+
+    @PostConstruct
+    public void init() {
+        log.info("=== Revenue Scoring Configuration ===");
+        log.info("map-reduce: {} (샤드 {}팀, 최대 {}회 호출)", mapReduceEnabled, shardSize, shardAttempts);
+        log.info("매출 범위: {}원 ~ {}원, 차이 ±{}", minRevenue, maxRevenue, spreadRatio);
+        log.info("=====================================");
+    }
+}
@@ -60,6 +60,7 @@ public class SecurityConfig {
                                 "/api/capability/**",                // 기업역량 API
                                 "/api/upload",                       // 파일 업로드
                                 "/api/analyze/**",                   // 사업계획서 분석
+                                "/api/jobs/**",                      // 비동기 작업 상태 조회
                                 "/api/save-answers",                 // 답변 저장
                                 "/api/classify-cost",                // 비용 분류
                                 "/api/classify-stage-costs",         // Stage별 비용 분류
@@ -90,6 +91,7 @@ public class SecurityConfig {
                                 // ✅ 개발/테스트용 (운영에서는 제거 고려)
                                 "/api/**",                           // 모든 API (개발용)
                                 "/h2-console/**",                    // H2 DB 콘솔 (개발용)
+                                "/openai-stub/**",                   // OpenAI 스텁 서버 (openai-stub 프로필)
                                 "/actuator/**"                       // Spring Boot Actuator
                         ).permitAll()
                         .anyRequest().authenticated()
@@ -0,0 +1,30 @@
+package com.example.chatgpt.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 스레드 실행 모드 설정
+ * - spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리와 @Async 기본 실행기는 Spring Boot가 가상 스레드로 구성
+ * - LLM 병렬 호출(fan-out)용 실행기도 같은 설정을 따름 (동시 호출 수는 OpenAiScheduler 슬롯이 제한)
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @Bean(name = "llmFanOutExecutor", destroyMethod = "close")
+    public ExecutorService llmFanOutExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("LLM 병렬 호출 실행기: 가상 스레드");
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        log.info("LLM 병렬 호출 실행기: 플랫폼 스레드");
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name("llm-fan-out-", 0).daemon(true).factory());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.chatgpt.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 비동기 응답(Mono/Flux/SSE) 설정
+ * - 서블릿 컨테이너 기본 타임아웃(30초)으로는 긴 LLM 생성/스트리밍이 끊기므로 별도 지정
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+
+    private final OpenAiConfig openAiConfig;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(openAiConfig.getAsyncRequestTimeoutMs());
+    }
+}
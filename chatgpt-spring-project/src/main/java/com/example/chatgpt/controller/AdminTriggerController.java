@@ -2,11 +2,16 @@ package com.example.chatgpt.controller;
 
 import com.example.chatgpt.common.dto.RespDto;
 import com.example.chatgpt.service.AdminTriggerService;
+import com.example.chatgpt.service.AsyncJobService;
+import com.example.chatgpt.util.QuestionSamplingIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequiredArgsConstructor
 @Slf4j
@@ -14,35 +19,56 @@ import org.springframework.web.bind.annotation.*;
 public class AdminTriggerController {
     
     private final AdminTriggerService adminTriggerService;
+    private final AsyncJobService asyncJobService;
+    private final QuestionSamplingIndex questionSamplingIndex;
     
     /**
-     * 관리자 트리거 API - 요약보기 일괄처리
+     * 관리자 트리거 API - 요약보기 일괄처리 (비동기 작업으로 접수, 202 + jobId)
      * 1. event.summary_view_process 업데이트 (현재 스테이지 + 1)
      * 2. 해당 행사/스테이지의 모든 팀 매출 생성
      * 3. 팀별 순위 생성
+     * - 중복 클릭/재시도는 새로 시작하지 않고 진행 중인 작업을 그대로 반환
      */
     @PostMapping("/api/admin/trigger/summary-view/{eventCode}/{stage}")
-    public ResponseEntity<RespDto<String>> triggerSummaryView(
+    public ResponseEntity<RespDto<Map<String, Object>>> triggerSummaryView(
             @PathVariable("eventCode") Integer eventCode,
             @PathVariable("stage") Integer stage) {
         
         try {
             log.info("관리자 트리거 요청 - eventCode: {}, stage: {}", eventCode, stage);
             
-            String result = adminTriggerService.triggerSummaryViewProcess(eventCode, stage);
+            AsyncJobService.Submitted submitted = adminTriggerService.submitSummaryView(eventCode, stage);
             
-            return ResponseEntity.ok(RespDto.success("요약보기 일괄처리 완료", result));
-            
-        } catch (RuntimeException e) {
-            log.warn("트리거 처리 실패: {}", e.getMessage());
-            return ResponseEntity.ok(RespDto.fail(e.getMessage()));
+            Map<String, Object> job = asyncJobService.toView(submitted.job());
+            job.put("duplicate", submitted.duplicate());
+            String message = submitted.duplicate() ? "이미 진행 중인 요약보기 일괄처리가 있습니다." : "요약보기 일괄처리 접수";
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(RespDto.success(message, job));
             
         } catch (Exception e) {
-            log.error("트리거 처리 중 오류 발생", e);
+            log.error("트리거 접수 중 오류 발생", e);
             return ResponseEntity.ok(RespDto.fail("처리 중 오류가 발생했습니다."));
         }
     }
     
+    /**
+     * 관리자 트리거 API - 요약보기 일괄처리 실행 상태
+     * GET /api/admin/trigger/summary-view/{eventCode}/{stage}/status
+     */
+    @GetMapping("/api/admin/trigger/summary-view/{eventCode}/{stage}/status")
+    public ResponseEntity<RespDto<Map<String, Object>>> getSummaryViewStatus(
+            @PathVariable("eventCode") Integer eventCode,
+            @PathVariable("stage") Integer stage) {
+        
+        try {
+            Map<String, Object> status = adminTriggerService.getSummaryViewProcessStatus(eventCode, stage);
+            return ResponseEntity.ok(RespDto.success("실행 상태 조회 완료", status));
+            
+        } catch (Exception e) {
+            log.error("실행 상태 조회 중 오류 발생", e);
+            return ResponseEntity.ok(RespDto.fail("실행 상태 조회 중 오류가 발생했습니다."));
+        }
+    }
+    
     /**
      * Stage1 전용 트리거 API - summary_view_process만 업데이트 (매출/지출 처리 없음)
      * POST /api/admin/trigger/summary-view/stage1/{eventCode}
@@ -94,4 +120,16 @@ public class AdminTriggerController {
         }
     }
     
+    /**
+     * 관리자 트리거 API - 퀴즈/돌발질문 ID 인덱스 재적재
+     * - 질문은 DB에 직접 적재하므로, 새로 넣은 질문을 재적재 주기 전에 바로 출제하려면 호출
+     * POST /api/admin/trigger/question-index/reload
+     */
+    @PostMapping("/api/admin/trigger/question-index/reload")
+    public ResponseEntity<RespDto<String>> reloadQuestionIndex() {
+        log.info("질문 ID 인덱스 재적재 요청");
+        questionSamplingIndex.invalidate();
+        return ResponseEntity.ok(RespDto.success("질문 ID 인덱스 재적재 예약", "다음 출제 요청 시 다시 적재합니다."));
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.chatgpt.controller;
+
+import com.example.chatgpt.common.dto.RespDto;
+import com.example.chatgpt.service.AsyncJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AsyncJobController {
+
+    private final AsyncJobService asyncJobService;
+
+    /**
+     * 비동기 작업 상태/진행 상황/결과 조회
+     * GET /api/jobs/{jobId}
+     * - status: PENDING | RUNNING | SUCCEEDED | FAILED, 완료 시 result, 실패 시 error
+     */
+    @GetMapping("/api/jobs/{jobId}")
+    public ResponseEntity<RespDto<Map<String, Object>>> getJob(@PathVariable("jobId") String jobId) {
+        return asyncJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(RespDto.success("작업 상태 조회 완료", asyncJobService.toView(job))))
+                .orElseGet(() -> ResponseEntity.status(404).body(RespDto.fail("작업을 찾을 수 없습니다. jobId: " + jobId)));
+    }
+}
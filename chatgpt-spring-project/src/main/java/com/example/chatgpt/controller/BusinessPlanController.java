@@ -3,15 +3,13 @@ package com.example.chatgpt.controller;
 import com.example.chatgpt.config.OpenAiConfig;
 import com.example.chatgpt.service.AdminRevenueDistributionService;
 import com.example.chatgpt.entity.FinancialStatement;
-import com.example.chatgpt.entity.GroupSummary;
-import com.example.chatgpt.entity.StageSummary;
+import com.example.chatgpt.service.AsyncJobService;
 import com.example.chatgpt.service.BusinessPlanAnalyzer;
+import com.example.chatgpt.service.BusinessPlanJobService;
 import com.example.chatgpt.service.CostClassificationService;
 import com.example.chatgpt.service.ExcelLoaderService;
 import com.example.chatgpt.service.FileProcessingService;
 import com.example.chatgpt.service.FinancialStatementService;
-import com.example.chatgpt.service.GroupSummaryService;
-import com.example.chatgpt.service.StageSummaryService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -38,13 +36,13 @@ public class BusinessPlanController {
     private final ExcelLoaderService excelLoaderService;
     private final CostClassificationService costClassificationService;
     private final FinancialStatementService financialStatementService;
-    private final StageSummaryService stageSummaryService;
     private final AdminRevenueDistributionService adminRevenueDistributionService;
-    private final GroupSummaryService groupSummaryService;
+    private final BusinessPlanJobService businessPlanJobService;
     
     private static final int MAX_TEXT_LENGTH = 50000;
     private static final boolean ENABLE_IMAGE_EXTRACTION = true;
 
+
     @GetMapping("/")
     public String index() {
         return "business-plan";
@@ -252,37 +250,14 @@ public class BusinessPlanController {
 
             log.info("팀 {} Stage {} 질문 생성 요청 (eventCode: {})", teamCode, stage, eventCode);
 
-            Map<String, Object> analysisResult = businessPlanAnalyzer.generateQuestionsAndSave(
-                eventCode,
-                teamCode,
-                stage,
-                previousAnswers
-            );
+            // 질문 생성은 비동기 작업으로 접수 (결과는 /api/jobs/{jobId})
+            AsyncJobService.Submitted submitted = businessPlanJobService.submitQuestionGeneration(
+                eventCode, teamCode, stage, previousAnswers);
 
-            response.put("success", true);
             response.put("stage", stage);
             response.put("teamCode", teamCode);
             response.put("eventCode", eventCode);
-            response.put("data", analysisResult);
-
-            return ResponseEntity.ok(response);
-
-        } catch (RuntimeException e) {
-            log.error("Stage {} 질문 생성 중 오류 발생", stage, e);
-
-            String errorMessage = e.getMessage();
-
-            if (errorMessage != null && errorMessage.contains("429")) {
-                response.put("success", false);
-                response.put("message", "⏰ OpenAI 요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
-                response.put("hint", "무료 계정은 분당 3회 제한이 있습니다.");
-                response.put("errorType", "RATE_LIMIT");
-                return ResponseEntity.status(429).body(response);
-            }
-
-            response.put("success", false);
-            response.put("message", "질문 생성 중 오류가 발생했습니다: " + errorMessage);
-            return ResponseEntity.internalServerError().body(response);
+            return jobAccepted(submitted, response);
 
         } catch (Exception e) {
             log.error("Stage {} 질문 생성 중 예상치 못한 오류 발생", stage, e);
@@ -397,49 +372,21 @@ public class BusinessPlanController {
             // 지출 입력 정보 조회 
             List<Map<String, Object>> userExpenseInputs = getUserExpenseInputs(eventCode, teamCode, stage, session);
             
-            // 3. ✅ ChatGPT 메모리에 그룹 정보 저장
-            try {
-                adminRevenueDistributionService.storeGroupSummaryInChatGPT(
-                    eventCode, teamCode, stage, 
-                    businessPlan, stageAnswers, userExpenseInputs
-                );
-                
-                log.info("팀 {} Stage {} ChatGPT 메모리 저장 완료", teamCode, stage);
-                
-            } catch (Exception e) {
-                log.warn("팀 {} Stage {} ChatGPT 메모리 저장 실패 (진행은 계속): {}", teamCode, stage, e.getMessage());
-            }
-            
-            // 4. ✅ 새로 추가: group_summary 테이블에 핵심정보 저장
-            try {
-                GroupSummary savedSummary = groupSummaryService.saveGroupSummary(
-                    eventCode, teamCode, stage, 
-                    businessPlan, stageAnswers, userExpenseInputs
-                );
-                
-                log.info("팀 {} Stage {} 그룹 요약 DB 저장 완료 - summaryId: {}", 
-                         teamCode, stage, savedSummary.getSummaryId());
-                
-                response.put("groupSummaryId", savedSummary.getSummaryId());
-                
-            } catch (Exception e) {
-                log.warn("팀 {} Stage {} 그룹 요약 DB 저장 실패 (진행은 계속): {}", teamCode, stage, e.getMessage());
-            }
+            // 3. ChatGPT 메모리 저장 + group_summary 저장은 비동기 작업으로 접수 (세션 정보는 payload로 전달)
+            AsyncJobService.Submitted submitted = businessPlanJobService.submitStoreStageAnswers(
+                eventCode, teamCode, stage, businessPlan, stageAnswers, userExpenseInputs);
             
-            // 5. 대화 히스토리 업데이트
+            // 4. 대화 히스토리 업데이트
             updateConversationHistory(session, teamCode, stage, stageAnswers);
             
-            // 6. 응답 구성
-            response.put("success", true);
+            // 5. 응답 구성 (저장 결과는 /api/jobs/{jobId})
             response.put("message", String.format("Stage %d 답변이 완료되었습니다.", stage));
             response.put("nextStep", "summary");
             response.put("stageStep", stage);
             response.put("teamCode", teamCode);
             response.put("answersCount", stageAnswers.size());
-            response.put("chatGptMemoryStored", true);
-            response.put("groupSummaryStored", true);  // ✅ 추가
             
-            return ResponseEntity.ok(response);
+            return jobAccepted(submitted, response);
             
         } catch (Exception e) {
             log.error("Stage {} 답변 완료 처리 실패", stage, e);
@@ -461,6 +408,7 @@ public class BusinessPlanController {
         try {
             String question = request.get("question");
             String answer = request.get("answer");
+            Integer eventCode = request.get("eventCode") != null ? Integer.valueOf(request.get("eventCode")) : null;
             
             if (question == null || answer == null) {
                 response.put("success", false);
@@ -470,7 +418,7 @@ public class BusinessPlanController {
             
             log.info("비용 분류 요청: Q={}, A={}", question, answer);
             
-            Map<String, Object> classification = costClassificationService.classifyExpense(question, answer);
+            Map<String, Object> classification = costClassificationService.classifyExpense(eventCode, question, answer);
             
             response.put("success", true);
             response.put("classification", classification);
@@ -506,7 +454,7 @@ public class BusinessPlanController {
             log.info("Stage 비용 분류 요청: {}개 답변", questionsAndAnswers.size());
             
             List<Map<String, Object>> classifications = 
-                costClassificationService.classifyMultipleExpenses(questionsAndAnswers);
+                costClassificationService.classifyMultipleExpenses((Integer) request.get("eventCode"), questionsAndAnswers);
             
             Map<String, Object> totalCost = 
                 costClassificationService.calculateTotalCost(classifications);
@@ -593,7 +541,7 @@ public class BusinessPlanController {
                 FinancialStatement financialStatement = financialStatementService.updateFinancialStatement(
                     teamCode, eventCode, stage, businessPlan, stageAnswers, userExpenseInputs);
                 
-                response.put("financialStatement", formatFinancialStatementSummary(financialStatement));
+                response.put("financialStatement", businessPlanJobService.formatFinancialStatementSummary(financialStatement));
             }
             
             response.put("success", true);
@@ -628,28 +576,15 @@ public class BusinessPlanController {
             Map<String, Object> stageAnswers = (Map<String, Object>) request.get("stageAnswers");
             List<Map<String, Object>> userExpenseInputs = (List<Map<String, Object>>) request.get("userExpenseInputs");
             
-            log.info("Stage {} 통합 완료 처리 시작 - teamCode: {}", stage, teamCode);
+            log.info("Stage {} 통합 완료 처리 접수 - teamCode: {}", stage, teamCode);
             
-            // 1. Stage 요약본 생성 (모든 Stage)
-            StageSummary summary = stageSummaryService.generateStageSummary(
-                eventCode, teamCode, stage, businessPlan, stageAnswers);
+            // 요약본 + 재무제표 생성은 비동기 작업으로 접수 (결과는 /api/jobs/{jobId})
+            AsyncJobService.Submitted submitted = businessPlanJobService.submitCompleteStageIntegrated(
+                eventCode, teamCode, stage, businessPlan, stageAnswers, userExpenseInputs);
             
-            response.put("summary", formatSummaryResponse(summary));
-            
-            // 2. Stage 2 이상일 때만 재무제표 처리
-            if (stage >= 2) {
-                FinancialStatement financialStatement = financialStatementService.updateFinancialStatement(
-                    teamCode, eventCode, stage, businessPlan, stageAnswers, userExpenseInputs);
-                
-                response.put("financialStatement", formatFinancialStatementSummary(financialStatement));
-            }
-            
-            response.put("success", true);
-            response.put("message", "Stage " + stage + " 완료");
             response.put("nextStage", stage + 1);
             response.put("stageType", stage == 1 ? "SUMMARY_ONLY" : "SUMMARY_AND_FINANCIAL");
-            
-            return ResponseEntity.ok(response);
+            return jobAccepted(submitted, response);
             
         } catch (Exception e) {
             log.error("Stage {} 통합 완료 처리 실패", stage, e);
@@ -718,6 +653,19 @@ public class BusinessPlanController {
     // Private Helper Methods
     // ================================================================================================
     
+    /**
+     * 비동기 작업 접수 응답 (202 + jobId, 이미 진행 중인 같은 작업이면 그 작업 정보)
+     */
+    private ResponseEntity<Map<String, Object>> jobAccepted(AsyncJobService.Submitted submitted, Map<String, Object> response) {
+        response.put("success", true);
+        response.put("jobId", submitted.job().getJobId());
+        response.put("jobStatus", submitted.job().getStatus());
+        response.put("progress", submitted.job().getProgress());
+        response.put("statusUrl", "/api/jobs/" + submitted.job().getJobId());
+        response.put("duplicate", submitted.duplicate());
+        return ResponseEntity.accepted().body(response);
+    }
+    
     /**
      * 사용자 지출 입력 정보 조회
      */
@@ -764,50 +712,6 @@ public class BusinessPlanController {
         session.setAttribute(historyKey, history);
     }
     
-    /**
-     * 재무제표 요약 정보 (Stage 완료 시 보여줄 정보)
-     */
-    private Map<String, Object> formatFinancialStatementSummary(FinancialStatement fs) {
-        Map<String, Object> summary = new HashMap<>();
-        
-        summary.put("stageStep", fs.getStageStep());
-        summary.put("remainingCash", String.format("%,d만원", fs.getCashAndDeposits()));
-        summary.put("monthlyRevenue", String.format("%,d만원", fs.getRevenue()));
-        summary.put("monthlyExpenses", String.format("%,d만원", 
-            (fs.getSgnaExpenses() != null ? fs.getSgnaExpenses() : 0) + 
-            (fs.getRndExpenses() != null ? fs.getRndExpenses() : 0)));
-        summary.put("netIncome", String.format("%,d만원", fs.getNetIncome()));
-        summary.put("fsScore", fs.getFsScore() + "점");
-        
-        // 현금 경고
-        if (fs.getCashAndDeposits() < 10000) { // 1억 미만
-            summary.put("cashWarning", "⚠️ 현금이 부족합니다! 대출을 고려하세요.");
-        }
-        
-        return summary;
-    }
-
-    /**
-     * 요약본 응답 포맷 (간단한 버전)
-     */
-    private Map<String, Object> formatSummaryResponse(StageSummary summary) {
-        Map<String, Object> formatted = new HashMap<>();
-        
-        formatted.put("summaryCode", summary.getSummaryCode());
-        formatted.put("stageStep", summary.getStageStep());
-        formatted.put("textLength", summary.getSummaryText() != null ? summary.getSummaryText().length() : 0);
-        formatted.put("createdAt", summary.getCreatedAt());
-        
-        // 요약본 미리보기 (첫 150자)
-        if (summary.getSummaryText() != null && summary.getSummaryText().length() > 150) {
-            formatted.put("preview", summary.getSummaryText().substring(0, 150) + "...");
-        } else {
-            formatted.put("preview", summary.getSummaryText());
-        }
-        
-        return formatted;
-    }
-    
     /**
      * 스테이지 완료 상태 확인
      */
@@ -1,5 +1,7 @@
 package com.example.chatgpt.controller;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.example.chatgpt.dto.OpenAiDto;
 import com.example.chatgpt.service.DataProcessingService;
 import com.example.chatgpt.service.OpenAiService;
@@ -7,6 +9,7 @@ import com.example.chatgpt.service.PromptTemplateService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -24,45 +27,77 @@ public class ChatGptController {
      * 단순 채팅
      */
     @PostMapping("/chat")
-    public ResponseEntity<Map<String, String>> chat(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<Map<String, String>>> chat(@RequestBody Map<String, String> request) {
         String prompt = request.get("prompt");
-        String response = openAiService.chat(prompt);
-        return ResponseEntity.ok(Map.of("response", response));
+        return openAiService.chatAsync(prompt, ChatOptions.of(CallSite.DIRECT_CHAT))
+                .map(response -> ResponseEntity.ok(Map.of("response", response)));
     }
 
     /**
      * 시스템 메시지와 함께 채팅
      */
     @PostMapping("/chat/system")
-    public ResponseEntity<Map<String, String>> chatWithSystem(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<Map<String, String>>> chatWithSystem(@RequestBody Map<String, String> request) {
         String systemMessage = request.get("systemMessage");
         String userMessage = request.get("userMessage");
-        String response = openAiService.chatWithSystem(systemMessage, userMessage);
-        return ResponseEntity.ok(Map.of("response", response));
+        return openAiService.chatWithSystemAsync(systemMessage, userMessage, ChatOptions.of(CallSite.DIRECT_CHAT))
+                .map(response -> ResponseEntity.ok(Map.of("response", response)));
     }
 
     /**
      * 전체 응답 정보 (토큰 사용량 포함)
      */
     @PostMapping("/chat/full")
-    public ResponseEntity<OpenAiDto.ChatResponse> chatWithFullResponse(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<OpenAiDto.ChatResponse>> chatWithFullResponse(@RequestBody Map<String, String> request) {
         String prompt = request.get("prompt");
-        OpenAiDto.ChatResponse response = openAiService.chatWithFullResponse(prompt);
-        return ResponseEntity.ok(response);
+        return openAiService.chatWithFullResponseAsync(prompt, ChatOptions.of(CallSite.DIRECT_CHAT))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 응답 캐시 통계 (적중/미스)
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(openAiService.getCacheStats());
+    }
+
+    /**
+     * 동일 요청 합치기 통계 (실행/합류 건수)
+     */
+    @GetMapping("/coalescing/stats")
+    public ResponseEntity<Map<String, Object>> coalescingStats() {
+        return ResponseEntity.ok(openAiService.getCoalescingStats());
+    }
+
+    /**
+     * 호출 스케줄러 통계 (우선순위 클래스별 대기 건수/대기 시간)
+     */
+    @GetMapping("/scheduler/stats")
+    public ResponseEntity<Map<String, Object>> schedulerStats() {
+        return ResponseEntity.ok(openAiService.getSchedulerStats());
+    }
+
+    /**
+     * 서킷 브레이커 상태 (호출 위치별 상태/실패율/폴백 건수)
+     */
+    @GetMapping("/circuit/stats")
+    public ResponseEntity<Map<String, Object>> circuitStats() {
+        return ResponseEntity.ok(openAiService.getCircuitStats());
     }
 
     /**
      * 텍스트 요약
      */
     @PostMapping("/summarize")
-    public ResponseEntity<Map<String, String>> summarize(@RequestBody Map<String, Object> request) {
+    public Mono<ResponseEntity<Map<String, String>>> summarize(@RequestBody Map<String, Object> request) {
         String text = (String) request.get("text");
         Integer maxLength = (Integer) request.getOrDefault("maxLength", 200);
         
         String prompt = promptTemplateService.createSummarizationPrompt(text, maxLength);
-        String response = openAiService.chat(prompt);
         
-        return ResponseEntity.ok(Map.of("summary", response));
+        return openAiService.chatAsync(prompt, ChatOptions.of(CallSite.DIRECT_CHAT))
+                .map(response -> ResponseEntity.ok(Map.of("summary", response)));
     }
 
     /**
@@ -143,44 +178,44 @@ public class ChatGptController {
      * 코드 생성
      */
     @PostMapping("/code/generate")
-    public ResponseEntity<Map<String, String>> generateCode(@RequestBody Map<String, Object> request) {
+    public Mono<ResponseEntity<Map<String, String>>> generateCode(@RequestBody Map<String, Object> request) {
         String language = (String) request.get("language");
         String description = (String) request.get("description");
         @SuppressWarnings("unchecked")
         List<String> requirements = (List<String>) request.getOrDefault("requirements", List.of());
         
         String prompt = promptTemplateService.createCodeGenerationPrompt(language, description, requirements);
-        String code = openAiService.chat(prompt);
         
-        return ResponseEntity.ok(Map.of("code", code));
+        return openAiService.chatAsync(prompt, ChatOptions.of(CallSite.DIRECT_CHAT))
+                .map(code -> ResponseEntity.ok(Map.of("code", code)));
     }
 
     /**
      * 번역
      */
     @PostMapping("/translate")
-    public ResponseEntity<Map<String, String>> translate(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<Map<String, String>>> translate(@RequestBody Map<String, String> request) {
         String text = request.get("text");
         String sourceLang = request.getOrDefault("sourceLang", "한국어");
         String targetLang = request.getOrDefault("targetLang", "영어");
         
         String prompt = promptTemplateService.createTranslationPrompt(text, sourceLang, targetLang);
-        String translation = openAiService.chat(prompt);
         
-        return ResponseEntity.ok(Map.of("translation", translation));
+        return openAiService.chatAsync(prompt, ChatOptions.of(CallSite.DIRECT_CHAT))
+                .map(translation -> ResponseEntity.ok(Map.of("translation", translation)));
     }
 
     /**
      * 감정 분석
      */
     @PostMapping("/sentiment")
-    public ResponseEntity<Map<String, String>> analyzeSentiment(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<Map<String, String>>> analyzeSentiment(@RequestBody Map<String, String> request) {
         String text = request.get("text");
         
         String prompt = promptTemplateService.createSentimentAnalysisPrompt(text);
-        String analysis = openAiService.chat(prompt);
         
-        return ResponseEntity.ok(Map.of("analysis", analysis));
+        return openAiService.chatAsync(prompt, ChatOptions.of(CallSite.DIRECT_CHAT))
+                .map(analysis -> ResponseEntity.ok(Map.of("analysis", analysis)));
     }
 
     /**
@@ -5,6 +5,7 @@ import com.example.chatgpt.common.dto.PaginationDto;
 import com.example.chatgpt.dto.event.reqDto.EventCreateUpdateReqDto;
 import com.example.chatgpt.dto.event.reqDto.EventDeleteReqDto;
 import com.example.chatgpt.dto.event.respDto.EventCreateUpdateRespDto;
+import com.example.chatgpt.dto.event.respDto.EventCursorListRespDto;
 import com.example.chatgpt.dto.event.respDto.EventDeleteRespDto;
 import com.example.chatgpt.dto.event.respDto.EventListRespDto;
 import com.example.chatgpt.dto.event.respDto.EventProcessCheckRespDto;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -160,13 +162,8 @@ public class EventController {
             // 이벤트 목록 조회
             Page<Event> eventPage = eventService.getEventList(status, startDate, endDate, eventName, page, size);
             
-            // 각 이벤트의 팀 수 조회 및 DTO 변환
-            List<EventListRespDto.EventItem> eventItems = eventPage.getContent().stream()
-                .map(event -> {
-                    Integer teamCount = eventService.getTeamCountByEventCode(event.getEventCode());
-                    return EventListRespDto.EventItem.from(event, teamCount);
-                })
-                .collect(Collectors.toList());
+            // 페이지 이벤트들의 팀 수 일괄 조회 및 DTO 변환
+            List<EventListRespDto.EventItem> eventItems = toEventItems(eventPage.getContent());
             
             // 페이지네이션 정보
             PaginationDto pagination = PaginationDto.from(eventPage);
@@ -200,12 +197,7 @@ public class EventController {
         try {
             Page<Event> eventPage = eventService.getInProgressEvents(page, size);
             
-            List<EventListRespDto.EventItem> eventItems = eventPage.getContent().stream()
-                .map(event -> {
-                    Integer teamCount = eventService.getTeamCountByEventCode(event.getEventCode());
-                    return EventListRespDto.EventItem.from(event, teamCount);
-                })
-                .collect(Collectors.toList());
+            List<EventListRespDto.EventItem> eventItems = toEventItems(eventPage.getContent());
             
             EventListRespDto responseData = EventListRespDto.builder()
                 .content(eventItems)
@@ -232,12 +224,7 @@ public class EventController {
         try {
             Page<Event> eventPage = eventService.getCompletedEvents(page, size);
             
-            List<EventListRespDto.EventItem> eventItems = eventPage.getContent().stream()
-                .map(event -> {
-                    Integer teamCount = eventService.getTeamCountByEventCode(event.getEventCode());
-                    return EventListRespDto.EventItem.from(event, teamCount);
-                })
-                .collect(Collectors.toList());
+            List<EventListRespDto.EventItem> eventItems = toEventItems(eventPage.getContent());
             
             EventListRespDto responseData = EventListRespDto.builder()
                 .content(eventItems)
@@ -264,12 +251,7 @@ public class EventController {
         try {
             Page<Event> eventPage = eventService.getRecentEvents(page, size);
             
-            List<EventListRespDto.EventItem> eventItems = eventPage.getContent().stream()
-                .map(event -> {
-                    Integer teamCount = eventService.getTeamCountByEventCode(event.getEventCode());
-                    return EventListRespDto.EventItem.from(event, teamCount);
-                })
-                .collect(Collectors.toList());
+            List<EventListRespDto.EventItem> eventItems = toEventItems(eventPage.getContent());
             
             EventListRespDto responseData = EventListRespDto.builder()
                 .content(eventItems)
@@ -284,6 +266,46 @@ public class EventController {
         }
     }
     
+    /**
+     * 이벤트 이력 조회 (키셋 페이지네이션, event_at/event_code 내림차순)
+     * GET /api/v1/events/history?status={status}&cursorEventAt={eventAt}&cursorEventCode={eventCode}&size={size}
+     * - 첫 페이지는 커서 없이 요청, 이후 응답의 nextCursorEventAt/nextCursorEventCode 전달
+     */
+    @GetMapping("/events/history")
+    public RespDto<EventCursorListRespDto> getEventHistory(
+            @RequestParam(value = "status", required = false) Integer status,
+            @RequestParam(value = "cursorEventAt", required = false) String cursorEventAt,
+            @RequestParam(value = "cursorEventCode", required = false) Integer cursorEventCode,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        
+        try {
+            List<Event> events = eventService.getEventsAfterCursor(status, cursorEventAt, cursorEventCode, size);
+            Map<Integer, Integer> teamCounts = eventService.getTeamCountsByEvents(events);
+            
+            EventCursorListRespDto responseData = EventCursorListRespDto.from(events, size, teamCounts);
+            
+            return RespDto.success("행사 이력 조회 성공", responseData);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("행사 이력 조회 검증 실패: {}", e.getMessage());
+            return RespDto.fail(e.getMessage());
+            
+        } catch (Exception e) {
+            log.error("행사 이력 조회 실패", e);
+            return RespDto.fail("행사 이력 조회 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 이벤트 목록 → 응답 항목 (팀 수는 GROUP BY 1회로 일괄 조회)
+     */
+    private List<EventListRespDto.EventItem> toEventItems(List<Event> events) {
+        Map<Integer, Integer> teamCounts = eventService.getTeamCountsByEvents(events);
+        return events.stream()
+            .map(event -> EventListRespDto.EventItem.from(event, teamCounts.getOrDefault(event.getEventCode(), 0)))
+            .collect(Collectors.toList());
+    }
+    
     /**
      * 행사별 프로세스 값 조회 API
      * GET /api/v1/events/process?eventCode={eventCode}
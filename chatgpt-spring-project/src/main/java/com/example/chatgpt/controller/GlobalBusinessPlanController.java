@@ -24,7 +24,7 @@ public class GlobalBusinessPlanController {
      * 국가별 사업계획서 생성
      * 
      * @param country 국가 코드 (USA, CHINA, JAPAN)
-     * @param request 요청 본문 (originalText, stageAnswers)
+     * @param request 요청 본문 (originalText, stageAnswers, eventCode 선택)
      * @return 생성된 사업계획서
      */
     @PostMapping("/global-business-plan/{country}")
@@ -48,6 +48,7 @@ public class GlobalBusinessPlanController {
             
             // 국가별 사업계획서 생성
             String businessPlan = globalBusinessPlanService.generateGlobalBusinessPlan(
+                (Integer) request.get("eventCode"),
                 country.toUpperCase(), 
                 originalText, 
                 stageAnswers
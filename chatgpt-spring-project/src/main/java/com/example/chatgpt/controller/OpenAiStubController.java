@@ -0,0 +1,145 @@
+package com.example.chatgpt.controller;
+
+import com.example.chatgpt.config.OpenAiStubConfig;
+import com.example.chatgpt.dto.OpenAiDto;
+import com.example.chatgpt.service.OpenAiStubResponder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * OpenAI 호환 스텁 서버 (openai-stub 프로필 전용, 부하 테스트용)
+ * POST /openai-stub/v1/chat/completions
+ * - 실제 API 대신 지연 시간/토큰 수/429를 재현하며 고정 응답 반환
+ * - stream: true 요청은 SSE 청크 + [DONE]
+ */
+@RestController
+@Profile("openai-stub")
+@RequiredArgsConstructor
+@Slf4j
+public class OpenAiStubController {
+
+    private static final int STREAM_CHUNK_CHARS = 8;
+
+    private final OpenAiStubConfig stubConfig;
+    private final OpenAiStubResponder stubResponder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @PostMapping("/openai-stub/v1/chat/completions")
+    public ResponseEntity<ResponseBodyEmitter> chatCompletions(@RequestBody OpenAiDto.ChatRequest request) {
+        String content = stubResponder.createContent(request);
+        OpenAiDto.Usage usage = stubResponder.usage(request, content);
+        int maxTokens = request.getMaxTokens() != null ? request.getMaxTokens() : 0;
+        OpenAiStubResponder.Admission admission = stubResponder.admit(usage.getPromptTokens() + maxTokens);
+
+        if (!admission.allowed()) {
+            ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+            send(emitter, Map.of("error", Map.of(
+                "message", "Rate limit reached (stub)",
+                "type", "requests",
+                "code", "rate_limit_exceeded")));
+            emitter.complete();
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .headers(admission.headers())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(emitter);
+        }
+
+        long latencyMs = stubResponder.sampleLatencyMs();
+        String id = "chatcmpl-stub-" + UUID.randomUUID();
+        long timeoutMs = latencyMs + stubConfig.getLatencyMaxMs()
+                + (long) content.length() / STREAM_CHUNK_CHARS * stubConfig.getStreamChunkDelayMs();
+
+        if (Boolean.TRUE.equals(request.getStream())) {
+            SseEmitter emitter = new SseEmitter(timeoutMs);
+            boolean includeUsage = request.getStreamOptions() != null
+                    && Boolean.TRUE.equals(request.getStreamOptions().getIncludeUsage());
+            streamChunks(emitter, id, request.getModel(), content, includeUsage ? usage : null, latencyMs);
+            return ResponseEntity.ok().headers(admission.headers()).body(emitter);
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        OpenAiDto.ChatResponse response = new OpenAiDto.ChatResponse(
+            id, "chat.completion", System.currentTimeMillis() / 1000, request.getModel(),
+            List.of(new OpenAiDto.Choice(0, new OpenAiDto.Message("assistant", content), "stop")),
+            usage);
+
+        Mono.delay(Duration.ofMillis(latencyMs))
+                .subscribe(tick -> {
+                    send(emitter, response);
+                    emitter.complete();
+                }, emitter::completeWithError);
+
+        return ResponseEntity.ok()
+                .headers(admission.headers())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(emitter);
+    }
+
+    /**
+     * 첫 토큰까지 latencyMs 대기 후 일정 간격으로 청크 전송
+     * - usage가 있으면 (stream_options.include_usage) [DONE] 직전에 사용량 청크 전송
+     */
+    private void streamChunks(SseEmitter emitter, String id, String model, String content,
+                              OpenAiDto.Usage usage, long latencyMs) {
+        int chunkCount = (content.length() + STREAM_CHUNK_CHARS - 1) / STREAM_CHUNK_CHARS;
+
+        Flux.range(0, chunkCount)
+                .map(i -> content.substring(i * STREAM_CHUNK_CHARS, Math.min(content.length(), (i + 1) * STREAM_CHUNK_CHARS)))
+                .delayElements(Duration.ofMillis(stubConfig.getStreamChunkDelayMs()))
+                .delaySubscription(Duration.ofMillis(latencyMs))
+                .subscribe(
+                    piece -> sendEvent(emitter, toJson(new OpenAiDto.ChatChunk(id, model, List.of(
+                        new OpenAiDto.ChunkChoice(0, new OpenAiDto.Message("assistant", piece), null)), null))),
+                    emitter::completeWithError,
+                    () -> {
+                        sendEvent(emitter, toJson(new OpenAiDto.ChatChunk(id, model, List.of(
+                            new OpenAiDto.ChunkChoice(0, new OpenAiDto.Message(null, null), "stop")), null)));
+                        if (usage != null) {
+                            sendEvent(emitter, toJson(new OpenAiDto.ChatChunk(id, model, List.of(), usage)));
+                        }
+                        sendEvent(emitter, "[DONE]");
+                        emitter.complete();
+                    });
+    }
+
+    private void send(ResponseBodyEmitter emitter, Object body) {
+        try {
+            emitter.send(body, MediaType.APPLICATION_JSON);
+        } catch (Exception e) {
+            log.debug("스텁 응답 전송 실패 (클라이언트 연결 종료): {}", e.getMessage());
+        }
+    }
+
+    private void sendEvent(SseEmitter emitter, String data) {
+        try {
+            emitter.send(SseEmitter.event().data(data));
+        } catch (Exception e) {
+            log.debug("스텁 스트리밍 전송 실패 (클라이언트 연결 종료): {}", e.getMessage());
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
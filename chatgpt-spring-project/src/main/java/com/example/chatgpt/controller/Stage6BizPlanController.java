@@ -8,17 +8,24 @@ import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizplanDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizplanGlobalizeDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizplanGlobalizeListRespDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizplanListRespDto;
-import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6CountryBizPlanRespDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6CountryBizPlanViewRespDto;
+import com.example.chatgpt.service.AsyncJobService;
 import com.example.chatgpt.service.Stage6BizPlanService;
+import com.example.chatgpt.util.SseEvents;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,6 +34,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class Stage6BizPlanController {
     
     private final Stage6BizPlanService stage6BizPlanService;
+    private final AsyncJobService asyncJobService;
     
     /**
      * Stage6 사업계획서 목록 조회 API
@@ -133,57 +141,90 @@ public class Stage6BizPlanController {
      * POST /api/v1/stage6/bizplan/globalize
      */
     @PostMapping("/api/v1/stage6/bizplan/globalize")
-    public ResponseEntity<RespDto<String>> generateGlobalBizPlan(
+    public Mono<ResponseEntity<RespDto<String>>> generateGlobalBizPlan(
             @RequestBody Stage6BizPlanGlobalizeReqDto request) {
         
-        try {
-            log.info("글로벌 사업계획서 생성 요청 - eventCode: {}, teamCode: {}", 
-                     request.getEventCode(), request.getTeamCode());
-            
-            // 글로벌 사업계획서 생성
-            String globalizedContent = stage6BizPlanService.generateGlobalBizPlan(
-                request.getEventCode(), request.getTeamCode());
-            
-            return ResponseEntity.ok(RespDto.success("글로벌 사업계획서 생성 완료", globalizedContent));
-            
-        } catch (RuntimeException e) {
-            log.warn("글로벌화 실패: {}", e.getMessage());
-            return ResponseEntity.ok(RespDto.fail(e.getMessage()));
-            
-        } catch (Exception e) {
-            log.error("글로벌 사업계획서 생성 중 오류 발생", e);
-            return ResponseEntity.ok(RespDto.fail("글로벌화 처리 중 예상치 못한 오류가 발생했습니다: " + e.getMessage()));
-        }
+        log.info("글로벌 사업계획서 생성 요청 - eventCode: {}, teamCode: {}", 
+                 request.getEventCode(), request.getTeamCode());
+        
+        // 글로벌 사업계획서 생성 (LLM 대기 중 요청 스레드 반환)
+        return stage6BizPlanService.generateGlobalBizPlanAsync(request.getEventCode(), request.getTeamCode())
+                .map(globalizedContent -> ResponseEntity.ok(RespDto.success("글로벌 사업계획서 생성 완료", globalizedContent)))
+                .onErrorResume(e -> {
+                    log.warn("글로벌화 실패: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.ok(RespDto.fail(e.getMessage())));
+                });
     }
     
     /**
-     * 3단계: 미중일 국가별 사업계획서 생성 API
+     * 3단계: 미중일 국가별 사업계획서 생성 API (비동기 작업으로 접수, 202 + jobId)
      * POST /api/v1/stage6/bizplan/generate-countries
+     * - 결과는 GET /api/jobs/{jobId} 의 result
      */
     @PostMapping("/api/v1/stage6/bizplan/generate-countries")
-    public ResponseEntity<RespDto<Stage6CountryBizPlanRespDto>> generateCountryBizPlans(
+    public ResponseEntity<RespDto<Map<String, Object>>> generateCountryBizPlans(
             @RequestBody Stage6CountryBizPlanReqDto request) {
         
         try {
             log.info("미중일 국가별 사업계획서 생성 요청 - eventCode: {}, teamCode: {}", 
                      request.getEventCode(), request.getTeamCode());
             
-            // 미중일 국가별 사업계획서 생성
-            Stage6CountryBizPlanRespDto result = stage6BizPlanService.generateCountryBizPlans(
+            AsyncJobService.Submitted submitted = stage6BizPlanService.submitCountryBizPlans(
                 request.getEventCode(), request.getTeamCode());
             
-            return ResponseEntity.ok(RespDto.success("미중일 국가별 사업계획서 생성 완료", result));
+            Map<String, Object> job = asyncJobService.toView(submitted.job());
+            job.put("duplicate", submitted.duplicate());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(RespDto.success("미중일 국가별 사업계획서 생성 접수", job));
+            
+        } catch (Exception e) {
+            log.error("국가별 사업계획서 생성 접수 중 오류 발생", e);
+            return ResponseEntity.ok(RespDto.fail("국가별 사업계획서 생성 접수 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 미중일 국가별 사업계획서 생성 진행 상황 API
+     * GET /api/v1/stage6/bizplan/generate-countries/status?eventCode=1&teamCode=5
+     * - 국가별 status: NOT_STARTED / PENDING / RUNNING / SAVED / FAILED / TIMEOUT
+     */
+    @GetMapping("/api/v1/stage6/bizplan/generate-countries/status")
+    public ResponseEntity<RespDto<Map<String, Object>>> getCountryBizPlanStatus(
+            @RequestParam("eventCode") Integer eventCode,
+            @RequestParam("teamCode") Integer teamCode) {
+        
+        try {
+            Map<String, Object> status = stage6BizPlanService.getCountryBizPlanStatus(eventCode, teamCode);
+            return ResponseEntity.ok(RespDto.success("국가별 사업계획서 진행 상황 조회 완료", status));
             
         } catch (RuntimeException e) {
-            log.warn("국가별 사업계획서 생성 실패: {}", e.getMessage());
+            log.warn("국가별 사업계획서 진행 상황 조회 실패: {}", e.getMessage());
             return ResponseEntity.ok(RespDto.fail(e.getMessage()));
             
         } catch (Exception e) {
-            log.error("미중일 국가별 사업계획서 생성 중 오류 발생", e);
-            return ResponseEntity.ok(RespDto.fail("국가별 사업계획서 생성 중 예상치 못한 오류가 발생했습니다: " + e.getMessage()));
+            log.error("국가별 사업계획서 진행 상황 조회 중 오류 발생", e);
+            return ResponseEntity.ok(RespDto.fail("진행 상황 조회 중 오류가 발생했습니다."));
         }
     }
     
+    /**
+     * 국가별 사업계획서 스트리밍 생성 API (SSE)
+     * POST /api/v1/stage6/bizplan/generate-countries/{country}/stream  (country: usa, china, japan)
+     * - event: token(사업계획서 조각) / done(저장 완료) / error
+     */
+    @PostMapping(value = "/api/v1/stage6/bizplan/generate-countries/{country}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamCountryBizPlan(
+            @PathVariable("country") String country,
+            @RequestBody Stage6CountryBizPlanReqDto request) {
+        
+        log.info("국가별 사업계획서 스트리밍 요청 - country: {}, eventCode: {}, teamCode: {}", 
+                 country, request.getEventCode(), request.getTeamCode());
+        
+        return SseEvents.fromTokens(
+            stage6BizPlanService.streamCountryBizPlan(request.getEventCode(), request.getTeamCode(), country),
+            country.toUpperCase() + " 사업계획서 생성 완료");
+    }
+    
     /**
      * 미국 사업계획서 조회 API
      * GET /api/v1/stage6/bizplan/usa
@@ -13,10 +13,15 @@ import com.example.chatgpt.dto.surprisequestion.respDto.SurpriseQuestionSubjecti
 import com.example.chatgpt.dto.surprisequestion.respDto.SurpriseQuestionSubjectiveAnswerRespDto;
 import com.example.chatgpt.service.SurpriseQuestionService;
 import com.example.chatgpt.service.SurpriseQuestionAnswerService;
+import com.example.chatgpt.util.SseEvents;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -86,26 +91,19 @@ public class SurpriseQuestionController {
      * POST /api/v1/surprise-question/submit-answer
      */
     @PostMapping("/api/v1/surprise-question/submit-answer")
-    public ResponseEntity<RespDto<SurpriseQuestionSelectionRespDto>> submitSurpriseQuestionAnswer(
+    public Mono<ResponseEntity<RespDto<SurpriseQuestionSelectionRespDto>>> submitSurpriseQuestionAnswer(
             @RequestBody SurpriseQuestionSelectionReqDto request) {
         
-        try {
-            log.info("객관식 돌발질문 답변 제출 API 요청 - sqCode: {}, teamCode: {}, answer: {}", 
-                     request.getSqCode(), request.getTeamCode(), request.getSqAnswer());
-            
-            // 답변 제출 및 AI 피드백 생성
-            SurpriseQuestionSelectionRespDto result = surpriseQuestionAnswerService.submitSurpriseQuestionAnswer(request);
-            
-            return ResponseEntity.ok(RespDto.success("객관식 돌발질문 답변 제출 및 AI 피드백 생성 완료", result));
-            
-        } catch (RuntimeException e) {
-            log.warn("객관식 돌발질문 답변 제출 실패: {}", e.getMessage());
-            return ResponseEntity.ok(RespDto.fail(e.getMessage()));
-            
-        } catch (Exception e) {
-            log.error("객관식 돌발질문 답변 제출 중 예상치 못한 오류 발생", e);
-            return ResponseEntity.ok(RespDto.fail("객관식 돌발질문 답변 제출 중 예상치 못한 오류가 발생했습니다: " + e.getMessage()));
-        }
+        log.info("객관식 돌발질문 답변 제출 API 요청 - sqCode: {}, teamCode: {}, answer: {}", 
+                 request.getSqCode(), request.getTeamCode(), request.getSqAnswer());
+        
+        // 답변 제출 및 AI 피드백 생성 (LLM 대기 중 요청 스레드 반환)
+        return surpriseQuestionAnswerService.submitSurpriseQuestionAnswerAsync(request)
+                .map(result -> ResponseEntity.ok(RespDto.success("객관식 돌발질문 답변 제출 및 AI 피드백 생성 완료", result)))
+                .onErrorResume(e -> {
+                    log.warn("객관식 돌발질문 답변 제출 실패: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.ok(RespDto.fail(e.getMessage())));
+                });
     }
     
     /**
@@ -113,27 +111,51 @@ public class SurpriseQuestionController {
      * POST /api/v1/surprise-question-subjective/submit-answer
      */
     @PostMapping("/api/v1/surprise-question-subjective/submit-answer")
-    public ResponseEntity<RespDto<SurpriseQuestionSubjectiveAnswerRespDto>> submitSubjectiveSurpriseQuestionAnswer(
+    public Mono<ResponseEntity<RespDto<SurpriseQuestionSubjectiveAnswerRespDto>>> submitSubjectiveSurpriseQuestionAnswer(
             @RequestBody SurpriseQuestionSubjectiveAnswerReqDto request) {
         
-        try {
-            log.info("주관식 돌발질문 답변 제출 API 요청 - sqSubjCode: {}, teamCode: {}, answerLength: {}자", 
-                     request.getSqSubjCode(), request.getTeamCode(), 
-                     request.getAnswerText() != null ? request.getAnswerText().length() : 0);
-            
-            // 주관식 답변 제출 및 AI 피드백 생성
-            SurpriseQuestionSubjectiveAnswerRespDto result = surpriseQuestionAnswerService.submitSubjectiveSurpriseQuestionAnswer(request);
-            
-            return ResponseEntity.ok(RespDto.success("주관식 돌발질문 답변 제출 및 AI 피드백 생성 완료", result));
-            
-        } catch (RuntimeException e) {
-            log.warn("주관식 돌발질문 답변 제출 실패: {}", e.getMessage());
-            return ResponseEntity.ok(RespDto.fail(e.getMessage()));
-            
-        } catch (Exception e) {
-            log.error("주관식 돌발질문 답변 제출 중 예상치 못한 오류 발생", e);
-            return ResponseEntity.ok(RespDto.fail("주관식 돌발질문 답변 제출 중 예상치 못한 오류가 발생했습니다: " + e.getMessage()));
-        }
+        log.info("주관식 돌발질문 답변 제출 API 요청 - sqSubjCode: {}, teamCode: {}, answerLength: {}자", 
+                 request.getSqSubjCode(), request.getTeamCode(), 
+                 request.getAnswerText() != null ? request.getAnswerText().length() : 0);
+        
+        // 주관식 답변 제출 및 AI 피드백 생성 (LLM 대기 중 요청 스레드 반환)
+        return surpriseQuestionAnswerService.submitSubjectiveSurpriseQuestionAnswerAsync(request)
+                .map(result -> ResponseEntity.ok(RespDto.success("주관식 돌발질문 답변 제출 및 AI 피드백 생성 완료", result)))
+                .onErrorResume(e -> {
+                    log.warn("주관식 돌발질문 답변 제출 실패: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.ok(RespDto.fail(e.getMessage())));
+                });
+    }
+    
+    /**
+     * 객관식 돌발질문 답변 제출 및 AI 피드백 스트리밍 API (SSE)
+     * POST /api/v1/surprise-question/submit-answer/stream
+     * - event: token(피드백 조각) / done(저장 완료) / error
+     */
+    @PostMapping(value = "/api/v1/surprise-question/submit-answer/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamSurpriseQuestionAnswer(
+            @RequestBody SurpriseQuestionSelectionReqDto request) {
+        
+        log.info("객관식 돌발질문 답변 스트리밍 요청 - sqCode: {}, teamCode: {}", request.getSqCode(), request.getTeamCode());
+        
+        return SseEvents.fromTokens(
+            surpriseQuestionAnswerService.streamSurpriseQuestionAnswer(request),
+            "객관식 돌발질문 답변 제출 및 AI 피드백 생성 완료");
+    }
+    
+    /**
+     * 주관식 돌발질문 답변 제출 및 AI 피드백 스트리밍 API (SSE)
+     * POST /api/v1/surprise-question-subjective/submit-answer/stream
+     */
+    @PostMapping(value = "/api/v1/surprise-question-subjective/submit-answer/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamSubjectiveSurpriseQuestionAnswer(
+            @RequestBody SurpriseQuestionSubjectiveAnswerReqDto request) {
+        
+        log.info("주관식 돌발질문 답변 스트리밍 요청 - sqSubjCode: {}, teamCode: {}", request.getSqSubjCode(), request.getTeamCode());
+        
+        return SseEvents.fromTokens(
+            surpriseQuestionAnswerService.streamSubjectiveSurpriseQuestionAnswer(request),
+            "주관식 돌발질문 답변 제출 및 AI 피드백 생성 완료");
     }
     
     /**
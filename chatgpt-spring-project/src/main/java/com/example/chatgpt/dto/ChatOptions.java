@@ -0,0 +1,123 @@
+package com.example.chatgpt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OpenAiService 호출별 옵션
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatOptions {
+    
+    // 응답 캐시 사용 여부 (기본 false, 같은 입력에 같은 결과가 맞는 JSON 추출/분류 호출만 withCache()로 사용)
+    private boolean cacheable;
+    
+    // 스케줄러 우선순위 클래스
+    @Builder.Default
+    private Priority priority = Priority.INTERACTIVE;
+    
+    // 행사 코드 (같은 클래스 안에서 행사별 공정 분배 기준, 없으면 공용 큐)
+    private Integer eventCode;
+    
+    // JSON 모드 요청 여부 (response_format: json_object, 설정에서 허용된 경우만)
+    private boolean jsonMode;
+    
+    // 호출 위치 (메트릭 call_site 태그, CallSite 상수 사용)
+    @Builder.Default
+    private String callSite = CallSite.UNSPECIFIED;
+    
+    public static ChatOptions defaults() {
+        return ChatOptions.builder().build();
+    }
+    
+    public static ChatOptions noCache() {
+        return ChatOptions.builder().cacheable(false).build();
+    }
+    
+    public static ChatOptions interactive(Integer eventCode) {
+        return ChatOptions.builder().eventCode(eventCode).build();
+    }
+    
+    public static ChatOptions adminBatch(Integer eventCode) {
+        return ChatOptions.builder().priority(Priority.ADMIN_BATCH).eventCode(eventCode).build();
+    }
+    
+    public static ChatOptions background(Integer eventCode) {
+        return ChatOptions.builder().priority(Priority.BACKGROUND).eventCode(eventCode).build();
+    }
+    
+    public static ChatOptions of(String callSite) {
+        return ChatOptions.builder().callSite(callSite).build();
+    }
+    
+    /**
+     * 호출 위치 지정 (팩토리 결과에 이어서 사용)
+     */
+    public ChatOptions withCallSite(String callSite) {
+        this.callSite = callSite;
+        return this;
+    }
+    
+    /**
+     * 응답 캐시 사용 (생성형 응답/재시도 루프가 있는 호출에는 쓰지 않음)
+     */
+    public ChatOptions withCache() {
+        this.cacheable = true;
+        return this;
+    }
+    
+    /**
+     * JSON 모드 요청 (프롬프트에 "JSON" 문구가 있어야 함)
+     */
+    public ChatOptions withJsonMode() {
+        this.jsonMode = true;
+        return this;
+    }
+    
+    /**
+     * 호출 위치 이름 (기능별 지연 시간/토큰/비용 집계 단위)
+     */
+    public static final class CallSite {
+        public static final String UNSPECIFIED = "unspecified";
+        public static final String QUESTION_GENERATION = "question_generation";
+        public static final String REVENUE_TRIGGER = "revenue_trigger";
+        public static final String REVENUE_DISTRIBUTION = "revenue_distribution";
+        public static final String FINANCIAL_COMPLETION = "financial_completion";
+        public static final String CAPABILITY_ANALYSIS = "capability_analysis";
+        public static final String MENTORING_FEEDBACK = "mentoring_feedback";
+        public static final String COUNTRY_PLAN = "country_plan";
+        public static final String OPERATING_EXPENSE = "operating_expense";
+        public static final String EXPENSE_ANALYSIS = "expense_analysis";
+        public static final String COST_CLASSIFICATION = "cost_classification";
+        public static final String STAGE_SUMMARY = "stage_summary";
+        public static final String LOAN_PLAN = "loan_plan";
+        public static final String DIRECT_CHAT = "direct_chat";
+        
+        private CallSite() {
+        }
+    }
+    
+    /**
+     * 우선순위 클래스 (가중치 비율로 처리 슬롯 배분)
+     */
+    public enum Priority {
+        INTERACTIVE(16),  // 팀 화면에서 기다리는 호출
+        ADMIN_BATCH(4),   // 관리자 일괄 트리거
+        BACKGROUND(1);    // 사용자 대기 없는 작업
+        
+        private final int weight;
+        
+        Priority(int weight) {
+            this.weight = weight;
+        }
+        
+        public int getWeight() {
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.chatgpt.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * LLM 구조화 응답 (LlmJsonDecoder 디코딩 대상)
+ * - 필드명은 프롬프트의 출력 형식과 동일
+ */
+public class LlmOutputDto {
+
+    /**
+     * 재무제표 분석 결과 (OperatingExpenseService)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class FinancialAnalysis {
+        @NotNull @PositiveOrZero private Long sgnaExpenses;
+        @NotNull @PositiveOrZero private Long rndExpenses;
+        @NotNull @PositiveOrZero private Long cogs;
+        @NotNull private Long grossProfit;
+        @NotNull private Long operatingIncome;
+        @NotNull private Long nonOperatingIncome;
+        @NotNull private Long corporateTax;
+        @NotNull private Long netIncome;
+
+        @NotNull @PositiveOrZero private Long tangibleAssets;
+        @NotNull @PositiveOrZero private Long inventoryAssets;
+        @NotNull @PositiveOrZero private Long ppeAssets;
+        @NotNull @PositiveOrZero private Long intangibleAssets;
+        @NotNull @PositiveOrZero private Long totalAssets;
+
+        @NotNull @PositiveOrZero private Long borrowings;
+        @NotNull @PositiveOrZero private Long capitalStock;
+        @NotNull private Long totalLiabilitiesEquity;
+
+        @NotNull @Min(1) @Max(100) private Long fsScore;
+    }
+
+    /**
+     * 팀별 매출 배정 결과 (AdminTriggerService)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class RevenueAllocation {
+        @NotEmpty(message = "팀 목록이 비어 있습니다")
+        @Valid
+        private List<TeamRevenue> teams;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class TeamRevenue {
+        @NotNull private Integer teamCode;
+        @NotNull @PositiveOrZero private Long revenue;
+        private String reason;
+        private String shortReason;
+    }
+
+    /**
+     * 팀별 매출 점수 (AdminTriggerService map-reduce 채점, 공통 기준 0~100점)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class RevenueScoreSheet {
+        @NotEmpty(message = "팀 목록이 비어 있습니다")
+        @Valid
+        private List<TeamRevenueScore> teams;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class TeamRevenueScore {
+        @NotNull private Integer teamCode;
+        @NotNull @Min(0) @Max(100) private Integer score;
+        private String reason;
+        private String shortReason;
+    }
+
+    /**
+     * 역량 증가 분석 결과 (정확히 2개 역량, 각 1~3점)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class CapabilityDelta {
+        @NotBlank private String capability1;
+        @NotNull @Min(1) @Max(3) private Integer score1;
+        private String reason1;
+
+        @NotBlank private String capability2;
+        @NotNull @Min(1) @Max(3) private Integer score2;
+        private String reason2;
+    }
+
+    /**
+     * 지출 통합 분석 결과 (OperatingExpenseService, 재무제표 + 역량 증가를 한 번의 호출로)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ExpenseAnalysis {
+        @NotNull @Valid private FinancialAnalysis financial;
+        @NotNull @Valid private CapabilityDelta capability;
+    }
+
+    /**
+     * 생성된 질문 목록 (BusinessPlanAnalyzer, 객관식 8개 + 주관식 2개)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class GeneratedQuestions {
+        @NotEmpty(message = "질문 목록이 비어 있습니다")
+        @Valid
+        private List<GeneratedQuestion> questions;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class GeneratedQuestion {
+        private Integer id;
+
+        @NotBlank private String type; // multiple_choice | essay
+        private String category;
+
+        @JsonProperty("selection_reason")
+        private String selectionReason;
+
+        @JsonProperty("question_summary")
+        private String questionSummary;
+
+        @NotBlank private String question;
+
+        @Valid
+        @Size(max = 5)
+        private List<QuestionOption> options;
+
+        @JsonIgnore
+        public boolean isMultipleChoice() {
+            return "multiple_choice".equals(type);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class QuestionOption {
+        private String key;
+        @NotBlank private String text;
+    }
+
+    /**
+     * 그룹 핵심 정보 요약 (StageSummaryGeneratorService)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class GroupSummaryExtraction {
+        @JsonProperty("business_type")
+        private String businessType;
+
+        @JsonProperty("core_technology")
+        private String coreTechnology;
+
+        @JsonProperty("revenue_model")
+        private String revenueModel;
+
+        @JsonProperty("key_answers")
+        private String keyAnswers;
+
+        @JsonProperty("investment_scale")
+        private String investmentScale;
+
+        private String strengths;
+        private String weaknesses;
+
+        @NotBlank
+        @JsonProperty("summary_text")
+        private String summaryText;
+    }
+
+    /**
+     * 대출 금액 산정 결과 (LoanBusinessPlanService, 만원 단위)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LoanAmount {
+        @NotNull
+        @Min(0) @Max(100000)
+        @JsonProperty("loan_amount")
+        private Integer loanAmount;
+    }
+}
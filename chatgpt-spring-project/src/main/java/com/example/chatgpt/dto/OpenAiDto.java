@@ -1,5 +1,7 @@
 package com.example.chatgpt.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,6 +23,42 @@ public class OpenAiDto {
         
         @JsonProperty("max_tokens")
         private Integer maxTokens;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean stream;
+
+        @JsonProperty("stream_options")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private StreamOptions streamOptions;
+
+        @JsonProperty("response_format")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private ResponseFormat responseFormat;
+    }
+
+    /**
+     * 응답 형식 (type: json_object → JSON 모드)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResponseFormat {
+        private String type;
+
+        public static ResponseFormat jsonObject() {
+            return new ResponseFormat("json_object");
+        }
+    }
+
+    /**
+     * 스트리밍 옵션 (include_usage: 마지막 청크에 토큰 사용량 포함)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StreamOptions {
+        @JsonProperty("include_usage")
+        private Boolean includeUsage;
     }
 
     @Data
@@ -55,6 +93,32 @@ public class OpenAiDto {
         private String finishReason;
     }
 
+    /**
+     * 스트리밍 응답 청크 (stream: true, SSE data 한 건)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ChatChunk {
+        private String id;
+        private String model;
+        private List<ChunkChoice> choices;
+        private Usage usage;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ChunkChoice {
+        private Integer index;
+        private Message delta;
+
+        @JsonProperty("finish_reason")
+        private String finishReason;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
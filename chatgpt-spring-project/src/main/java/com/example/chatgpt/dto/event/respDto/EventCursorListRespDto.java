@@ -0,0 +1,49 @@
+package com.example.chatgpt.dto.event.respDto;
+
+import com.example.chatgpt.entity.Event;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트 목록 키셋 페이지네이션 응답
+ * - 다음 페이지 요청 시 nextCursorEventAt / nextCursorEventCode 를 그대로 전달
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCursorListRespDto {
+    
+    private List<EventListRespDto.EventItem> content;
+    private Integer size;                   // 이번 응답 건수
+    private Boolean hasNext;                // 다음 페이지 존재 여부
+    private String nextCursorEventAt;       // 마지막 행의 eventAt (hasNext=false면 null)
+    private Integer nextCursorEventCode;    // 마지막 행의 eventCode (hasNext=false면 null)
+    
+    /**
+     * size + 1 건 조회 결과를 응답으로 변환 (초과 1건은 다음 페이지 존재 표시용)
+     */
+    public static EventCursorListRespDto from(List<Event> events, int size, Map<Integer, Integer> teamCounts) {
+        int pageSize = Math.max(1, size);
+        boolean hasNext = events.size() > pageSize;
+        List<Event> page = hasNext ? events.subList(0, pageSize) : events;
+        
+        List<EventListRespDto.EventItem> items = page.stream()
+            .map(event -> EventListRespDto.EventItem.from(event, teamCounts.getOrDefault(event.getEventCode(), 0)))
+            .toList();
+        
+        Event last = hasNext ? page.get(page.size() - 1) : null;
+        return EventCursorListRespDto.builder()
+            .content(items)
+            .size(items.size())
+            .hasNext(hasNext)
+            .nextCursorEventAt(last != null ? last.getEventAt() : null)
+            .nextCursorEventCode(last != null ? last.getEventCode() : null)
+            .build();
+    }
+}
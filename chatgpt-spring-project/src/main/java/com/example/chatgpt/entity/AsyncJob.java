@@ -0,0 +1,100 @@
+package com.example.chatgpt.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 작업 Entity (장시간 스테이지/관리자 작업)
+ * - status: PENDING → RUNNING → SUCCEEDED | FAILED (재시도 시 RUNNING → PENDING)
+ * - active_key: 같은 작업(유형+행사+팀+스테이지)이 진행 중일 때만 값이 있음 (UNIQUE, 완료 시 NULL) → 중복 접수 방지
+ * - payload/result: 작업 입력/결과 JSON (재시작 후 재실행 가능하도록 입력 전체 저장)
+ */
+@Entity
+@Table(name = "async_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AsyncJob {
+    
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+    
+    @Column(name = "job_type", length = 50, nullable = false)
+    private String jobType;
+    
+    @Column(name = "event_code")
+    private Integer eventCode;
+    
+    @Column(name = "team_code")
+    private Integer teamCode;
+    
+    @Column(name = "stage")
+    private Integer stage;
+    
+    @Column(name = "active_key", length = 150, unique = true)
+    private String activeKey;
+    
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+    
+    @Column(name = "progress", length = 500)
+    private String progress;
+    
+    @Column(name = "payload", columnDefinition = "LONGTEXT")
+    private String payload;
+    
+    @Column(name = "result", columnDefinition = "LONGTEXT")
+    private String result;
+    
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+    
+    @Column(name = "max_attempts", nullable = false)
+    private Integer maxAttempts;
+    
+    @Column(name = "owner", length = 150)
+    private String owner; // 실행 중인 인스턴스
+    
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // 낙관적 락 버전 (동시 수정 감지)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
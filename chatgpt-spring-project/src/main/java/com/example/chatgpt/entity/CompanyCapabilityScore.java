@@ -60,6 +60,11 @@ public class CompanyCapabilityScore {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // 낙관적 락 버전 (동시 수정 감지)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -71,47 +76,6 @@ public class CompanyCapabilityScore {
         updatedAt = LocalDateTime.now();
     }
     
-    /**
-     * 역량 점수 업데이트 (누적)
-     */
-    public void addCapabilityScore(String capabilityType, Integer score) {
-        switch (capabilityType.toLowerCase()) {
-            case "strategy":
-                this.strategyCapability += score;
-                break;
-            case "finance":
-                this.financeCapability += score;
-                break;
-            case "market_customer":
-                this.marketCustomerCapability += score;
-                break;
-            case "operation_management":
-                this.operationManagementCapability += score;
-                break;
-            case "technology_innovation":
-                this.technologyInnovationCapability += score;
-                break;
-            case "sustainability":
-                this.sustainabilityCapability += score;
-                break;
-        }
-        
-        // 총 역량 레벨 재계산
-        calculateTotalCapabilityLevel();
-    }
-    
-    /**
-     * 총 역량 레벨 계산 (모든 역량의 합계)
-     */
-    private void calculateTotalCapabilityLevel() {
-        this.totalCapabilityLevel = strategyCapability + 
-                                  financeCapability + 
-                                  marketCustomerCapability + 
-                                  operationManagementCapability + 
-                                  technologyInnovationCapability + 
-                                  sustainabilityCapability;
-    }
-    
     /**
      * 기본 데이터 생성 (팀 생성시)
      */
@@ -23,6 +23,10 @@ public class Event {
     @Column(name = "event_name", nullable = false, length = 250)
     private String eventName;
     
+    // LOWER(event_name) DB 생성 컬럼 (대소문자 무시 중복 확인용 인덱스, 읽기 전용)
+    @Column(name = "event_name_lower", length = 250, insertable = false, updatable = false)
+    private String eventNameLower;
+    
     @Column(name = "event_status", nullable = false)
     private Integer eventStatus; // 1=진행중, 2=종료
     
@@ -43,6 +47,11 @@ public class Event {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // 낙관적 락 버전 (동시 수정 감지)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
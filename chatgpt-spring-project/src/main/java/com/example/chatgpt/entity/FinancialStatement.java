@@ -14,7 +14,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "financial_statement")
+@Table(name = "financial_statement",
+       uniqueConstraints = @UniqueConstraint(name = "uk_financial_statement_team_stage",
+                                             columnNames = {"event_code", "team_code", "stage_step"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -105,6 +107,11 @@ public class FinancialStatement {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // 낙관적 락 버전 (동시 수정 감지)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
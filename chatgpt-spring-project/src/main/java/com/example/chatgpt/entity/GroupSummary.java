@@ -69,6 +69,11 @@ public class GroupSummary {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // 낙관적 락 버전 (동시 수정 감지)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,51 @@
+package com.example.chatgpt.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 일괄 작업 리스(lease) 락 Entity
+ * - lease_key: {operation}:{eventCode}:{stage} (인스턴스 간 중복 실행 방지)
+ * - 보유 인스턴스가 주기적으로 expires_at을 연장, 연장이 끊기면 만료 후 다른 인스턴스가 인수
+ * - 만료 여부는 DB 시계로 판단 (JobLeaseRepository), 애플리케이션 시계와 비교하지 않음
+ */
+@Entity
+@Table(name = "job_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease {
+    
+    @Id
+    @Column(name = "lease_key", length = 100)
+    private String leaseKey;
+    
+    @Column(name = "operation", length = 50, nullable = false)
+    private String operation;
+    
+    @Column(name = "event_code", nullable = false)
+    private Integer eventCode;
+    
+    @Column(name = "stage", nullable = false)
+    private Integer stage;
+    
+    @Column(name = "owner", length = 150, nullable = false)
+    private String owner; // 보유 인스턴스 + 실행 ID
+    
+    @Column(name = "progress", length = 500)
+    private String progress; // 현재 진행 상황
+    
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+    
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,55 @@
+package com.example.chatgpt.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * LLM 응답 캐시 Entity
+ * - cache_key: (model, temperature, maxTokens, 전체 메시지) SHA-256 해시
+ */
+@Entity
+@Table(name = "llm_response_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LlmResponseCache {
+    
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+    
+    @Column(name = "model", length = 100)
+    private String model;
+    
+    @Column(name = "response_text", columnDefinition = "LONGTEXT", nullable = false)
+    private String responseText;
+    
+    @Column(name = "hit_count", nullable = false)
+    private Integer hitCount;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (hitCount == null) {
+            hitCount = 0;
+        }
+    }
+    
+    /**
+     * 캐시가 만료되었는지 확인
+     */
+    public boolean isExpired() {
+        return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
+    }
+}
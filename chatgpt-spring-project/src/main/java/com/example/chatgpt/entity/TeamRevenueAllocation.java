@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
  * 팀별 매출 분배 결과 및 순위 관리 Entity
  */
 @Entity
-@Table(name = "team_revenue_allocation")
+@Table(name = "team_revenue_allocation",
+       uniqueConstraints = @UniqueConstraint(name = "uk_team_revenue_allocation_team_stage",
+                                             columnNames = {"event_code", "team_code", "stage_step"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,121 @@
+package com.example.chatgpt.repository;
+
+import com.example.chatgpt.entity.AsyncJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 비동기 작업 Repository
+ * - 상태 전이는 모두 조건부 UPDATE (여러 인스턴스가 같은 작업을 동시에 가져가지 않음)
+ * - 실행/heartbeat/재시도 시각과 중단 판정은 DB 시계(CURRENT_TIMESTAMP(6))로 계산 → 인스턴스 간 시계 차이와 무관
+ */
+@Repository
+public interface AsyncJobRepository extends JpaRepository<AsyncJob, String> {
+    
+    /**
+     * 진행 중인 같은 작업 조회 (중복 접수 시 기존 작업 반환)
+     */
+    Optional<AsyncJob> findByActiveKey(String activeKey);
+    
+    /**
+     * 같은 유형의 행사/팀 최근 작업 (진행 중이거나 마지막으로 끝난 작업)
+     */
+    Optional<AsyncJob> findFirstByJobTypeAndEventCodeAndTeamCodeOrderByCreatedAtDesc(String jobType, Integer eventCode,
+                                                                                     Integer teamCode);
+    
+    /**
+     * 실행 가능한 대기 작업 ID (접수 순, 첫 실행은 바로, 재시도는 next_run_at 이후)
+     */
+    @Query(value = "SELECT job_id FROM async_job WHERE status = 'PENDING' " +
+                   "AND (attempts = 0 OR next_run_at <= CURRENT_TIMESTAMP(6)) ORDER BY created_at LIMIT :limit",
+           nativeQuery = true)
+    List<String> findRunnableJobIds(@Param("limit") int limit);
+    
+    /**
+     * 대기 작업 선점 (1이면 이 인스턴스가 실행)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE async_job SET status = 'RUNNING', owner = :owner, started_at = CURRENT_TIMESTAMP(6), " +
+                   "heartbeat_at = CURRENT_TIMESTAMP(6), attempts = attempts + 1, updated_at = CURRENT_TIMESTAMP(6), " +
+                   "version = version + 1 WHERE job_id = :jobId AND status = 'PENDING'",
+           nativeQuery = true)
+    int claim(@Param("jobId") String jobId, @Param("owner") String owner);
+    
+    /**
+     * 이 인스턴스가 실행 중인 작업 heartbeat 갱신
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE async_job SET heartbeat_at = CURRENT_TIMESTAMP(6) WHERE owner = :owner AND status = 'RUNNING'",
+           nativeQuery = true)
+    int heartbeat(@Param("owner") String owner);
+    
+    /**
+     * 진행 상황 갱신
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE async_job SET progress = :progress, heartbeat_at = CURRENT_TIMESTAMP(6) " +
+                   "WHERE job_id = :jobId AND owner = :owner AND status = 'RUNNING'",
+           nativeQuery = true)
+    int updateProgress(@Param("jobId") String jobId, @Param("owner") String owner, @Param("progress") String progress);
+    
+    /**
+     * 작업 종료 (성공/실패) - 진행 중 키 해제
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE async_job SET status = :status, result = :result, error_message = :errorMessage, " +
+                   "active_key = NULL, finished_at = CURRENT_TIMESTAMP(6), updated_at = CURRENT_TIMESTAMP(6), " +
+                   "version = version + 1 WHERE job_id = :jobId AND owner = :owner AND status = 'RUNNING'",
+           nativeQuery = true)
+    int finish(@Param("jobId") String jobId, @Param("owner") String owner, @Param("status") String status,
+               @Param("result") String result, @Param("errorMessage") String errorMessage);
+    
+    /**
+     * 일시적 오류 → 대기 상태로 되돌려 backoffMicros 이후 재시도
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE async_job SET status = 'PENDING', owner = NULL, error_message = :errorMessage, " +
+                   "next_run_at = TIMESTAMPADD(MICROSECOND, :backoffMicros, CURRENT_TIMESTAMP(6)), " +
+                   "updated_at = CURRENT_TIMESTAMP(6), version = version + 1 " +
+                   "WHERE job_id = :jobId AND owner = :owner AND status = 'RUNNING'",
+           nativeQuery = true)
+    int retryLater(@Param("jobId") String jobId, @Param("owner") String owner,
+                   @Param("errorMessage") String errorMessage, @Param("backoffMicros") long backoffMicros);
+    
+    /**
+     * heartbeat가 staleMicros 이상 끊긴 실행 중 작업 (인스턴스 종료/재시작) → 재시도 횟수가 남았으면 대기로 복구
+     * - staleOffsetMicros: 음수 (-staleMicros)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE async_job SET status = 'PENDING', owner = NULL, next_run_at = CURRENT_TIMESTAMP(6), " +
+                   "progress = '서버 재시작으로 재실행 대기', updated_at = CURRENT_TIMESTAMP(6), version = version + 1 " +
+                   "WHERE status = 'RUNNING' AND heartbeat_at < TIMESTAMPADD(MICROSECOND, :staleOffsetMicros, CURRENT_TIMESTAMP(6)) " +
+                   "AND attempts < max_attempts",
+           nativeQuery = true)
+    int requeueStale(@Param("staleOffsetMicros") long staleOffsetMicros);
+    
+    /**
+     * heartbeat가 끊겼고 재시도 횟수도 소진한 작업 → 실패 처리
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE async_job SET status = 'FAILED', active_key = NULL, finished_at = CURRENT_TIMESTAMP(6), " +
+                   "error_message = '작업이 반복해서 중단되어 실패 처리되었습니다.', updated_at = CURRENT_TIMESTAMP(6), " +
+                   "version = version + 1 " +
+                   "WHERE status = 'RUNNING' AND heartbeat_at < TIMESTAMPADD(MICROSECOND, :staleOffsetMicros, CURRENT_TIMESTAMP(6)) " +
+                   "AND attempts >= max_attempts",
+           nativeQuery = true)
+    int failStale(@Param("staleOffsetMicros") long staleOffsetMicros);
+}
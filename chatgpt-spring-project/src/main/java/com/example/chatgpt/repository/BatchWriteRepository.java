@@ -0,0 +1,182 @@
+package com.example.chatgpt.repository;
+
+import com.example.chatgpt.entity.LlmQuestion;
+import com.example.chatgpt.entity.OperatingExpense;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 팀 단위 일괄 저장 (JDBC batch)
+ * - IDENTITY 키 엔티티는 Hibernate가 INSERT를 묶지 못하므로, 건별 save 대신 batchUpdate 한 번으로 전송
+ * - (행사, 팀, 스테이지) 단일 행 테이블은 삭제 후 재생성 대신 INSERT ... ON DUPLICATE KEY UPDATE
+ * - 호출 측 트랜잭션(TransactionRunner / @Transactional)에 그대로 참여
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class BatchWriteRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 재무상태표 매출/매입채무 행 (요약보기 일괄처리용)
+     */
+    public record RevenueRow(Integer teamCode, Integer revenue, Integer accountsPayable) {}
+
+    /**
+     * 팀별 매출 분배 행
+     */
+    public record AllocationRow(Integer teamCode, Long allocatedRevenue, Integer stageRank, String allocationReason) {}
+
+    /**
+     * financial_statement 매출/매입채무 덮어쓰기 (uk_financial_statement_team_stage 기준 upsert)
+     * - 기존 삭제 후 재생성과 같은 결과가 되도록 나머지 항목은 NULL로 초기화, version은 증가
+     */
+    public void upsertFinancialRevenues(Integer eventCode, Integer stageStep, List<RevenueRow> rows) {
+        String sql = """
+            INSERT INTO financial_statement
+                (event_code, team_code, stage_step, revenue, accounts_payable, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0)
+            ON DUPLICATE KEY UPDATE
+                revenue = VALUES(revenue),
+                accounts_payable = VALUES(accounts_payable),
+                cash_and_deposits = NULL, tangible_assets = NULL, inventory_assets = NULL,
+                ppe_assets = NULL, intangible_assets = NULL, borrowings = NULL, capital_stock = NULL,
+                total_assets = NULL, total_liabilities_equity = NULL, cogs = NULL, gross_profit = NULL,
+                sgna_expenses = NULL, rnd_expenses = NULL, operating_income = NULL,
+                non_operating_income = NULL, corporate_tax = NULL, net_income = NULL, fs_score = NULL,
+                updated_at = VALUES(updated_at),
+                version = version + 1
+            """;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setInt(1, eventCode);
+            ps.setInt(2, row.teamCode());
+            ps.setInt(3, stageStep);
+            ps.setObject(4, row.revenue());
+            ps.setObject(5, row.accountsPayable());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+        log.debug("financial_statement upsert - eventCode: {}, stage: {}, {}건", eventCode, stageStep, rows.size());
+    }
+
+    /**
+     * 행사/스테이지 매출 분배 교체 (uk_team_revenue_allocation_team_stage 기준 upsert + 빠진 팀 삭제)
+     */
+    public void replaceRevenueAllocations(Integer eventCode, Integer stageStep, String distributionId,
+                                          List<AllocationRow> rows) {
+        String sql = """
+            INSERT INTO team_revenue_allocation
+                (distribution_id, event_code, team_code, stage_step, allocated_revenue, stage_rank, allocation_reason, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                distribution_id = VALUES(distribution_id),
+                allocated_revenue = VALUES(allocated_revenue),
+                stage_rank = VALUES(stage_rank),
+                allocation_reason = VALUES(allocation_reason),
+                created_at = VALUES(created_at)
+            """;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, distributionId);
+            ps.setInt(2, eventCode);
+            ps.setInt(3, row.teamCode());
+            ps.setInt(4, stageStep);
+            ps.setLong(5, row.allocatedRevenue());
+            ps.setObject(6, row.stageRank());
+            ps.setString(7, row.allocationReason());
+            ps.setTimestamp(8, now);
+        });
+
+        // 이번 결과에 없는 팀의 이전 분배는 삭제 (기존 전체 삭제 후 재생성과 동일한 결과)
+        List<Integer> teamCodes = rows.stream().map(AllocationRow::teamCode).toList();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("eventCode", eventCode)
+            .addValue("stageStep", stageStep)
+            .addValue("teamCodes", teamCodes);
+        String deleteSql = teamCodes.isEmpty()
+            ? "DELETE FROM team_revenue_allocation WHERE event_code = :eventCode AND stage_step = :stageStep"
+            : "DELETE FROM team_revenue_allocation WHERE event_code = :eventCode AND stage_step = :stageStep AND team_code NOT IN (:teamCodes)";
+        int removed = namedParameterJdbcTemplate.update(deleteSql, params);
+        log.debug("team_revenue_allocation upsert - eventCode: {}, stage: {}, {}건 (이전 분배 {}건 삭제)",
+                  eventCode, stageStep, rows.size(), removed);
+    }
+
+    /**
+     * llm_question 일괄 INSERT (기존 질문 삭제 후 호출)
+     */
+    public void insertLlmQuestions(List<LlmQuestion> questions) {
+        String sql = """
+            INSERT INTO llm_question
+                (event_code, team_code, stage_step, category, selection_reason, question_summary, question,
+                 option1, option2, option3, option4, option5, user_answer, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, questions, BATCH_SIZE, (ps, q) -> {
+            ps.setInt(1, q.getEventCode());
+            ps.setInt(2, q.getTeamCode());
+            ps.setInt(3, q.getStageStep());
+            ps.setString(4, q.getCategory());
+            ps.setString(5, q.getSelectionReason());
+            ps.setString(6, q.getQuestionSummary());
+            ps.setString(7, q.getQuestion());
+            ps.setString(8, q.getOption1());
+            ps.setString(9, q.getOption2());
+            ps.setString(10, q.getOption3());
+            ps.setString(11, q.getOption4());
+            ps.setString(12, q.getOption5());
+            ps.setString(13, q.getUserAnswer());
+            ps.setTimestamp(14, now);
+            ps.setTimestamp(15, now);
+        });
+    }
+
+    /**
+     * operating_expense 일괄 INSERT (기존 운영비 삭제 후 호출, 생성된 키가 필요하면 다시 조회)
+     */
+    public void insertOperatingExpenses(List<OperatingExpense> expenses) {
+        String sql = """
+            INSERT INTO operating_expense
+                (event_code, team_code, stage_step, llm_response, expense_amount, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, expenses, BATCH_SIZE, (ps, e) -> {
+            ps.setInt(1, e.getEventCode());
+            ps.setInt(2, e.getTeamCode());
+            ps.setInt(3, e.getStageStep());
+            ps.setString(4, e.getLlmResponse());
+            ps.setString(5, e.getExpenseAmount());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    /**
+     * team_dtl 팀원 일괄 INSERT (기존 팀원 삭제 후 호출)
+     */
+    public void insertTeamMembers(Integer teamCode, Collection<String> memberNames) {
+        String sql = "INSERT INTO team_dtl (team_code, team_member_name, created_at, updated_at) VALUES (?, ?, ?, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, memberNames, BATCH_SIZE, (ps, name) -> {
+            ps.setInt(1, teamCode);
+            ps.setString(2, name);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+        });
+    }
+}
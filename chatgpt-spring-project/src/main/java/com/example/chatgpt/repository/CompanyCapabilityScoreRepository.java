@@ -2,6 +2,7 @@ package com.example.chatgpt.repository;
 
 import com.example.chatgpt.entity.CompanyCapabilityScore;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -40,4 +41,30 @@ public interface CompanyCapabilityScoreRepository extends JpaRepository<CompanyC
            "ORDER BY c.totalCapabilityLevel DESC")
     List<CompanyCapabilityScore> findTopCapabilityTeams(@Param("eventCode") Integer eventCode);
     
+    /**
+     * 역량 점수 원자적 누적 (읽기-수정-쓰기 없이 DB에서 더함, 동시 요청의 증가분 유실 방지)
+     * - 총 역량 레벨도 같은 증가분 합계만큼 더함
+     * @return 갱신된 행 수 (0이면 역량 점수 데이터 없음)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CompanyCapabilityScore c SET " +
+           "c.strategyCapability = c.strategyCapability + :strategy, " +
+           "c.financeCapability = c.financeCapability + :finance, " +
+           "c.marketCustomerCapability = c.marketCustomerCapability + :marketCustomer, " +
+           "c.operationManagementCapability = c.operationManagementCapability + :operationManagement, " +
+           "c.technologyInnovationCapability = c.technologyInnovationCapability + :technologyInnovation, " +
+           "c.sustainabilityCapability = c.sustainabilityCapability + :sustainability, " +
+           "c.totalCapabilityLevel = c.totalCapabilityLevel + :strategy + :finance + :marketCustomer " +
+           "+ :operationManagement + :technologyInnovation + :sustainability, " +
+           "c.updatedAt = CURRENT_TIMESTAMP, c.version = c.version + 1 " +
+           "WHERE c.eventCode = :eventCode AND c.teamCode = :teamCode")
+    int addCapabilityScores(@Param("eventCode") Integer eventCode,
+                            @Param("teamCode") Integer teamCode,
+                            @Param("strategy") int strategy,
+                            @Param("finance") int finance,
+                            @Param("marketCustomer") int marketCustomer,
+                            @Param("operationManagement") int operationManagement,
+                            @Param("technologyInnovation") int technologyInnovation,
+                            @Param("sustainability") int sustainability);
+    
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.chatgpt.repository;
 
 import com.example.chatgpt.entity.Event;
 import com.example.chatgpt.entity.TeamMst;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -38,10 +40,33 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     @Query("SELECT COUNT(t) FROM TeamMst t WHERE t.eventCode = :eventCode")
     Integer countTeamsByEventCode(@Param("eventCode") Integer eventCode);
     
+    /**
+     * 여러 이벤트의 팀 수 일괄 조회 (목록 화면용, [eventCode, teamCount])
+     */
+    @Query("SELECT t.eventCode, COUNT(t) FROM TeamMst t WHERE t.eventCode IN :eventCodes GROUP BY t.eventCode")
+    List<Object[]> countTeamsByEventCodes(@Param("eventCodes") Collection<Integer> eventCodes);
+    
+    /**
+     * 키셋(seek) 페이지네이션 이벤트 조회 (event_at, event_code 내림차순)
+     * - 커서(마지막으로 받은 행의 eventAt/eventCode) 다음 행부터 limit 건, OFFSET 없이 인덱스 범위 탐색
+     */
+    @Query("SELECT e FROM Event e " +
+           "WHERE (:status = 0 OR e.eventStatus = :status) " +
+           "AND (:cursorEventAt IS NULL " +
+           "     OR e.eventAt < :cursorEventAt " +
+           "     OR (e.eventAt = :cursorEventAt AND e.eventCode < :cursorEventCode)) " +
+           "ORDER BY e.eventAt DESC, e.eventCode DESC")
+    List<Event> findEventsAfterCursor(
+        @Param("status") Integer status,
+        @Param("cursorEventAt") String cursorEventAt,
+        @Param("cursorEventCode") Integer cursorEventCode,
+        Limit limit
+    );
+    
     /**
      * 행사명 중복 체크 (대소문자 무시, 본인 제외)
      */
-    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE LOWER(e.eventName) = LOWER(:eventName) " +
+    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.eventNameLower = LOWER(:eventName) " +
            "AND (:eventCode IS NULL OR e.eventCode != :eventCode)")
     boolean existsByEventNameIgnoreCaseExcludingEventCode(
         @Param("eventName") String eventName, 
@@ -50,7 +75,7 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     /**
      * 행사명 중복 체크 (생성 시)
      */
-    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE LOWER(e.eventName) = LOWER(:eventName)")
+    @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.eventNameLower = LOWER(:eventName)")
     boolean existsByEventNameIgnoreCase(@Param("eventName") String eventName);
     
     /**
@@ -0,0 +1,78 @@
+package com.example.chatgpt.repository;
+
+import com.example.chatgpt.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 작업 리스 저장소
+ * - 시각 계산/만료 비교는 모두 DB 시계(CURRENT_TIMESTAMP(6))로 실행 → 인스턴스 간 시계 차이와 무관
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    
+    /**
+     * 신규 리스 등록 (이미 행이 있으면 PK 중복 예외 → 다른 인스턴스가 보유 중)
+     * - save()는 merge로 동작해 기존 행을 덮어쓸 수 있으므로 INSERT를 직접 실행
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (lease_key, operation, event_code, stage, owner, progress, " +
+                   "acquired_at, heartbeat_at, expires_at) " +
+                   "VALUES (:leaseKey, :operation, :eventCode, :stage, :owner, :progress, " +
+                   "CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6), TIMESTAMPADD(MICROSECOND, :ttlMicros, CURRENT_TIMESTAMP(6)))",
+           nativeQuery = true)
+    int insertLease(@Param("leaseKey") String leaseKey,
+                    @Param("operation") String operation,
+                    @Param("eventCode") Integer eventCode,
+                    @Param("stage") Integer stage,
+                    @Param("owner") String owner,
+                    @Param("progress") String progress,
+                    @Param("ttlMicros") long ttlMicros);
+    
+    /**
+     * 만료된 리스 인수 (조건부 UPDATE라 동시에 인수를 시도해도 한 인스턴스만 성공)
+     */
+    @Modifying
+    @Query(value = "UPDATE job_lease SET owner = :owner, progress = :progress, " +
+                   "acquired_at = CURRENT_TIMESTAMP(6), heartbeat_at = CURRENT_TIMESTAMP(6), " +
+                   "expires_at = TIMESTAMPADD(MICROSECOND, :ttlMicros, CURRENT_TIMESTAMP(6)) " +
+                   "WHERE lease_key = :leaseKey AND expires_at < CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    int takeOverExpired(@Param("leaseKey") String leaseKey,
+                        @Param("owner") String owner,
+                        @Param("progress") String progress,
+                        @Param("ttlMicros") long ttlMicros);
+    
+    /**
+     * 리스 연장 (heartbeat) 및 진행 상황 갱신
+     * @return 0이면 리스를 잃음 (만료 후 다른 인스턴스가 인수)
+     */
+    @Modifying
+    @Query(value = "UPDATE job_lease SET progress = :progress, heartbeat_at = CURRENT_TIMESTAMP(6), " +
+                   "expires_at = TIMESTAMPADD(MICROSECOND, :ttlMicros, CURRENT_TIMESTAMP(6)) " +
+                   "WHERE lease_key = :leaseKey AND owner = :owner",
+           nativeQuery = true)
+    int renew(@Param("leaseKey") String leaseKey,
+              @Param("owner") String owner,
+              @Param("progress") String progress,
+              @Param("ttlMicros") long ttlMicros);
+    
+    /**
+     * 만료되지 않은 리스 조회 (DB 시계 기준)
+     */
+    @Query(value = "SELECT * FROM job_lease WHERE lease_key = :leaseKey AND expires_at >= CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    Optional<JobLease> findLive(@Param("leaseKey") String leaseKey);
+    
+    /**
+     * 리스 해제 (본인이 보유한 경우만)
+     */
+    @Modifying
+    @Query("DELETE FROM JobLease l WHERE l.leaseKey = :leaseKey AND l.owner = :owner")
+    int release(@Param("leaseKey") String leaseKey, @Param("owner") String owner);
+}
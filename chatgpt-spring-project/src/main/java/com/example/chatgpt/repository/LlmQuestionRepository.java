@@ -2,6 +2,7 @@ package com.example.chatgpt.repository;
 
 import com.example.chatgpt.entity.LlmQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,7 +37,9 @@ public interface LlmQuestionRepository extends JpaRepository<LlmQuestion, Intege
     List<LlmQuestion> findByTeamCode(@Param("teamCode") Integer teamCode);
     
     /**
-     * 특정 팀의 특정 스테이지 질문 삭제 (재생성용)
+     * 특정 팀의 특정 스테이지 질문 삭제 (재생성용, 건별 DELETE 대신 한 번에 삭제)
      */
-    void deleteByTeamCodeAndStageStep(Integer teamCode, Integer stageStep);
+    @Modifying
+    @Query("DELETE FROM LlmQuestion lq WHERE lq.teamCode = :teamCode AND lq.stageStep = :stageStep")
+    void deleteByTeamCodeAndStageStep(@Param("teamCode") Integer teamCode, @Param("stageStep") Integer stageStep);
 }
\ No newline at end of file
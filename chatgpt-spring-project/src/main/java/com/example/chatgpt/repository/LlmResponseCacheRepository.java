@@ -0,0 +1,31 @@
+package com.example.chatgpt.repository;
+
+import com.example.chatgpt.entity.LlmResponseCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LlmResponseCacheRepository extends JpaRepository<LlmResponseCache, String> {
+    
+    /**
+     * 캐시 적중 횟수 증가
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE LlmResponseCache c SET c.hitCount = c.hitCount + 1 WHERE c.cacheKey = :cacheKey")
+    int incrementHitCount(@Param("cacheKey") String cacheKey);
+    
+    /**
+     * 만료된 캐시 삭제
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LlmResponseCache c WHERE c.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -16,6 +16,11 @@ public interface LoanBusinessPlanRepository extends JpaRepository<LoanBusinessPl
     Optional<LoanBusinessPlan> findByEventCodeAndTeamCodeAndStageStep(
         Integer eventCode, Integer teamCode, Integer stageStep);
     
+    /**
+     * 행사/스테이지의 모든 팀 대출 사업계획서 조회 (일괄처리용)
+     */
+    List<LoanBusinessPlan> findByEventCodeAndStageStep(Integer eventCode, Integer stageStep);
+    
     /**
      * 특정 팀의 모든 대출 사업계획서 조회
      */
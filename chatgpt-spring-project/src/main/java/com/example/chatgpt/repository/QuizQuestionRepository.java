@@ -5,21 +5,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Integer> {
     
     /**
-     * 전체 퀴즈 개수 조회
+     * 전체 퀴즈 코드 조회 (랜덤 샘플링 인덱스 적재용)
      */
-    @Query("SELECT COUNT(q) FROM QuizQuestion q")
-    long countAllQuizzes();
-    
-    /**
-     * 랜덤 퀴즈 하나 조회 (Native Query 사용)
-     * MySQL의 RAND() 함수 사용
-     */
-    @Query(value = "SELECT * FROM quiz_question ORDER BY RAND() LIMIT 1", nativeQuery = true)
-    Optional<QuizQuestion> findRandomQuiz();
+    @Query("SELECT q.quizCode FROM QuizQuestion q ORDER BY q.quizCode")
+    List<Integer> findAllQuizCodes();
 }
\ No newline at end of file
@@ -24,6 +24,12 @@ public interface SurpriseQuestionAnswerRepository extends JpaRepository<Surprise
     @Query("SELECT sqa FROM SurpriseQuestionAnswer sqa WHERE sqa.teamCode = :teamCode ORDER BY sqa.createdAt DESC")
     Optional<SurpriseQuestionAnswer> findLatestByTeamCode(@Param("teamCode") Integer teamCode);
     
+    /**
+     * 팀이 이미 답한 주관식 돌발질문 코드 (랜덤 선택 시 제외용)
+     */
+    @Query("SELECT sqa.sqSubjCode FROM SurpriseQuestionAnswer sqa WHERE sqa.teamCode = :teamCode")
+    List<Integer> findSqSubjCodesByTeamCode(@Param("teamCode") Integer teamCode);
+    
     /**
      * 특정 행사-팀의 모든 주관식 돌발질문 답변 목록 조회
      */
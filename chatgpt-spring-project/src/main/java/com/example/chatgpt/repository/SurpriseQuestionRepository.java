@@ -16,6 +16,12 @@ public interface SurpriseQuestionRepository extends JpaRepository<SurpriseQuesti
      */
     List<SurpriseQuestion> findByCategoryCode(Integer categoryCode);
     
+    /**
+     * 카테고리/질문 코드 쌍 조회 (랜덤 샘플링 인덱스 적재용)
+     */
+    @Query("SELECT sq.categoryCode, sq.sqCode FROM SurpriseQuestion sq ORDER BY sq.categoryCode, sq.sqCode")
+    List<Object[]> findCategoryAndCodes();
+    
     /**
      * 카테고리별 돌발질문 개수 조회
      */
@@ -24,6 +24,12 @@ public interface SurpriseQuestionSelectionRepository extends JpaRepository<Surpr
     @Query("SELECT sqs FROM SurpriseQuestionSelection sqs WHERE sqs.teamCode = :teamCode ORDER BY sqs.createdAt DESC")
     Optional<SurpriseQuestionSelection> findLatestByTeamCode(@Param("teamCode") Integer teamCode);
     
+    /**
+     * 팀이 이미 답한 객관식 돌발질문 코드 (랜덤 선택 시 제외용)
+     */
+    @Query("SELECT sqs.sqCode FROM SurpriseQuestionSelection sqs WHERE sqs.teamCode = :teamCode")
+    List<Integer> findSqCodesByTeamCode(@Param("teamCode") Integer teamCode);
+    
     /**
      * 특정 행사-팀의 모든 객관식 돌발질문 답변 목록 조회
      */
@@ -16,6 +16,12 @@ public interface SurpriseQuestionSubjectiveRepository extends JpaRepository<Surp
      */
     List<SurpriseQuestionSubjective> findByCategoryCode(Integer categoryCode);
     
+    /**
+     * 카테고리/주관식 질문 코드 쌍 조회 (랜덤 샘플링 인덱스 적재용)
+     */
+    @Query("SELECT sqs.categoryCode, sqs.sqSubjCode FROM SurpriseQuestionSubjective sqs ORDER BY sqs.categoryCode, sqs.sqSubjCode")
+    List<Object[]> findCategoryAndCodes();
+    
     /**
      * 카테고리별 주관식 돌발질문 개수 조회
      */
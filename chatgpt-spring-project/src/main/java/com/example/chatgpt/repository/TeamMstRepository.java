@@ -53,7 +53,7 @@ public interface TeamMstRepository extends JpaRepository<TeamMst, Integer> {
      */
     @Modifying
     @Transactional
-    @Query("UPDATE TeamMst tm SET tm.currentStepId = tm.currentStepId + 1 WHERE tm.eventCode = :eventCode AND tm.teamCode = :teamCode")
+    @Query("UPDATE TeamMst tm SET tm.currentStepId = tm.currentStepId + 1, tm.version = tm.version + 1 WHERE tm.eventCode = :eventCode AND tm.teamCode = :teamCode")
     int updateCurrentStepIdPlusOne(@Param("eventCode") Integer eventCode, @Param("teamCode") Integer teamCode);
     
     /**
@@ -61,6 +61,6 @@ public interface TeamMstRepository extends JpaRepository<TeamMst, Integer> {
      */
     @Modifying
     @Transactional
-    @Query("UPDATE TeamMst tm SET tm.currentStageId = tm.currentStageId + 1, tm.currentStepId = 1 WHERE tm.eventCode = :eventCode AND tm.teamCode = :teamCode")
+    @Query("UPDATE TeamMst tm SET tm.currentStageId = tm.currentStageId + 1, tm.currentStepId = 1, tm.version = tm.version + 1 WHERE tm.eventCode = :eventCode AND tm.teamCode = :teamCode")
     int updateCurrentStageIdPlusOneAndStepIdToOne(@Param("eventCode") Integer eventCode, @Param("teamCode") Integer teamCode);
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.example.chatgpt.entity.*;
 import com.example.chatgpt.repository.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.chatgpt.util.LeaseLockManager;
+import com.example.chatgpt.util.LlmJsonDecoder;
+import com.example.chatgpt.util.TransactionRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -25,10 +30,16 @@ public class AdminRevenueDistributionService {
     private final GroupSummaryRepository groupSummaryRepository;
     private final TeamRevenueAllocationRepository teamRevenueAllocationRepository;
     private final ChatGptMemoryLogRepository chatGptMemoryLogRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmJsonDecoder llmJsonDecoder;
+    private final TransactionRunner transactionRunner;
+    private final LeaseLockManager leaseLockManager;
+    
+    private static final String TX_FLOW = "admin_revenue_distribution";
+    public static final String LEASE_REVENUE_DISTRIBUTION = "revenue_distribution";
     
     /**
      * 1단계: 그룹 핵심 정보 ChatGPT 메모리에 저장
+     * - Stage 답변 완료 비동기 작업에서 호출 (결과를 기다리는 화면이 없으므로 BACKGROUND 우선순위)
      */
     @Transactional
     public GroupSummary storeGroupSummaryInChatGPT(Integer eventCode, Integer teamCode, Integer stageStep, 
@@ -47,7 +58,7 @@ public class AdminRevenueDistributionService {
             
             // 3. ChatGPT에 메모리 저장 요청
             String memoryKey = groupSummary.generateMemoryKey();
-            String chatGptResponse = storeSummaryInChatGPTMemory(memoryKey, compressedSummary);
+            String chatGptResponse = storeSummaryInChatGPTMemory(eventCode, memoryKey, compressedSummary);
             
             // 4. DB 저장
             GroupSummary savedSummary = groupSummaryRepository.save(groupSummary);
@@ -66,14 +77,17 @@ public class AdminRevenueDistributionService {
     
     /**
      * 2단계: 관리자 매출 분배 실행
+     * - 행사/스테이지 단위 DB 리스로 중복 실행 방지 (다른 서버에서 실행 중이면 진행 상황과 함께 거절)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> executeRevenueDistribution(Integer eventCode, Integer stageStep, String adminUser) {
-        try {
+        try (LeaseLockManager.Lease lease = leaseLockManager.acquire(LEASE_REVENUE_DISTRIBUTION, eventCode, stageStep)) {
             log.info("매출 분배 실행 시작 - Event: {}, Stage: {}, Admin: {}", eventCode, stageStep, adminUser);
             
             // 1. 해당 이벤트-스테이지의 모든 그룹 조회
-            List<GroupSummary> groups = groupSummaryRepository.findCompletedSummariesByEventCodeAndStageStep(eventCode, stageStep);
+            lease.progress("그룹 요약 조회 중 (요청: " + adminUser + ")");
+            List<GroupSummary> groups = transactionRunner.read(TX_FLOW, () ->
+                    groupSummaryRepository.findCompletedSummariesByEventCodeAndStageStep(eventCode, stageStep));
             
             if (groups.size() < 2) {
                 throw new IllegalStateException("매출 분배를 위해서는 최소 2개 그룹이 필요합니다. 현재: " + groups.size() + "개");
@@ -85,9 +99,11 @@ public class AdminRevenueDistributionService {
                     .collect(Collectors.toList());
             
             // 3. ChatGPT로 매출 분배 분석 요청
+            lease.progress(String.format("ChatGPT 매출 분배 분석 중 (%d개 그룹)", groups.size()));
             Map<String, Object> distributionResult = requestChatGPTDistribution(eventCode, stageStep, memoryKeys);
             
-            // 4. 새 분배 ID 생성
+            // 4. 새 분배 ID 생성 (리스를 잃었다면 다른 서버의 결과를 덮어쓰지 않음)
+            lease.verifyHeld();
             Integer distributionId = generateNewDistributionId();
             
             // 5. 팀별 매출 분배 결과 저장
@@ -106,6 +122,9 @@ public class AdminRevenueDistributionService {
 //            return result;
             return null;
             
+        } catch (LeaseLockManager.LeaseHeldException e) {
+            throw e;
+            
         } catch (Exception e) {
             log.error("매출 분배 실행 실패", e);
             throw new RuntimeException("매출 분배 실행 실패: " + e.getMessage(), e);
@@ -133,12 +152,11 @@ public class AdminRevenueDistributionService {
         
         // ChatGPT로 사업계획서에서 핵심 정보 추출
         String extractionPrompt = buildExtractionPrompt(businessPlan, stageAnswers, userExpenseInputs);
-        String extractionResult = openAiService.chat(extractionPrompt);
+        String extractionResult = openAiService.chat(extractionPrompt, ChatOptions.background(eventCode).withCallSite(CallSite.REVENUE_DISTRIBUTION).withJsonMode().withCache());
         
         // JSON 파싱하여 GroupSummary 객체 생성
         try {
-            String jsonPart = extractJsonFromResponse(extractionResult);
-            Map<String, Object> extracted = objectMapper.readValue(jsonPart, Map.class);
+            Map<String, Object> extracted = llmJsonDecoder.decodeMap(extractionResult);
             
             return GroupSummary.builder()
                     .eventCode(eventCode)
@@ -231,14 +249,14 @@ public class AdminRevenueDistributionService {
     /**
      * ChatGPT 메모리에 요약 저장
      */
-    private String storeSummaryInChatGPTMemory(String memoryKey, String compressedSummary) {
+    private String storeSummaryInChatGPTMemory(Integer eventCode, String memoryKey, String compressedSummary) {
         String prompt = String.format(
                 "다음 정보를 '%s'라는 키로 기억해주세요. 나중에 매출 분배 분석 시 참고용으로 사용할 예정입니다.\n\n%s\n\n" +
                 "이 정보가 정상적으로 저장되었다면 '저장 완료: %s'라고 응답해주세요.",
                 memoryKey, compressedSummary, memoryKey
         );
         
-        return openAiService.chat(prompt);
+        return openAiService.chat(prompt, ChatOptions.background(eventCode).withCallSite(CallSite.REVENUE_DISTRIBUTION));
     }
     
     /**
@@ -275,15 +293,15 @@ public class AdminRevenueDistributionService {
         prompt.append("}\n");
         prompt.append("```");
         
-        String chatGptResponse = openAiService.chat(prompt.toString());
-        
         try {
+            // 관리자 일괄 작업: 팀 화면 호출보다 낮은 우선순위
+            String chatGptResponse = openAiService.chat(prompt.toString(), ChatOptions.adminBatch(eventCode).withCallSite(CallSite.REVENUE_DISTRIBUTION).withJsonMode());
+            
             // JSON 파싱
-            String jsonPart = extractJsonFromResponse(chatGptResponse);
-            return objectMapper.readValue(jsonPart, Map.class);
+            return llmJsonDecoder.decodeMap(chatGptResponse);
             
         } catch (Exception e) {
-            log.error("ChatGPT 매출 분배 결과 파싱 실패", e);
+            log.error("ChatGPT 매출 분배 실패 (호출/파싱)", e);
             // 기본 분배 로직으로 폴백
             return createDefaultDistribution(memoryKeys);
         }
@@ -392,15 +410,6 @@ public class AdminRevenueDistributionService {
     }
     
     // 유틸리티 메서드들
-    private String extractJsonFromResponse(String response) {
-        int start = response.indexOf("{");
-        int end = response.lastIndexOf("}") + 1;
-        if (start >= 0 && end > start) {
-            return response.substring(start, end);
-        }
-        throw new IllegalArgumentException("JSON 형식을 찾을 수 없습니다.");
-    }
-    
     private GroupSummary createDefaultGroupSummary(Integer eventCode, Integer teamCode, Integer stageStep, 
                                                  String businessPlan, Map<String, Object> stageAnswers) {
         return GroupSummary.builder()
@@ -1,21 +1,31 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.config.RevenueScoringConfig;
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
+import com.example.chatgpt.dto.LlmOutputDto;
 import com.example.chatgpt.entity.Event;
 import com.example.chatgpt.entity.GroupSummary;
-import com.example.chatgpt.entity.FinancialStatement;
-import com.example.chatgpt.entity.TeamRevenueAllocation;
 import com.example.chatgpt.entity.LoanBusinessPlan;
 import com.example.chatgpt.repository.EventRepository;
 import com.example.chatgpt.repository.GroupSummaryRepository;
-import com.example.chatgpt.repository.FinancialStatementRepository;
-import com.example.chatgpt.repository.TeamRevenueAllocationRepository;
+import com.example.chatgpt.repository.BatchWriteRepository;
 import com.example.chatgpt.repository.LoanBusinessPlanRepository;
+import com.example.chatgpt.entity.JobLease;
+import com.example.chatgpt.util.LeaseLockManager;
+import com.example.chatgpt.util.LlmJsonDecoder;
+import com.example.chatgpt.util.TransactionRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.springframework.retry.annotation.EnableRetry;
 
@@ -27,41 +37,100 @@ public class AdminTriggerService {
 
     private final EventRepository eventRepository;
     private final GroupSummaryRepository groupSummaryRepository;
-    private final FinancialStatementRepository financialStatementRepository;
-    private final TeamRevenueAllocationRepository teamRevenueAllocationRepository;
+    private final BatchWriteRepository batchWriteRepository;
     private final LoanBusinessPlanRepository loanBusinessPlanRepository;
     private final BusinessPlanAnalyzer businessPlanAnalyzer; // ChatGPT API 호출
+    private final LlmJsonDecoder llmJsonDecoder;
+    private final TransactionRunner transactionRunner;
+    private final LeaseLockManager leaseLockManager;
+    private final RevenueScoringConfig revenueScoringConfig;
+    private final ExecutorService llmFanOutExecutor; // ThreadingConfig (샤드 병렬 채점)
+    private final AsyncJobService asyncJobService;
+
+    private static final String TX_FLOW = "admin_summary_view";
+    public static final String LEASE_SUMMARY_VIEW = "summary_view";
+    private static final String JOB_SUMMARY_VIEW = "admin_summary_view";
+
+    @PostConstruct
+    public void registerJobHandlers() {
+        asyncJobService.registerHandler(JOB_SUMMARY_VIEW, (payload, progress) ->
+            triggerSummaryViewProcess((Integer) payload.get("eventCode"), (Integer) payload.get("stage")));
+    }
+
+    /**
+     * 요약보기 일괄처리 접수 (같은 행사/스테이지 작업이 진행 중이면 그 작업 반환)
+     */
+    public AsyncJobService.Submitted submitSummaryView(Integer eventCode, Integer stage) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventCode", eventCode);
+        payload.put("stage", stage);
+        return asyncJobService.submit(JOB_SUMMARY_VIEW, eventCode, null, stage, payload);
+    }
 
     /**
      * 관리자 트리거 - 요약보기 일괄처리
+     * - 행사/스테이지 단위 DB 리스로 중복 실행 방지 (다른 서버에서 실행 중이면 진행 상황과 함께 거절)
+     * - 조회 → ChatGPT 매출 생성(트랜잭션 밖) → 저장 순서, 저장은 한 트랜잭션으로 일괄 반영
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String triggerSummaryViewProcess(Integer eventCode, Integer stage) {
         log.info("요약보기 일괄처리 시작 - eventCode: {}, stage: {}", eventCode, stage);
         
-        // 1. event.summary_view_process 업데이트 (현재 스테이지 + 1)
-        updateSummaryViewProcess(eventCode, stage);
-        
-        // 2. 해당 행사/스테이지의 모든 팀 조회
-        List<GroupSummary> teamSummaries = getTeamSummaries(eventCode, stage);
-        
-        if (teamSummaries.isEmpty()) {
-            throw new RuntimeException("해당 행사/스테이지에 팀 요약 데이터가 없습니다.");
+        try (LeaseLockManager.Lease lease = leaseLockManager.acquire(LEASE_SUMMARY_VIEW, eventCode, stage)) {
+            // 1. 행사 확인 및 해당 행사/스테이지의 모든 팀 조회
+            lease.progress("팀 요약 조회 중");
+            List<GroupSummary> teamSummaries = transactionRunner.read(TX_FLOW, () -> {
+                eventRepository.findById(eventCode)
+                    .orElseThrow(() -> new RuntimeException("행사를 찾을 수 없습니다. eventCode: " + eventCode));
+                return getTeamSummaries(eventCode, stage);
+            });
+            
+            if (teamSummaries.isEmpty()) {
+                throw new RuntimeException("해당 행사/스테이지에 팀 요약 데이터가 없습니다.");
+            }
+            
+            // 2. ChatGPT를 통한 매출 생성
+            lease.progress(String.format("ChatGPT 매출 생성 중 (%d개 팀)", teamSummaries.size()));
+            Map<Integer, RevenueData> teamRevenues = Boolean.TRUE.equals(revenueScoringConfig.getMapReduceEnabled())
+                ? scoreTeamRevenues(teamSummaries, eventCode, stage, lease)
+                : generateTeamRevenues(teamSummaries, eventCode, stage);
+            
+            // 3. 결과 저장 (리스를 잃었다면 다른 서버의 결과를 덮어쓰지 않음)
+            lease.progress("결과 저장 중");
+            lease.verifyHeld();
+            transactionRunner.writeWithoutResult(TX_FLOW, eventCode, null, () -> {
+                // event.summary_view_process 업데이트 (현재 스테이지 + 1)
+                updateSummaryViewProcess(eventCode, stage);
+                
+                // financial_statement 테이블에 매출 저장 (나머지는 0)
+                saveFinancialStatements(teamRevenues, eventCode, stage);
+                
+                // 팀별 순위 생성 및 team_revenue_allocation 저장
+                saveTeamRankings(teamRevenues, eventCode, stage);
+            });
+            
+            String result = String.format("총 %d개 팀의 매출 생성 및 순위 산정 완료", teamSummaries.size());
+            log.info("요약보기 일괄처리 완료 - {}", result);
+            
+            return result;
         }
-        
-        // 3. ChatGPT를 통한 매출 생성
-        Map<Integer, RevenueData> teamRevenues = generateTeamRevenues(teamSummaries, eventCode, stage);
-        
-        // 4. financial_statement 테이블에 매출 저장 (나머지는 0)
-        saveFinancialStatements(teamRevenues, eventCode, stage);
-        
-        // 5. 팀별 순위 생성 및 team_revenue_allocation 저장
-        saveTeamRankings(teamRevenues, eventCode, stage);
-        
-        String result = String.format("총 %d개 팀의 매출 생성 및 순위 산정 완료", teamSummaries.size());
-        log.info("요약보기 일괄처리 완료 - {}", result);
-        
-        return result;
+    }
+    
+    /**
+     * 요약보기 일괄처리 실행 상태 (실행 중이 아니면 running: false)
+     */
+    public Map<String, Object> getSummaryViewProcessStatus(Integer eventCode, Integer stage) {
+        Map<String, Object> status = new HashMap<>();
+        Optional<JobLease> running = leaseLockManager.findRunning(LEASE_SUMMARY_VIEW, eventCode, stage);
+        
+        status.put("running", running.isPresent());
+        running.ifPresent(lease -> {
+            status.put("progress", lease.getProgress());
+            status.put("owner", lease.getOwner());
+            status.put("startedAt", lease.getAcquiredAt());
+            status.put("heartbeatAt", lease.getHeartbeatAt());
+        });
+        return status;
     }
     
     /**
@@ -85,7 +154,7 @@ public class AdminTriggerService {
     }
     
     /**
-     * 1. event.summary_view_process 업데이트
+     * event.summary_view_process 업데이트
      */
     private void updateSummaryViewProcess(Integer eventCode, Integer stage) {
         Event event = eventRepository.findById(eventCode)
@@ -135,7 +204,7 @@ public class AdminTriggerService {
     }
     
     /**
-     * 2. 해당 행사/스테이지의 모든 팀 요약 조회
+     * 해당 행사/스테이지의 모든 팀 요약 조회
      */
     private List<GroupSummary> getTeamSummaries(Integer eventCode, Integer stage) {
         List<GroupSummary> summaries = groupSummaryRepository.findByEventCodeAndStageStep(eventCode, stage);
@@ -144,7 +213,7 @@ public class AdminTriggerService {
     }
     
     /**
-     * 3. ChatGPT를 통한 매출 생성
+     * ChatGPT를 통한 매출 생성
      */
     private Map<Integer, RevenueData> generateTeamRevenues(List<GroupSummary> teamSummaries, Integer eventCode, Integer stage) {
         log.info("ChatGPT 매출 생성 시작 - {} 개 팀", teamSummaries.size());
@@ -154,7 +223,8 @@ public class AdminTriggerService {
         
         try {
             // ChatGPT API 호출
-            String response = businessPlanAnalyzer.callChatGptApi(prompt);
+            // 관리자 일괄 작업: 팀 화면 호출보다 낮은 우선순위
+            String response = businessPlanAnalyzer.callChatGptApi(prompt, ChatOptions.adminBatch(eventCode).withCallSite(CallSite.REVENUE_TRIGGER).withJsonMode());
             
             // JSON 파싱하여 팀별 매출 데이터 추출
             Map<Integer, RevenueData> teamRevenues = parseRevenueResponse(response, teamSummaries);
@@ -168,6 +238,157 @@ public class AdminTriggerService {
         }
     }
     
+    /**
+     * map-reduce 매출 산정
+     * - map: 샤드(shardSize팀)별로 공통 기준 점수(0~100)를 병렬 채점 → 팀 수가 늘어도 호출 1회의 응답 크기/시간은 일정
+     * - reduce: 점수를 서버에서 매출로 환산 (같은 점수면 항상 같은 매출)
+     */
+    private Map<Integer, RevenueData> scoreTeamRevenues(List<GroupSummary> teamSummaries, Integer eventCode, Integer stage,
+                                                        LeaseLockManager.Lease lease) {
+        int shardSize = Math.max(1, revenueScoringConfig.getShardSize());
+        List<List<GroupSummary>> shards = new ArrayList<>();
+        for (int from = 0; from < teamSummaries.size(); from += shardSize) {
+            shards.add(teamSummaries.subList(from, Math.min(from + shardSize, teamSummaries.size())));
+        }
+        log.info("ChatGPT 매출 채점 시작 - {} 개 팀, {} 개 샤드", teamSummaries.size(), shards.size());
+        
+        List<Future<Map<Integer, LlmOutputDto.TeamRevenueScore>>> futures = new ArrayList<>();
+        for (List<GroupSummary> shard : shards) {
+            futures.add(llmFanOutExecutor.submit(() -> scoreShard(shard, eventCode, stage)));
+        }
+        
+        Map<Integer, LlmOutputDto.TeamRevenueScore> scores = new HashMap<>();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                scores.putAll(futures.get(i).get());
+                lease.progress(String.format("ChatGPT 매출 채점 중 (%d/%d 샤드)", i + 1, futures.size()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("매출 채점이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("ChatGPT 매출 채점 실패", cause);
+            throw new RuntimeException("매출 생성 중 오류가 발생했습니다: " + cause.getMessage(), cause);
+        }
+        
+        Map<Integer, RevenueData> teamRevenues = normalizeRevenues(scores, revenueScoringConfig);
+        log.info("ChatGPT 매출 채점 완료 - {} 개 팀", teamRevenues.size());
+        return teamRevenues;
+    }
+    
+    /**
+     * 샤드 채점 (응답에서 빠지거나 기준을 벗어난 팀만 다시 요청)
+     */
+    private Map<Integer, LlmOutputDto.TeamRevenueScore> scoreShard(List<GroupSummary> shard, Integer eventCode, Integer stage) {
+        Map<Integer, LlmOutputDto.TeamRevenueScore> scores = new HashMap<>();
+        List<GroupSummary> remaining = shard;
+        
+        for (int attempt = 1; attempt <= revenueScoringConfig.getShardAttempts() && !remaining.isEmpty(); attempt++) {
+            String prompt = createRevenueScoringPrompt(remaining, stage);
+            // 캐시 미사용 (withCache() 금지): 같은 팀을 다시 보내면 같은 프롬프트라 캐시된 불량 응답을 그대로 받게 됨
+            ChatOptions options = ChatOptions.adminBatch(eventCode).withCallSite(CallSite.REVENUE_TRIGGER).withJsonMode();
+            String response = businessPlanAnalyzer.callChatGptApi(prompt, options);
+            
+            Set<Integer> requested = remaining.stream().map(GroupSummary::getTeamCode).collect(Collectors.toSet());
+            try {
+                LlmJsonDecoder.Decoded<LlmOutputDto.RevenueScoreSheet> decoded =
+                        llmJsonDecoder.decode(response, LlmOutputDto.RevenueScoreSheet.class);
+                List<LlmOutputDto.TeamRevenueScore> teams = decoded.value().getTeams();
+                for (int i = 0; teams != null && i < teams.size(); i++) {
+                    LlmOutputDto.TeamRevenueScore team = teams.get(i);
+                    if (!decoded.hasViolation("teams[" + i + "]") && requested.contains(team.getTeamCode())) {
+                        scores.put(team.getTeamCode(), team);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("매출 채점 응답 파싱 실패 (시도 {}/{}): {}", attempt, revenueScoringConfig.getShardAttempts(), e.getMessage());
+            }
+            
+            remaining = remaining.stream().filter(summary -> !scores.containsKey(summary.getTeamCode())).toList();
+        }
+        
+        if (!remaining.isEmpty()) {
+            throw new RuntimeException("매출 채점 실패: 점수를 받지 못한 팀 " + remaining.stream()
+                .map(GroupSummary::getTeamCode).toList());
+        }
+        return scores;
+    }
+    
+    /**
+     * 점수 → 매출 환산 (reduce)
+     * - 기준 매출: 평균 점수를 최소~최대 매출 범위에 선형 대응
+     * - 팀별 매출: 기준 매출 × (1 ± spreadRatio × 평균 대비 편차 / 최대 편차), 범위 안으로 제한 후 만원 단위 반올림
+     */
+    static Map<Integer, RevenueData> normalizeRevenues(Map<Integer, LlmOutputDto.TeamRevenueScore> scores,
+                                                       RevenueScoringConfig revenueScoringConfig) {
+        long minRevenue = revenueScoringConfig.getMinRevenue();
+        long maxRevenue = revenueScoringConfig.getMaxRevenue();
+        double spread = revenueScoringConfig.getSpreadRatio();
+        
+        double mean = scores.values().stream().mapToInt(LlmOutputDto.TeamRevenueScore::getScore).average().orElse(50);
+        double maxDeviation = scores.values().stream().mapToDouble(score -> Math.abs(score.getScore() - mean)).max().orElse(0);
+        double base = minRevenue + (maxRevenue - minRevenue) * mean / 100.0;
+        
+        Map<Integer, RevenueData> result = new HashMap<>();
+        scores.forEach((teamCode, score) -> {
+            double relative = maxDeviation == 0 ? 0 : (score.getScore() - mean) / maxDeviation;
+            double revenue = Math.min(maxRevenue, Math.max(minRevenue, base * (1 + spread * relative)));
+            long rounded = Math.round(revenue / 10000.0) * 10000L;
+            result.put(teamCode, new RevenueData(rounded, score.getReason(), score.getShortReason()));
+        });
+        return result;
+    }
+    
+    /**
+     * ChatGPT 매출 채점 프롬프트 생성 (모든 샤드가 같은 기준표 사용)
+     */
+    private String createRevenueScoringPrompt(List<GroupSummary> teamSummaries, Integer stage) {
+        StringBuilder prompt = new StringBuilder();
+        
+        prompt.append("당신은 스타트업 사업계획 분석 전문가입니다.\n\n");
+        prompt.append("# Stage ").append(stage).append(" 팀별 사업 유망성 채점\n\n");
+        prompt.append("다음 팀들의 사업계획 요약을 아래 기준표로 각각 독립적으로 채점해주세요.\n");
+        prompt.append("다른 팀과 비교하지 말고 기준표의 절대 기준으로만 점수를 매기세요.\n\n");
+        prompt.append("## 채점 기준표 (합계 0~100점):\n");
+        prompt.append("- 시장성 (0~30): 목표 시장 규모와 성장성, 고객 수요의 명확성\n");
+        prompt.append("- 기술력/차별성 (0~25): 핵심기술의 경쟁 우위와 모방 난이도\n");
+        prompt.append("- 수익모델 (0~25): 수익 구조의 구체성과 실현 가능성, 투자규모 대비 효율\n");
+        prompt.append("- 실행 역량 (0~20): 강점 활용도와 약점 대응 방안\n");
+        prompt.append("- 50점은 평범한 초기 스타트업, 80점 이상은 매우 유망한 경우에만 부여\n\n");
+        prompt.append("## 팀별 정보:\n");
+        
+        for (GroupSummary summary : teamSummaries) {
+            prompt.append(String.format("### teamCode: %d\n", summary.getTeamCode()));
+            prompt.append("- 사업유형: ").append(summary.getBusinessType()).append("\n");
+            prompt.append("- 핵심기술: ").append(summary.getCoreTechnology()).append("\n");
+            prompt.append("- 수익모델: ").append(summary.getRevenueModel()).append("\n");
+            prompt.append("- 투자규모: ").append(summary.getInvestmentScale()).append("\n");
+            prompt.append("- 강점: ").append(summary.getStrengths()).append("\n");
+            prompt.append("- 약점: ").append(summary.getWeaknesses()).append("\n\n");
+        }
+        
+        prompt.append("## 요청사항:\n");
+        prompt.append("위 ").append(teamSummaries.size()).append("개 팀 모두에 대해 JSON 형식으로 응답해주세요.\n\n");
+        prompt.append("```json\n");
+        prompt.append("{\n");
+        prompt.append("  \"teams\": [\n");
+        prompt.append("    {\n");
+        prompt.append("      \"teamCode\": 팀코드(숫자),\n");
+        prompt.append("      \"score\": 총점(0~100 정수),\n");
+        prompt.append("      \"reason\": \"채점 근거 설명\",\n");
+        prompt.append("      \"shortReason\": \"요약된 근거\"\n");
+        prompt.append("    }\n");
+        prompt.append("  ]\n");
+        prompt.append("}\n");
+        prompt.append("```\n\n");
+        prompt.append("**중요**: JSON 형식만 응답하고 다른 설명은 포함하지 마세요.");
+        
+        return prompt.toString();
+    }
+    
     /**
      * ChatGPT 매출 생성 프롬프트 생성
      */
@@ -222,44 +443,28 @@ public class AdminTriggerService {
     
     /**
      * ChatGPT 응답 파싱
+     * - 위반이 있는 팀 항목(teamCode/revenue 누락, 음수 매출)은 제외하고 팀 수로 최종 검증
      */
     private Map<Integer, RevenueData> parseRevenueResponse(String response, List<GroupSummary> teamSummaries) {
         Map<Integer, RevenueData> result = new HashMap<>();
         
         try {
-            // JSON 추출 (마크다운 코드블록 제거)
-            String jsonStr = response.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
-            
-            // 간단한 JSON 파싱 (정규식 사용)
-            String teamsPattern = "\"teams\"\\s*:\\s*\\[(.*?)\\]";
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(teamsPattern, java.util.regex.Pattern.DOTALL);
-            java.util.regex.Matcher matcher = pattern.matcher(jsonStr);
+            LlmJsonDecoder.Decoded<LlmOutputDto.RevenueAllocation> decoded =
+                    llmJsonDecoder.decode(response, LlmOutputDto.RevenueAllocation.class);
+            List<LlmOutputDto.TeamRevenue> teams = decoded.value().getTeams();
             
-            if (matcher.find()) {
-                String teamsContent = matcher.group(1);
-                
-                // 각 팀 데이터 추출
-                String teamPattern = "\\{([^}]*)\\}";
-                java.util.regex.Pattern teamPat = java.util.regex.Pattern.compile(teamPattern);
-                java.util.regex.Matcher teamMatcher = teamPat.matcher(teamsContent);
-                
-                while (teamMatcher.find()) {
-                    String teamData = teamMatcher.group(1);
-                    
-                    Integer teamCode = extractIntegerValue(teamData, "teamCode");
-                    Long revenue = extractLongValue(teamData, "revenue");
-                    String reason = extractStringValue(teamData, "reason");
-                    String shortReason = extractStringValue(teamData, "shortReason");
-                    
-                    if (teamCode != null && revenue != null) {
-                        result.put(teamCode, new RevenueData(revenue, reason, shortReason));
-                    }
+            for (int i = 0; teams != null && i < teams.size(); i++) {
+                LlmOutputDto.TeamRevenue team = teams.get(i);
+                if (decoded.hasViolation("teams[" + i + "]")) {
+                    continue;
                 }
+                result.put(team.getTeamCode(), new RevenueData(team.getRevenue(), team.getReason(), team.getShortReason()));
             }
             
             // 결과 검증
             if (result.size() != teamSummaries.size()) {
-                throw new RuntimeException("ChatGPT 응답 파싱 실패: 팀 수가 일치하지 않습니다.");
+                throw new RuntimeException("ChatGPT 응답 파싱 실패: 팀 수가 일치하지 않습니다. (유효 " + result.size()
+                        + " / 요청 " + teamSummaries.size() + ", 위반: " + decoded.violations() + ")");
             }
             
             return result;
@@ -271,104 +476,52 @@ public class AdminTriggerService {
     }
     
     /**
-     * 정규식으로 Integer 값 추출
-     */
-    private Integer extractIntegerValue(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*(\\d+)";
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher m = p.matcher(json);
-        return m.find() ? Integer.parseInt(m.group(1)) : null;
-    }
-    
-    /**
-     * 정규식으로 Long 값 추출
-     */
-    private Long extractLongValue(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*(\\d+)";
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher m = p.matcher(json);
-        return m.find() ? Long.parseLong(m.group(1)) : null;
-    }
-    
-    /**
-     * 정규식으로 String 값 추출
-     */
-    private String extractStringValue(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*?)\"";
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher m = p.matcher(json);
-        return m.find() ? m.group(1) : null;
-    }
-    
-    /**
-     * 4. financial_statement 테이블에 매출 저장
+     * financial_statement 테이블에 매출 저장
      */
     private void saveFinancialStatements(Map<Integer, RevenueData> teamRevenues, Integer eventCode, Integer stage) {
         log.info("financial_statement 저장 시작 - {} 개 팀", teamRevenues.size());
         
+        // loan_business_plan에서 calculated_loan_amount 일괄 조회
+        Map<Integer, Integer> loanAmounts = getLoanAmounts(eventCode, stage);
+        
+        // 매출 + accounts_payable 설정, 나머지는 초기화 (팀별 덮어쓰기를 한 번의 batch upsert로)
+        List<BatchWriteRepository.RevenueRow> rows = new ArrayList<>();
         for (Map.Entry<Integer, RevenueData> entry : teamRevenues.entrySet()) {
             Integer teamCode = entry.getKey();
-            RevenueData revenueData = entry.getValue();
-            
-            // 기존 데이터 삭제 (덮어쓰기)
-            financialStatementRepository.deleteByEventCodeAndTeamCodeAndStageStep(eventCode, teamCode, stage);
-            
-            // loan_business_plan에서 calculated_loan_amount 조회
-            Integer accountsPayable = getLoanAmount(eventCode, teamCode, stage);
-            
-            // 새 financial_statement 생성 (매출 + accounts_payable 설정)
-            FinancialStatement fs = FinancialStatement.builder()
-                .eventCode(eventCode)
-                .teamCode(teamCode)
-                .stageStep(stage)
-                .revenue(revenueData.getRevenue().intValue()) // 매출 설정
-                .accountsPayable(accountsPayable) // 대출금액 설정
-                // 나머지는 기본값(null 또는 0)
-                .build();
-            
-            financialStatementRepository.save(fs);
+            Integer accountsPayable = loanAmounts.getOrDefault(teamCode, 0);
+            rows.add(new BatchWriteRepository.RevenueRow(
+                teamCode, entry.getValue().getRevenue().intValue(), accountsPayable));
             
             log.debug("팀 {}번 - 매출: {}원, 대출금액: {}원", teamCode, 
-                     revenueData.getRevenue(), accountsPayable);
+                     entry.getValue().getRevenue(), accountsPayable);
         }
+        batchWriteRepository.upsertFinancialRevenues(eventCode, stage, rows);
         
         log.info("financial_statement 저장 완료");
     }
     
     /**
-     * loan_business_plan에서 calculated_loan_amount 조회
+     * loan_business_plan에서 팀별 calculated_loan_amount 조회 (원 단위, 없거나 0이면 맵에 없음)
      */
-    private Integer getLoanAmount(Integer eventCode, Integer teamCode, Integer stageStep) {
+    private Map<Integer, Integer> getLoanAmounts(Integer eventCode, Integer stageStep) {
+        Map<Integer, Integer> loanAmounts = new HashMap<>();
         try {
-            Optional<LoanBusinessPlan> loanPlan = loanBusinessPlanRepository
-                .findByEventCodeAndTeamCodeAndStageStep(eventCode, teamCode, stageStep);
-            
-            if (loanPlan.isPresent()) {
-                Integer calculatedLoanAmount = loanPlan.get().getCalculatedLoanAmount();
-                
-                // 0이거나 null이면 0 처리
-                if (calculatedLoanAmount == null || calculatedLoanAmount == 0) {
-                    log.debug("팀 {}번 - 대출금액이 0 또는 null, 0으로 처리", teamCode);
-                    return 0;
+            for (LoanBusinessPlan loanPlan : loanBusinessPlanRepository.findByEventCodeAndStageStep(eventCode, stageStep)) {
+                Integer calculatedLoanAmount = loanPlan.getCalculatedLoanAmount();
+                if (calculatedLoanAmount != null && calculatedLoanAmount != 0) {
+                    // 만원 단위를 원 단위로 변환
+                    loanAmounts.put(loanPlan.getTeamCode(), calculatedLoanAmount * 10000);
                 }
-                
-                log.debug("팀 {}번 - 대출금액 조회 성공: {}만원", teamCode, calculatedLoanAmount);
-                // 만원 단위를 원 단위로 변환
-                return calculatedLoanAmount * 10000;
-                
-            } else {
-                log.debug("팀 {}번 - 대출 사업계획서 없음, 0으로 처리", teamCode);
-                return 0;
             }
-            
+            log.debug("대출금액 조회 - {}개 팀 (나머지는 0으로 처리)", loanAmounts.size());
         } catch (Exception e) {
-            log.warn("팀 {}번 - 대출금액 조회 실패, 0으로 처리: {}", teamCode, e.getMessage());
-            return 0;
+            log.warn("대출금액 조회 실패, 전체 0으로 처리: {}", e.getMessage());
         }
+        return loanAmounts;
     }
     
     /**
-     * 5. 팀별 순위 생성 및 저장
+     * 팀별 순위 생성 및 저장
      */
     private void saveTeamRankings(Map<Integer, RevenueData> teamRevenues, Integer eventCode, Integer stage) {
         log.info("팀별 순위 생성 시작");
@@ -376,34 +529,23 @@ public class AdminTriggerService {
         // 매출 기준 순위 정렬
         List<Map.Entry<Integer, RevenueData>> sortedTeams = teamRevenues.entrySet()
             .stream()
-            .sorted((e1, e2) -> e2.getValue().getRevenue().compareTo(e1.getValue().getRevenue()))
+            .sorted((e1, e2) -> {
+                int byRevenue = e2.getValue().getRevenue().compareTo(e1.getValue().getRevenue());
+                return byRevenue != 0 ? byRevenue : e1.getKey().compareTo(e2.getKey()); // 동점은 팀코드 순
+            })
             .collect(Collectors.toList());
         
         // distribution_id 생성
         String distributionId = eventCode + "-" + stage;
         
-        // 기존 데이터 삭제 (덮어쓰기)
-        teamRevenueAllocationRepository.deleteByEventCodeAndStageStep(eventCode, stage);
-        
-        // team_revenue_allocation 저장
+        // team_revenue_allocation 저장 (batch upsert, 이번 결과에 없는 팀은 삭제)
+        List<BatchWriteRepository.AllocationRow> rows = new ArrayList<>();
         for (int i = 0; i < sortedTeams.size(); i++) {
             Map.Entry<Integer, RevenueData> entry = sortedTeams.get(i);
-            Integer teamCode = entry.getKey();
-            RevenueData revenueData = entry.getValue();
-            int rank = i + 1;
-            
-            TeamRevenueAllocation allocation = TeamRevenueAllocation.builder()
-                .distributionId(distributionId)
-                .eventCode(eventCode)
-                .teamCode(teamCode)
-                .stageStep(stage)
-                .allocatedRevenue(revenueData.getRevenue())
-                .stageRank(rank)
-                .allocationReason(revenueData.getReason())
-                .build();
-            
-            teamRevenueAllocationRepository.save(allocation);
+            rows.add(new BatchWriteRepository.AllocationRow(
+                entry.getKey(), entry.getValue().getRevenue(), i + 1, entry.getValue().getReason()));
         }
+        batchWriteRepository.replaceRevenueAllocations(eventCode, stage, distributionId, rows);
         
         log.info("팀별 순위 생성 완료 - {} 개 팀", sortedTeams.size());
     }
@@ -411,7 +553,7 @@ public class AdminTriggerService {
     /**
      * 매출 데이터 내부 클래스
      */
-    private static class RevenueData {
+    static class RevenueData {
         private final Long revenue;
         private final String reason;
         private final String shortReason;
@@ -0,0 +1,14 @@
+package com.example.chatgpt.service;
+
+import java.util.Map;
+
+/**
+ * 비동기 작업 실행기 (작업 유형별로 AsyncJobService에 등록)
+ * - 재시작/재시도 시 같은 payload로 다시 실행되므로 결과를 덮어쓰는 멱등 작업이어야 함
+ * - 반환값은 JSON으로 저장되어 /api/jobs/{jobId} 의 result로 노출
+ */
+@FunctionalInterface
+public interface AsyncJobHandler {
+
+    Object handle(Map<String, Object> payload, AsyncJobService.Progress progress) throws Exception;
+}
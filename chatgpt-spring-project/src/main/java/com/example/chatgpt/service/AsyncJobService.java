@@ -0,0 +1,410 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.AsyncJobConfig;
+import com.example.chatgpt.entity.AsyncJob;
+import com.example.chatgpt.repository.AsyncJobRepository;
+import com.example.chatgpt.util.KeyedLockRegistry;
+import com.example.chatgpt.util.LeaseLockManager;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 작업 서비스 (장시간 LLM 작업을 HTTP 요청 밖에서 실행)
+ * - 접수: async_job에 PENDING으로 저장 후 jobId 즉시 반환, 같은 작업이 진행 중이면 기존 작업 반환
+ * - 실행: 인스턴스마다 고정 개수 워커가 대기 작업을 조건부 UPDATE로 선점해 실행
+ * - 복구: 실행 중 작업은 주기적으로 heartbeat, 끊긴 작업(인스턴스 종료/재시작)은 재실행 대기로 되돌림 (시각 비교는 DB 시계)
+ * - 재시도: 일시적 오류(LLM 429/5xx/타임아웃, 서킷 오픈, 락 대기 초과)만 지수 백오프로 재실행
+ * - app.job.submitted / app.job.finished / app.job.running 메트릭
+ */
+@Service
+@Slf4j
+public class AsyncJobService {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final AsyncJobRepository asyncJobRepository;
+    private final AsyncJobConfig asyncJobConfig;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AsyncJobHandler> handlers = new ConcurrentHashMap<>();
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private final String instanceId;
+
+    private ScheduledExecutorService poller;
+    private ExecutorService workers;
+    private volatile boolean stopping = false;
+    private long lastHeartbeatAt = 0;
+
+    public AsyncJobService(AsyncJobRepository asyncJobRepository,
+                           AsyncJobConfig asyncJobConfig,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.asyncJobRepository = asyncJobRepository;
+        this.asyncJobConfig = asyncJobConfig;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+        Gauge.builder("app.job.running", runningCount, AtomicInteger::get)
+                .description("이 인스턴스에서 실행 중인 비동기 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업 유형별 실행기 등록 (애플리케이션 기동 중 각 서비스의 @PostConstruct에서 등록)
+     */
+    public void registerHandler(String jobType, AsyncJobHandler handler) {
+        if (handlers.putIfAbsent(jobType, handler) != null) {
+            throw new IllegalStateException("이미 등록된 작업 유형입니다: " + jobType);
+        }
+    }
+
+    /**
+     * 작업 접수
+     * - 같은 작업(유형+행사+팀+스테이지)이 대기/실행 중이면 새로 만들지 않고 기존 작업 반환 (중복 클릭/재시도)
+     */
+    public Submitted submit(String jobType, Integer eventCode, Integer teamCode, Integer stage, Map<String, Object> payload) {
+        if (!handlers.containsKey(jobType)) {
+            throw new IllegalArgumentException("등록되지 않은 작업 유형입니다: " + jobType);
+        }
+        String activeKey = jobType + ":" + eventCode + ":" + teamCode + ":" + stage;
+
+        Optional<AsyncJob> existing = asyncJobRepository.findByActiveKey(activeKey);
+        if (existing.isPresent()) {
+            log.info("진행 중인 작업 반환 - jobId: {}, key: {}", existing.get().getJobId(), activeKey);
+            return new Submitted(existing.get(), true);
+        }
+
+        AsyncJob job = AsyncJob.builder()
+                .jobId(UUID.randomUUID().toString())
+                .jobType(jobType)
+                .eventCode(eventCode)
+                .teamCode(teamCode)
+                .stage(stage)
+                .activeKey(activeKey)
+                .status(PENDING)
+                .progress("대기 중")
+                .payload(toJson(payload))
+                .attempts(0)
+                .maxAttempts(asyncJobConfig.getMaxAttempts())
+                .nextRunAt(LocalDateTime.now()) // 첫 실행은 이 값과 무관하게 바로 (재시도 시각만 DB 시계로 계산)
+                .build();
+        try {
+            job = asyncJobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스/요청이 같은 작업을 먼저 접수 (active_key UNIQUE)
+            Optional<AsyncJob> raced = asyncJobRepository.findByActiveKey(activeKey);
+            if (raced.isPresent()) {
+                return new Submitted(raced.get(), true);
+            }
+            throw e;
+        }
+
+        Counter.builder("app.job.submitted")
+                .tag("type", jobType)
+                .register(meterRegistry)
+                .increment();
+        log.info("작업 접수 - jobId: {}, type: {}, key: {}", job.getJobId(), jobType, activeKey);
+
+        wakeUp();
+        return new Submitted(job, false);
+    }
+
+    public Optional<AsyncJob> getJob(String jobId) {
+        return asyncJobRepository.findById(jobId);
+    }
+
+    /**
+     * 행사/팀의 최근 작업 (상태 조회 API가 인스턴스와 무관하게 DB 기준으로 판단할 때 사용)
+     */
+    public Optional<AsyncJob> findLatest(String jobType, Integer eventCode, Integer teamCode) {
+        return asyncJobRepository.findFirstByJobTypeAndEventCodeAndTeamCodeOrderByCreatedAtDesc(jobType, eventCode, teamCode);
+    }
+
+    public static boolean isActive(AsyncJob job) {
+        return PENDING.equals(job.getStatus()) || RUNNING.equals(job.getStatus());
+    }
+
+    /**
+     * 저장된 결과 JSON 변환 (결과가 없거나 형식이 다르면 empty)
+     */
+    public <T> Optional<T> readResult(AsyncJob job, Class<T> type) {
+        if (job.getResult() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(objectMapper.readValue(job.getResult(), type));
+        } catch (IOException e) {
+            log.warn("작업 결과 변환 실패 - jobId: {}: {}", job.getJobId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 작업 상태 응답 (result는 저장된 JSON 그대로)
+     */
+    public Map<String, Object> toView(AsyncJob job) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("jobId", job.getJobId());
+        view.put("jobType", job.getJobType());
+        view.put("status", job.getStatus());
+        view.put("progress", job.getProgress());
+        view.put("attempts", job.getAttempts());
+        view.put("eventCode", job.getEventCode());
+        view.put("teamCode", job.getTeamCode());
+        view.put("stage", job.getStage());
+        view.put("createdAt", job.getCreatedAt());
+        view.put("startedAt", job.getStartedAt());
+        view.put("finishedAt", job.getFinishedAt());
+        view.put("statusUrl", "/api/jobs/" + job.getJobId());
+        if (job.getErrorMessage() != null) {
+            view.put("error", job.getErrorMessage());
+        }
+        if (job.getResult() != null) {
+            try {
+                view.put("result", objectMapper.readTree(job.getResult()));
+            } catch (IOException e) {
+                view.put("result", job.getResult());
+            }
+        }
+        return view;
+    }
+
+    // ================================================================================================
+    // 워커
+    // ================================================================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        workers = Executors.newFixedThreadPool(asyncJobConfig.getWorkerThreads(),
+                Thread.ofPlatform().name("async-job-", 0).daemon(true).factory());
+        poller = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("async-job-poller").daemon(true).factory());
+        poller.scheduleWithFixedDelay(this::tick, 0, asyncJobConfig.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("비동기 작업 워커 시작 - instance: {}, 작업 유형: {}", instanceId, handlers.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 중단된 작업은 대기 상태로 되돌려 다른 인스턴스(또는 재시작 후)에서 재실행
+        // (DB 갱신도 못 하고 종료되면 heartbeat가 끊긴 뒤 복구)
+        stopping = true;
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(asyncJobConfig.getShutdownWaitMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void wakeUp() {
+        if (poller != null && !poller.isShutdown()) {
+            poller.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * 주기 작업: heartbeat → 중단된 작업 복구 → 대기 작업 실행
+     */
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            if (now - lastHeartbeatAt >= asyncJobConfig.getHeartbeatMs()) {
+                lastHeartbeatAt = now;
+                if (runningCount.get() > 0) {
+                    asyncJobRepository.heartbeat(instanceId);
+                }
+                recoverStaleJobs();
+            }
+            dispatch();
+        } catch (Exception e) {
+            log.warn("비동기 작업 주기 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void recoverStaleJobs() {
+        long staleOffsetMicros = -TimeUnit.MILLISECONDS.toMicros(asyncJobConfig.getStaleAfterMs());
+        int requeued = asyncJobRepository.requeueStale(staleOffsetMicros);
+        int failed = asyncJobRepository.failStale(staleOffsetMicros);
+        if (requeued > 0 || failed > 0) {
+            log.warn("중단된 작업 복구 - 재실행 대기: {}건, 실패 처리: {}건", requeued, failed);
+        }
+    }
+
+    /**
+     * 빈 워커 수만큼 대기 작업 선점 후 실행 (poller 스레드에서만 호출)
+     */
+    private void dispatch() {
+        try {
+            int free = asyncJobConfig.getWorkerThreads() - runningCount.get();
+            if (free <= 0) {
+                return;
+            }
+            List<String> jobIds = asyncJobRepository.findRunnableJobIds(free);
+            for (String jobId : jobIds) {
+                if (asyncJobRepository.claim(jobId, instanceId) == 1) {
+                    runningCount.incrementAndGet();
+                    workers.execute(() -> run(jobId));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("대기 작업 실행 실패: {}", e.getMessage());
+        }
+    }
+
+    private void run(String jobId) {
+        AsyncJob job = null;
+        try {
+            job = asyncJobRepository.findById(jobId)
+                    .orElseThrow(() -> new IllegalStateException("작업을 찾을 수 없습니다: " + jobId));
+            AsyncJobHandler handler = handlers.get(job.getJobType());
+            if (handler == null) {
+                throw new IllegalStateException("등록되지 않은 작업 유형입니다: " + job.getJobType());
+            }
+            log.info("작업 실행 - jobId: {}, type: {}, 시도: {}/{}",
+                     jobId, job.getJobType(), job.getAttempts(), job.getMaxAttempts());
+
+            Map<String, Object> payload = job.getPayload() == null
+                    ? Map.of()
+                    : objectMapper.readValue(job.getPayload(), PAYLOAD_TYPE);
+            Object result = handler.handle(payload,
+                    message -> asyncJobRepository.updateProgress(jobId, instanceId, message));
+
+            asyncJobRepository.finish(jobId, instanceId, SUCCEEDED, toJson(result), null);
+            finished(job.getJobType(), SUCCEEDED);
+            log.info("작업 완료 - jobId: {}", jobId);
+
+        } catch (Throwable e) {
+            handleFailure(jobId, job, e);
+        } finally {
+            runningCount.decrementAndGet();
+            wakeUp();
+        }
+    }
+
+    private void handleFailure(String jobId, AsyncJob job, Throwable e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+        String jobType = job != null ? job.getJobType() : "unknown";
+
+        if (stopping) {
+            try {
+                asyncJobRepository.retryLater(jobId, instanceId, "서버 종료로 중단: " + message, 0);
+                log.warn("서버 종료로 작업 중단, 재실행 대기로 복구 - jobId: {}", jobId);
+            } catch (Exception requeueError) {
+                log.warn("중단 작업 복구 실패 (heartbeat 만료 후 복구) - jobId: {}: {}", jobId, requeueError.getMessage());
+            }
+            return;
+        }
+
+        if (job != null && isTransient(e) && job.getAttempts() < job.getMaxAttempts()) {
+            long backoffMs = asyncJobConfig.getRetryBackoffMs() << Math.min(job.getAttempts() - 1, 10);
+            asyncJobRepository.retryLater(jobId, instanceId, message, TimeUnit.MILLISECONDS.toMicros(backoffMs));
+            log.warn("작업 일시 실패, {}ms 후 재시도 - jobId: {}: {}", backoffMs, jobId, message);
+            return;
+        }
+
+        try {
+            asyncJobRepository.finish(jobId, instanceId, FAILED, null, message);
+        } catch (Exception finishError) {
+            log.error("작업 실패 상태 저장 실패 - jobId: {}", jobId, finishError);
+        }
+        finished(jobType, FAILED);
+        log.error("작업 실패 - jobId: {}, type: {}", jobId, jobType, e);
+    }
+
+    /**
+     * 재실행하면 성공할 수 있는 오류인지 (원인 체인까지 확인)
+     */
+    private boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof OpenAiService.RateLimitExceededException
+                    || t instanceof OpenAiService.CircuitOpenException
+                    || t instanceof KeyedLockRegistry.LockTimeoutException
+                    || t instanceof LeaseLockManager.LeaseHeldException
+                    || t instanceof TransientDataAccessException
+                    || t instanceof WebClientRequestException
+                    || t instanceof TimeoutException
+                    || t instanceof IOException) {
+                return true;
+            }
+            if (t instanceof WebClientResponseException response
+                    && (response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void finished(String jobType, String status) {
+        Counter.builder("app.job.finished")
+                .tag("type", jobType)
+                .tag("status", status)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("작업 데이터 직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 작업 진행 상황 기록 (/api/jobs/{jobId} 의 progress)
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void update(String message);
+    }
+
+    /**
+     * 접수 결과 (duplicate: 이미 진행 중인 같은 작업을 반환한 경우)
+     */
+    public record Submitted(AsyncJob job, boolean duplicate) {
+    }
+}
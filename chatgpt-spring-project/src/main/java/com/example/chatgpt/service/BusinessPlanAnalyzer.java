@@ -1,19 +1,23 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.example.chatgpt.dto.DecisionVariableDto;
+import com.example.chatgpt.dto.LlmOutputDto;
 import com.example.chatgpt.entity.LlmQuestion;
 import com.example.chatgpt.entity.Stage1Bizplan;
+import com.example.chatgpt.repository.BatchWriteRepository;
 import com.example.chatgpt.repository.LlmQuestionRepository;
 import com.example.chatgpt.repository.Stage1BizplanRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.chatgpt.util.LlmJsonDecoder;
+import com.example.chatgpt.util.TransactionRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import org.springframework.retry.annotation.EnableRetry;
+import reactor.core.publisher.Mono;
 
 @EnableRetry
 /**
@@ -24,19 +28,24 @@ import org.springframework.retry.annotation.EnableRetry;
 @RequiredArgsConstructor
 public class BusinessPlanAnalyzer {
 
+    private static final String TX_FLOW = "question_generation";
+
     private final OpenAiService openAiService;
+    private final PromptBudgeter promptBudgeter;
     private final ExcelLoaderService excelLoaderService;
     private final LlmQuestionRepository llmQuestionRepository;
+    private final BatchWriteRepository batchWriteRepository;
     private final Stage1BizplanRepository stage1BizplanRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmJsonDecoder llmJsonDecoder;
+    private final TransactionRunner transactionRunner;
 
     /**
-     * ChatGPT API 호출 (범용 메서드)
+     * ChatGPT API 호출 (범용 메서드, 호출 위치/우선순위/행사 지정)
      */
-    public String callChatGptApi(String prompt) {
+    public String callChatGptApi(String prompt, ChatOptions options) {
         try {
             log.debug("ChatGPT API 호출 시작 - 프롬프트 길이: {}자", prompt.length());
-            String response = openAiService.chat(prompt);
+            String response = openAiService.chat(prompt, options);
             log.debug("ChatGPT API 응답 완료 - 응답 길이: {}자", response.length());
             return response;
         } catch (Exception e) {
@@ -44,11 +53,24 @@ public class BusinessPlanAnalyzer {
             throw new RuntimeException("ChatGPT API 호출 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
+
+    /**
+     * ChatGPT API 호출 (범용 메서드, 비동기)
+     */
+    public Mono<String> callChatGptApiAsync(String prompt, ChatOptions options) {
+        log.debug("ChatGPT API 비동기 호출 시작 - 프롬프트 길이: {}자", prompt.length());
+        return openAiService.chatAsync(prompt, options)
+                .doOnNext(response -> log.debug("ChatGPT API 비동기 응답 완료 - 응답 길이: {}자", response.length()))
+                .onErrorMap(e -> {
+                    log.error("ChatGPT API 비동기 호출 실패", e);
+                    return new RuntimeException("ChatGPT API 호출 중 오류가 발생했습니다: " + e.getMessage());
+                });
+    }
     
     /**
      * 질문 생성 및 DB 저장 (메인 메서드)
+     * - 사업계획서 요약 조회 (읽기 전용) → LLM 호출 (트랜잭션/커넥션/락 없음) → 기존 질문 삭제 + 일괄 저장 (짧은 쓰기 트랜잭션)
      */
-    @Transactional(timeout = 180)
     public Map<String, Object> generateQuestionsAndSave(
             Integer eventCode,
             Integer teamCode, 
@@ -58,7 +80,7 @@ public class BusinessPlanAnalyzer {
         log.info("질문 생성 및 저장 시작 - eventCode: {}, teamCode: {}, stage: {}", eventCode, teamCode, stage);
         
         // 1. stage1_bizplan에서 biz_item_summary 조회
-        String bizItemSummary = getBizItemSummary(eventCode, teamCode);
+        String bizItemSummary = transactionRunner.read(TX_FLOW, () -> getBizItemSummary(eventCode, teamCode));
         
         if (bizItemSummary == null || bizItemSummary.trim().isEmpty()) {
             throw new RuntimeException("사업계획서 요약이 없습니다. 먼저 사업계획서를 업로드해주세요.");
@@ -66,20 +88,18 @@ public class BusinessPlanAnalyzer {
         
         log.info("사업계획서 요약 조회 완료 - 길이: {}자", bizItemSummary.length());
         
-        // 2. 기존 질문이 있으면 삭제 (재생성)
-        if (llmQuestionRepository.existsByTeamCodeAndStageStep(teamCode, stage)) {
-            log.info("기존 질문 삭제 - teamCode: {}, stage: {}", teamCode, stage);
-            llmQuestionRepository.deleteByTeamCodeAndStageStep(teamCode, stage);
-        }
+        // 2. ChatGPT로 질문 생성
+        Map<String, Object> questionsResult = analyzeBusinessPlanWithStage(bizItemSummary, stage, previousAnswers, ChatOptions.interactive(eventCode).withCallSite(CallSite.QUESTION_GENERATION).withJsonMode());
         
-        // 3. ChatGPT로 질문 생성
-        Map<String, Object> questionsResult = analyzeBusinessPlanWithStage(bizItemSummary, stage, previousAnswers);
-        
-        // 4. DB에 저장
-        saveQuestionsToDatabase(eventCode, teamCode, stage, questionsResult);
-        
-        // 5. 저장된 질문 조회해서 응답
-        List<LlmQuestion> savedQuestions = llmQuestionRepository.findByTeamCodeAndStageStep(teamCode, stage);
+        // 3. 기존 질문 삭제 (재생성) 후 DB에 저장, 저장된 질문 조회
+        List<LlmQuestion> savedQuestions = transactionRunner.write(TX_FLOW, eventCode, teamCode, () -> {
+            if (llmQuestionRepository.existsByTeamCodeAndStageStep(teamCode, stage)) {
+                log.info("기존 질문 삭제 - teamCode: {}, stage: {}", teamCode, stage);
+                llmQuestionRepository.deleteByTeamCodeAndStageStep(teamCode, stage);
+            }
+            saveQuestionsToDatabase(eventCode, teamCode, stage, questionsResult);
+            return llmQuestionRepository.findByTeamCodeAndStageStep(teamCode, stage);
+        });
         
         Map<String, Object> result = new HashMap<>();
         result.put("total_questions", savedQuestions.size());
@@ -118,7 +138,7 @@ public class BusinessPlanAnalyzer {
      */
     private void saveQuestionsToDatabase(Integer eventCode, Integer teamCode, int stage, Map<String, Object> questionsResult) {
         @SuppressWarnings("unchecked")
-        List<Map<String, Object>> questions = (List<Map<String, Object>>) questionsResult.get("questions");
+        List<LlmOutputDto.GeneratedQuestion> questions = (List<LlmOutputDto.GeneratedQuestion>) questionsResult.get("questions");
         
         if (questions == null || questions.isEmpty()) {
             throw new RuntimeException("생성된 질문이 없습니다.");
@@ -126,44 +146,50 @@ public class BusinessPlanAnalyzer {
         
         log.info("DB 저장 시작 - {}개 질문", questions.size());
         
-        for (Map<String, Object> questionData : questions) {
+        List<LlmQuestion> llmQuestions = new ArrayList<>();
+        for (LlmOutputDto.GeneratedQuestion questionData : questions) {
+            if (questionData.getQuestion() == null || questionData.getQuestion().isBlank()) {
+                log.warn("질문 내용이 없는 항목 제외 - id: {}", questionData.getId());
+                continue;
+            }
+            
             LlmQuestion llmQuestion = LlmQuestion.builder()
                 .eventCode(eventCode)
                 .teamCode(teamCode)
                 .stageStep(stage)
-                .category((String) questionData.get("category"))
-                .selectionReason((String) questionData.get("selection_reason"))
-                .questionSummary((String) questionData.get("question_summary"))
-                .question((String) questionData.get("question"))
+                .category(questionData.getCategory())
+                .selectionReason(questionData.getSelectionReason())
+                .questionSummary(questionData.getQuestionSummary())
+                .question(questionData.getQuestion())
                 .build();
             
             // 선택지 처리 (객관식만)
-            String type = (String) questionData.get("type");
-            if ("multiple_choice".equals(type)) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, String>> options = (List<Map<String, String>>) questionData.get("options");
+            if (questionData.isMultipleChoice()) {
+                List<LlmOutputDto.QuestionOption> options = questionData.getOptions();
                 
                 if (options != null && options.size() >= 5) {
-                    llmQuestion.setOption1(options.get(0).get("text"));
-                    llmQuestion.setOption2(options.get(1).get("text"));
-                    llmQuestion.setOption3(options.get(2).get("text"));
-                    llmQuestion.setOption4(options.get(3).get("text"));
-                    llmQuestion.setOption5(options.get(4).get("text"));
+                    llmQuestion.setOption1(options.get(0).getText());
+                    llmQuestion.setOption2(options.get(1).getText());
+                    llmQuestion.setOption3(options.get(2).getText());
+                    llmQuestion.setOption4(options.get(3).getText());
+                    llmQuestion.setOption5(options.get(4).getText());
                 }
             }
             // 주관식(essay)인 경우 option들은 null로 유지
             
-            llmQuestionRepository.save(llmQuestion);
+            llmQuestions.add(llmQuestion);
         }
         
-        log.info("DB 저장 완료 - {}개 질문", questions.size());
+        batchWriteRepository.insertLlmQuestions(llmQuestions);
+        
+        log.info("DB 저장 완료 - {}개 질문", llmQuestions.size());
     }
 
     /**
      * 간단한 테스트 요청 (Rate Limit 확인용)
      */
     public String testSimpleRequest() {
-        return openAiService.chat("Say 'Hello'");
+        return openAiService.chat("Say 'Hello'", ChatOptions.noCache());
     }
     
     /**
@@ -175,7 +201,7 @@ public class BusinessPlanAnalyzer {
         String prompt = "다음 짧은 설명을 보고 질문 1개만 만들어주세요:\n\n" + shortText;
         
         try {
-            String response = openAiService.chat(prompt);
+            String response = openAiService.chat(prompt, ChatOptions.noCache());
             return Map.of("success", true, "result", response);
         } catch (Exception e) {
             return Map.of("success", false, "error", e.getMessage());
@@ -189,6 +215,14 @@ public class BusinessPlanAnalyzer {
             String documentText, 
             int stage,
             Map<String, String> previousAnswers) {
+        return analyzeBusinessPlanWithStage(documentText, stage, previousAnswers, ChatOptions.of(CallSite.QUESTION_GENERATION).withJsonMode());
+    }
+
+    public Map<String, Object> analyzeBusinessPlanWithStage(
+            String documentText, 
+            int stage,
+            Map<String, String> previousAnswers,
+            ChatOptions options) {
         
         log.info("Stage {} 분석 시작", stage);
         
@@ -202,11 +236,12 @@ public class BusinessPlanAnalyzer {
         Set<String> majorCategories = stageCategories.keySet();
         log.info("Stage {} 대분류 ({} 개): {}", stage, majorCategories.size(), majorCategories);
         
-        // ChatGPT 프롬프트 생성 (엑셀 변수 없이)
-        String prompt = createStagePrompt(documentText, stage, null, previousAnswers);
+        // ChatGPT 프롬프트 생성 (엑셀 변수 없이, 사업계획서는 토큰 예산 안으로 축소)
+        int documentBudget = promptBudgeter.availableFor(createStagePrompt("", stage, null, previousAnswers));
+        String prompt = createStagePrompt(promptBudgeter.trimToTokens(documentText, documentBudget), stage, null, previousAnswers);
         
         // ChatGPT 호출
-        String response = openAiService.chat(prompt);
+        String response = openAiService.chat(prompt, options);
         
         // 응답 파싱
         return parseQuestionsResponse(response);
@@ -449,39 +484,16 @@ public class BusinessPlanAnalyzer {
     
     /**
      * 응답 파싱
+     * - 잘린 응답/문법 오류는 위치와 함께 예외, 개별 질문의 제약 위반은 경고 후 저장 단계에서 걸러냄
      */
     private Map<String, Object> parseQuestionsResponse(String response) {
         try {
-            // JSON 추출 (```json ... ``` 형태일 수도 있음)
-            String jsonText = response;
-            if (response.contains("```json")) {
-                jsonText = response.substring(
-                    response.indexOf("```json") + 7,
-                    response.lastIndexOf("```")
-                ).trim();
-            } else if (response.contains("```")) {
-                jsonText = response.substring(
-                    response.indexOf("```") + 3,
-                    response.lastIndexOf("```")
-                ).trim();
-            }
-            
-            // JSON 완전성 체크
-            if (!jsonText.trim().endsWith("}")) {
-                log.warn("JSON이 완전하지 않습니다. 응답이 잘린 것으로 보입니다.");
-                log.warn("응답 길이: {} 자", response.length());
-                throw new RuntimeException(
-                    "ChatGPT 응답이 불완전합니다. max_tokens을 증가시키거나 질문 수를 줄여주세요. " +
-                    "현재 응답 길이: " + response.length() + "자"
-                );
-            }
-            
-            Map<String, Object> result = objectMapper.readValue(jsonText, new TypeReference<>() {});
+            LlmJsonDecoder.Decoded<LlmOutputDto.GeneratedQuestions> decoded =
+                    llmJsonDecoder.decode(response, LlmOutputDto.GeneratedQuestions.class);
+            List<LlmOutputDto.GeneratedQuestion> questions = decoded.value().getQuestions();
             log.info("응답 파싱 성공");
             
             // 질문 수 확인
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> questions = (List<Map<String, Object>>) result.get("questions");
             if (questions != null) {
                 log.info("생성된 질문 수: {}", questions.size());
                 
@@ -492,15 +504,17 @@ public class BusinessPlanAnalyzer {
                 
                 // 객관식/주관식 비율 확인
                 long multipleChoiceCount = questions.stream()
-                    .filter(q -> "multiple_choice".equals(q.get("type")))
+                    .filter(LlmOutputDto.GeneratedQuestion::isMultipleChoice)
                     .count();
                 long essayCount = questions.stream()
-                    .filter(q -> "essay".equals(q.get("type")))
+                    .filter(q -> "essay".equals(q.getType()))
                     .count();
                     
                 log.info("객관식: {}개, 주관식: {}개", multipleChoiceCount, essayCount);
             }
             
+            Map<String, Object> result = new HashMap<>();
+            result.put("questions", questions);
             return result;
             
         } catch (Exception e) {
@@ -528,13 +542,9 @@ public class BusinessPlanAnalyzer {
     }
 
     /**
-     * 텍스트 길이 제한 (너무 긴 경우 요약)
+     * 텍스트 길이 제한 (업로드 추출 텍스트 보관용, 문장 경계 기준)
      */
     public String limitTextLength(String text, int maxLength) {
-        if (text.length() <= maxLength) {
-            return text;
-        }
-        log.warn("텍스트가 너무 깁니다. {} -> {} 자로 제한", text.length(), maxLength);
-        return text.substring(0, maxLength) + "\n\n... (이하 생략)";
+        return promptBudgeter.trimToChars(text, maxLength);
     }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.entity.FinancialStatement;
+import com.example.chatgpt.entity.GroupSummary;
+import com.example.chatgpt.entity.StageSummary;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사업계획서 Stage 비동기 작업 (질문 생성, 답변 완료, Stage 완료 통합 처리)
+ * - 작업 유형 등록과 접수를 한곳에서 처리 (컨트롤러는 submit* 결과로 202 응답만 구성)
+ * - 실행은 AsyncJobService 워커, 결과는 기존 동기 응답과 같은 형태로 /api/jobs/{jobId} 에 저장
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessPlanJobService {
+
+    // 비동기 작업 유형 (LLM 호출이 길어 HTTP 요청 안에서 실행하지 않음)
+    private static final String JOB_QUESTION_GENERATION = "question_generation";
+    private static final String JOB_STAGE_COMPLETE_ANSWERS = "stage_complete_answers";
+    private static final String JOB_STAGE_COMPLETE_INTEGRATED = "stage_complete_integrated";
+
+    private final AsyncJobService asyncJobService;
+    private final BusinessPlanAnalyzer businessPlanAnalyzer;
+    private final AdminRevenueDistributionService adminRevenueDistributionService;
+    private final GroupSummaryService groupSummaryService;
+    private final StageSummaryService stageSummaryService;
+    private final FinancialStatementService financialStatementService;
+
+    @PostConstruct
+    public void registerJobHandlers() {
+        asyncJobService.registerHandler(JOB_QUESTION_GENERATION, this::runQuestionGeneration);
+        asyncJobService.registerHandler(JOB_STAGE_COMPLETE_ANSWERS, this::runStoreStageAnswers);
+        asyncJobService.registerHandler(JOB_STAGE_COMPLETE_INTEGRATED, this::runCompleteStageIntegrated);
+    }
+
+    /**
+     * Stage 질문 생성 접수
+     */
+    public AsyncJobService.Submitted submitQuestionGeneration(Integer eventCode, Integer teamCode, Integer stage,
+                                                              Map<String, String> previousAnswers) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventCode", eventCode);
+        payload.put("teamCode", teamCode);
+        payload.put("stage", stage);
+        payload.put("previousAnswers", previousAnswers);
+        return asyncJobService.submit(JOB_QUESTION_GENERATION, eventCode, teamCode, stage, payload);
+    }
+
+    /**
+     * Stage 답변 완료 접수 (ChatGPT 메모리 + group_summary 저장, 세션 정보는 payload로 전달)
+     */
+    public AsyncJobService.Submitted submitStoreStageAnswers(Integer eventCode, Integer teamCode, Integer stage,
+                                                             String businessPlan, Map<String, Object> stageAnswers,
+                                                             List<Map<String, Object>> userExpenseInputs) {
+        return asyncJobService.submit(JOB_STAGE_COMPLETE_ANSWERS, eventCode, teamCode, stage,
+                stagePayload(eventCode, teamCode, stage, businessPlan, stageAnswers, userExpenseInputs));
+    }
+
+    /**
+     * Stage 완료 통합 처리 접수 (요약본 + 재무제표)
+     */
+    public AsyncJobService.Submitted submitCompleteStageIntegrated(Integer eventCode, Integer teamCode, Integer stage,
+                                                                   String businessPlan, Map<String, Object> stageAnswers,
+                                                                   List<Map<String, Object>> userExpenseInputs) {
+        return asyncJobService.submit(JOB_STAGE_COMPLETE_INTEGRATED, eventCode, teamCode, stage,
+                stagePayload(eventCode, teamCode, stage, businessPlan, stageAnswers, userExpenseInputs));
+    }
+
+    private Map<String, Object> stagePayload(Integer eventCode, Integer teamCode, Integer stage,
+                                             String businessPlan, Map<String, Object> stageAnswers,
+                                             List<Map<String, Object>> userExpenseInputs) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventCode", eventCode);
+        payload.put("teamCode", teamCode);
+        payload.put("stage", stage);
+        payload.put("businessPlan", businessPlan);
+        payload.put("stageAnswers", stageAnswers);
+        payload.put("userExpenseInputs", userExpenseInputs);
+        return payload;
+    }
+    
+
+    // ================================================================================================
+    // 작업 실행 (AsyncJobService 워커에서 호출, 결과는 기존 동기 응답과 같은 형태)
+    // ================================================================================================
+    
+    /**
+     * Stage 질문 생성 및 저장
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> runQuestionGeneration(Map<String, Object> payload, AsyncJobService.Progress progress) {
+        Integer eventCode = (Integer) payload.get("eventCode");
+        Integer teamCode = (Integer) payload.get("teamCode");
+        Integer stage = (Integer) payload.get("stage");
+        Map<String, String> previousAnswers = (Map<String, String>) payload.get("previousAnswers");
+        
+        progress.update("질문 생성 중");
+        Map<String, Object> analysisResult = businessPlanAnalyzer.generateQuestionsAndSave(
+            eventCode, teamCode, stage, previousAnswers);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stage", stage);
+        response.put("teamCode", teamCode);
+        response.put("eventCode", eventCode);
+        response.put("data", analysisResult);
+        return response;
+    }
+    
+    /**
+     * Stage 답변 완료 - ChatGPT 메모리 저장 + group_summary 저장 (각각 실패해도 계속 진행)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> runStoreStageAnswers(Map<String, Object> payload, AsyncJobService.Progress progress) {
+        Integer eventCode = (Integer) payload.get("eventCode");
+        Integer teamCode = (Integer) payload.get("teamCode");
+        Integer stage = (Integer) payload.get("stage");
+        String businessPlan = (String) payload.get("businessPlan");
+        Map<String, Object> stageAnswers = (Map<String, Object>) payload.get("stageAnswers");
+        List<Map<String, Object>> userExpenseInputs = (List<Map<String, Object>>) payload.get("userExpenseInputs");
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        // 1. ChatGPT 메모리에 그룹 정보 저장
+        progress.update("ChatGPT 메모리 저장 중");
+        boolean chatGptMemoryStored = false;
+        try {
+            adminRevenueDistributionService.storeGroupSummaryInChatGPT(
+                eventCode, teamCode, stage, 
+                businessPlan, stageAnswers, userExpenseInputs
+            );
+            chatGptMemoryStored = true;
+            log.info("팀 {} Stage {} ChatGPT 메모리 저장 완료", teamCode, stage);
+            
+        } catch (Exception e) {
+            log.warn("팀 {} Stage {} ChatGPT 메모리 저장 실패 (진행은 계속): {}", teamCode, stage, e.getMessage());
+        }
+        
+        // 2. group_summary 테이블에 핵심정보 저장
+        progress.update("그룹 요약 저장 중");
+        boolean groupSummaryStored = false;
+        try {
+            GroupSummary savedSummary = groupSummaryService.saveGroupSummary(
+                eventCode, teamCode, stage, 
+                businessPlan, stageAnswers, userExpenseInputs
+            );
+            groupSummaryStored = true;
+            log.info("팀 {} Stage {} 그룹 요약 DB 저장 완료 - summaryId: {}", 
+                     teamCode, stage, savedSummary.getSummaryId());
+            
+            response.put("groupSummaryId", savedSummary.getSummaryId());
+            
+        } catch (Exception e) {
+            log.warn("팀 {} Stage {} 그룹 요약 DB 저장 실패 (진행은 계속): {}", teamCode, stage, e.getMessage());
+        }
+        
+        response.put("success", true);
+        response.put("stageStep", stage);
+        response.put("teamCode", teamCode);
+        response.put("chatGptMemoryStored", chatGptMemoryStored);
+        response.put("groupSummaryStored", groupSummaryStored);
+        return response;
+    }
+    
+    /**
+     * Stage 완료 통합 처리 (요약본 + Stage 2 이상은 재무제표)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> runCompleteStageIntegrated(Map<String, Object> payload, AsyncJobService.Progress progress) {
+        Integer eventCode = (Integer) payload.get("eventCode");
+        Integer teamCode = (Integer) payload.get("teamCode");
+        Integer stage = (Integer) payload.get("stage");
+        String businessPlan = (String) payload.get("businessPlan");
+        Map<String, Object> stageAnswers = (Map<String, Object>) payload.get("stageAnswers");
+        List<Map<String, Object>> userExpenseInputs = (List<Map<String, Object>>) payload.get("userExpenseInputs");
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        // 1. Stage 요약본 생성 (모든 Stage)
+        progress.update("요약본 생성 중");
+        StageSummary summary = stageSummaryService.generateStageSummary(
+            eventCode, teamCode, stage, businessPlan, stageAnswers);
+        
+        response.put("summary", formatSummaryResponse(summary));
+        
+        // 2. Stage 2 이상일 때만 재무제표 처리
+        if (stage >= 2) {
+            progress.update("재무제표 생성 중");
+            FinancialStatement financialStatement = financialStatementService.updateFinancialStatement(
+                teamCode, eventCode, stage, businessPlan, stageAnswers, userExpenseInputs);
+            
+            response.put("financialStatement", formatFinancialStatementSummary(financialStatement));
+        }
+        
+        response.put("success", true);
+        response.put("message", "Stage " + stage + " 완료");
+        response.put("nextStage", stage + 1);
+        response.put("stageType", stage == 1 ? "SUMMARY_ONLY" : "SUMMARY_AND_FINANCIAL");
+        return response;
+    }
+    
+    /**
+     * 재무제표 요약 정보 (Stage 완료 시 보여줄 정보)
+     */
+    public Map<String, Object> formatFinancialStatementSummary(FinancialStatement fs) {
+        Map<String, Object> summary = new HashMap<>();
+        
+        summary.put("stageStep", fs.getStageStep());
+        summary.put("remainingCash", String.format("%,d만원", fs.getCashAndDeposits()));
+        summary.put("monthlyRevenue", String.format("%,d만원", fs.getRevenue()));
+        summary.put("monthlyExpenses", String.format("%,d만원", 
+            (fs.getSgnaExpenses() != null ? fs.getSgnaExpenses() : 0) + 
+            (fs.getRndExpenses() != null ? fs.getRndExpenses() : 0)));
+        summary.put("netIncome", String.format("%,d만원", fs.getNetIncome()));
+        summary.put("fsScore", fs.getFsScore() + "점");
+        
+        // 현금 경고
+        if (fs.getCashAndDeposits() < 10000) { // 1억 미만
+            summary.put("cashWarning", "⚠️ 현금이 부족합니다! 대출을 고려하세요.");
+        }
+        
+        return summary;
+    }
+    
+    /**
+     * 요약본 응답 포맷 (간단한 버전)
+     */
+    private Map<String, Object> formatSummaryResponse(StageSummary summary) {
+        Map<String, Object> formatted = new HashMap<>();
+        
+        formatted.put("summaryCode", summary.getSummaryCode());
+        formatted.put("stageStep", summary.getStageStep());
+        formatted.put("textLength", summary.getSummaryText() != null ? summary.getSummaryText().length() : 0);
+        formatted.put("createdAt", summary.getCreatedAt());
+        
+        // 요약본 미리보기 (첫 150자)
+        if (summary.getSummaryText() != null && summary.getSummaryText().length() > 150) {
+            formatted.put("preview", summary.getSummaryText().substring(0, 150) + "...");
+        } else {
+            formatted.put("preview", summary.getSummaryText());
+        }
+        
+        return formatted;
+    }
+}
@@ -1,8 +1,9 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.chatgpt.util.LlmJsonDecoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,7 +21,7 @@ import org.springframework.retry.annotation.EnableRetry;
 public class CostClassificationService {
 
     private final OpenAiService openAiService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmJsonDecoder llmJsonDecoder;
 
     // 손익계산서 영업비용 항목 (판매비와관리비)
     private static final List<String> EXPENSE_CATEGORIES = Arrays.asList(
@@ -33,11 +34,12 @@ public class CostClassificationService {
 
     /**
      * 질문-답변을 분석하여 비용 항목과 금액 추정
+     * - eventCode 는 스케줄러 행사별 분배 기준 (없으면 공용 큐)
      */
-    public Map<String, Object> classifyExpense(String question, String answer) {
+    public Map<String, Object> classifyExpense(Integer eventCode, String question, String answer) {
         try {
             String prompt = buildClassificationPrompt(question, answer);
-            String response = openAiService.chat(prompt);
+            String response = openAiService.chat(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.COST_CLASSIFICATION).withJsonMode().withCache());
             
             log.info("비용 분류 결과: {}", response);
             
@@ -52,14 +54,14 @@ public class CostClassificationService {
     /**
      * 여러 질문-답변을 일괄 분류
      */
-    public List<Map<String, Object>> classifyMultipleExpenses(Map<String, String> questionsAndAnswers) {
+    public List<Map<String, Object>> classifyMultipleExpenses(Integer eventCode, Map<String, String> questionsAndAnswers) {
         List<Map<String, Object>> results = new ArrayList<>();
         
         for (Map.Entry<String, String> entry : questionsAndAnswers.entrySet()) {
             String question = entry.getKey();
             String answer = entry.getValue();
             
-            Map<String, Object> classification = classifyExpense(question, answer);
+            Map<String, Object> classification = classifyExpense(eventCode, question, answer);
             classification.put("question", question);
             classification.put("answer", answer);
             
@@ -108,20 +110,7 @@ public class CostClassificationService {
      */
     private Map<String, Object> parseClassificationResult(String response) {
         try {
-            // JSON 추출 (```json ``` 제거)
-            String jsonStr = response.trim();
-            if (jsonStr.startsWith("```json")) {
-                jsonStr = jsonStr.substring(7);
-            }
-            if (jsonStr.startsWith("```")) {
-                jsonStr = jsonStr.substring(3);
-            }
-            if (jsonStr.endsWith("```")) {
-                jsonStr = jsonStr.substring(0, jsonStr.length() - 3);
-            }
-            jsonStr = jsonStr.trim();
-            
-            Map<String, Object> result = objectMapper.readValue(jsonStr, new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> result = llmJsonDecoder.decodeMap(response);
             
             // 검증
             String category = (String) result.get("category");
@@ -1,11 +1,13 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.aspect.RetryOnConflict;
 import com.example.chatgpt.dto.event.reqDto.EventCreateUpdateReqDto;
 import com.example.chatgpt.dto.event.reqDto.EventDeleteReqDto;
 import com.example.chatgpt.entity.Event;
 import com.example.chatgpt.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,7 +15,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.retry.annotation.EnableRetry;
@@ -31,6 +35,7 @@ public class EventService {
      * 행사 삭제 (하드 삭제)
      */
     @Transactional
+    @RetryOnConflict
     public List<Integer> deleteEvents(EventDeleteReqDto request) {
         log.info("행사 삭제 요청 - events: {}", request.getEvents());
         
@@ -88,6 +93,7 @@ public class EventService {
      * 행사 생성 또는 수정
      */
     @Transactional
+    @RetryOnConflict
     public Event createOrUpdateEvent(EventCreateUpdateReqDto request) {
         // 날짜 형식 검증
         if (!request.isValidDateFormat()) {
@@ -175,6 +181,7 @@ public class EventService {
      * 행사 상태 토글 (1 ↔ 2)
      */
     @Transactional
+    @RetryOnConflict
     public Event toggleEventStatus(Integer eventCode) {
         log.info("행사 상태 변경 요청 - eventCode: {}", eventCode);
         
@@ -261,6 +268,43 @@ public class EventService {
         }
     }
     
+    /**
+     * 여러 이벤트의 팀 수 일괄 조회 (GROUP BY 1회, 팀이 없는 이벤트는 0)
+     */
+    public Map<Integer, Integer> getTeamCountsByEvents(List<Event> events) {
+        Map<Integer, Integer> teamCounts = new HashMap<>();
+        if (events.isEmpty()) {
+            return teamCounts;
+        }
+        try {
+            List<Integer> eventCodes = events.stream().map(Event::getEventCode).toList();
+            for (Object[] row : eventRepository.countTeamsByEventCodes(eventCodes)) {
+                teamCounts.put((Integer) row[0], ((Number) row[1]).intValue());
+            }
+        } catch (Exception e) {
+            log.error("이벤트 팀 수 일괄 조회 실패 - {}건", events.size(), e);
+        }
+        return teamCounts;
+    }
+    
+    /**
+     * 이벤트 목록 키셋 조회 (관리자 이력 등 깊은 페이지용)
+     * - cursorEventAt/cursorEventCode: 이전 응답의 마지막 행, 첫 페이지는 null
+     * - size + 1 건을 조회해 다음 페이지 존재 여부 판단
+     */
+    public List<Event> getEventsAfterCursor(Integer status, String cursorEventAt, Integer cursorEventCode, int size) {
+        Integer validStatus = (status != null && (status == 0 || status == 1 || status == 2)) ? status : 0;
+        if (cursorEventAt != null && cursorEventCode == null) {
+            throw new IllegalArgumentException("cursorEventCode가 필요합니다.");
+        }
+        
+        log.info("이벤트 키셋 조회 - status: {}, cursor: ({}, {}), size: {}", 
+                 validStatus, cursorEventAt, cursorEventCode, size);
+        
+        return eventRepository.findEventsAfterCursor(
+            validStatus, cursorEventAt, cursorEventCode, Limit.of(Math.max(1, size) + 1));
+    }
+    
     /**
      * 날짜 형식 검증 (YYYY-MM-DD)
      */
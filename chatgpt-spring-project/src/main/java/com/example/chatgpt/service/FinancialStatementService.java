@@ -1,13 +1,14 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.example.chatgpt.entity.FinancialStatement;
 import com.example.chatgpt.dto.financialstatement.respDto.AvailableAmountRespDto;
 import com.example.chatgpt.dto.financialstatement.respDto.FinancialStatementDto;
 import com.example.chatgpt.dto.financialstatement.respDto.FinancialStatementViewRespDto;
 import com.example.chatgpt.dto.financialstatement.respDto.TeamFinancialStatementAllRespDto;
 import com.example.chatgpt.repository.FinancialStatementRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.chatgpt.util.LlmJsonDecoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,11 +25,15 @@ public class FinancialStatementService {
     
     private final FinancialStatementRepository financialStatementRepository;
     private final OpenAiService openAiService;
-    private final ObjectMapper objectMapper;
+    private final PromptBudgeter promptBudgeter;
+    private final LlmJsonDecoder llmJsonDecoder;
     
     // 초기 현금 (2억원)
     private static final int INITIAL_CASH = 200_000_000;
     
+    // 재무항목 추정 프롬프트의 사업계획서 + 답변 토큰 예산
+    private static final int ESTIMATION_CONTEXT_TOKENS = 3000;
+    
     /**
      * 재무제표 조회 (DTO 변환) - 새로 추가된 메서드
      */
@@ -71,11 +76,11 @@ public class FinancialStatementService {
             FinancialStatement prevFS = getPreviousFinancialStatement(teamCode, stageStep);
             
             // 2. 사용자 입력 지출 분석
-            Map<String, Integer> expenseAnalysis = analyzeExpenses(stageAnswers, userExpenseInputs);
+            Map<String, Integer> expenseAnalysis = analyzeExpenses(eventCode, stageAnswers, userExpenseInputs);
             
             // 3. ChatGPT로 자산, 매출 추정
             Map<String, Object> estimations = estimateFinancialItems(
-                businessPlan, stageAnswers, userExpenseInputs, stageStep);
+                eventCode, businessPlan, stageAnswers, userExpenseInputs, stageStep);
             
             // 4. 매출 분배 (같은 이벤트 내 팀들과 적절한 편차로)
             Integer revenue = distributeRevenueAmongTeams(eventCode, teamCode, estimations);
@@ -123,6 +128,7 @@ public class FinancialStatementService {
      * 사용자 입력 지출 분석
      */
     private Map<String, Integer> analyzeExpenses(
+            Integer eventCode,
             Map<String, Object> stageAnswers, 
             List<Map<String, Object>> userExpenseInputs) {
         
@@ -151,7 +157,7 @@ public class FinancialStatementService {
         prompt.append("주의: 금액은 만원 단위 숫자로만 입력 (예: 1000 = 1000만원)");
         
         try {
-            String response = openAiService.chat(prompt.toString());
+            String response = openAiService.chat(prompt.toString(), ChatOptions.interactive(eventCode).withCallSite(CallSite.FINANCIAL_COMPLETION).withJsonMode().withCache());
             return parseExpenseAnalysis(response);
         } catch (Exception e) {
             log.error("지출 분석 실패", e);
@@ -163,6 +169,7 @@ public class FinancialStatementService {
      * ChatGPT로 자산, 매출 등 추정
      */
     private Map<String, Object> estimateFinancialItems(
+            Integer eventCode,
             String businessPlan,
             Map<String, Object> stageAnswers,
             List<Map<String, Object>> userExpenseInputs,
@@ -171,11 +178,16 @@ public class FinancialStatementService {
         StringBuilder prompt = new StringBuilder();
         prompt.append("사업계획서와 질문-답변을 바탕으로 재무제표 항목들을 추정하세요.\n\n");
         
+        // 사업계획서:답변 = 2:1 비율로 토큰 예산 분배 (짧은 쪽의 남는 예산은 다른 쪽으로)
+        List<String> sections = promptBudgeter.fitSections(ESTIMATION_CONTEXT_TOKENS, List.of(
+            new PromptBudgeter.Section("사업계획서", businessPlan, 2),
+            new PromptBudgeter.Section("답변", formatAnswersForPrompt(stageAnswers), 1)));
+        
         prompt.append("# 사업계획서 요약:\n");
-        prompt.append(businessPlan.length() > 2000 ? businessPlan.substring(0, 2000) + "..." : businessPlan);
+        prompt.append(sections.get(0));
         
         prompt.append("\n# Stage ").append(stageStep).append(" 답변:\n");
-        prompt.append(formatAnswersForPrompt(stageAnswers));
+        prompt.append(sections.get(1));
         
         prompt.append("\n# 추정할 항목들:\n");
         prompt.append("- 월간 예상 매출액\n");
@@ -201,7 +213,7 @@ public class FinancialStatementService {
         prompt.append("제조업: 50-70%, 서비스업: 20-40%, IT/소프트웨어: 10-30%, 유통업: 60-80%");
         
         try {
-            String response = openAiService.chat(prompt.toString());
+            String response = openAiService.chat(prompt.toString(), ChatOptions.interactive(eventCode).withCallSite(CallSite.FINANCIAL_COMPLETION).withJsonMode());
             return parseEstimationResult(response);
         } catch (Exception e) {
             log.error("재무항목 추정 실패", e);
@@ -342,8 +354,7 @@ public class FinancialStatementService {
     
     private Map<String, Integer> parseExpenseAnalysis(String response) {
         try {
-            String jsonStr = extractJsonFromResponse(response);
-            Map<String, Object> result = objectMapper.readValue(jsonStr, new TypeReference<Map<String, Object>>() {});
+            Map<String, Object> result = llmJsonDecoder.decodeMap(response);
             
             Map<String, Integer> expenses = new HashMap<>();
             expenses.put("sgna_monthly", getIntValue(result, "sgna_monthly"));
@@ -358,28 +369,13 @@ public class FinancialStatementService {
     
     private Map<String, Object> parseEstimationResult(String response) {
         try {
-            String jsonStr = extractJsonFromResponse(response);
-            return objectMapper.readValue(jsonStr, new TypeReference<Map<String, Object>>() {});
+            return llmJsonDecoder.decodeMap(response);
         } catch (Exception e) {
             log.error("추정 결과 파싱 실패", e);
             return getDefaultEstimations();
         }
     }
     
-    private String extractJsonFromResponse(String response) {
-        String jsonStr = response.trim();
-        if (jsonStr.startsWith("```json")) {
-            jsonStr = jsonStr.substring(7);
-        }
-        if (jsonStr.startsWith("```")) {
-            jsonStr = jsonStr.substring(3);
-        }
-        if (jsonStr.endsWith("```")) {
-            jsonStr = jsonStr.substring(0, jsonStr.length() - 3);
-        }
-        return jsonStr.trim();
-    }
-    
     private Integer getIntValue(Map<String, Object> map, String key) {
         Object value = map.get(key);
         if (value instanceof Integer) return (Integer) value;
@@ -1,11 +1,16 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.function.Consumer;
 import org.springframework.retry.annotation.EnableRetry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @EnableRetry
 /**
@@ -17,29 +22,58 @@ import org.springframework.retry.annotation.EnableRetry;
 public class GlobalBusinessPlanService {
 
     private final OpenAiService openAiService;
+    private final PromptBudgeter promptBudgeter;
 
     /**
      * 국가별 사업계획서 생성
      * 
+     * @param eventCode 행사 코드 (스케줄러 행사별 분배 기준, 없으면 공용 큐)
      * @param country 국가 코드 (USA, CHINA, JAPAN)
      * @param originalText 원본 한국어 사업계획서
      * @param stageAnswers Stage 1-5 답변 내용
      * @return 국가별 형식의 사업계획서
      */
-    public String generateGlobalBusinessPlan(String country, String originalText, Map<String, Object> stageAnswers) {
+    public String generateGlobalBusinessPlan(Integer eventCode, String country, String originalText, Map<String, Object> stageAnswers) {
         log.info("국가별 사업계획서 생성 시작: {}", country);
         
         String prompt = createCountrySpecificPrompt(country, originalText, stageAnswers);
-        String response = openAiService.chat(prompt);
+        String response = openAiService.chat(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.COUNTRY_PLAN));
         
         log.info("국가별 사업계획서 생성 완료: {}", country);
         return response;
     }
 
+    /**
+     * 국가별 사업계획서 생성 (비동기)
+     */
+    public Mono<String> generateGlobalBusinessPlanAsync(Integer eventCode, String country, String originalText, Map<String, Object> stageAnswers) {
+        return Mono.fromCallable(() -> createCountrySpecificPrompt(country, originalText, stageAnswers))
+                .doOnNext(prompt -> log.info("국가별 사업계획서 비동기 생성 시작: {}", country))
+                .flatMap(prompt -> openAiService.chatAsync(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.COUNTRY_PLAN)))
+                .doOnNext(response -> log.info("국가별 사업계획서 비동기 생성 완료: {}", country));
+    }
+
+    /**
+     * 국가별 사업계획서 생성 (스트리밍)
+     * - 생성되는 조각을 바로 방출하고, 정상 종료 시에만 전체 텍스트로 onFinish 호출
+     */
+    public Flux<String> generateGlobalBusinessPlanStream(Integer eventCode, String country, String originalText, Map<String, Object> stageAnswers,
+                                                         Consumer<String> onFinish) {
+        return Mono.fromCallable(() -> createCountrySpecificPrompt(country, originalText, stageAnswers))
+                .doOnNext(prompt -> log.info("국가별 사업계획서 스트리밍 생성 시작: {}", country))
+                .flatMapMany(prompt -> openAiService.chatStreamAndThen(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.COUNTRY_PLAN), onFinish));
+    }
+
     /**
      * 국가별 프롬프트 생성
      */
     private String createCountrySpecificPrompt(String country, String originalText, Map<String, Object> stageAnswers) {
+        // 원본 사업계획서는 지시문을 제외한 토큰 예산 안으로 축소
+        int available = promptBudgeter.availableFor(buildCountrySpecificPrompt(country, "", stageAnswers));
+        return buildCountrySpecificPrompt(country, promptBudgeter.trimToTokens(originalText, available), stageAnswers);
+    }
+
+    private String buildCountrySpecificPrompt(String country, String originalText, Map<String, Object> stageAnswers) {
         StringBuilder prompt = new StringBuilder();
         
         prompt.append("당신은 글로벌 비즈니스 전문가입니다.\n\n");
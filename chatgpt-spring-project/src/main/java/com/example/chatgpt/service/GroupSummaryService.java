@@ -2,10 +2,11 @@ package com.example.chatgpt.service;
 
 import com.example.chatgpt.entity.GroupSummary;
 import com.example.chatgpt.repository.GroupSummaryRepository;
-import com.example.chatgpt.util.DatabaseLockManager;
+import com.example.chatgpt.util.TransactionRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -20,13 +21,17 @@ import org.springframework.retry.annotation.EnableRetry;
 @Transactional(readOnly = true)
 public class GroupSummaryService {
     
+    private static final String TX_FLOW = "group_summary";
+    
     private final GroupSummaryRepository groupSummaryRepository;
-    private final DatabaseLockManager lockManager;  // Lock Manager 추가
+    private final TransactionRunner transactionRunner;
     
     /**
-     * 그룹 핵심정보 요약 저장/업데이트 (데드락 방지 적용)
+     * 그룹 핵심정보 요약 저장/업데이트
+     * - 요약 추출은 트랜잭션 밖에서, 저장만 팀 락 + 짧은 트랜잭션으로 처리
+     * - 클래스 기본 readOnly 트랜잭션을 쓰지 않도록 NOT_SUPPORTED
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public GroupSummary saveGroupSummary(
             Integer eventCode, 
             Integer teamCode, 
@@ -38,23 +43,22 @@ public class GroupSummaryService {
         log.info("그룹 요약 저장 시작 - eventCode: {}, teamCode: {}, stageStep: {}", 
                  eventCode, teamCode, stageStep);
         
-        // 데드락 방지를 위한 Lock 적용
-        return lockManager.executeWithLock(DatabaseLockManager.ServiceType.STAGE_SUMMARY, () -> {
-            try {
+        try {
+            // 답변에서 핵심 정보 추출
+            String businessType = extractBusinessType(stageAnswers, businessPlan);
+            String coreTechnology = extractCoreTechnology(stageAnswers, businessPlan);
+            String revenueModel = extractRevenueModel(stageAnswers, businessPlan);
+            String keyAnswers = compressAnswers(stageAnswers);
+            String investmentScale = extractInvestmentScale(stageAnswers, userExpenseInputs);
+            String strengths = extractStrengths(stageAnswers, businessPlan);
+            String weaknesses = extractWeaknesses(stageAnswers, businessPlan);
+            String summaryText = generateCompressedSummary(businessPlan, stageAnswers, userExpenseInputs);
+            
+            return transactionRunner.write(TX_FLOW, eventCode, teamCode, () -> {
                 // 기존 요약 확인
                 Optional<GroupSummary> existingSummary = groupSummaryRepository
                     .findByEventCodeAndTeamCodeAndStageStep(eventCode, teamCode, stageStep);
                 
-                // 답변에서 핵심 정보 추출
-                String businessType = extractBusinessType(stageAnswers, businessPlan);
-                String coreTechnology = extractCoreTechnology(stageAnswers, businessPlan);
-                String revenueModel = extractRevenueModel(stageAnswers, businessPlan);
-                String keyAnswers = compressAnswers(stageAnswers);
-                String investmentScale = extractInvestmentScale(stageAnswers, userExpenseInputs);
-                String strengths = extractStrengths(stageAnswers, businessPlan);
-                String weaknesses = extractWeaknesses(stageAnswers, businessPlan);
-                String summaryText = generateCompressedSummary(businessPlan, stageAnswers, userExpenseInputs);
-                
                 GroupSummary groupSummary;
                 
                 if (existingSummary.isPresent()) {
@@ -97,12 +101,12 @@ public class GroupSummaryService {
                          savedSummary.getSummaryText() != null ? savedSummary.getSummaryText().length() : 0);
                 
                 return savedSummary;
-                
-            } catch (Exception e) {
-                log.error("그룹 요약 저장 실패", e);
-                throw new RuntimeException("그룹 요약 저장 실패: " + e.getMessage());
-            }
-        });
+            });
+            
+        } catch (Exception e) {
+            log.error("그룹 요약 저장 실패", e);
+            throw new RuntimeException("그룹 요약 저장 실패: " + e.getMessage());
+        }
     }
     
     /**
@@ -1,5 +1,8 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
+import com.example.chatgpt.dto.LlmOutputDto;
 import com.example.chatgpt.dto.loanbusinessplan.reqDto.LoanBusinessPlanCreateReqDto;
 import com.example.chatgpt.dto.loanbusinessplan.respDto.LoanAmountViewRespDto;
 import com.example.chatgpt.dto.loanbusinessplan.respDto.LoanBusinessPlanDto;
@@ -10,6 +13,7 @@ import com.example.chatgpt.entity.FinancialStatement;
 import com.example.chatgpt.repository.LoanBusinessPlanRepository;
 import com.example.chatgpt.repository.Stage1BizplanRepository;
 import com.example.chatgpt.repository.FinancialStatementRepository;
+import com.example.chatgpt.util.LlmJsonDecoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -31,6 +35,7 @@ public class LoanBusinessPlanService {
     private final Stage1BizplanRepository stage1BizplanRepository;
     private final FinancialStatementRepository financialStatementRepository;
     private final BusinessPlanAnalyzer businessPlanAnalyzer; // ChatGPT API 호출
+    private final LlmJsonDecoder llmJsonDecoder;
     
     /**
      * 대출 사업계획서 목록 조회
@@ -170,7 +175,7 @@ public class LoanBusinessPlanService {
             String prompt = createLoanCalculationPrompt(plan, bizItemSummary);
             
             // 3. ChatGPT API 호출
-            String response = businessPlanAnalyzer.callChatGptApi(prompt);
+            String response = businessPlanAnalyzer.callChatGptApi(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.LOAN_PLAN).withJsonMode());
             
             // 4. 응답 파싱
             Integer loanAmount = parseLoanAmountResponse(response);
@@ -260,28 +265,23 @@ public class LoanBusinessPlanService {
     
     /**
      * ChatGPT 응답에서 대출금액 파싱
+     * - 범위(0 ~ 100,000만원) 위반은 경계값으로 보정
      */
     private Integer parseLoanAmountResponse(String response) {
         try {
-            // JSON 추출
-            String jsonStr = response.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
+            LlmJsonDecoder.Decoded<LlmOutputDto.LoanAmount> decoded =
+                    llmJsonDecoder.decode(response, LlmOutputDto.LoanAmount.class);
+            Integer loanAmount = decoded.value().getLoanAmount();
             
-            // loan_amount 추출 (정규식 사용)
-            String pattern = "\"loan_amount\"\\s*:\\s*(\\d+)";
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher m = p.matcher(jsonStr);
-            
-            if (m.find()) {
-                Integer loanAmount = Integer.parseInt(m.group(1));
-                
-                // 범위 체크 (0 ~ 100,000만원)
-                if (loanAmount < 0) loanAmount = 0;
-                if (loanAmount > 100000) loanAmount = 100000;
-                
-                return loanAmount;
+            if (loanAmount == null) {
+                throw new RuntimeException("대출금액 파싱 실패: " + decoded.violations());
             }
             
-            throw new RuntimeException("대출금액 파싱 실패");
+            // 범위 체크 (0 ~ 100,000만원)
+            if (loanAmount < 0) loanAmount = 0;
+            if (loanAmount > 100000) loanAmount = 100000;
+            
+            return loanAmount;
             
         } catch (Exception e) {
             log.error("ChatGPT 응답 파싱 실패: {}", response, e);
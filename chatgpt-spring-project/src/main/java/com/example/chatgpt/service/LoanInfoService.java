@@ -1,5 +1,6 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.aspect.RetryOnConflict;
 import com.example.chatgpt.dto.loaninfo.reqDto.LoanInfoCreateReqDto;
 import com.example.chatgpt.dto.loaninfo.respDto.LoanInfoDto;
 import com.example.chatgpt.dto.loaninfo.respDto.LoanInfoListRespDto;
@@ -11,7 +12,6 @@ import com.example.chatgpt.repository.BankRepository;
 import com.example.chatgpt.repository.FinancialStatementRepository;
 import com.example.chatgpt.repository.LoanBusinessPlanRepository;
 import com.example.chatgpt.repository.LoanInfoRepository;
-import com.example.chatgpt.util.DatabaseLockManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,7 +33,6 @@ public class LoanInfoService {
     private final BankRepository bankRepository;
     private final FinancialStatementRepository financialStatementRepository;
     private final LoanBusinessPlanRepository loanBusinessPlanRepository;
-    private final DatabaseLockManager lockManager;  // Lock Manager 추가
     
     /**
      * 대출정보 목록 조회 (은행명 포함)
@@ -87,46 +86,44 @@ public class LoanInfoService {
     
 
     /**
-     * 대출정보 생성 또는 업데이트 (중복시 덮어쓰기) (데드락 방지 적용)
+     * 대출정보 생성 또는 업데이트 (중복시 덮어쓰기)
      */
     @Transactional
+    @RetryOnConflict
     public Integer createOrUpdateLoanInfo(LoanInfoCreateReqDto request) {
         log.info("대출정보 생성/업데이트 요청 - eventCode: {}, teamCode: {}, stageStep: {}", 
                  request.getEventCode(), request.getTeamCode(), request.getStageStep());
         
-        // 데드락 방지를 위한 Lock 적용
-        return lockManager.executeWithLock(DatabaseLockManager.ServiceType.FINANCIAL_STATEMENT, () -> {
-            try {
-                // 2. 기존 데이터 확인 (중복 체크)
-                Optional<LoanInfo> existingLoan = loanInfoRepository
-                    .findByEventCodeAndTeamCodeAndStageStep(
-                        request.getEventCode(), request.getTeamCode(), request.getStageStep());
-                
-                LoanInfo loanInfo;
-                
-                if (existingLoan.isPresent()) {
-                    // 3. 기존 데이터가 있으면 업데이트 (덮어쓰기)
-                    loanInfo = existingLoan.get();
-                    updateLoanInfoFields(loanInfo, request);
-                    log.info("기존 대출정보 업데이트 - loanCode: {}", loanInfo.getLoanCode());
-                    
-                } else {
-                    // 4. 새로운 데이터 생성
-                    loanInfo = createNewLoanInfo(request);
-                    log.info("새 대출정보 생성");
-                }
-                
-                // 5. 저장
-                LoanInfo savedLoan = loanInfoRepository.save(loanInfo);
-                
-                log.info("대출정보 저장 완료 - loanCode: {}", savedLoan.getLoanCode());
-                return savedLoan.getLoanCode();
+        try {
+            // 2. 기존 데이터 확인 (중복 체크)
+            Optional<LoanInfo> existingLoan = loanInfoRepository
+                .findByEventCodeAndTeamCodeAndStageStep(
+                    request.getEventCode(), request.getTeamCode(), request.getStageStep());
+            
+            LoanInfo loanInfo;
+            
+            if (existingLoan.isPresent()) {
+                // 3. 기존 데이터가 있으면 업데이트 (덮어쓰기)
+                loanInfo = existingLoan.get();
+                updateLoanInfoFields(loanInfo, request);
+                log.info("기존 대출정보 업데이트 - loanCode: {}", loanInfo.getLoanCode());
                 
-            } catch (Exception e) {
-                log.error("대출정보 생성/업데이트 실패", e);
-                throw new RuntimeException("대출정보 처리 중 오류가 발생했습니다: " + e.getMessage());
+            } else {
+                // 4. 새로운 데이터 생성
+                loanInfo = createNewLoanInfo(request);
+                log.info("새 대출정보 생성");
             }
-        });
+            
+            // 5. 저장
+            LoanInfo savedLoan = loanInfoRepository.save(loanInfo);
+            
+            log.info("대출정보 저장 완료 - loanCode: {}", savedLoan.getLoanCode());
+            return savedLoan.getLoanCode();
+            
+        } catch (Exception e) {
+            log.error("대출정보 생성/업데이트 실패", e);
+            throw new RuntimeException("대출정보 처리 중 오류가 발생했습니다: " + e.getMessage());
+        }
     }
     
     /**
@@ -0,0 +1,243 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 호출 위치별 서킷 브레이커
+ * - CLOSED: 최근 N건 중 실패율 또는 느린 호출 비율이 임계치를 넘으면 OPEN
+ * - OPEN: 냉각 시간 동안 호출 없이 즉시 거절 → 호출부의 기본값 폴백으로 바로 진행
+ * - HALF_OPEN: 냉각 후 소수의 탐침 호출만 허용, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * - 실패로 보는 것: 5xx, 타임아웃, 연결 오류 (429/로컬 허용량 거절/4xx 는 제외)
+ */
+@Component
+@Slf4j
+public class OpenAiCircuitBreaker {
+
+    private final OpenAiConfig openAiConfig;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public OpenAiCircuitBreaker(OpenAiConfig openAiConfig) {
+        this.openAiConfig = openAiConfig;
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 호출 허가 (false 면 호출하지 말고 즉시 폴백)
+     * - HALF_OPEN 에서 허가받은 호출은 반드시 record 또는 release 로 종료해야 함
+     */
+    public boolean tryAcquire(String callSite) {
+        if (!Boolean.TRUE.equals(openAiConfig.getCircuitEnabled())) {
+            return true;
+        }
+        return circuit(callSite).tryAcquire();
+    }
+
+    /**
+     * 호출 결과 기록
+     * @param failed 제공자 장애로 인한 실패 여부
+     * @param durationMs 호출 소요 시간 (느린 호출 판정용)
+     */
+    public void record(String callSite, boolean failed, long durationMs) {
+        if (!Boolean.TRUE.equals(openAiConfig.getCircuitEnabled())) {
+            return;
+        }
+        circuit(callSite).record(failed, durationMs >= openAiConfig.getCircuitSlowCallMs());
+    }
+
+    /**
+     * 결과를 판단할 수 없는 종료 (취소, 로컬 거절 등) - 탐침 슬롯만 반환
+     */
+    public void release(String callSite) {
+        if (!Boolean.TRUE.equals(openAiConfig.getCircuitEnabled())) {
+            return;
+        }
+        circuit(callSite).release();
+    }
+
+    /**
+     * 냉각 중인 OPEN 상태인지 (대기열에 넣기 전 빠른 거절용, 탐침 슬롯은 차지하지 않음)
+     */
+    public boolean isOpen(String callSite) {
+        if (!Boolean.TRUE.equals(openAiConfig.getCircuitEnabled())) {
+            return false;
+        }
+        Circuit circuit = circuits.get(callSite);
+        return circuit != null && circuit.isCoolingDown();
+    }
+
+    /**
+     * 호출 위치별 상태 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", Boolean.TRUE.equals(openAiConfig.getCircuitEnabled()));
+
+        Map<String, Object> sites = new TreeMap<>();
+        circuits.forEach((callSite, circuit) -> sites.put(callSite, circuit.snapshot()));
+        stats.put("callSites", sites);
+        return stats;
+    }
+
+    private Circuit circuit(String callSite) {
+        return circuits.computeIfAbsent(callSite, Circuit::new);
+    }
+
+    /**
+     * 호출 위치 하나의 상태 (최근 N건 순환 버퍼)
+     */
+    private final class Circuit {
+        private final String callSite;
+        private final boolean[] failedWindow;
+        private final boolean[] slowWindow;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int position;
+        private int recorded;
+        private int failures;
+        private int slowCalls;
+
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int probesInFlight;
+        private int probeSuccesses;
+        private long shortCircuited;
+        private long openCount;
+
+        Circuit(String callSite) {
+            this.callSite = callSite;
+            int windowSize = Math.max(1, openAiConfig.getCircuitWindowSize());
+            this.failedWindow = new boolean[windowSize];
+            this.slowWindow = new boolean[windowSize];
+        }
+
+        boolean tryAcquire() {
+            lock.lock();
+            try {
+                if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openAiConfig.getCircuitOpenMs()) {
+                    state = State.HALF_OPEN;
+                    probesInFlight = 0;
+                    probeSuccesses = 0;
+                    log.info("🔌 서킷 HALF_OPEN - callSite: {} (탐침 호출 {}건 허용)", callSite, openAiConfig.getCircuitHalfOpenProbes());
+                }
+
+                if (state == State.CLOSED) {
+                    return true;
+                }
+                if (state == State.HALF_OPEN && probesInFlight < openAiConfig.getCircuitHalfOpenProbes()) {
+                    probesInFlight++;
+                    return true;
+                }
+                shortCircuited++;
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void record(boolean failed, boolean slow) {
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN) {
+                    probesInFlight = Math.max(0, probesInFlight - 1);
+                    if (failed || slow) {
+                        open("탐침 호출 " + (failed ? "실패" : "지연"));
+                    } else if (++probeSuccesses >= openAiConfig.getCircuitHalfOpenProbes()) {
+                        close();
+                    }
+                    return;
+                }
+                if (state == State.OPEN) {
+                    // 서킷이 열리기 전에 시작된 호출의 결과
+                    return;
+                }
+
+                if (recorded == failedWindow.length) {
+                    failures -= failedWindow[position] ? 1 : 0;
+                    slowCalls -= slowWindow[position] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                failedWindow[position] = failed;
+                slowWindow[position] = slow;
+                failures += failed ? 1 : 0;
+                slowCalls += slow ? 1 : 0;
+                position = (position + 1) % failedWindow.length;
+
+                if (recorded < openAiConfig.getCircuitMinimumCalls()) {
+                    return;
+                }
+                double failureRate = failures * 100.0 / recorded;
+                double slowRate = slowCalls * 100.0 / recorded;
+                if (failureRate >= openAiConfig.getCircuitFailureRateThreshold()) {
+                    open(String.format("실패율 %.0f%%", failureRate));
+                } else if (slowRate >= openAiConfig.getCircuitSlowCallRateThreshold()) {
+                    open(String.format("느린 호출 비율 %.0f%%", slowRate));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release() {
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN) {
+                    probesInFlight = Math.max(0, probesInFlight - 1);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isCoolingDown() {
+            lock.lock();
+            try {
+                return state == State.OPEN && System.currentTimeMillis() - openedAt < openAiConfig.getCircuitOpenMs();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            lock.lock();
+            try {
+                Map<String, Object> snapshot = new LinkedHashMap<>();
+                snapshot.put("state", state);
+                snapshot.put("recordedCalls", recorded);
+                snapshot.put("failureRate", recorded == 0 ? 0.0 : failures * 100.0 / recorded);
+                snapshot.put("slowCallRate", recorded == 0 ? 0.0 : slowCalls * 100.0 / recorded);
+                snapshot.put("openCount", openCount);
+                snapshot.put("shortCircuited", shortCircuited);
+                return snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void open(String reason) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            openCount++;
+            log.warn("🔌 서킷 OPEN - callSite: {}, 사유: {} ({}ms 동안 폴백)", callSite, reason, openAiConfig.getCircuitOpenMs());
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            position = 0;
+            recorded = 0;
+            failures = 0;
+            slowCalls = 0;
+            log.info("🔌 서킷 CLOSED - callSite: {}", callSite);
+        }
+    }
+}
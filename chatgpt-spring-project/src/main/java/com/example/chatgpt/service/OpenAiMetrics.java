@@ -0,0 +1,148 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.ChatOptions.Priority;
+import com.example.chatgpt.dto.OpenAiDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * OpenAI 호출 메트릭 (호출 위치별 call_site 태그)
+ * - llm.requests: 호출 지연 시간 히스토그램 (outcome: success | error | cancelled)
+ * - llm.tokens: 프롬프트/응답 토큰 수, llm.cost: 예상 비용 (USD)
+ * - llm.retries, llm.rate_limited, llm.errors, llm.cache.hits, llm.short_circuited, llm.coalesced
+ * - llm.scheduler.queue: 스케줄러 대기 호출 수, llm.scheduler.wait: 슬롯 대기 시간 (우선순위 클래스별 priority 태그)
+ * - /actuator/prometheus 로 노출
+ */
+@Component
+@RequiredArgsConstructor
+public class OpenAiMetrics {
+
+    private static final double TOKENS_PER_PRICE_UNIT = 1_000_000.0;
+
+    private final MeterRegistry meterRegistry;
+    private final OpenAiConfig openAiConfig;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * 호출 종료 기록 (Reactor doFinally 신호 기준)
+     */
+    public void recordCall(Timer.Sample sample, String callSite, String model, SignalType signal) {
+        String outcome = switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+        sample.stop(Timer.builder("llm.requests")
+                .description("OpenAI 호출 지연 시간")
+                .tag("call_site", callSite)
+                .tag("model", String.valueOf(model))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * 토큰 사용량 및 예상 비용 기록
+     */
+    public void recordUsage(String callSite, String model, OpenAiDto.Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        int promptTokens = usage.getPromptTokens() != null ? usage.getPromptTokens() : 0;
+        int completionTokens = usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0;
+
+        tokenCounter(callSite, model, "prompt").increment(promptTokens);
+        tokenCounter(callSite, model, "completion").increment(completionTokens);
+
+        double cost = promptTokens / TOKENS_PER_PRICE_UNIT * openAiConfig.getPromptPricePerMillion()
+                + completionTokens / TOKENS_PER_PRICE_UNIT * openAiConfig.getCompletionPricePerMillion();
+        Counter.builder("llm.cost")
+                .description("OpenAI 예상 비용 (USD)")
+                .baseUnit("usd")
+                .tag("call_site", callSite)
+                .tag("model", String.valueOf(model))
+                .register(meterRegistry)
+                .increment(cost);
+    }
+
+    public void recordRetry(String callSite) {
+        counter("llm.retries", callSite).increment();
+    }
+
+    public void recordRateLimited(String callSite) {
+        counter("llm.rate_limited", callSite).increment();
+    }
+
+    public void recordShortCircuit(String callSite) {
+        counter("llm.short_circuited", callSite).increment();
+    }
+
+    public void recordCacheHit(String callSite) {
+        counter("llm.cache.hits", callSite).increment();
+    }
+
+    public void recordCoalesced(String callSite) {
+        counter("llm.coalesced", callSite).increment();
+    }
+
+    public void recordError(String callSite, Throwable error) {
+        Counter.builder("llm.errors")
+                .tag("call_site", callSite)
+                .tag("exception", error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 스케줄러 우선순위 클래스의 대기 호출 수 게이지
+     */
+    public <T> void registerSchedulerQueue(Priority priority, T scheduler, ToDoubleFunction<T> queued) {
+        Gauge.builder("llm.scheduler.queue", scheduler, queued)
+                .description("OpenAI 스케줄러 대기 호출 수")
+                .tag("priority", priorityTag(priority))
+                .register(meterRegistry);
+    }
+
+    /**
+     * 스케줄러 우선순위 클래스의 슬롯 대기 시간 (큐 진입 → 허가)
+     */
+    public Timer schedulerWaitTimer(Priority priority) {
+        return Timer.builder("llm.scheduler.wait")
+                .description("OpenAI 스케줄러 슬롯 대기 시간")
+                .tag("priority", priorityTag(priority))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String priorityTag(Priority priority) {
+        return priority.name().toLowerCase(Locale.ROOT);
+    }
+
+    private Counter tokenCounter(String callSite, String model, String type) {
+        return Counter.builder("llm.tokens")
+                .description("OpenAI 토큰 사용량")
+                .baseUnit("tokens")
+                .tag("call_site", callSite)
+                .tag("model", String.valueOf(model))
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String callSite) {
+        return Counter.builder(name)
+                .tag("call_site", callSite)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 호출 허용량 관리자
+ * - 모든 응답의 x-ratelimit-* 헤더로 요청/토큰 버킷을 갱신
+ * - 버킷이 소진되면 리셋 시각까지 대기열에서 기다렸다가 정확히 리셋 시점에 재시도
+ * - 최대 대기 시간/대기열 길이를 넘으면 즉시 거절
+ */
+@Component
+@Slf4j
+public class OpenAiRateLimiter {
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final OpenAiConfig openAiConfig;
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 요청 버킷 (-1 = 헤더 수신 전, 제한 정보 없음)
+    private long limitRequests = -1;
+    private long remainingRequests = -1;
+    private long requestsResetAt = 0;
+
+    // 토큰 버킷
+    private long limitTokens = -1;
+    private long remainingTokens = -1;
+    private long tokensResetAt = 0;
+
+    // 429 수신 시 retry-after 기준 차단 시각
+    private long blockedUntil = 0;
+
+    public OpenAiRateLimiter(OpenAiConfig openAiConfig) {
+        this.openAiConfig = openAiConfig;
+    }
+
+    /**
+     * 호출 허가 획득
+     * - 즉시 가능하면 바로 완료, 아니면 리셋 시각까지 지연 후 재확인
+     * - 최대 대기 시각은 구독 시점 기준 (스케줄러 대기 후 구독되거나 429 재시도로 다시 구독되어도 매번 새로 계산)
+     * @param estimatedTokens 이번 호출의 예상 토큰 수 (프롬프트 + max_tokens)
+     */
+    public Mono<Void> acquire(int estimatedTokens) {
+        return Mono.defer(() -> {
+            long deadline = System.currentTimeMillis() + openAiConfig.getRateLimitMaxWaitMs();
+            return tryAcquire(estimatedTokens, deadline, false);
+        });
+    }
+
+    private Mono<Void> tryAcquire(int estimatedTokens, long deadline, boolean queued) {
+        long waitMs = reserve(estimatedTokens);
+
+        if (waitMs <= 0) {
+            if (queued) {
+                waitingCount.decrementAndGet();
+            }
+            return Mono.empty();
+        }
+
+        if (System.currentTimeMillis() + waitMs > deadline) {
+            if (queued) {
+                waitingCount.decrementAndGet();
+            }
+            log.warn("⏰ Rate Limit 대기 시간 초과 예상 - 필요 대기: {}ms, 최대 대기: {}ms",
+                     waitMs, openAiConfig.getRateLimitMaxWaitMs());
+            return Mono.error(new OpenAiService.RateLimitExceededException(
+                "⏰ 요청이 많아 잠시 후 다시 시도해주세요. (예상 대기: " + (waitMs / 1000 + 1) + "초)", null));
+        }
+
+        if (!queued && waitingCount.incrementAndGet() > openAiConfig.getRateLimitMaxQueue()) {
+            waitingCount.decrementAndGet();
+            log.warn("⏰ Rate Limit 대기열 가득 참 - 최대: {}", openAiConfig.getRateLimitMaxQueue());
+            return Mono.error(new OpenAiService.RateLimitExceededException(
+                "⏰ 요청이 많아 잠시 후 다시 시도해주세요. (대기열 초과)", null));
+        }
+
+        log.debug("Rate Limit 대기 - {}ms 후 재시도 (대기 중: {}건)", waitMs, waitingCount.get());
+        return Mono.delay(Duration.ofMillis(waitMs))
+                .then(Mono.defer(() -> tryAcquire(estimatedTokens, deadline, true)));
+    }
+
+    /**
+     * 버킷 확인 및 차감
+     * @return 0이면 허가, 양수면 다시 확인할 때까지 대기할 시간(ms)
+     */
+    private long reserve(int estimatedTokens) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+
+            // 리셋 시각이 지났으면 한도만큼 다시 채움
+            if (requestsResetAt > 0 && now >= requestsResetAt) {
+                remainingRequests = limitRequests;
+                requestsResetAt = 0;
+            }
+            if (tokensResetAt > 0 && now >= tokensResetAt) {
+                remainingTokens = limitTokens;
+                tokensResetAt = 0;
+            }
+
+            long readyAt = now;
+            if (blockedUntil > now) {
+                readyAt = blockedUntil;
+            }
+            if (remainingRequests == 0 && requestsResetAt > 0) {
+                readyAt = Math.max(readyAt, requestsResetAt);
+            }
+            if (remainingTokens >= 0 && remainingTokens < estimatedTokens && tokensResetAt > 0) {
+                readyAt = Math.max(readyAt, tokensResetAt);
+            }
+
+            if (readyAt > now) {
+                return readyAt - now;
+            }
+
+            // 다음 응답 헤더가 올 때까지 로컬에서 낙관적으로 차감
+            if (remainingRequests > 0) {
+                remainingRequests--;
+            }
+            if (remainingTokens > 0) {
+                remainingTokens = Math.max(0, remainingTokens - estimatedTokens);
+            }
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 응답 헤더로 버킷 갱신 (성공/429 모두)
+     */
+    public void update(HttpHeaders headers) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+
+            Long limitReq = parseLong(headers.getFirst("x-ratelimit-limit-requests"));
+            Long remainingReq = parseLong(headers.getFirst("x-ratelimit-remaining-requests"));
+            Long resetReq = parseDurationMs(headers.getFirst("x-ratelimit-reset-requests"));
+            Long limitTok = parseLong(headers.getFirst("x-ratelimit-limit-tokens"));
+            Long remainingTok = parseLong(headers.getFirst("x-ratelimit-remaining-tokens"));
+            Long resetTok = parseDurationMs(headers.getFirst("x-ratelimit-reset-tokens"));
+
+            if (limitReq != null) limitRequests = limitReq;
+            if (remainingReq != null) remainingRequests = remainingReq;
+            if (resetReq != null) requestsResetAt = now + resetReq;
+            if (limitTok != null) limitTokens = limitTok;
+            if (remainingTok != null) remainingTokens = remainingTok;
+            if (resetTok != null) tokensResetAt = now + resetTok;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 429 수신 처리 (retry-after 만큼 신규 호출 차단)
+     */
+    public void onRateLimited(HttpHeaders headers) {
+        lock.lock();
+        try {
+            update(headers);
+
+            // retry-after가 없으면 리셋 헤더 기준 대기에 맡기고 최소 1초만 차단
+            Long retryAfterSeconds = parseLong(headers.getFirst("retry-after"));
+            long retryAfterMs = retryAfterSeconds != null ? retryAfterSeconds * 1000 : 1000;
+
+            blockedUntil = Math.max(blockedUntil, System.currentTimeMillis() + retryAfterMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    private Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * OpenAI 리셋 시간 형식 파싱 (예: "20ms", "1s", "6m0s", "1h2m3.5s")
+     */
+    private Long parseDurationMs(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Matcher matcher = DURATION_PART.matcher(value.trim());
+        double totalMs = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "h": totalMs += amount * 3_600_000; break;
+                case "m": totalMs += amount * 60_000; break;
+                case "s": totalMs += amount * 1_000; break;
+                default: totalMs += amount; break;
+            }
+        }
+        return matched ? (long) Math.ceil(totalMs) : null;
+    }
+}
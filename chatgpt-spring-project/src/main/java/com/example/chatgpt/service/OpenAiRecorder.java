@@ -0,0 +1,106 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.OpenAiDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * OpenAI 요청/응답 녹화 및 재생 (부하 테스트용)
+ * - RECORD: 실제 응답을 {record-dir}/{요청 키}.json 으로 저장
+ * - REPLAY: 같은 요청 키의 저장된 응답을 반환 (API 호출 없음, 파일이 없으면 실패)
+ * - 요청 키는 응답 캐시와 동일 (model, temperature, max_tokens, messages 해시) → 재생이 결정적
+ */
+@Component
+@Slf4j
+public class OpenAiRecorder {
+
+    public static final String MODE_OFF = "off";
+    public static final String MODE_RECORD = "record";
+    public static final String MODE_REPLAY = "replay";
+
+    private final OpenAiConfig openAiConfig;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public OpenAiRecorder(OpenAiConfig openAiConfig) {
+        this.openAiConfig = openAiConfig;
+        if (!MODE_OFF.equalsIgnoreCase(openAiConfig.getRecordMode())) {
+            log.info("OpenAI 녹화/재생 모드: {} (경로: {})", openAiConfig.getRecordMode(), openAiConfig.getRecordDir());
+        }
+    }
+
+    public boolean isRecording() {
+        return MODE_RECORD.equalsIgnoreCase(openAiConfig.getRecordMode());
+    }
+
+    public boolean isReplaying() {
+        return MODE_REPLAY.equalsIgnoreCase(openAiConfig.getRecordMode());
+    }
+
+    /**
+     * 저장된 응답 재생
+     */
+    public Mono<OpenAiDto.ChatResponse> replay(String requestKey) {
+        return Mono.fromCallable(() -> {
+                    Path file = recordFile(requestKey);
+                    if (!Files.exists(file)) {
+                        throw new IllegalStateException("녹화된 응답이 없습니다: " + file);
+                    }
+                    Recording recording = objectMapper.readValue(file.toFile(), Recording.class);
+                    log.debug("OpenAI 응답 재생 - key: {}", requestKey);
+                    return recording.getResponse();
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 요청/응답 저장 (비동기, 실패해도 호출 결과에 영향 없음)
+     */
+    public void record(String requestKey, OpenAiDto.ChatRequest request, OpenAiDto.ChatResponse response) {
+        Mono.fromRunnable(() -> {
+                    try {
+                        Path file = recordFile(requestKey);
+                        Files.createDirectories(file.getParent());
+                        objectMapper.writeValue(file.toFile(), new Recording(request, response));
+                        log.debug("OpenAI 응답 녹화 - {}", file);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("OpenAI 응답 녹화 실패: {}", e.getMessage()));
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("mode", openAiConfig.getRecordMode());
+        status.put("dir", openAiConfig.getRecordDir());
+        return status;
+    }
+
+    private Path recordFile(String requestKey) {
+        return Paths.get(openAiConfig.getRecordDir(), requestKey + ".json");
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recording {
+        private OpenAiDto.ChatRequest request;
+        private OpenAiDto.ChatResponse response;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.chatgpt.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 동일 LLM 요청 합치기 (single-flight)
+ * - 같은 키의 요청이 진행 중이면 새로 호출하지 않고 진행 중인 결과를 함께 구독
+ * - 성공/실패 모두 공유, 호출이 끝나면 키를 제거해 다음 요청은 새로 실행
+ * - 합류한 요청 수는 호출 위치별 llm.coalesced 카운터로 기록
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OpenAiRequestCoalescer {
+
+    private final OpenAiMetrics metrics;
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * 키 기준으로 합쳐서 실행
+     * @param requestKey 정규화된 요청 키 (OpenAiResponseCache.createKey)
+     * @param callSite 합류한 요청의 호출 위치 (llm.coalesced 태그)
+     * @param call 실제 호출 (진행 중인 동일 요청이 없을 때만 생성)
+     */
+    public Mono<String> execute(String requestKey, String callSite, Supplier<Mono<String>> call) {
+        return Mono.defer(() -> {
+            boolean[] created = {false};
+            Mono<String> shared = inFlight.computeIfAbsent(requestKey, key -> {
+                created[0] = true;
+                return createShared(key, call);
+            });
+
+            if (created[0]) {
+                executed.incrementAndGet();
+            } else {
+                coalesced.incrementAndGet();
+                metrics.recordCoalesced(callSite);
+                log.debug("진행 중인 동일 LLM 요청에 합류 - key: {}", requestKey);
+            }
+            return shared;
+        });
+    }
+
+    private Mono<String> createShared(String requestKey, Supplier<Mono<String>> call) {
+        AtomicReference<Mono<String>> self = new AtomicReference<>();
+        Mono<String> shared = call.get()
+                .doFinally(signal -> inFlight.remove(requestKey, self.get()))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    /**
+     * 합치기 통계
+     */
+    public Map<String, Object> getStats() {
+        long executedCount = executed.get();
+        long coalescedCount = coalesced.get();
+        long total = executedCount + coalescedCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("executed", executedCount);
+        stats.put("coalesced", coalescedCount);
+        stats.put("coalescedRate", total == 0 ? 0.0 : (double) coalescedCount / total);
+        return stats;
+    }
+}
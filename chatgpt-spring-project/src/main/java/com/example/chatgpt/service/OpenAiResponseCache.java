@@ -0,0 +1,208 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.OpenAiDto;
+import com.example.chatgpt.entity.LlmResponseCache;
+import com.example.chatgpt.repository.LlmResponseCacheRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LLM 응답 캐시 (내용 주소 기반)
+ * - 키: (model, temperature, maxTokens, 전체 메시지, 응답 형식) SHA-256
+ * - 1차: 메모리 LRU (최대 개수 + TTL), 2차: llm_response_cache 테이블 (선택, 재시작/다중 노드 공유)
+ * - ChatOptions.withCache() 로 요청한 호출만 사용 (JSON 추출/분류), 생성형 응답과 재시도는 항상 새로 호출
+ */
+@Component
+@Slf4j
+public class OpenAiResponseCache {
+
+    private static final int PURGE_INTERVAL = 500; // 저장 N회마다 만료 DB 캐시 정리
+
+    private final OpenAiConfig openAiConfig;
+    private final LlmResponseCacheRepository llmResponseCacheRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, CachedResponse> memory;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong dbHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+
+    public OpenAiResponseCache(OpenAiConfig openAiConfig, LlmResponseCacheRepository llmResponseCacheRepository) {
+        this.openAiConfig = openAiConfig;
+        this.llmResponseCacheRepository = llmResponseCacheRepository;
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > openAiConfig.getCacheMaxEntries();
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(openAiConfig.getCacheEnabled());
+    }
+
+    /**
+     * 요청 내용 기반 캐시 키 생성
+     */
+    public String createKey(OpenAiDto.ChatRequest request) {
+        try {
+            List<Object> parts = new ArrayList<>(Arrays.asList(
+                request.getModel(), request.getTemperature(), request.getMaxTokens(), request.getMessages()));
+            if (request.getResponseFormat() != null) {
+                parts.add(request.getResponseFormat().getType());
+            }
+            String canonical = objectMapper.writeValueAsString(parts);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("캐시 키 생성 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 캐시 조회 (메모리 → DB 순), 없으면 빈 Mono
+     */
+    public Mono<String> get(String cacheKey) {
+        CachedResponse cached = getFromMemory(cacheKey);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            log.debug("LLM 캐시 적중 (메모리) - key: {}", cacheKey);
+            return Mono.just(cached.content());
+        }
+
+        if (!Boolean.TRUE.equals(openAiConfig.getCacheDbEnabled())) {
+            misses.incrementAndGet();
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(() -> llmResponseCacheRepository.findById(cacheKey)
+                        .filter(entity -> !entity.isExpired())
+                        .orElse(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(entity -> {
+                    dbHits.incrementAndGet();
+                    putToMemory(cacheKey, entity.getResponseText());
+                    llmResponseCacheRepository.incrementHitCount(cacheKey);
+                    log.debug("LLM 캐시 적중 (DB) - key: {}", cacheKey);
+                })
+                .map(LlmResponseCache::getResponseText)
+                .doOnSuccess(content -> {
+                    if (content == null) {
+                        misses.incrementAndGet();
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("LLM 캐시 DB 조회 실패 (무시하고 API 호출): {}", e.getMessage());
+                    misses.incrementAndGet();
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 캐시 저장 (DB 저장은 비동기, 실패해도 호출 결과에 영향 없음)
+     */
+    public void put(String cacheKey, String model, String content) {
+        putToMemory(cacheKey, content);
+        long storeCount = stores.incrementAndGet();
+
+        if (!Boolean.TRUE.equals(openAiConfig.getCacheDbEnabled())) {
+            return;
+        }
+
+        Mono.fromRunnable(() -> {
+                    llmResponseCacheRepository.save(LlmResponseCache.builder()
+                        .cacheKey(cacheKey)
+                        .model(model)
+                        .responseText(content)
+                        .hitCount(0)
+                        .expiresAt(LocalDateTime.now().plusMinutes(openAiConfig.getCacheTtlMinutes()))
+                        .build());
+
+                    if (storeCount % PURGE_INTERVAL == 0) {
+                        int purged = llmResponseCacheRepository.deleteExpired(LocalDateTime.now());
+                        log.info("만료된 LLM 캐시 {}건 삭제", purged);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("LLM 캐시 DB 저장 실패: {}", e.getMessage()));
+    }
+
+    /**
+     * 캐시 통계 (적중/미스 카운터)
+     */
+    public Map<String, Object> getStats() {
+        long hits = memoryHits.get() + dbHits.get();
+        long total = hits + misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("dbEnabled", Boolean.TRUE.equals(openAiConfig.getCacheDbEnabled()));
+        stats.put("memoryEntries", memorySize());
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("dbHits", dbHits.get());
+        stats.put("misses", misses.get());
+        stats.put("stores", stores.get());
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hits / total);
+        return stats;
+    }
+
+    private CachedResponse getFromMemory(String cacheKey) {
+        lock.lock();
+        try {
+            CachedResponse cached = memory.get(cacheKey);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() < System.currentTimeMillis()) {
+                memory.remove(cacheKey);
+                return null;
+            }
+            return cached;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putToMemory(String cacheKey, String content) {
+        lock.lock();
+        try {
+            long ttlMs = openAiConfig.getCacheTtlMinutes() * 60_000L;
+            memory.put(cacheKey, new CachedResponse(content, System.currentTimeMillis() + ttlMs));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int memorySize() {
+        lock.lock();
+        try {
+            return memory.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CachedResponse(String content, long expiresAt) {
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.ChatOptions.Priority;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * OpenAI 호출 스케줄러
+ * - 동시 실행 슬롯(openai.api.scheduler-max-concurrent)을 우선순위 클래스별 가중치로 배분 (stride 스케줄링)
+ * - 같은 클래스 안에서는 행사(eventCode)별 라운드로빈 → 큰 행사가 작은 행사를 굶기지 않음
+ * - 대기 중 취소되면 큐에서 제거, 실행 중 취소/완료/실패 시 슬롯 반환
+ * - 클래스별 대기 건수/대기 시간은 llm.scheduler.queue, llm.scheduler.wait 메트릭으로 노출
+ */
+@Component
+@Slf4j
+public class OpenAiScheduler {
+
+    private static final long STRIDE = 1_000_000L;
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final OpenAiConfig openAiConfig;
+    private final Map<Priority, ClassQueue> queues = new EnumMap<>(Priority.class);
+    private final ReentrantLock lock = new ReentrantLock(); // 가상 스레드에서 carrier를 고정하지 않도록 synchronized 대신 사용
+    private int running = 0;
+    private long globalPass = 0;
+
+    public OpenAiScheduler(OpenAiConfig openAiConfig, OpenAiMetrics metrics) {
+        this.openAiConfig = openAiConfig;
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ClassQueue(priority, metrics.schedulerWaitTimer(priority)));
+        }
+        for (Priority priority : Priority.values()) {
+            metrics.registerSchedulerQueue(priority, this, scheduler -> scheduler.queuedCount(priority));
+        }
+    }
+
+    /**
+     * 슬롯을 얻은 뒤 호출 실행, 종료 시 슬롯 반환
+     */
+    public <T> Mono<T> schedule(Priority priority, Integer eventCode, Supplier<Mono<T>> call) {
+        return Mono.usingWhen(acquire(priority, eventCode), permit -> call.get(), Permit::release);
+    }
+
+    /**
+     * 스트리밍 호출용 (스트림이 끝날 때까지 슬롯 점유)
+     */
+    public <T> Flux<T> scheduleMany(Priority priority, Integer eventCode, Supplier<Flux<T>> call) {
+        return Flux.usingWhen(acquire(priority, eventCode), permit -> call.get(), Permit::release);
+    }
+
+    private Mono<Permit> acquire(Priority priority, Integer eventCode) {
+        return Mono.create(sink -> {
+            Ticket ticket = new Ticket(priority, eventCode, sink);
+            enqueue(ticket);
+            sink.onCancel(() -> cancel(ticket));
+            dispatch();
+        });
+    }
+
+    private void enqueue(Ticket ticket) {
+        lock.lock();
+        try {
+            ClassQueue queue = queues.get(ticket.priority);
+            if (queue.isEmpty()) {
+                // 쉬고 있던 클래스가 밀린 몫을 한꺼번에 가져가지 않도록 현재 시점으로 맞춤
+                queue.pass = Math.max(queue.pass, globalPass);
+            }
+            queue.add(ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(Ticket ticket) {
+        if (ticket.state.compareAndSet(WAITING, CANCELLED)) {
+            lock.lock();
+            try {
+                queues.get(ticket.priority).remove(ticket);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            // 허가와 취소가 엇갈린 경우: 전달되지 못한 슬롯 반환 (permit 설정 완료 후 확인)
+            Permit permit;
+            lock.lock();
+            try {
+                permit = ticket.permit;
+            } finally {
+                lock.unlock();
+            }
+            if (permit != null) {
+                permit.releaseNow();
+            }
+        }
+    }
+
+    /**
+     * 빈 슬롯만큼 대기 호출에 허가 전달
+     */
+    private void dispatch() {
+        while (true) {
+            Ticket next;
+            lock.lock();
+            try {
+                if (running >= openAiConfig.getSchedulerMaxConcurrent()) {
+                    return;
+                }
+                next = pollNext();
+                if (next == null) {
+                    return;
+                }
+                running++;
+                next.permit = new Permit();
+            } finally {
+                lock.unlock();
+            }
+            next.sink.success(next.permit);
+        }
+    }
+
+    /**
+     * 다음 실행 대상 선택 (pass가 가장 작은 클래스 → 그 클래스의 다음 행사)
+     */
+    private Ticket pollNext() {
+        while (true) {
+            ClassQueue selected = null;
+            for (ClassQueue queue : queues.values()) {
+                if (!queue.isEmpty() && (selected == null || queue.pass < selected.pass)) {
+                    selected = queue;
+                }
+            }
+            if (selected == null) {
+                return null;
+            }
+
+            Ticket ticket = selected.poll();
+            if (ticket != null && ticket.state.compareAndSet(WAITING, GRANTED)) {
+                globalPass = selected.pass;
+                selected.pass += STRIDE / selected.priority.getWeight();
+                selected.recordDispatch(System.currentTimeMillis() - ticket.enqueuedAt);
+                return ticket;
+            }
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            running--;
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+    }
+
+    /**
+     * 클래스의 현재 대기 건수 (게이지용)
+     */
+    private int queuedCount(Priority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 클래스별 대기 건수/대기 시간 통계
+     */
+    public Map<String, Object> getStats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("running", running);
+            stats.put("maxConcurrent", openAiConfig.getSchedulerMaxConcurrent());
+
+            for (ClassQueue queue : queues.values()) {
+                Map<String, Object> classStats = new LinkedHashMap<>();
+                classStats.put("weight", queue.priority.getWeight());
+                classStats.put("queued", queue.size());
+                classStats.put("queuedEvents", queue.byEvent.size());
+                classStats.put("dispatched", queue.dispatched);
+                classStats.put("avgWaitMs", queue.dispatched == 0 ? 0 : queue.totalWaitMs / queue.dispatched);
+                classStats.put("maxWaitMs", queue.maxWaitMs);
+                stats.put(queue.priority.name(), classStats);
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 우선순위 클래스별 큐 (행사별 FIFO, 행사 간 라운드로빈)
+     */
+    private static class ClassQueue {
+        private final Priority priority;
+        private final Timer waitTimer;
+        private final LinkedHashMap<Integer, ArrayDeque<Ticket>> byEvent = new LinkedHashMap<>();
+        private long pass = 0;
+        private long dispatched = 0;
+        private long totalWaitMs = 0;
+        private long maxWaitMs = 0;
+
+        ClassQueue(Priority priority, Timer waitTimer) {
+            this.priority = priority;
+            this.waitTimer = waitTimer;
+        }
+
+        boolean isEmpty() {
+            return byEvent.isEmpty();
+        }
+
+        int size() {
+            int size = 0;
+            for (ArrayDeque<Ticket> tickets : byEvent.values()) {
+                size += tickets.size();
+            }
+            return size;
+        }
+
+        void add(Ticket ticket) {
+            byEvent.computeIfAbsent(ticket.eventCode, key -> new ArrayDeque<>()).add(ticket);
+        }
+
+        /**
+         * 맨 앞 행사에서 하나 꺼내고, 남은 요청이 있으면 그 행사를 맨 뒤로 보냄
+         */
+        Ticket poll() {
+            Iterator<Map.Entry<Integer, ArrayDeque<Ticket>>> iterator = byEvent.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Map.Entry<Integer, ArrayDeque<Ticket>> first = iterator.next();
+            Integer eventCode = first.getKey();
+            ArrayDeque<Ticket> tickets = first.getValue();
+            Ticket ticket = tickets.poll();
+
+            iterator.remove();
+            if (!tickets.isEmpty()) {
+                byEvent.put(eventCode, tickets);
+            }
+            return ticket;
+        }
+
+        void remove(Ticket ticket) {
+            ArrayDeque<Ticket> tickets = byEvent.get(ticket.eventCode);
+            if (tickets != null) {
+                tickets.remove(ticket);
+                if (tickets.isEmpty()) {
+                    byEvent.remove(ticket.eventCode);
+                }
+            }
+        }
+
+        void recordDispatch(long waitMs) {
+            dispatched++;
+            totalWaitMs += waitMs;
+            maxWaitMs = Math.max(maxWaitMs, waitMs);
+            waitTimer.record(waitMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static class Ticket {
+        private final Priority priority;
+        private final Integer eventCode;
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt = System.currentTimeMillis();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Permit permit;
+
+        Ticket(Priority priority, Integer eventCode, MonoSink<Permit> sink) {
+            this.priority = priority;
+            this.eventCode = eventCode;
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * 실행 슬롯 (반환은 한 번만)
+     */
+    private class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Mono<Void> release() {
+            return Mono.fromRunnable(this::releaseNow);
+        }
+
+        void releaseNow() {
+            if (released.compareAndSet(false, true)) {
+                OpenAiScheduler.this.release();
+            }
+        }
+    }
+}
@@ -1,14 +1,34 @@
 package com.example.chatgpt.service;
 
 import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.ChatOptions;
 import com.example.chatgpt.dto.OpenAiDto;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import org.springframework.retry.annotation.EnableRetry;
 
 @EnableRetry
@@ -17,10 +37,35 @@ import org.springframework.retry.annotation.EnableRetry;
 public class OpenAiService {
 
     private final OpenAiConfig openAiConfig;
+    private final OpenAiRateLimiter rateLimiter;
+    private final OpenAiResponseCache responseCache;
+    private final OpenAiRequestCoalescer requestCoalescer;
+    private final PromptBudgeter promptBudgeter;
+    private final OpenAiScheduler scheduler;
+    private final OpenAiRecorder recorder;
+    private final OpenAiMetrics metrics;
+    private final OpenAiCircuitBreaker circuitBreaker;
     private final WebClient webClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public OpenAiService(OpenAiConfig openAiConfig) {
+    private static final String STREAM_DONE = "[DONE]";
+    private static final int REPLAY_CHUNK_CHARS = 20;
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    public OpenAiService(OpenAiConfig openAiConfig, OpenAiRateLimiter rateLimiter, OpenAiResponseCache responseCache,
+                         OpenAiRequestCoalescer requestCoalescer, PromptBudgeter promptBudgeter,
+                         OpenAiScheduler scheduler, OpenAiRecorder recorder, OpenAiMetrics metrics,
+                         OpenAiCircuitBreaker circuitBreaker) {
         this.openAiConfig = openAiConfig;
+        this.rateLimiter = rateLimiter;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.promptBudgeter = promptBudgeter;
+        this.scheduler = scheduler;
+        this.recorder = recorder;
+        this.metrics = metrics;
+        this.circuitBreaker = circuitBreaker;
         this.webClient = WebClient.builder()
                 .baseUrl(openAiConfig.getUrl())
                 .defaultHeader("Authorization", "Bearer " + openAiConfig.getKey())
@@ -32,165 +77,602 @@ public class OpenAiService {
      * 단순 프롬프트 실행
      */
     public String chat(String prompt) {
-        List<OpenAiDto.Message> messages = new ArrayList<>();
-        messages.add(OpenAiDto.Message.builder()
-                .role("user")
-                .content(prompt)
-                .build());
+        return chat(prompt, ChatOptions.defaults());
+    }
 
-        return executeChat(messages);
+    public String chat(String prompt, ChatOptions options) {
+        return executeChat(userMessages(prompt), options);
     }
 
     /**
      * 시스템 메시지와 함께 프롬프트 실행
      */
     public String chatWithSystem(String systemMessage, String userMessage) {
-        List<OpenAiDto.Message> messages = new ArrayList<>();
-        messages.add(OpenAiDto.Message.builder()
-                .role("system")
-                .content(systemMessage)
-                .build());
-        messages.add(OpenAiDto.Message.builder()
-                .role("user")
-                .content(userMessage)
-                .build());
+        return chatWithSystem(systemMessage, userMessage, ChatOptions.defaults());
+    }
 
-        return executeChat(messages);
+    public String chatWithSystem(String systemMessage, String userMessage, ChatOptions options) {
+        return executeChat(systemMessages(systemMessage, userMessage), options);
     }
 
     /**
      * 대화 히스토리와 함께 프롬프트 실행
      */
     public String chatWithHistory(List<OpenAiDto.Message> conversationHistory, String userMessage) {
-        List<OpenAiDto.Message> messages = new ArrayList<>(conversationHistory);
-        messages.add(OpenAiDto.Message.builder()
-                .role("user")
-                .content(userMessage)
-                .build());
+        return chatWithHistory(conversationHistory, userMessage, ChatOptions.defaults());
+    }
 
-        return executeChat(messages);
+    public String chatWithHistory(List<OpenAiDto.Message> conversationHistory, String userMessage, ChatOptions options) {
+        return executeChat(historyMessages(conversationHistory, userMessage), options);
+    }
+
+    /**
+     * 단순 프롬프트 실행 (비동기)
+     * - 구독 시점에 호출되며, 응답 대기 중 요청 스레드를 점유하지 않음
+     */
+    public Mono<String> chatAsync(String prompt) {
+        return chatAsync(prompt, ChatOptions.defaults());
+    }
+
+    public Mono<String> chatAsync(String prompt, ChatOptions options) {
+        return executeChatAsync(userMessages(prompt), options);
+    }
+
+    /**
+     * 시스템 메시지와 함께 프롬프트 실행 (비동기)
+     */
+    public Mono<String> chatWithSystemAsync(String systemMessage, String userMessage) {
+        return chatWithSystemAsync(systemMessage, userMessage, ChatOptions.defaults());
+    }
+
+    public Mono<String> chatWithSystemAsync(String systemMessage, String userMessage, ChatOptions options) {
+        return executeChatAsync(systemMessages(systemMessage, userMessage), options);
+    }
+
+    /**
+     * 대화 히스토리와 함께 프롬프트 실행 (비동기)
+     */
+    public Mono<String> chatWithHistoryAsync(List<OpenAiDto.Message> conversationHistory, String userMessage) {
+        return chatWithHistoryAsync(conversationHistory, userMessage, ChatOptions.defaults());
+    }
+
+    public Mono<String> chatWithHistoryAsync(List<OpenAiDto.Message> conversationHistory, String userMessage, ChatOptions options) {
+        return executeChatAsync(historyMessages(conversationHistory, userMessage), options);
     }
 
     /**
      * ChatGPT API 실행
+     * - 허용량 대기/429 재시도는 비동기 경로와 동일하게 OpenAiRateLimiter가 담당
+     */
+    private String executeChat(List<OpenAiDto.Message> messages, ChatOptions options) {
+        return executeChatAsync(messages, options).block();
+    }
+
+    /**
+     * ChatGPT API 실행 (비동기)
+     * - 캐시 적중 시 API 호출 없이 반환, 정상 종료(stop)된 응답만 캐시에 저장
+     * - 캐시 미스 시 동일 요청은 하나의 API 호출로 합침
+     * - 호출 위치의 서킷이 열려 있으면 대기열에 넣지 않고 즉시 CircuitOpenException
+     * - 블로킹 버전과 동일한 예외 메시지로 변환
+     */
+    private Mono<String> executeChatAsync(List<OpenAiDto.Message> messages, ChatOptions options) {
+        OpenAiDto.ChatRequest request = buildRequest(messages, options);
+        String requestKey = responseCache.createKey(request);
+        boolean useCache = options.isCacheable() && responseCache.isEnabled();
+        String callSite = options.getCallSite();
+
+        log.debug("Sending async request to OpenAI: {}", request);
+
+        // 동일 요청이 진행 중이면 그 결과를 함께 구독, 새 호출은 스케줄러 슬롯을 받은 뒤 실행
+        Mono<String> apiCall = Mono.defer(() -> circuitBreaker.isOpen(callSite)
+                ? Mono.<String>error(circuitOpen(callSite))
+                : requestCoalescer.execute(requestKey, callSite, () -> scheduler.schedule(
+                        options.getPriority(), options.getEventCode(), () -> sendRequest(request, callSite))
+                .map(response -> {
+                    String content = extractContent(response);
+                    if (useCache && isCompleteResponse(response)) {
+                        responseCache.put(requestKey, request.getModel(), content);
+                    }
+                    return content;
+                })
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("No response from OpenAI")))
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, this::rateLimitExceeded)
+                .onErrorMap(e -> !isPassThrough(e), e -> {
+                    log.error("OpenAI API 비동기 호출 실패: {}", e.getMessage());
+                    return new RuntimeException("ChatGPT API 호출 중 오류가 발생했습니다: " + e.getMessage(), e);
+                })));
+
+        if (!useCache) {
+            return apiCall;
+        }
+        return responseCache.get(requestKey)
+                .doOnNext(content -> metrics.recordCacheHit(callSite))
+                .switchIfEmpty(apiCall);
+    }
+
+    /**
+     * 캐시 통계 조회
+     */
+    public Map<String, Object> getCacheStats() {
+        return responseCache.getStats();
+    }
+
+    /**
+     * 동일 요청 합치기 통계 조회
+     */
+    public Map<String, Object> getCoalescingStats() {
+        return requestCoalescer.getStats();
+    }
+
+    /**
+     * 스케줄러 통계 조회 (클래스별 대기 건수/대기 시간)
+     */
+    public Map<String, Object> getSchedulerStats() {
+        return scheduler.getStats();
+    }
+
+    /**
+     * 서킷 브레이커 상태 조회 (호출 위치별)
+     */
+    public Map<String, Object> getCircuitStats() {
+        return circuitBreaker.getStats();
+    }
+
+    /**
+     * 스트리밍 프롬프트 실행 (stream: true)
+     * - SSE 청크의 delta.content를 도착하는 대로 방출
+     * - 스트리밍 응답은 캐시하지 않음
+     */
+    public Flux<String> chatStream(String prompt) {
+        return chatStream(prompt, ChatOptions.defaults());
+    }
+
+    public Flux<String> chatStream(String prompt, ChatOptions options) {
+        OpenAiDto.ChatRequest request = buildRequest(userMessages(prompt), options);
+        if (recorder.isReplaying()) {
+            // 녹화된 전체 응답을 조각으로 나눠 재생 (스트리밍 응답 자체는 녹화하지 않음)
+            return recorder.replay(responseCache.createKey(request))
+                    .map(this::extractContent)
+                    .flatMapMany(content -> Flux.fromArray(content.split("(?<=\\G.{" + REPLAY_CHUNK_CHARS + "})")));
+        }
+        request.setStream(true);
+        request.setStreamOptions(new OpenAiDto.StreamOptions(true));
+        String callSite = options.getCallSite();
+        if (circuitBreaker.isOpen(callSite)) {
+            return Flux.error(circuitOpen(callSite));
+        }
+
+        return scheduler.scheduleMany(options.getPriority(), options.getEventCode(), () -> withCircuitBreakerStream(callSite, clock ->
+                    rateLimiter.acquire(estimateTokens(request))
+                            .then(Mono.defer(() -> {
+                                clock.restart();
+                                return webClient.post()
+                                        .accept(MediaType.TEXT_EVENT_STREAM)
+                                        .bodyValue(request)
+                                        .retrieve()
+                                        .onStatus(status -> status.value() == 429, response -> onTooManyRequests(response, callSite))
+                                        .toEntityFlux(SSE_TYPE)
+                                        .timeout(Duration.ofMillis(openAiConfig.getCallTimeoutMs()));
+                            }))
+                            .doOnNext(entity -> rateLimiter.update(entity.getHeaders()))
+                            .flatMapMany(entity -> entity.getBody() != null ? entity.getBody() : Flux.empty())
+                            .doOnError(e -> metrics.recordError(callSite, e))
+                            .doFinally(signal -> metrics.recordCall(clock.sample(), callSite, request.getModel(), signal))))
+                .map(event -> event.data() != null ? event.data() : "")
+                .takeWhile(data -> !STREAM_DONE.equals(data.trim()))
+                .filter(data -> !data.isBlank())
+                .mapNotNull(this::parseChunk)
+                .doOnNext(chunk -> metrics.recordUsage(callSite, request.getModel(), chunk.getUsage()))
+                .map(this::extractDelta)
+                .filter(delta -> !delta.isEmpty())
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, this::rateLimitExceeded)
+                .onErrorMap(e -> !isPassThrough(e), e -> {
+                    log.error("OpenAI API 스트리밍 호출 실패: {}", e.getMessage());
+                    return new RuntimeException("ChatGPT API 호출 중 오류가 발생했습니다: " + e.getMessage(), e);
+                });
+    }
+
+    /**
+     * 스트리밍 실행 + 종료 시 전체 텍스트 전달
+     * - 생성은 클라이언트 구독과 분리되어, 연결이 끊겨도 끝까지 진행
+     * - 정상 종료 시에만 전체 텍스트로 onFinish 호출 (boundedElastic)
+     * - 중간에 오류가 나면 부분 텍스트는 버리고 onFinish 없이 오류 전달 (이전에 저장된 완전한 결과를 덮어쓰지 않도록)
+     * - 반환 Flux는 onFinish(저장)까지 끝난 뒤 완료됨
+     */
+    public Flux<String> chatStreamAndThen(String prompt, Consumer<String> onFinish) {
+        return chatStreamAndThen(prompt, ChatOptions.defaults(), onFinish);
+    }
+
+    public Flux<String> chatStreamAndThen(String prompt, ChatOptions options, Consumer<String> onFinish) {
+        return streamAndThen(Flux.defer(() -> chatStream(prompt, options)), onFinish);
+    }
+
+    /**
+     * chatStreamAndThen 본체 (스트림 구독 분리 + 정상 종료 시에만 onFinish)
+     */
+    static Flux<String> streamAndThen(Flux<String> stream, Consumer<String> onFinish) {
+        return Flux.defer(() -> {
+            Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+            StringBuilder fullText = new StringBuilder();
+
+            stream.subscribe(
+                delta -> {
+                    fullText.append(delta);
+                    sink.tryEmitNext(delta);
+                },
+                error -> {
+                    if (fullText.length() > 0) {
+                        log.warn("스트리밍 중단 - 부분 응답 {}자는 저장하지 않음: {}", fullText.length(), error.getMessage());
+                    }
+                    sink.tryEmitError(error);
+                },
+                () -> finishStream(fullText, onFinish)
+                        .subscribe(null, sink::tryEmitError, sink::tryEmitComplete));
+
+            return sink.asFlux();
+        });
+    }
+
+    private static Mono<Void> finishStream(StringBuilder fullText, Consumer<String> onFinish) {
+        if (fullText.length() == 0) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(() -> onFinish.accept(fullText.toString()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnError(e -> log.error("스트리밍 결과 저장 실패: {}", e.getMessage()));
+    }
+
+    /**
+     * SSE data(JSON 청크) 파싱, 실패 시 null (건너뜀)
+     */
+    private OpenAiDto.ChatChunk parseChunk(String data) {
+        try {
+            return objectMapper.readValue(data, OpenAiDto.ChatChunk.class);
+        } catch (JsonProcessingException e) {
+            log.warn("스트리밍 청크 파싱 실패 (무시): {}", data);
+            return null;
+        }
+    }
+
+    /**
+     * 청크에서 delta.content 추출 (마지막 사용량 청크는 choices가 비어 있음)
+     */
+    private String extractDelta(OpenAiDto.ChatChunk chunk) {
+        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+            return "";
+        }
+        OpenAiDto.Message delta = chunk.getChoices().get(0).getDelta();
+        return delta != null && delta.getContent() != null ? delta.getContent() : "";
+    }
+
+    /**
+     * 전체 응답 객체 반환 (토큰 사용량 등 메타데이터 필요시)
+     */
+    public OpenAiDto.ChatResponse chatWithFullResponse(String prompt) {
+        return chatWithFullResponse(prompt, ChatOptions.defaults());
+    }
+
+    public OpenAiDto.ChatResponse chatWithFullResponse(String prompt, ChatOptions options) {
+        return chatWithFullResponseAsync(prompt, options).block();
+    }
+
+    /**
+     * 전체 응답 객체 반환 (비동기)
+     * - 캐시/요청 합치기 없이 매번 호출, 스케줄러 슬롯과 서킷 브레이커는 다른 호출과 동일하게 적용
+     */
+    public Mono<OpenAiDto.ChatResponse> chatWithFullResponseAsync(String prompt) {
+        return chatWithFullResponseAsync(prompt, ChatOptions.defaults());
+    }
+
+    public Mono<OpenAiDto.ChatResponse> chatWithFullResponseAsync(String prompt, ChatOptions options) {
+        OpenAiDto.ChatRequest request = buildRequest(userMessages(prompt), options);
+        String callSite = options.getCallSite();
+        return Mono.defer(() -> circuitBreaker.isOpen(callSite)
+                ? Mono.<OpenAiDto.ChatResponse>error(circuitOpen(callSite))
+                : scheduler.schedule(options.getPriority(), options.getEventCode(), () -> sendRequest(request, callSite)));
+    }
+
+    /**
+     * 요청 객체 생성 (JSON 모드는 호출 옵션과 모델 지원 여부가 모두 켜진 경우만)
      */
-    private String executeChat(List<OpenAiDto.Message> messages) {
-        OpenAiDto.ChatRequest request = OpenAiDto.ChatRequest.builder()
+    private OpenAiDto.ChatRequest buildRequest(List<OpenAiDto.Message> messages, ChatOptions options) {
+        boolean jsonMode = options.isJsonMode() && Boolean.TRUE.equals(openAiConfig.getJsonModeEnabled());
+        return OpenAiDto.ChatRequest.builder()
                 .model(openAiConfig.getModel())
                 .messages(messages)
                 .temperature(openAiConfig.getTemperature())
                 .maxTokens(openAiConfig.getMaxTokens())
+                .responseFormat(jsonMode ? OpenAiDto.ResponseFormat.jsonObject() : null)
                 .build();
+    }
 
-        log.debug("Sending request to OpenAI: {}", request);
-
-        int maxRetries = 1;  // Free 티어: 재시도 1번만
-        int retryCount = 0;
-        
-        while (retryCount < maxRetries) {
-            try {
-                OpenAiDto.ChatResponse response = webClient.post()
-                        .bodyValue(request)
-                        .retrieve()
-                        .onStatus(
-                            status -> status.value() == 429,
-                            clientResponse -> {
-                                // Rate Limit 정보 추출
-                                String rateLimitLimit = clientResponse.headers().asHttpHeaders().getFirst("x-ratelimit-limit-requests");
-                                String rateLimitRemaining = clientResponse.headers().asHttpHeaders().getFirst("x-ratelimit-remaining-requests");
-                                String rateLimitReset = clientResponse.headers().asHttpHeaders().getFirst("x-ratelimit-reset-requests");
-                                
-                                // 추가 헤더들
-                                String rateLimitLimitTokens = clientResponse.headers().asHttpHeaders().getFirst("x-ratelimit-limit-tokens");
-                                String rateLimitRemainingTokens = clientResponse.headers().asHttpHeaders().getFirst("x-ratelimit-remaining-tokens");
-                                String retryAfter = clientResponse.headers().asHttpHeaders().getFirst("retry-after");
-                                
-                                log.warn("========== Rate Limit 상세 정보 ==========");
-                                log.warn("요청 한도: {}", rateLimitLimit);
-                                log.warn("남은 요청: {}", rateLimitRemaining);
-                                log.warn("리셋 시간: {}", rateLimitReset);
-                                log.warn("토큰 한도: {}", rateLimitLimitTokens);
-                                log.warn("남은 토큰: {}", rateLimitRemainingTokens);
-                                log.warn("Retry-After: {} 초", retryAfter);
-                                log.warn("현재 시각: {}", java.time.LocalDateTime.now());
-                                log.warn("==========================================");
-                                
-                                return clientResponse.createException();
-                            }
-                        )
-                        .bodyToMono(OpenAiDto.ChatResponse.class)
-                        .block();
-
-                if (response != null && !response.getChoices().isEmpty()) {
-                    String content = response.getChoices().get(0).getMessage().getContent();
-                    log.debug("Received response from OpenAI. Tokens used: {}", response.getUsage().getTotalTokens());
-                    return content;
-                }
+    /**
+     * WebClient 호출 (구독 전까지 실제 요청은 발생하지 않음)
+     * - 호출 전 허용량 확인, 응답마다 x-ratelimit-* 헤더로 버킷 갱신
+     * - 429는 retry-after/리셋 시각까지 대기 후 설정된 횟수만큼 재시도
+     * - 녹화 모드면 응답을 파일로 저장, 재생 모드면 저장된 응답 반환
+     * - 호출 위치별 지연 시간/토큰/재시도/429/오류 메트릭 기록
+     * - 서킷 브레이커에 결과 기록, 서킷이 열려 있으면 호출 없이 CircuitOpenException
+     * - 지연 시간(메트릭/느린 호출 판정)은 허용량 허가 후부터 측정 (허용량 대기는 제외)
+     */
+    private Mono<OpenAiDto.ChatResponse> sendRequest(OpenAiDto.ChatRequest request, String callSite) {
+        return withCircuitBreaker(callSite, clock -> {
+            Mono<OpenAiDto.ChatResponse> call = recorder.isReplaying()
+                    ? recorder.replay(responseCache.createKey(request))
+                    : requestWithRetry(request, callSite, clock);
 
-                throw new RuntimeException("No response from OpenAI");
-                
-            } catch (org.springframework.web.reactive.function.client.WebClientResponseException.TooManyRequests e) {
-                retryCount++;
-                
-                // Free 티어는 분당 3회 제한이므로 2분 대기 (확실하게)
-                int waitSeconds = 120; // 2분 대기 (Free 티어용)
-                
-                if (retryCount >= maxRetries) {
-                    log.error("========================================");
-                    log.error("⚠️  OpenAI Rate Limit 초과!");
-                    log.error("========================================");
-                    log.error("📌 Free 티어는 분당 3회로 제한됩니다.");
-                    log.error("📌 최소 2-3분 기다린 후 다시 시도해주세요.");
-                    log.error("");
-                    log.error("💡 해결 방법:");
-                    log.error("   1) 지금: 3분 기다리기");
-                    log.error("   2) 근본 해결: 결제 정보 등록 (분당 3회 → 500회)");
-                    log.error("      https://platform.openai.com/settings/organization/billing");
-                    log.error("      실제 비용: 1회 약 2원, 월 $1-2 정도");
-                    log.error("========================================");
-                    throw new RuntimeException("⏰ Rate Limit 초과! 2-3분 후 다시 시도해주세요. (Free 티어: 분당 3회)", e);
-                }
-                
-                log.warn("⏰ Rate Limit 초과. {}초 후 재시도... ({}/{})", waitSeconds, retryCount, maxRetries);
-                log.warn("💡 Free 티어는 분당 3회로 제한됩니다.");
-                
-                try {
-                    Thread.sleep(waitSeconds * 1000);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("재시도 중 중단됨", ie);
+            return call
+                    .doOnNext(response -> metrics.recordUsage(callSite, request.getModel(), response.getUsage()))
+                    .doOnError(e -> metrics.recordError(callSite, e))
+                    .doFinally(signal -> metrics.recordCall(clock.sample(), callSite, request.getModel(), signal));
+        });
+    }
+
+    /**
+     * 허용량 허가 → HTTP 요청 (429면 허용량 리셋 후 재시도, 허가마다 측정 다시 시작)
+     */
+    private Mono<OpenAiDto.ChatResponse> requestWithRetry(OpenAiDto.ChatRequest request, String callSite, CallClock clock) {
+        Mono<OpenAiDto.ChatResponse> call = rateLimiter.acquire(estimateTokens(request))
+                .then(Mono.defer(() -> {
+                    clock.restart();
+                    return webClient.post()
+                            .bodyValue(request)
+                            .retrieve()
+                            .onStatus(status -> status.value() == 429, response -> onTooManyRequests(response, callSite))
+                            .toEntity(OpenAiDto.ChatResponse.class)
+                            .timeout(Duration.ofMillis(openAiConfig.getCallTimeoutMs()));
+                }))
+                .doOnNext(entity -> rateLimiter.update(entity.getHeaders()))
+                .mapNotNull(HttpEntity::getBody)
+                .retryWhen(Retry.max(openAiConfig.getRateLimitRetries())
+                        .filter(e -> e instanceof WebClientResponseException.TooManyRequests)
+                        .doBeforeRetry(signal -> {
+                            metrics.recordRetry(callSite);
+                            log.warn("⏰ Rate Limit 초과. 허용량 리셋 후 재시도... ({}/{})",
+                                     signal.totalRetries() + 1, openAiConfig.getRateLimitRetries());
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+
+        if (recorder.isRecording()) {
+            String requestKey = responseCache.createKey(request);
+            call = call.doOnNext(response -> recorder.record(requestKey, request, response));
+        }
+        return call;
+    }
+
+    /**
+     * 서킷 브레이커 적용 (단건 호출)
+     * - 허가되지 않으면 즉시 CircuitOpenException, 허가되면 종료 시 결과/소요 시간 기록
+     */
+    private <T> Mono<T> withCircuitBreaker(String callSite, Function<CallClock, Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire(callSite)) {
+                metrics.recordShortCircuit(callSite);
+                return Mono.error(circuitOpen(callSite));
+            }
+            CallClock clock = new CallClock();
+            AtomicBoolean finished = new AtomicBoolean();
+            return call.apply(clock)
+                    .doOnSuccess(value -> {
+                        if (finished.compareAndSet(false, true)) {
+                            circuitBreaker.record(callSite, false, clock.elapsedMs());
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (finished.compareAndSet(false, true)) {
+                            recordFailure(callSite, e, clock.elapsedMs());
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (finished.compareAndSet(false, true)) {
+                            circuitBreaker.release(callSite);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 서킷 브레이커 적용 (스트리밍, 첫 청크 도착 시점을 성공/소요 시간으로 기록)
+     */
+    private <T> Flux<T> withCircuitBreakerStream(String callSite, Function<CallClock, Flux<T>> call) {
+        return Flux.defer(() -> {
+            if (!circuitBreaker.tryAcquire(callSite)) {
+                metrics.recordShortCircuit(callSite);
+                return Flux.error(circuitOpen(callSite));
+            }
+            CallClock clock = new CallClock();
+            AtomicBoolean finished = new AtomicBoolean();
+            Runnable recordSuccess = () -> {
+                if (finished.compareAndSet(false, true)) {
+                    circuitBreaker.record(callSite, false, clock.elapsedMs());
                 }
-                
-            } catch (Exception e) {
-                log.error("OpenAI API 호출 실패: {}", e.getMessage());
-                throw new RuntimeException("ChatGPT API 호출 중 오류가 발생했습니다: " + e.getMessage(), e);
+            };
+            return call.apply(clock)
+                    .doOnNext(value -> recordSuccess.run())
+                    .doOnComplete(recordSuccess)
+                    .doOnError(e -> {
+                        if (finished.compareAndSet(false, true)) {
+                            recordFailure(callSite, e, clock.elapsedMs());
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (finished.compareAndSet(false, true)) {
+                            circuitBreaker.release(callSite);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 제공자 장애(5xx, 타임아웃, 연결 오류)만 실패로 기록, 429/4xx/로컬 거절은 판정에서 제외
+     */
+    private void recordFailure(String callSite, Throwable e, long durationMs) {
+        boolean providerFailure = e instanceof WebClientResponseException responseException
+                ? responseException.getStatusCode().is5xxServerError()
+                : !(e instanceof RateLimitExceededException);
+        if (providerFailure) {
+            circuitBreaker.record(callSite, true, durationMs);
+        } else {
+            circuitBreaker.release(callSite);
+        }
+    }
+
+    /**
+     * 재포장하지 않고 호출부로 그대로 전달할 예외
+     */
+    private boolean isPassThrough(Throwable e) {
+        return e instanceof RateLimitExceededException || e instanceof CircuitOpenException;
+    }
+
+    private CircuitOpenException circuitOpen(String callSite) {
+        log.warn("🔌 서킷 OPEN - callSite: {} 호출 생략, 기본값으로 처리", callSite);
+        return new CircuitOpenException("⚡ AI 응답이 지연되고 있어 기본값으로 처리합니다. (" + callSite + ")");
+    }
+
+    /**
+     * 예상 토큰 수 (허용량 차감용: 토크나이저 기준 프롬프트 토큰 + max_tokens)
+     * - 호출마다 예상 프롬프트 토큰을 기록하고, 예산 초과 시 경고
+     */
+    private int estimateTokens(OpenAiDto.ChatRequest request) {
+        int promptTokens = promptBudgeter.countPromptTokens(request.getMessages());
+        int budget = promptBudgeter.promptBudget();
+
+        if (promptTokens > budget) {
+            log.warn("⚠️ 프롬프트 토큰 예산 초과 - 예상: {} / 예산: {}", promptTokens, budget);
+        } else {
+            log.info("OpenAI 호출 - 예상 프롬프트 토큰: {} / 예산: {}", promptTokens, budget);
+        }
+
+        int maxTokens = request.getMaxTokens() != null ? request.getMaxTokens() : 0;
+        return promptTokens + maxTokens;
+    }
+
+    /**
+     * 응답에서 첫 번째 메시지 내용 추출
+     */
+    private String extractContent(OpenAiDto.ChatResponse response) {
+        if (response != null && response.getChoices() != null && !response.getChoices().isEmpty()) {
+            String content = response.getChoices().get(0).getMessage().getContent();
+            if (response.getUsage() != null) {
+                log.debug("Received response from OpenAI. Tokens used: {}", response.getUsage().getTotalTokens());
             }
+            return content;
         }
-        
-        throw new RuntimeException("최대 재시도 횟수 초과");
+
+        throw new RuntimeException("No response from OpenAI");
     }
 
     /**
-     * 전체 응답 객체 반환 (토큰 사용량 등 메타데이터 필요시)
+     * 429 응답 처리 (헤더 로깅 + 허용량 관리자에 차단 반영)
      */
-    public OpenAiDto.ChatResponse chatWithFullResponse(String prompt) {
+    private Mono<? extends Throwable> onTooManyRequests(ClientResponse clientResponse, String callSite) {
+        HttpHeaders headers = clientResponse.headers().asHttpHeaders();
+        metrics.recordRateLimited(callSite);
+        logRateLimitHeaders(headers);
+        rateLimiter.onRateLimited(headers);
+        return clientResponse.createException();
+    }
+
+    /**
+     * 정상 종료된 응답인지 확인 (max_tokens로 잘린 응답은 캐시하지 않음)
+     */
+    private boolean isCompleteResponse(OpenAiDto.ChatResponse response) {
+        String finishReason = response.getChoices().get(0).getFinishReason();
+        return finishReason == null || "stop".equals(finishReason);
+    }
+
+    /**
+     * Rate Limit 상세 정보 로깅
+     */
+    private void logRateLimitHeaders(HttpHeaders headers) {
+        log.warn("========== Rate Limit 상세 정보 ==========");
+        log.warn("요청 한도: {}", headers.getFirst("x-ratelimit-limit-requests"));
+        log.warn("남은 요청: {}", headers.getFirst("x-ratelimit-remaining-requests"));
+        log.warn("리셋 시간: {}", headers.getFirst("x-ratelimit-reset-requests"));
+        log.warn("토큰 한도: {}", headers.getFirst("x-ratelimit-limit-tokens"));
+        log.warn("남은 토큰: {}", headers.getFirst("x-ratelimit-remaining-tokens"));
+        log.warn("Retry-After: {} 초", headers.getFirst("retry-after"));
+        log.warn("현재 시각: {}", java.time.LocalDateTime.now());
+        log.warn("==========================================");
+    }
+
+    /**
+     * Rate Limit 초과 예외 생성
+     */
+    private RuntimeException rateLimitExceeded(WebClientResponseException.TooManyRequests e) {
+        log.error("⚠️  OpenAI Rate Limit 초과! (재시도 {}회 후 포기, 대기 중 호출: {}건)",
+                  openAiConfig.getRateLimitRetries(), rateLimiter.getWaitingCount());
+        return new RateLimitExceededException("⏰ Rate Limit 초과! 잠시 후 다시 시도해주세요.", e);
+    }
+
+    private List<OpenAiDto.Message> userMessages(String prompt) {
         List<OpenAiDto.Message> messages = new ArrayList<>();
         messages.add(OpenAiDto.Message.builder()
                 .role("user")
                 .content(prompt)
                 .build());
+        return messages;
+    }
 
-        OpenAiDto.ChatRequest request = OpenAiDto.ChatRequest.builder()
-                .model(openAiConfig.getModel())
-                .messages(messages)
-                .temperature(openAiConfig.getTemperature())
-                .maxTokens(openAiConfig.getMaxTokens())
-                .build();
+    private List<OpenAiDto.Message> systemMessages(String systemMessage, String userMessage) {
+        List<OpenAiDto.Message> messages = new ArrayList<>();
+        messages.add(OpenAiDto.Message.builder()
+                .role("system")
+                .content(systemMessage)
+                .build());
+        messages.add(OpenAiDto.Message.builder()
+                .role("user")
+                .content(userMessage)
+                .build());
+        return messages;
+    }
+
+    private List<OpenAiDto.Message> historyMessages(List<OpenAiDto.Message> conversationHistory, String userMessage) {
+        List<OpenAiDto.Message> messages = new ArrayList<>(conversationHistory);
+        messages.add(OpenAiDto.Message.builder()
+                .role("user")
+                .content(userMessage)
+                .build());
+        return messages;
+    }
+
+    /**
+     * 호출 소요 시간 (llm.requests 타이머 + 서킷 느린 호출 판정)
+     * - 구독 시점에 시작, 허용량 허가를 받을 때마다 다시 시작 → 허용량/429 대기 없이 마지막 요청 시간만 측정
+     */
+    private final class CallClock {
+        private volatile long startedAt = System.currentTimeMillis();
+        private volatile Timer.Sample sample = metrics.start();
+
+        void restart() {
+            startedAt = System.currentTimeMillis();
+            sample = metrics.start();
+        }
 
-        return webClient.post()
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(OpenAiDto.ChatResponse.class)
-                .block();
+        long elapsedMs() {
+            return System.currentTimeMillis() - startedAt;
+        }
+
+        Timer.Sample sample() {
+            return sample;
+        }
+    }
+
+    /**
+     * 서킷 OPEN 예외 (호출부는 이 예외를 받으면 기본값 폴백으로 진행)
+     */
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Rate Limit 초과 예외 (비동기 체인에서 재포장 방지용)
+     */
+    public static class RateLimitExceededException extends RuntimeException {
+        public RateLimitExceededException(String message, Throwable cause) {
+            super(message, cause);
+        }
     }
-}
\ No newline at end of file
+}
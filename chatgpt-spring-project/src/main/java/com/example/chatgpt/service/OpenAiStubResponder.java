@@ -0,0 +1,239 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiStubConfig;
+import com.example.chatgpt.dto.OpenAiDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * OpenAI 스텁 응답 생성기 (openai-stub 프로필 전용)
+ * - 프롬프트 종류별 고정 응답: 질문 생성, 매출 JSON, 재무 추정 JSON, 지출 통합 분석/재무 완성/역량 증가 JSON, 그 외 마크다운
+ * - 판별 키는 실제 프롬프트의 출력 형식 필드 (LlmOutputDto 와 같은 형태로 응답)
+ * - 매출 JSON은 프롬프트의 teamCode 목록으로 팀 수에 맞춰 생성
+ * - 분당 요청/토큰 한도를 x-ratelimit-* 헤더로 내려주고 초과 시 429
+ */
+@Component
+@Profile("openai-stub")
+@RequiredArgsConstructor
+@Slf4j
+public class OpenAiStubResponder {
+
+    private static final String CANNED_PATH = "openai-stub/";
+    private static final Pattern TEAM_CODE = Pattern.compile("\"teamCode\"\\s*:\\s*(\\d+)");
+    private static final long WINDOW_MS = 60_000L;
+
+    private final OpenAiStubConfig stubConfig;
+    private final PromptBudgeter promptBudgeter;
+    private final Map<String, String> cannedBodies = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 분당 한도 창
+    private long windowStartedAt = 0;
+    private int windowRequests = 0;
+    private long windowTokens = 0;
+
+    /**
+     * 프롬프트 종류
+     */
+    public enum PromptFamily {
+        QUESTION_GENERATION("question-generation.json"),
+        REVENUE(null),
+        FINANCIAL("financial.json"),
+        EXPENSE_ANALYSIS("expense-analysis.json"),
+        EXPENSE_FINANCIAL("expense-financial.json"),
+        CAPABILITY("capability.json"),
+        GENERIC("generic.md");
+
+        private final String fileName;
+
+        PromptFamily(String fileName) {
+            this.fileName = fileName;
+        }
+    }
+
+    /**
+     * 허가 판단 결과 (허가 여부 + 응답 헤더)
+     */
+    public record Admission(boolean allowed, HttpHeaders headers) {
+    }
+
+    public PromptFamily detectFamily(String prompt) {
+        if (prompt.contains("\"questions\"")) {
+            return PromptFamily.QUESTION_GENERATION;
+        }
+        if (prompt.contains("\"teams\"") && prompt.contains("\"teamCode\"")) {
+            return PromptFamily.REVENUE;
+        }
+        if (prompt.contains("\"monthly_revenue\"") || prompt.contains("\"sgna_monthly\"")) {
+            return PromptFamily.FINANCIAL;
+        }
+        boolean capabilityDelta = prompt.contains("\"capability1\"") && prompt.contains("\"score1\"");
+        if (prompt.contains("\"financial\"") && prompt.contains("\"capability\"") && capabilityDelta) {
+            return PromptFamily.EXPENSE_ANALYSIS;
+        }
+        if (capabilityDelta) {
+            return PromptFamily.CAPABILITY;
+        }
+        if (prompt.contains("\"sgnaExpenses\"") && prompt.contains("\"fsScore\"")) {
+            return PromptFamily.EXPENSE_FINANCIAL;
+        }
+        return PromptFamily.GENERIC;
+    }
+
+    /**
+     * 요청에 대한 응답 본문 생성
+     */
+    public String createContent(OpenAiDto.ChatRequest request) {
+        String prompt = request.getMessages() == null ? "" : request.getMessages().stream()
+                .map(OpenAiDto.Message::getContent)
+                .collect(Collectors.joining("\n"));
+        PromptFamily family = detectFamily(prompt);
+        log.debug("OpenAI 스텁 응답 - family: {}", family);
+
+        return switch (family) {
+            case REVENUE -> createRevenueJson(prompt);
+            case GENERIC -> repeatToTokens(loadCanned(family.fileName), stubConfig.getGenericCompletionTokens());
+            default -> loadCanned(family.fileName);
+        };
+    }
+
+    public OpenAiDto.Usage usage(OpenAiDto.ChatRequest request, String content) {
+        int promptTokens = promptBudgeter.countPromptTokens(request.getMessages());
+        int completionTokens = promptBudgeter.countTokens(content);
+        return new OpenAiDto.Usage(promptTokens, completionTokens, promptTokens + completionTokens);
+    }
+
+    /**
+     * 분당 한도 확인 및 차감 (+ 무작위 429 주입)
+     */
+    public Admission admit(int estimatedTokens) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (now - windowStartedAt >= WINDOW_MS) {
+                windowStartedAt = now;
+                windowRequests = 0;
+                windowTokens = 0;
+            }
+
+            int requestLimit = stubConfig.getRequestsPerMinute();
+            int tokenLimit = stubConfig.getTokensPerMinute();
+            boolean overLimit = (requestLimit > 0 && windowRequests >= requestLimit)
+                    || (tokenLimit > 0 && windowTokens + estimatedTokens > tokenLimit);
+            boolean injected = !overLimit && ThreadLocalRandom.current().nextDouble() < stubConfig.getRateLimitProbability();
+
+            if (!overLimit && !injected) {
+                windowRequests++;
+                windowTokens += estimatedTokens;
+            }
+
+            HttpHeaders headers = new HttpHeaders();
+            long resetMs = Math.max(0, windowStartedAt + WINDOW_MS - now);
+            if (requestLimit > 0) {
+                headers.set("x-ratelimit-limit-requests", String.valueOf(requestLimit));
+                headers.set("x-ratelimit-remaining-requests", String.valueOf(Math.max(0, requestLimit - windowRequests)));
+                headers.set("x-ratelimit-reset-requests", resetMs + "ms");
+            }
+            if (tokenLimit > 0) {
+                headers.set("x-ratelimit-limit-tokens", String.valueOf(tokenLimit));
+                headers.set("x-ratelimit-remaining-tokens", String.valueOf(Math.max(0, tokenLimit - windowTokens)));
+                headers.set("x-ratelimit-reset-tokens", resetMs + "ms");
+            }
+            if (overLimit || injected) {
+                long retryAfterSeconds = overLimit ? resetMs / 1000 + 1 : stubConfig.getRetryAfterSeconds();
+                headers.set("retry-after", String.valueOf(retryAfterSeconds));
+                log.debug("OpenAI 스텁 429 - {}", overLimit ? "분당 한도 초과" : "무작위 주입");
+            }
+            return new Admission(!overLimit && !injected, headers);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 로그정규분포 지연 시간 (ms)
+     */
+    public long sampleLatencyMs() {
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        long latency = Math.round(stubConfig.getLatencyMedianMs() * Math.exp(stubConfig.getLatencySigma() * gaussian));
+        return Math.min(latency, stubConfig.getLatencyMaxMs());
+    }
+
+    private String createRevenueJson(String prompt) {
+        List<Integer> teamCodes = new ArrayList<>();
+        Matcher matcher = TEAM_CODE.matcher(prompt);
+        while (matcher.find()) {
+            Integer teamCode = Integer.valueOf(matcher.group(1));
+            if (!teamCodes.contains(teamCode)) {
+                teamCodes.add(teamCode);
+            }
+        }
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"distributionLogic\": \"사업 특성, 시장성, 답변 품질을 종합해 차등 배정했습니다.\",\n");
+        json.append("  \"teams\": [\n");
+        for (int i = 0; i < teamCodes.size(); i++) {
+            Integer teamCode = teamCodes.get(i);
+            long revenue = 40_000_000L + Math.floorMod(teamCode * 7_919L, 21L) * 1_000_000L;
+            json.append("    {\n");
+            json.append("      \"teamCode\": ").append(teamCode).append(",\n");
+            json.append("      \"revenue\": ").append(revenue).append(",\n");
+            json.append("      \"allocatedRevenue\": ").append(revenue).append(",\n");
+            json.append("      \"reason\": \"사업계획의 실행 가능성과 시장 규모를 고려한 배정입니다.\",\n");
+            json.append("      \"shortReason\": \"시장성 양호\"\n");
+            json.append("    }");
+            if (i < teamCodes.size() - 1) json.append(",");
+            json.append("\n");
+        }
+        json.append("  ]\n");
+        json.append("}");
+        return json.toString();
+    }
+
+    private String repeatToTokens(String paragraph, int targetTokens) {
+        int paragraphTokens = Math.max(1, promptBudgeter.countTokens(paragraph));
+        int repeat = Math.max(1, targetTokens / paragraphTokens);
+        return String.join("\n\n", Collections.nCopies(repeat, paragraph.trim()));
+    }
+
+    private String loadCanned(String fileName) {
+        return cannedBodies.computeIfAbsent(fileName, name -> {
+            try {
+                if (stubConfig.getCannedDir() != null) {
+                    Path override = Paths.get(stubConfig.getCannedDir(), name);
+                    if (Files.exists(override)) {
+                        return Files.readString(override, StandardCharsets.UTF_8);
+                    }
+                }
+                try (InputStream in = new ClassPathResource(CANNED_PATH + name).getInputStream()) {
+                    return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("스텁 응답 파일 로드 실패: " + name, e);
+            }
+        });
+    }
+}
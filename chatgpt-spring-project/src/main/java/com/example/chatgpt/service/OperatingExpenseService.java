@@ -1,16 +1,19 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
+import com.example.chatgpt.dto.LlmOutputDto;
 import com.example.chatgpt.entity.OperatingExpense;
 import com.example.chatgpt.entity.FinancialStatement;
-import com.example.chatgpt.entity.CompanyCapabilityScore;
 import com.example.chatgpt.repository.OperatingExpenseRepository;
-import com.example.chatgpt.util.DatabaseLockManager;
+import com.example.chatgpt.util.LlmJsonDecoder;
+import com.example.chatgpt.util.TransactionRunner;
 import com.example.chatgpt.repository.FinancialStatementRepository;
 import com.example.chatgpt.repository.CompanyCapabilityScoreRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import org.springframework.retry.annotation.EnableRetry;
@@ -21,11 +24,15 @@ import org.springframework.retry.annotation.EnableRetry;
 @RequiredArgsConstructor
 public class OperatingExpenseService {
 
+    private static final String TX_FLOW = "operating_expense";
+
     private final OperatingExpenseRepository operatingExpenseRepository;
     private final FinancialStatementRepository financialStatementRepository;
     private final CompanyCapabilityScoreRepository companyCapabilityScoreRepository;
     private final BusinessPlanAnalyzer businessPlanAnalyzer; // ChatGPT API 호출
-    private final DatabaseLockManager lockManager;  // Lock Manager 추가
+    private final TransactionRunner transactionRunner;
+    private final LlmJsonDecoder llmJsonDecoder;
+    private final OpenAiConfig openAiConfig;
     
     /**
      * 지출 조회
@@ -65,121 +72,258 @@ public class OperatingExpenseService {
     }
 
     /**
-     * 지출 업데이트 + 재무제표 완성 (데드락 방지 적용)
+     * 지출 업데이트 + 재무제표 완성
+     * - 1단계: 지출 금액 저장 + 재무제표/역량 입력 스냅샷 (짧은 트랜잭션)
+     * - 2단계: 재무분석/역량분석 LLM 호출 (트랜잭션/커넥션/락 없음, 기본은 두 분석을 한 번의 호출로)
+     * - 3단계: 스냅샷 이후 지출/재무제표가 바뀌지 않았을 때만 저장 (팀 락 + 짧은 트랜잭션)
      */
-    @Transactional
     public void updateExpenses(List<Map<String, Object>> expenses) {
         log.info("지출 업데이트 시작 - {} 개 항목", expenses.size());
         
-        // 데드락 방지를 위한 Lock 적용
-        lockManager.executeWithLock(DatabaseLockManager.ServiceType.OPERATING_EXPENSE, () -> {
-            // 1. 지출 금액 업데이트
-            Integer eventCode = null;
-            Integer teamCode = null;
-            Integer stageStep = null;
-            
-            for (Map<String, Object> expenseData : expenses) {
-                Integer expenseCode = (Integer) expenseData.get("expenseCode");
-                String expenseAmount = (String) expenseData.get("expenseAmount");
-                
-                if (expenseCode == null) {
-                    log.warn("expenseCode가 null입니다. 건너뜁니다.");
-                    continue;
-                }
+        // 1. 지출 금액 업데이트 + 스냅샷
+        FinancialSnapshot snapshot = transactionRunner.write(TX_FLOW, null, null, () -> {
+            Map<Integer, OperatingExpense> expenseByCode = findExpenses(expenses);
+            ExpenseKey key = updateExpenseAmounts(expenses, expenseByCode);
+            log.info("지출 업데이트 완료");
+            return key != null ? loadFinancialSnapshot(key, expenses, expenseByCode) : null;
+        });
+        
+        if (snapshot == null) {
+            log.warn("재무제표 완성을 위한 정보가 부족합니다.");
+            return;
+        }
+        
+        // 2. 재무제표 완성 + 역량 분석 (지출 업데이트 후 자동 실행, 실패해도 지출 업데이트는 유지)
+        ExpenseAnalysisResult analysis = canAnalyzeCombined(snapshot)
+            ? analyzeExpensesCombined(snapshot)
+            : new ExpenseAnalysisResult(completeFinancialStatement(snapshot), analyzeTeamCapability(snapshot));
+        Map<String, Long> financialData = analysis.financialData();
+        Map<String, Integer> capabilityUpdates = analysis.capabilityUpdates();
+        
+        // 3. 저장
+        try {
+            transactionRunner.writeWithoutResult(TX_FLOW, snapshot.key().eventCode(), snapshot.key().teamCode(), () -> {
+                TransactionRunner.verifyUnchanged("지출", snapshot.expenseAmounts(),
+                        expenseAmounts(operatingExpenseRepository.findByTeamCodeAndStageStep(
+                                snapshot.key().teamCode(), snapshot.key().stageStep())));
                 
-                if (expenseAmount == null || expenseAmount.trim().isEmpty()) {
-                    log.warn("expenseAmount가 비어있습니다. expenseCode: {}", expenseCode);
-                    continue;
+                if (financialData != null) {
+                    FinancialStatement fs = findFinancialStatement(snapshot.key())
+                        .orElseThrow(() -> new TransactionRunner.StaleSnapshotException("재무제표가 삭제되었습니다."));
+                    TransactionRunner.verifyUnchanged("재무제표", snapshot.fs().getUpdatedAt(), fs.getUpdatedAt());
+                    updateFinancialStatement(fs, financialData);
                 }
                 
-                // 해당 지출 항목 조회 및 업데이트
-                Optional<OperatingExpense> expenseOpt = operatingExpenseRepository.findById(expenseCode);
-                
-                if (expenseOpt.isPresent()) {
-                    OperatingExpense expense = expenseOpt.get();
-                    expense.setExpenseAmount(expenseAmount);
-                    operatingExpenseRepository.save(expense);
-                    
-                    // 첫 번째 지출에서 이벤트/팀/스테이지 정보 추출
-                    if (eventCode == null) {
-                        eventCode = expense.getEventCode();
-                        teamCode = expense.getTeamCode();
-                        stageStep = expense.getStageStep();
-                    }
-                    
-                    log.debug("지출 업데이트 완료 - expenseCode: {}, amount: {}", expenseCode, expenseAmount);
-                } else {
-                    log.warn("지출 항목을 찾을 수 없습니다. expenseCode: {}", expenseCode);
-                    throw new RuntimeException("지출 항목을 찾을 수 없습니다. expenseCode: " + expenseCode);
+                // ✅ 역량 업데이트 (재무제표 완성 후 실행)
+                if (capabilityUpdates != null) {
+                    saveTeamCapability(snapshot.key(), capabilityUpdates);
                 }
+            });
+        } catch (TransactionRunner.StaleSnapshotException e) {
+            // 동시에 들어온 다른 지출 업데이트가 최신 값으로 다시 계산함
+            log.warn("재무제표/역량 저장 생략 - teamCode: {}, {}", snapshot.key().teamCode(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 요청의 지출 항목 일괄 조회 (IN 조회 1회, expenseCode → 엔티티)
+     */
+    private Map<Integer, OperatingExpense> findExpenses(List<Map<String, Object>> expenses) {
+        List<Integer> expenseCodes = expenses.stream()
+            .map(expenseData -> (Integer) expenseData.get("expenseCode"))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        
+        Map<Integer, OperatingExpense> expenseByCode = new HashMap<>();
+        for (OperatingExpense expense : operatingExpenseRepository.findAllById(expenseCodes)) {
+            expenseByCode.put(expense.getExpenseCode(), expense);
+        }
+        return expenseByCode;
+    }
+    
+    /**
+     * 지출 금액 업데이트 (조회된 엔티티 변경 → 커밋 시 반영)
+     * @return 첫 번째 지출의 행사/팀/스테이지 (없으면 null)
+     */
+    private ExpenseKey updateExpenseAmounts(List<Map<String, Object>> expenses, Map<Integer, OperatingExpense> expenseByCode) {
+        ExpenseKey key = null;
+        
+        for (Map<String, Object> expenseData : expenses) {
+            Integer expenseCode = (Integer) expenseData.get("expenseCode");
+            String expenseAmount = (String) expenseData.get("expenseAmount");
+            
+            if (expenseCode == null) {
+                log.warn("expenseCode가 null입니다. 건너뜁니다.");
+                continue;
             }
             
-            log.info("지출 업데이트 완료");
+            if (expenseAmount == null || expenseAmount.trim().isEmpty()) {
+                log.warn("expenseAmount가 비어있습니다. expenseCode: {}", expenseCode);
+                continue;
+            }
+            
+            // 해당 지출 항목 업데이트
+            OperatingExpense expense = expenseByCode.get(expenseCode);
             
-            // 2. 재무제표 완성 (지출 업데이트 후 자동 실행)
-            if (eventCode != null && teamCode != null && stageStep != null) {
-                completeFinancialStatement(eventCode, teamCode, stageStep);
+            if (expense != null) {
+                expense.setExpenseAmount(expenseAmount);
+                
+                // 첫 번째 지출에서 이벤트/팀/스테이지 정보 추출
+                if (key == null && expense.getEventCode() != null && expense.getTeamCode() != null
+                        && expense.getStageStep() != null) {
+                    key = new ExpenseKey(expense.getEventCode(), expense.getTeamCode(), expense.getStageStep());
+                }
                 
-                // 3. ✅ 역량 업데이트 (재무제표 완성 후 실행)
-                updateTeamCapability(eventCode, teamCode, stageStep, expenses);
+                log.debug("지출 업데이트 완료 - expenseCode: {}, amount: {}", expenseCode, expenseAmount);
             } else {
-                log.warn("재무제표 완성을 위한 정보가 부족합니다.");
+                log.warn("지출 항목을 찾을 수 없습니다. expenseCode: {}", expenseCode);
+                throw new RuntimeException("지출 항목을 찾을 수 없습니다. expenseCode: " + expenseCode);
             }
-        });
+        }
+        
+        return key;
+    }
+    
+    /**
+     * LLM 호출 전 입력 스냅샷 조회
+     */
+    private FinancialSnapshot loadFinancialSnapshot(ExpenseKey key, List<Map<String, Object>> expenses,
+                                                    Map<Integer, OperatingExpense> expenseByCode) {
+        FinancialStatement fs = findFinancialStatement(key).orElse(null);
+        List<OperatingExpense> stageExpenses = operatingExpenseRepository.findByTeamCodeAndStageStep(key.teamCode(), key.stageStep());
+        long previousCash = fs != null ? getPreviousStageRemainingCash(key.eventCode(), key.teamCode(), key.stageStep()) : 0L;
+        boolean hasCapability = companyCapabilityScoreRepository.existsByEventCodeAndTeamCode(key.eventCode(), key.teamCode());
+        
+        // 역량 분석용 지출 내역 정리
+        StringBuilder expenseDetails = new StringBuilder();
+        for (Map<String, Object> expenseData : expenses) {
+            Integer expenseCode = (Integer) expenseData.get("expenseCode");
+            String expenseAmount = (String) expenseData.get("expenseAmount");
+            
+            OperatingExpense expense = expenseByCode.get(expenseCode);
+            if (expense != null) {
+                expenseDetails.append("- ").append(expense.getLlmResponse())
+                             .append(" : ").append(expenseAmount).append("원\n");
+            }
+        }
+        
+        return new FinancialSnapshot(key, fs, stageExpenses, expenseAmounts(stageExpenses),
+                                     previousCash, hasCapability, expenseDetails.toString());
+    }
+    
+    private Optional<FinancialStatement> findFinancialStatement(ExpenseKey key) {
+        return financialStatementRepository.findByEventCodeAndTeamCodeAndStageStep(key.eventCode(), key.teamCode(), key.stageStep());
+    }
+    
+    /**
+     * 지출 금액 스냅샷 (expenseCode → expenseAmount)
+     */
+    private Map<Integer, String> expenseAmounts(List<OperatingExpense> expenses) {
+        Map<Integer, String> amounts = new HashMap<>();
+        for (OperatingExpense expense : expenses) {
+            amounts.put(expense.getExpenseCode(), expense.getExpenseAmount());
+        }
+        return amounts;
     }
 
     /**
-     * 재무제표 완성
+     * 재무제표 완성 (LLM, 스냅샷 기준)
      * TODO: 2차 구현 - 지출 기반 재무제표 자동 생성
+     * @return 재무제표 값 (완성할 수 없으면 null)
      */
-    private void completeFinancialStatement(Integer eventCode, Integer teamCode, Integer stageStep) {
+    private Map<String, Long> completeFinancialStatement(FinancialSnapshot snapshot) {
+        ExpenseKey key = snapshot.key();
         try {
-            log.info("재무제표 완성 시작 - eventCode: {}, teamCode: {}, stage: {}", eventCode, teamCode, stageStep);
+            log.info("재무제표 완성 시작 - eventCode: {}, teamCode: {}, stage: {}", key.eventCode(), key.teamCode(), key.stageStep());
             
-            // 1. 기존 financial_statement 조회 (매출이 이미 있는지 확인)
-            Optional<FinancialStatement> existingFs = financialStatementRepository
-                .findByEventCodeAndTeamCodeAndStageStep(eventCode, teamCode, stageStep);
-            
-            if (existingFs.isEmpty()) {
+            // 1. 기존 financial_statement 확인 (매출이 이미 있는지 확인)
+            if (snapshot.fs() == null) {
                 log.warn("매출이 생성되지 않았습니다. 관리자 트리거를 먼저 실행해주세요.");
-                return;
+                return null;
             }
             
-            FinancialStatement fs = existingFs.get();
-            
-            // 2. operating_expense에서 지출 데이터 조회
-            List<OperatingExpense> expenses = operatingExpenseRepository.findByTeamCodeAndStageStep(teamCode, stageStep);
-            
-            if (expenses.isEmpty()) {
+            // 2. operating_expense 지출 데이터 확인
+            if (snapshot.stageExpenses().isEmpty()) {
                 log.warn("지출 데이터가 없습니다.");
-                return;
+                return null;
             }
             
             // 3. ChatGPT로 지출 분류 및 재무제표 완성
             Map<String, Long> financialData = classifyExpensesAndGenerateFinancials(
-            	    fs.getRevenue(), expenses, eventCode, teamCode, stageStep);
+            	    key.eventCode(), snapshot.fs().getRevenue(), snapshot.stageExpenses(), snapshot.previousCash());
             
-            // 4. financial_statement 업데이트
-            updateFinancialStatement(fs, financialData);
+            // 4. 역량 분석 프롬프트용으로 스냅샷에도 반영 (저장은 3단계)
+            applyFinancialData(snapshot.fs(), financialData);
             
-            log.info("재무제표 완성 완료 - teamCode: {}", teamCode);
+            log.info("재무제표 완성 완료 - teamCode: {}", key.teamCode());
+            return financialData;
             
         } catch (Exception e) {
             log.error("재무제표 완성 중 오류 발생", e);
             // 지출 업데이트는 이미 완료되었으므로 예외를 던지지 않음
+            return null;
         }
     }
     
     /**
-     * ChatGPT로 지출 분류 및 재무제표 생성
+     * 통합 분석 가능 여부 (재무제표/지출/역량 점수가 모두 있을 때만, 아니면 기존 개별 분석 경로)
      */
-    private Map<String, Long> classifyExpensesAndGenerateFinancials(
-    	    Integer revenue, 
-    	    List<OperatingExpense> expenses, 
-    	    Integer eventCode, 
-    	    Integer teamCode, 
-    	    Integer stageStep) {
-        // 지출 정보 정리 및 총 지출액 계산
+    private boolean canAnalyzeCombined(FinancialSnapshot snapshot) {
+        return Boolean.TRUE.equals(openAiConfig.getCombinedExpenseAnalysis())
+                && snapshot.fs() != null
+                && !snapshot.stageExpenses().isEmpty()
+                && snapshot.hasCapability();
+    }
+    
+    /**
+     * 재무제표 완성 + 역량 분석 (LLM 1회 호출, 스냅샷 기준)
+     * - 두 분석이 같은 지출 내역/재무 정보를 쓰므로 한 응답에 재무 항목과 역량 증가분을 함께 받음
+     * - 파싱 실패 시 각각 기본값으로 폴백 (지출 업데이트는 이미 완료)
+     */
+    private ExpenseAnalysisResult analyzeExpensesCombined(FinancialSnapshot snapshot) {
+        ExpenseKey key = snapshot.key();
+        log.info("지출 통합 분석 시작 - eventCode: {}, teamCode: {}, stage: {}", key.eventCode(), key.teamCode(), key.stageStep());
+        
+        Integer revenue = snapshot.fs().getRevenue();
+        ExpenseSummary expenseSummary = summarizeExpenses(snapshot.stageExpenses());
+        long remainingCash = snapshot.previousCash() - expenseSummary.totalAmount();
+        
+        Map<String, Long> financialData;
+        Map<String, Integer> capabilityUpdates;
+        try {
+            String prompt = createCombinedAnalysisPrompt(revenue, expenseSummary.totalAmount(), expenseSummary.details(),
+                                                         remainingCash, snapshot.capabilityExpenseDetails());
+            String response = businessPlanAnalyzer.callChatGptApi(prompt, ChatOptions.interactive(key.eventCode()).withCallSite(CallSite.EXPENSE_ANALYSIS).withJsonMode());
+            
+            LlmJsonDecoder.Decoded<LlmOutputDto.ExpenseAnalysis> decoded =
+                    llmJsonDecoder.decode(response, LlmOutputDto.ExpenseAnalysis.class);
+            LlmOutputDto.ExpenseAnalysis analysis = decoded.value();
+            
+            financialData = analysis.getFinancial() != null
+                ? repairFinancials(decoded.section("financial", analysis.getFinancial()), revenue, expenseSummary.totalAmount(), remainingCash)
+                : createDefaultFinancials(revenue, expenseSummary.totalAmount(), remainingCash);
+            capabilityUpdates = analysis.getCapability() != null
+                ? toCapabilityUpdates(decoded.section("capability", analysis.getCapability()))
+                : createDefaultCapabilityUpdates();
+            
+        } catch (Exception e) {
+            log.error("ChatGPT 지출 통합 분석 실패", e);
+            financialData = createDefaultFinancials(revenue, expenseSummary.totalAmount(), remainingCash);
+            capabilityUpdates = createDefaultCapabilityUpdates();
+        }
+        
+        // 계산된 현금 값 설정 (ChatGPT 결과 덮어쓰기)
+        financialData.put("cashAndDeposits", remainingCash);
+        
+        log.info("지출 통합 분석 완료 - teamCode: {}, 역량 증가: {}", key.teamCode(), capabilityUpdates);
+        return new ExpenseAnalysisResult(financialData, capabilityUpdates);
+    }
+    
+    /**
+     * 지출 내역 정리 및 총 지출액 계산
+     */
+    private ExpenseSummary summarizeExpenses(List<OperatingExpense> expenses) {
         StringBuilder expenseInfo = new StringBuilder();
         long totalExpenseAmount = 0;
         
@@ -196,19 +340,31 @@ public class OperatingExpenseService {
                 }
             }
         }
-        
-        long previousCash = getPreviousStageRemainingCash(eventCode, teamCode, stageStep);
+        return new ExpenseSummary(expenseInfo.toString(), totalExpenseAmount);
+    }
+    
+    /**
+     * ChatGPT로 지출 분류 및 재무제표 생성
+     */
+    private Map<String, Long> classifyExpensesAndGenerateFinancials(
+    	    Integer eventCode,
+    	    Integer revenue, 
+    	    List<OperatingExpense> expenses, 
+    	    long previousCash) {
+        // 지출 정보 정리 및 총 지출액 계산
+        ExpenseSummary expenseSummary = summarizeExpenses(expenses);
+        long totalExpenseAmount = expenseSummary.totalAmount();
         long remainingCash = previousCash - totalExpenseAmount;
         
         // ChatGPT 프롬프트 생성
-        String prompt = createFinancialAnalysisPrompt(revenue, totalExpenseAmount, expenseInfo.toString(), remainingCash);
+        String prompt = createFinancialAnalysisPrompt(revenue, totalExpenseAmount, expenseSummary.details(), remainingCash);
         
         try {
             // ChatGPT API 호출
-            String response = businessPlanAnalyzer.callChatGptApi(prompt);
+            String response = businessPlanAnalyzer.callChatGptApi(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.OPERATING_EXPENSE).withJsonMode());
             
             // 응답 파싱
-            Map<String, Long> result = parseFinancialResponse(response);
+            Map<String, Long> result = parseFinancialResponse(response, revenue, totalExpenseAmount, remainingCash);
             
             // 계산된 현금 값 설정 (ChatGPT 결과 덮어쓰기)
             result.put("cashAndDeposits", remainingCash);
@@ -309,61 +465,145 @@ public class OperatingExpenseService {
         return prompt.toString();
     }
     
+    /**
+     * 통합 분석 프롬프트 생성 (재무제표 완성 요청 + 역량 분석 요청을 한 응답으로)
+     */
+    private String createCombinedAnalysisPrompt(Integer revenue, long totalExpenseAmount, String expenseDetails,
+                                                long remainingCash, String capabilityExpenseDetails) {
+        StringBuilder prompt = new StringBuilder();
+        
+        prompt.append("당신은 재무제표 작성 및 창업팀 역량 분석 전문가입니다.\n\n");
+        prompt.append("# 재무제표 완성 + 팀 역량 업데이트 분석\n\n");
+        prompt.append("## 기본 정보\n");
+        prompt.append("- 월 매출: ").append(String.format("%,d", revenue)).append("원 (기존값 유지)\n");
+        prompt.append("- 총 지출: ").append(String.format("%,d", totalExpenseAmount)).append("원\n");
+        prompt.append("- 계산된 현금: ").append(String.format("%,d", remainingCash)).append("원 (2억 - 총지출)\n\n");
+        
+        prompt.append("## 지출 내역 (판관비/R&D 분류 필요)\n");
+        prompt.append(expenseDetails).append("\n");
+        
+        prompt.append("## 이번 제출 지출 (역량 분석용)\n");
+        prompt.append(capabilityExpenseDetails).append("\n");
+        
+        prompt.append("## 요청사항 1 - 재무제표 (financial)\n");
+        prompt.append("1. **중요**: 각 지출을 내용 분석하여 **판매관리비** 또는 **연구개발비**로 분류\n");
+        prompt.append("2. 판관비(sgnaExpenses)와 R&D(rndExpenses)는 실제 지출 분류 결과의 합계로 설정\n");
+        prompt.append("3. 나머지 재무제표 항목들을 매출 대비 합리적인 비율로 생성\n");
+        prompt.append("4. fsScore는 재무상태를 종합적으로 판단하여 1-100점 부여, 숫자만 줘\n");
+        prompt.append("- **판매관리비**: 마케팅, 광고, 인사, 총무, 영업, 관리 관련 비용\n");
+        prompt.append("- **연구개발비**: 기술개발, 연구, 특허, 시제품, 개발인력 관련 비용\n\n");
+        
+        prompt.append("## 요청사항 2 - 역량 (capability)\n");
+        prompt.append("요청사항 1에서 완성한 재무 성과(영업이익, 순이익, 판관비, R&D비)와 지출 내역을 분석하여 ");
+        prompt.append("다음 6개 역량 중 **2개만 선정**하고 각각 1-3점(1: 보통, 2: 좋음, 3: 매우 우수)을 부여하세요.\n");
+        prompt.append("- strategy: 전략역량 (사업전략, 시장분석, 경쟁전략)\n");
+        prompt.append("- finance: 재무역량 (자금관리, 투자, 재무계획)\n");
+        prompt.append("- market_customer: 시장고객역량 (고객확보, 마케팅, 영업)\n");
+        prompt.append("- operation_management: 운영관리역량 (생산, 공급망, 품질관리)\n");
+        prompt.append("- technology_innovation: 기술혁신역량 (R&D, 특허, 기술개발)\n");
+        prompt.append("- sustainability: 지속가능성역량 (ESG, 환경, 사회적 가치)\n\n");
+        
+        prompt.append("## 응답 형식\n");
+        prompt.append("다음 JSON 형식으로 응답해주세요:\n\n");
+        prompt.append("```json\n");
+        prompt.append("{\n");
+        prompt.append("  \"financial\": {\n");
+        prompt.append("    \"sgnaExpenses\": 판매관리비_합계(숫자만),\n");
+        prompt.append("    \"rndExpenses\": 연구개발비_합계(숫자만),\n");
+        prompt.append("    \"cogs\": 매출원가_금액(숫자만),\n");
+        prompt.append("    \"grossProfit\": 매출총이익_금액(숫자만),\n");
+        prompt.append("    \"operatingIncome\": 영업이익_금액(숫자만),\n");
+        prompt.append("    \"nonOperatingIncome\": 영업외수익_금액(숫자만),\n");
+        prompt.append("    \"corporateTax\": 법인세_금액(숫자만),\n");
+        prompt.append("    \"netIncome\": 순이익_금액(숫자만),\n");
+        prompt.append("    \"tangibleAssets\": 유형자산_금액(숫자만),\n");
+        prompt.append("    \"inventoryAssets\": 재고자산_금액(숫자만),\n");
+        prompt.append("    \"ppeAssets\": 유형자산PPE_금액(숫자만),\n");
+        prompt.append("    \"intangibleAssets\": 무형자산_금액(숫자만),\n");
+        prompt.append("    \"totalAssets\": 자산총계_금액(숫자만),\n");
+        prompt.append("    \"borrowings\": 차입금_금액(숫자만),\n");
+        prompt.append("    \"capitalStock\": 자본금_금액(숫자만),\n");
+        prompt.append("    \"totalLiabilitiesEquity\": 부채자본총계_금액(숫자만),\n");
+        prompt.append("    \"fsScore\": 재무상태점수(1-100, 숫자만)\n");
+        prompt.append("  },\n");
+        prompt.append("  \"capability\": {\n");
+        prompt.append("    \"capability1\": \"역량명(위 6개 중 하나)\",\n");
+        prompt.append("    \"score1\": 점수(1-3),\n");
+        prompt.append("    \"reason1\": \"점수 부여 근거\",\n");
+        prompt.append("    \"capability2\": \"역량명(위 6개 중 하나)\",\n");
+        prompt.append("    \"score2\": 점수(1-3),\n");
+        prompt.append("    \"reason2\": \"점수 부여 근거\"\n");
+        prompt.append("  }\n");
+        prompt.append("}\n");
+        prompt.append("```\n\n");
+        prompt.append("**중요**: \n");
+        prompt.append("- JSON 형식만 응답하고 다른 설명은 포함하지 마세요\n");
+        prompt.append("- revenue와 cashAndDeposits는 생성하지 마세요 (이미 계산됨)\n");
+        prompt.append("- sgnaExpenses + rndExpenses = 총 지출액이 되어야 합니다\n");
+        prompt.append("- 역량은 정확히 2개만 선정하세요");
+        
+        return prompt.toString();
+    }
+    
     /**
      * ChatGPT 재무분석 응답 파싱
+     * - 스키마 위반(누락/음수 등) 항목만 기본 재무값으로 보정
      */
-    private Map<String, Long> parseFinancialResponse(String response) {
+    private Map<String, Long> parseFinancialResponse(String response, Integer revenue, long totalExpenseAmount, long remainingCash) {
+        return repairFinancials(llmJsonDecoder.decode(response, LlmOutputDto.FinancialAnalysis.class),
+                                revenue, totalExpenseAmount, remainingCash);
+    }
+    
+    private Map<String, Long> repairFinancials(LlmJsonDecoder.Decoded<LlmOutputDto.FinancialAnalysis> decoded,
+                                               Integer revenue, long totalExpenseAmount, long remainingCash) {
+        LlmOutputDto.FinancialAnalysis analysis = decoded.value();
+        Map<String, Long> defaults = decoded.isValid()
+                ? Map.of()
+                : createDefaultFinancials(revenue, totalExpenseAmount, remainingCash);
+        
         Map<String, Long> result = new HashMap<>();
+        putOrRepair(result, decoded, defaults, "sgnaExpenses", analysis.getSgnaExpenses());
+        putOrRepair(result, decoded, defaults, "rndExpenses", analysis.getRndExpenses());
+        putOrRepair(result, decoded, defaults, "cogs", analysis.getCogs());
+        putOrRepair(result, decoded, defaults, "grossProfit", analysis.getGrossProfit());
+        putOrRepair(result, decoded, defaults, "operatingIncome", analysis.getOperatingIncome());
+        putOrRepair(result, decoded, defaults, "nonOperatingIncome", analysis.getNonOperatingIncome());
+        putOrRepair(result, decoded, defaults, "corporateTax", analysis.getCorporateTax());
+        putOrRepair(result, decoded, defaults, "netIncome", analysis.getNetIncome());
+        
+        // 자산 관련
+        putOrRepair(result, decoded, defaults, "tangibleAssets", analysis.getTangibleAssets());
+        putOrRepair(result, decoded, defaults, "inventoryAssets", analysis.getInventoryAssets());
+        putOrRepair(result, decoded, defaults, "ppeAssets", analysis.getPpeAssets());
+        putOrRepair(result, decoded, defaults, "intangibleAssets", analysis.getIntangibleAssets());
+        putOrRepair(result, decoded, defaults, "totalAssets", analysis.getTotalAssets());
         
-        try {
-            // JSON 추출 (마크다운 코드블록 제거)
-            String jsonStr = response.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
-            
-            // 각 항목별로 숫자 추출
-            result.put("sgnaExpenses", extractLongValue(jsonStr, "sgnaExpenses"));
-            result.put("rndExpenses", extractLongValue(jsonStr, "rndExpenses"));
-            result.put("cogs", extractLongValue(jsonStr, "cogs"));
-            result.put("grossProfit", extractLongValue(jsonStr, "grossProfit"));
-            result.put("operatingIncome", extractLongValue(jsonStr, "operatingIncome"));
-            result.put("nonOperatingIncome", extractLongValue(jsonStr, "nonOperatingIncome"));
-            result.put("corporateTax", extractLongValue(jsonStr, "corporateTax"));
-            result.put("netIncome", extractLongValue(jsonStr, "netIncome"));
-            
-            // 자산 관련
-            result.put("tangibleAssets", extractLongValue(jsonStr, "tangibleAssets"));
-            result.put("inventoryAssets", extractLongValue(jsonStr, "inventoryAssets"));
-            result.put("ppeAssets", extractLongValue(jsonStr, "ppeAssets"));
-            result.put("intangibleAssets", extractLongValue(jsonStr, "intangibleAssets"));
-            result.put("totalAssets", extractLongValue(jsonStr, "totalAssets"));
-            
-            // 부채 및 자본
-//            result.put("accountsPayable", extractLongValue(jsonStr, "accountsPayable"));
-            result.put("borrowings", extractLongValue(jsonStr, "borrowings"));
-            result.put("capitalStock", extractLongValue(jsonStr, "capitalStock"));
-            result.put("totalLiabilitiesEquity", extractLongValue(jsonStr, "totalLiabilitiesEquity"));
-            
-            // 점수
-            result.put("fsScore", extractLongValue(jsonStr, "fsScore"));
-            
-            // cashAndDeposits는 별도 계산으로 설정 (여기서는 0으로 임시 설정)
-            result.put("cashAndDeposits", 0L);
-            
-            return result;
-            
-        } catch (Exception e) {
-            log.error("ChatGPT 재무분석 응답 파싱 실패: {}", response, e);
-            throw new RuntimeException("재무분석 데이터 파싱 실패");
-        }
+        // 부채 및 자본
+        putOrRepair(result, decoded, defaults, "borrowings", analysis.getBorrowings());
+        putOrRepair(result, decoded, defaults, "capitalStock", analysis.getCapitalStock());
+        putOrRepair(result, decoded, defaults, "totalLiabilitiesEquity", analysis.getTotalLiabilitiesEquity());
+        
+        // 점수
+        putOrRepair(result, decoded, defaults, "fsScore", analysis.getFsScore());
+        
+        // cashAndDeposits는 별도 계산으로 설정 (여기서는 0으로 임시 설정)
+        result.put("cashAndDeposits", 0L);
+        
+        return result;
     }
     
     /**
-     * 정규식으로 Long 값 추출
+     * 위반 없는 항목은 그대로, 위반 항목은 기본값으로 보정
      */
-    private Long extractLongValue(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*(\\d+)";
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher m = p.matcher(json);
-        return m.find() ? Long.parseLong(m.group(1)) : 0L;
+    private void putOrRepair(Map<String, Long> result, LlmJsonDecoder.Decoded<?> decoded,
+                             Map<String, Long> defaults, String key, Long value) {
+        if (decoded.hasViolation(key)) {
+            Long repaired = defaults.getOrDefault(key, 0L);
+            log.warn("재무분석 항목 보정 - {}: {} → {}", key, value, repaired);
+            result.put(key, repaired);
+        } else {
+            result.put(key, value);
+        }
     }
     
     /**
@@ -411,6 +651,23 @@ public class OperatingExpenseService {
      * financial_statement 업데이트
      */
     private void updateFinancialStatement(FinancialStatement fs, Map<String, Long> financialData) {
+        applyFinancialData(fs, financialData);
+        
+        financialStatementRepository.save(fs);
+        
+        System.out.println(financialData.get("fsScore").intValue());
+        
+        log.info("재무제표 업데이트 완료 - teamCode: {}, 현금: {}원, 판관비: {}원, R&D: {}원", 
+                 fs.getTeamCode(), 
+                 fs.getCashAndDeposits(),
+                 fs.getSgnaExpenses(),
+                 fs.getRndExpenses());
+    }
+    
+    /**
+     * 재무제표 값 반영 (저장 없음)
+     */
+    private void applyFinancialData(FinancialStatement fs, Map<String, Long> financialData) {
         // 손익계산서 (revenue는 기존값 유지)
         fs.setSgnaExpenses(financialData.get("sgnaExpenses").intValue());
         fs.setRndExpenses(financialData.get("rndExpenses").intValue());
@@ -436,81 +693,67 @@ public class OperatingExpenseService {
         
         // 점수
         fs.setFsScore(financialData.get("fsScore").intValue());
-        
-        financialStatementRepository.save(fs);
-        
-        System.out.println(financialData.get("fsScore").intValue());
-        
-        log.info("재무제표 업데이트 완료 - teamCode: {}, 현금: {}원, 판관비: {}원, R&D: {}원", 
-                 fs.getTeamCode(), 
-                 fs.getCashAndDeposits(),
-                 fs.getSgnaExpenses(),
-                 fs.getRndExpenses());
     }
     
     /**
-     * 팀 역량 업데이트
+     * 팀 역량 분석 (LLM, 스냅샷 기준)
+     * @return 역량별 증가 점수 (분석 대상이 없으면 null)
      */
-    private void updateTeamCapability(Integer eventCode, Integer teamCode, Integer stageStep, 
-                                    List<Map<String, Object>> expenses) {
+    private Map<String, Integer> analyzeTeamCapability(FinancialSnapshot snapshot) {
+        ExpenseKey key = snapshot.key();
         try {
-            log.info("팀 역량 업데이트 시작 - eventCode: {}, teamCode: {}, stage: {}", eventCode, teamCode, stageStep);
-            
-            // 1. 기존 역량 점수 조회
-            Optional<CompanyCapabilityScore> optionalCapability = 
-                companyCapabilityScoreRepository.findByEventCodeAndTeamCode(eventCode, teamCode);
+            log.info("팀 역량 업데이트 시작 - eventCode: {}, teamCode: {}, stage: {}", key.eventCode(), key.teamCode(), key.stageStep());
             
-            if (optionalCapability.isEmpty()) {
-                log.warn("역량 점수 데이터를 찾을 수 없습니다. - eventCode: {}, teamCode: {}", eventCode, teamCode);
-                return;
+            // 1. 기존 역량 점수 확인
+            if (!snapshot.hasCapability()) {
+                log.warn("역량 점수 데이터를 찾을 수 없습니다. - eventCode: {}, teamCode: {}", key.eventCode(), key.teamCode());
+                return null;
             }
             
-            CompanyCapabilityScore capability = optionalCapability.get();
-            
-            // 2. 재무제표 조회 (역량 분석용)
-            Optional<FinancialStatement> optionalFs = financialStatementRepository
-                .findByEventCodeAndTeamCodeAndStageStep(eventCode, teamCode, stageStep);
-            
-            if (optionalFs.isEmpty()) {
+            // 2. 재무제표 확인 (역량 분석용)
+            if (snapshot.fs() == null) {
                 log.warn("재무제표 데이터를 찾을 수 없습니다.");
-                return;
-            }
-            
-            FinancialStatement fs = optionalFs.get();
-            
-            // 3. 지출 내역 정리
-            StringBuilder expenseDetails = new StringBuilder();
-            for (Map<String, Object> expenseData : expenses) {
-                Integer expenseCode = (Integer) expenseData.get("expenseCode");
-                String expenseAmount = (String) expenseData.get("expenseAmount");
-                
-                Optional<OperatingExpense> expenseOpt = operatingExpenseRepository.findById(expenseCode);
-                if (expenseOpt.isPresent()) {
-                    OperatingExpense expense = expenseOpt.get();
-                    expenseDetails.append("- ").append(expense.getLlmResponse())
-                                 .append(" : ").append(expenseAmount).append("원\n");
-                }
+                return null;
             }
             
-            // 4. ChatGPT로 역량 분석 및 업데이트
-            Map<String, Integer> capabilityUpdates = analyzeCapabilityWithChatGPT(fs, expenseDetails.toString());
-            
-            // 5. 역량 점수 업데이트
-            for (Map.Entry<String, Integer> entry : capabilityUpdates.entrySet()) {
-                capability.addCapabilityScore(entry.getKey(), entry.getValue());
-            }
-            
-            // 6. 저장
-            companyCapabilityScoreRepository.save(capability);
-            
-            log.info("팀 역량 업데이트 완료 - teamCode: {}, 총 역량: {}", teamCode, capability.getTotalCapabilityLevel());
+            // 3. ChatGPT로 역량 분석
+            return analyzeCapabilityWithChatGPT(snapshot.fs(), snapshot.capabilityExpenseDetails());
             
         } catch (Exception e) {
             log.error("팀 역량 업데이트 실패", e);
             // 역량 업데이트 실패가 전체 프로세스를 중단시키지 않음
+            return null;
         }
     }
     
+    /**
+     * 팀 역량 점수 저장 (DB에서 원자적으로 누적, 동시 요청의 증가분 유실 방지)
+     */
+    private void saveTeamCapability(ExpenseKey key, Map<String, Integer> capabilityUpdates) {
+        Map<String, Integer> deltas = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : capabilityUpdates.entrySet()) {
+            if (entry.getValue() != null) {
+                deltas.merge(entry.getKey().toLowerCase(), entry.getValue(), Integer::sum);
+            }
+        }
+        
+        int updated = companyCapabilityScoreRepository.addCapabilityScores(
+            key.eventCode(), key.teamCode(),
+            deltas.getOrDefault("strategy", 0),
+            deltas.getOrDefault("finance", 0),
+            deltas.getOrDefault("market_customer", 0),
+            deltas.getOrDefault("operation_management", 0),
+            deltas.getOrDefault("technology_innovation", 0),
+            deltas.getOrDefault("sustainability", 0));
+        
+        if (updated == 0) {
+            log.warn("역량 점수 데이터를 찾을 수 없습니다. - eventCode: {}, teamCode: {}", key.eventCode(), key.teamCode());
+            return;
+        }
+        
+        log.info("팀 역량 업데이트 완료 - teamCode: {}, 증가분: {}", key.teamCode(), deltas);
+    }
+    
     /**
      * ChatGPT로 역량 분석
      */
@@ -520,7 +763,7 @@ public class OperatingExpenseService {
         
         try {
             // ChatGPT API 호출
-            String response = businessPlanAnalyzer.callChatGptApi(prompt);
+            String response = businessPlanAnalyzer.callChatGptApi(prompt, ChatOptions.interactive(fs.getEventCode()).withCallSite(CallSite.CAPABILITY_ANALYSIS).withJsonMode());
             
             // 응답 파싱
             return parseCapabilityResponse(response);
@@ -585,57 +828,25 @@ public class OperatingExpenseService {
     
     /**
      * ChatGPT 역량 분석 응답 파싱
+     * - 위반이 있는 역량(이름 누락, 점수 1~3 범위 밖)만 제외
      */
     private Map<String, Integer> parseCapabilityResponse(String response) {
-        Map<String, Integer> result = new HashMap<>();
-        
-        try {
-            // JSON 추출
-            String jsonStr = response.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
-            
-            // capability1, score1 추출
-            String capability1 = extractStringValue(jsonStr, "capability1");
-            Integer score1 = extractIntegerValue(jsonStr, "score1");
-            
-            // capability2, score2 추출
-            String capability2 = extractStringValue(jsonStr, "capability2");
-            Integer score2 = extractIntegerValue(jsonStr, "score2");
-            
-            if (capability1 != null && score1 != null && score1 >= 1 && score1 <= 3) {
-                result.put(capability1, score1);
-            }
-            
-            if (capability2 != null && score2 != null && score2 >= 1 && score2 <= 3) {
-                result.put(capability2, score2);
-            }
-            
-            log.info("역량 분석 결과 파싱 완료 - {}개 역량 업데이트", result.size());
-            return result;
-            
-        } catch (Exception e) {
-            log.error("ChatGPT 역량 분석 응답 파싱 실패: {}", response, e);
-            throw new RuntimeException("역량 분석 데이터 파싱 실패");
-        }
-    }
-    
-    /**
-     * 정규식으로 String 값 추출
-     */
-    private String extractStringValue(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*?)\"";
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher m = p.matcher(json);
-        return m.find() ? m.group(1) : null;
+        return toCapabilityUpdates(llmJsonDecoder.decode(response, LlmOutputDto.CapabilityDelta.class));
     }
     
-    /**
-     * 정규식으로 Integer 값 추출 (역량 분석용)
-     */
-    private Integer extractIntegerValue(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*(\\d+)";
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher m = p.matcher(json);
-        return m.find() ? Integer.parseInt(m.group(1)) : null;
+    private Map<String, Integer> toCapabilityUpdates(LlmJsonDecoder.Decoded<LlmOutputDto.CapabilityDelta> decoded) {
+        LlmOutputDto.CapabilityDelta delta = decoded.value();
+        
+        Map<String, Integer> result = new HashMap<>();
+        if (!decoded.hasViolation("capability1") && !decoded.hasViolation("score1")) {
+            result.put(delta.getCapability1(), delta.getScore1());
+        }
+        if (!decoded.hasViolation("capability2") && !decoded.hasViolation("score2")) {
+            result.put(delta.getCapability2(), delta.getScore2());
+        }
+        
+        log.info("역량 분석 결과 파싱 완료 - {}개 역량 업데이트", result.size());
+        return result;
     }
     
     /**
@@ -651,4 +862,24 @@ public class OperatingExpenseService {
         log.info("기본 역량 업데이트 적용 - finance: 1점, operation_management: 1점");
         return result;
     }
-}
\ No newline at end of file
+
+    private record ExpenseKey(Integer eventCode, Integer teamCode, Integer stageStep) {
+    }
+    
+    private record ExpenseSummary(String details, long totalAmount) {
+    }
+    
+    /**
+     * LLM 분석 결과 (각각 null이면 저장하지 않음)
+     */
+    private record ExpenseAnalysisResult(Map<String, Long> financialData, Map<String, Integer> capabilityUpdates) {
+    }
+    
+    /**
+     * LLM 호출 전 읽어 둔 입력 (fs는 분리된 엔티티, 저장 시 다시 조회)
+     */
+    private record FinancialSnapshot(ExpenseKey key, FinancialStatement fs, List<OperatingExpense> stageExpenses,
+                                     Map<Integer, String> expenseAmounts, long previousCash,
+                                     boolean hasCapability, String capabilityExpenseDetails) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.OpenAiDto;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 프롬프트 토큰 예산 관리
+ * - 설정된 모델의 BPE 토크나이저(jtokkit)로 토큰 수 계산 (한국어는 글자 수와 토큰 수 차이가 큼)
+ * - 컨텍스트 윈도우 - max_tokens 안에서 섹션별(사업계획서, 답변, 요약 등) 예산 분배
+ * - 예산 초과 시 문장 경계에서 자름
+ */
+@Component
+@Slf4j
+public class PromptBudgeter {
+
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?。])\\s+|\\n+");
+    private static final String TRUNCATED_MARK = "\n\n... (이하 생략)";
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;   // 메시지당 role/구분자 토큰
+    private static final int REPLY_PRIMING_TOKENS = 3;
+    private static final int SAFETY_MARGIN_TOKENS = 256;
+
+    private final OpenAiConfig openAiConfig;
+    private final Encoding encoding;
+
+    public PromptBudgeter(OpenAiConfig openAiConfig) {
+        this.openAiConfig = openAiConfig;
+        this.encoding = resolveEncoding(openAiConfig.getModel());
+    }
+
+    /**
+     * 텍스트 토큰 수
+     */
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return encoding.countTokensOrdinary(text);
+    }
+
+    /**
+     * 채팅 메시지 전체의 프롬프트 토큰 수 (메시지 구분 토큰 포함)
+     */
+    public int countPromptTokens(List<OpenAiDto.Message> messages) {
+        int total = REPLY_PRIMING_TOKENS;
+        for (OpenAiDto.Message message : messages) {
+            total += MESSAGE_OVERHEAD_TOKENS + countTokens(message.getContent());
+        }
+        return total;
+    }
+
+    /**
+     * 프롬프트에 쓸 수 있는 최대 토큰 (컨텍스트 윈도우 - 응답용 max_tokens - 여유분)
+     */
+    public int promptBudget() {
+        int maxTokens = openAiConfig.getMaxTokens() != null ? openAiConfig.getMaxTokens() : 0;
+        return openAiConfig.getContextWindowTokens() - maxTokens - SAFETY_MARGIN_TOKENS;
+    }
+
+    /**
+     * 고정 지시문을 제외하고 가변 섹션에 쓸 수 있는 토큰
+     * @param instructions 가변 섹션을 비운 상태의 프롬프트
+     */
+    public int availableFor(String instructions) {
+        return Math.max(0, promptBudget() - countTokens(instructions));
+    }
+
+    /**
+     * 토큰 예산 안으로 자르기 (문장 경계 기준)
+     */
+    public String trimToTokens(String text, int maxTokens) {
+        if (text == null) {
+            return null;
+        }
+        int totalTokens = countTokens(text);
+        if (totalTokens <= maxTokens) {
+            return text;
+        }
+
+        int limit = Math.max(0, maxTokens - countTokens(TRUNCATED_MARK));
+        int cut = sentenceCutPoint(text, limit);
+        if (cut == 0) {
+            cut = hardCutPoint(text, limit);
+        }
+
+        log.debug("프롬프트 섹션 축소 - {} → {} 토큰", totalTokens, maxTokens);
+        return text.substring(0, cut).stripTrailing() + TRUNCATED_MARK;
+    }
+
+    /**
+     * 글자 수 기준 자르기 (DB 컬럼 길이 제한용, 문장 경계 기준)
+     * - 생략 표시도 들어가지 않는 길이면 표시 없이 maxChars로만 자름
+     */
+    public String trimToChars(String text, int maxChars) {
+        if (text == null || text.length() <= maxChars) {
+            return text;
+        }
+
+        int limit = Math.max(0, maxChars - TRUNCATED_MARK.length());
+        if (limit == 0) {
+            return text.substring(0, Math.max(0, maxChars));
+        }
+        int cut = 0;
+        Matcher matcher = SENTENCE_END.matcher(text);
+        while (matcher.find() && matcher.start() <= limit) {
+            cut = matcher.start();
+        }
+        if (cut < limit - 1000) { // 너무 많이 잘리지 않도록
+            cut = limit;
+        }
+        return text.substring(0, cut).stripTrailing() + TRUNCATED_MARK;
+    }
+
+    /**
+     * 섹션별 예산 분배 후 자르기
+     * - 가중치 비율로 나누되, 몫보다 짧은 섹션의 남는 예산은 다른 섹션에 재분배
+     * @return 섹션 순서대로 잘린 텍스트
+     */
+    public List<String> fitSections(int availableTokens, List<Section> sections) {
+        int size = sections.size();
+        int[] tokens = new int[size];
+        boolean[] settled = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            tokens[i] = countTokens(sections.get(i).text());
+        }
+
+        int remaining = availableTokens;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int totalWeight = 0;
+            for (int i = 0; i < size; i++) {
+                if (!settled[i]) totalWeight += sections.get(i).weight();
+            }
+            if (totalWeight == 0) {
+                break;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!settled[i] && tokens[i] <= (long) remaining * sections.get(i).weight() / totalWeight) {
+                    settled[i] = true;
+                    remaining -= tokens[i];
+                    changed = true;
+                }
+            }
+        }
+
+        int totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            if (!settled[i]) totalWeight += sections.get(i).weight();
+        }
+
+        List<String> fitted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Section section = sections.get(i);
+            if (settled[i]) {
+                fitted.add(section.text());
+            } else {
+                int share = (int) ((long) remaining * section.weight() / totalWeight);
+                log.info("프롬프트 섹션 '{}' 축소 - {} → {} 토큰", section.name(), tokens[i], share);
+                fitted.add(trimToTokens(section.text(), share));
+            }
+        }
+        return fitted;
+    }
+
+    private int sentenceCutPoint(String text, int maxTokens) {
+        Matcher matcher = SENTENCE_END.matcher(text);
+        int cut = 0;
+        int used = 0;
+        while (matcher.find()) {
+            int sentenceTokens = countTokens(text.substring(cut, matcher.end()));
+            if (used + sentenceTokens > maxTokens) {
+                break;
+            }
+            used += sentenceTokens;
+            cut = matcher.end();
+        }
+        return cut;
+    }
+
+    /**
+     * 문장 경계가 없을 때 토큰 예산에 맞는 최대 글자 위치 (이진 탐색)
+     */
+    private int hardCutPoint(String text, int maxTokens) {
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (countTokens(text.substring(0, mid)) <= maxTokens) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private Encoding resolveEncoding(String model) {
+        EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+        if (model != null) {
+            var byModel = registry.getEncodingForModel(model);
+            if (byModel.isPresent()) {
+                return byModel.get();
+            }
+        }
+        // 등록되지 않은 모델명(날짜 접미사 등)은 계열로 판단
+        boolean o200k = model == null
+                || model.startsWith("gpt-4o") || model.startsWith("gpt-4.1") || model.startsWith("gpt-5")
+                || model.startsWith("o1") || model.startsWith("o3") || model.startsWith("o4");
+        EncodingType type = o200k ? EncodingType.O200K_BASE : EncodingType.CL100K_BASE;
+        log.info("토크나이저: {} (모델: {})", type.getName(), model);
+        return registry.getEncoding(type);
+    }
+
+    /**
+     * 프롬프트 가변 섹션
+     * @param weight 예산 분배 가중치
+     */
+    public record Section(String name, String text, int weight) {
+    }
+}
@@ -3,6 +3,7 @@ package com.example.chatgpt.service;
 import com.example.chatgpt.dto.quiz.respDto.QuizQuestionDto;
 import com.example.chatgpt.entity.QuizQuestion;
 import com.example.chatgpt.repository.QuizQuestionRepository;
+import com.example.chatgpt.util.QuestionSamplingIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ import org.springframework.retry.annotation.EnableRetry;
 public class QuizQuestionService {
     
     private final QuizQuestionRepository quizQuestionRepository;
+    private final QuestionSamplingIndex questionSamplingIndex;
     
     /**
      * 랜덤 퀴즈 조회
@@ -27,19 +29,13 @@ public class QuizQuestionService {
         try {
             log.info("랜덤 퀴즈 조회 요청");
             
-            // 1. 전체 퀴즈 개수 확인
-            long totalCount = quizQuestionRepository.countAllQuizzes();
-            if (totalCount == 0) {
-                log.warn("데이터베이스에 퀴즈가 없습니다");
-                throw new RuntimeException("퀴즈 데이터가 없습니다.");
-            }
-            
-            // 2. 랜덤 퀴즈 조회
-            Optional<QuizQuestion> optionalQuiz = quizQuestionRepository.findRandomQuiz();
+            // 1~2. ID 인덱스에서 랜덤 퀴즈 코드 선택 후 한 건 조회
+            Optional<QuizQuestion> optionalQuiz = questionSamplingIndex.fetch(
+                questionSamplingIndex::sampleQuiz, quizQuestionRepository::findById);
             
             if (optionalQuiz.isEmpty()) {
-                log.error("랜덤 퀴즈 조회 실패 - 데이터가 있지만 조회되지 않음");
-                throw new RuntimeException("퀴즈 조회에 실패했습니다.");
+                log.warn("데이터베이스에 퀴즈가 없습니다");
+                throw new RuntimeException("퀴즈 데이터가 없습니다.");
             }
             
             QuizQuestion quiz = optionalQuiz.get();
@@ -14,7 +14,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.retry.annotation.EnableRetry;
 
 @EnableRetry
@@ -92,12 +95,16 @@ public class QuizSelectionService {
             
             List<QuizSelectionListDto> resultList = new ArrayList<>();
             
-            // 2. 각 선택에 대해 퀴즈 정보와 조인
+            // 2. 선택한 퀴즈 정보 일괄 조회 (IN 조회 1회) 후 조인
+            Map<Integer, QuizQuestion> questions = quizQuestionRepository
+                .findAllById(selections.stream().map(QuizSelection::getQuizCode).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(QuizQuestion::getQuizCode, Function.identity()));
+            
             for (QuizSelection selection : selections) {
-                Optional<QuizQuestion> questionOpt = quizQuestionRepository.findById(selection.getQuizCode());
+                QuizQuestion question = questions.get(selection.getQuizCode());
                 
-                if (questionOpt.isPresent()) {
-                    QuizQuestion question = questionOpt.get();
+                if (question != null) {
                     QuizSelectionListDto dto = QuizSelectionListDto.from(selection, question);
                     resultList.add(dto);
                 } else {
@@ -27,6 +27,7 @@ public class Stage1BizplanService {
     private final EventRepository eventRepository;
     private final TeamMstRepository teamMstRepository;
     private final FileProcessingService fileProcessingService;
+    private final PromptBudgeter promptBudgeter;
     
     private static final int MAX_TEXT_LENGTH = 50000; // 50,000자 제한
     
@@ -107,7 +108,7 @@ public class Stage1BizplanService {
             // 6. 텍스트 길이 제한
             String limitedText = extractedText;
             if (extractedText.length() > MAX_TEXT_LENGTH) {
-                limitedText = limitTextLength(extractedText, MAX_TEXT_LENGTH);
+                limitedText = promptBudgeter.trimToChars(extractedText, MAX_TEXT_LENGTH);
                 log.warn("텍스트가 {}자에서 {}자로 축소되었습니다.", extractedText.length(), MAX_TEXT_LENGTH);
             }
             
@@ -152,33 +153,6 @@ public class Stage1BizplanService {
         }
     }
     
-    /**
-     * 텍스트 길이 제한
-     */
-    private String limitTextLength(String text, int maxLength) {
-        if (text == null || text.length() <= maxLength) {
-            return text;
-        }
-        
-        // 문장 단위로 자르기 (단어 중간에서 자르지 않도록)
-        String truncated = text.substring(0, maxLength);
-        
-        // 마지막 완전한 문장을 찾기
-        int lastPeriod = truncated.lastIndexOf('.');
-        int lastExclamation = truncated.lastIndexOf('!');
-        int lastQuestion = truncated.lastIndexOf('?');
-        int lastNewline = truncated.lastIndexOf('\n');
-        
-        int cutPoint = Math.max(Math.max(lastPeriod, lastExclamation), 
-                               Math.max(lastQuestion, lastNewline));
-        
-        if (cutPoint > maxLength - 1000) { // 너무 많이 잘리지 않도록
-            return truncated.substring(0, cutPoint + 1);
-        } else {
-            return truncated + "...";
-        }
-    }
-    
     /**
      * 사업계획서 조회 (getBizplan → getBizplan으로 수정)
      */
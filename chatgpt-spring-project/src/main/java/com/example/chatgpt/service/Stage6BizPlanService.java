@@ -1,5 +1,8 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizPlanParseRespDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizplanDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizplanGlobalizeDto;
@@ -8,21 +11,39 @@ import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6BizplanListRespDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6CountryBizPlanRespDto;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6CountryBizPlanRespDto.CountryGenerationResult;
 import com.example.chatgpt.dto.stage6bizplan.respDto.Stage6CountryBizPlanViewRespDto;
+import com.example.chatgpt.entity.AsyncJob;
 import com.example.chatgpt.entity.Event;
 import com.example.chatgpt.entity.TeamMst;
 import com.example.chatgpt.entity.Stage6BizplanSummary;
 import com.example.chatgpt.repository.EventRepository;
 import com.example.chatgpt.repository.TeamMstRepository;
 import com.example.chatgpt.repository.Stage6BizplanSummaryRepository;
+import com.example.chatgpt.util.TransactionRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import jakarta.annotation.PostConstruct;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.retry.annotation.EnableRetry;
 
 @EnableRetry
@@ -38,8 +59,29 @@ public class Stage6BizPlanService {
     private final FileProcessingService fileProcessingService;
     private final BusinessPlanAnalyzer businessPlanAnalyzer; // ChatGPT API
     private final GlobalBusinessPlanService globalBusinessPlanService; // 국가별 사업계획서 생성
+    private final TransactionTemplate transactionTemplate;
+    private final PromptBudgeter promptBudgeter;
+    private final TransactionRunner transactionRunner;
+    private final OpenAiConfig openAiConfig;
+    private final ExecutorService llmFanOutExecutor; // ThreadingConfig (국가별 동시 생성)
+    private final AsyncJobService asyncJobService;
     
     private static final int MAX_TEXT_LENGTH = 60000; // 60,000자 제한
+    private static final String TX_FLOW_COUNTRY = "stage6_country_bizplan";
+    private static final String JOB_COUNTRY_BIZPLANS = "stage6_country_bizplans";
+    private static final List<String> COUNTRIES = List.of("USA", "CHINA", "JAPAN");
+    
+    // 국가별 생성 상태
+    private static final String COUNTRY_NOT_STARTED = "NOT_STARTED";
+    private static final String COUNTRY_PENDING = "PENDING";
+    private static final String COUNTRY_RUNNING = "RUNNING";
+    private static final String COUNTRY_SAVING = "SAVING";
+    private static final String COUNTRY_SAVED = "SAVED";
+    private static final String COUNTRY_FAILED = "FAILED";
+    private static final String COUNTRY_TIMEOUT = "TIMEOUT";
+    
+    // 이 서버에서 생성 중인 팀의 국가별 상태 (eventCode:teamCode → 국가 → 상태, 생성이 끝나면 제거)
+    private final Map<String, Map<String, String>> countryProgress = new ConcurrentHashMap<>();
     
     /**
      * 일반 사업계획서 목록 조회
@@ -189,7 +231,7 @@ public class Stage6BizPlanService {
             }
             
             // 2. ChatGPT로 글로벌화 첨삭
-            String globalizedContent = globalizeWithChatGPT(existing.getBizItemSummary());
+            String globalizedContent = globalizeWithChatGPT(eventCode, existing.getBizItemSummary());
             
             // 3. 워드 파일 생성 및 Firebase 업로드 (임시)
             String globalBizplanFilePath = uploadGlobalBizplanToFirebase(globalizedContent, eventCode, teamCode);
@@ -210,17 +252,58 @@ public class Stage6BizPlanService {
         }
     }
     
+    /**
+     * 2단계: 글로벌 사업계획서 생성 및 저장 (비동기)
+     * - LLM 대기 중에는 트랜잭션/스레드를 점유하지 않고, 응답 후 짧은 트랜잭션으로 저장
+     */
+    public Mono<String> generateGlobalBizPlanAsync(Integer eventCode, Integer teamCode) {
+        return Mono.fromCallable(() -> {
+                    log.info("글로벌 사업계획서 비동기 생성 시작 - eventCode: {}, teamCode: {}", eventCode, teamCode);
+                    
+                    Stage6BizplanSummary existing = stage6BizplanSummaryRepository
+                        .findByEventCodeAndTeamCode(eventCode, teamCode)
+                        .orElseThrow(() -> new RuntimeException("사업계획서를 먼저 업로드해주세요."));
+                    
+                    if (existing.getBizItemSummary() == null || existing.getBizItemSummary().trim().isEmpty()) {
+                        throw new RuntimeException("사업계획서 내용이 없습니다. 파일을 다시 업로드해주세요.");
+                    }
+                    return createGlobalizationPrompt(fitBizPlanToBudget(existing.getBizItemSummary()));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(prompt -> businessPlanAnalyzer.callChatGptApiAsync(
+                        prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.COUNTRY_PLAN)))
+                .map(this::extractGlobalizedContent)
+                .publishOn(Schedulers.boundedElastic())
+                .map(globalizedContent -> transactionTemplate.execute(status -> {
+                    Stage6BizplanSummary existing = stage6BizplanSummaryRepository
+                        .findByEventCodeAndTeamCode(eventCode, teamCode)
+                        .orElseThrow(() -> new RuntimeException("사업계획서를 먼저 업로드해주세요."));
+                    
+                    existing.setGlobalBizplanFilePath(uploadGlobalBizplanToFirebase(globalizedContent, eventCode, teamCode));
+                    existing.setGlobalBizItemSummary(globalizedContent);
+                    stage6BizplanSummaryRepository.save(existing);
+                    
+                    log.info("글로벌 사업계획서 비동기 생성 완료 - stage6Code: {}, 글로벌 텍스트 길이: {}자", 
+                             existing.getStage6Code(), globalizedContent.length());
+                    return globalizedContent;
+                }))
+                .onErrorMap(e -> {
+                    log.error("글로벌 사업계획서 생성 실패", e);
+                    return new RuntimeException("글로벌 사업계획서 생성 실패: " + e.getMessage());
+                });
+    }
+    
     /**
      * ChatGPT로 사업계획서 글로벌화
      */
-    private String globalizeWithChatGPT(String koreanBizPlan) {
+    private String globalizeWithChatGPT(Integer eventCode, String koreanBizPlan) {
         try {
             log.info("ChatGPT 글로벌화 요청 시작 - 원본 길이: {}자", koreanBizPlan.length());
             
-            String prompt = createGlobalizationPrompt(koreanBizPlan);
+            String prompt = createGlobalizationPrompt(fitBizPlanToBudget(koreanBizPlan));
             
             // ChatGPT API 호출
-            String response = businessPlanAnalyzer.callChatGptApi(prompt);
+            String response = businessPlanAnalyzer.callChatGptApi(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.COUNTRY_PLAN));
             
             // 응답에서 순수 텍스트 추출
             String globalizedContent = extractGlobalizedContent(response);
@@ -234,6 +317,14 @@ public class Stage6BizPlanService {
         }
     }
     
+    /**
+     * 원본 사업계획서를 프롬프트 토큰 예산에 맞게 축소 (지시문 토큰 제외)
+     */
+    private String fitBizPlanToBudget(String koreanBizPlan) {
+        int available = promptBudgeter.availableFor(createGlobalizationPrompt(""));
+        return promptBudgeter.trimToTokens(koreanBizPlan, available);
+    }
+    
     /**
      * 글로벌화 프롬프트 생성
      */
@@ -285,7 +376,7 @@ public class Stage6BizPlanService {
         
         // 텍스트 길이 제한
         if (cleaned.length() > MAX_TEXT_LENGTH) {
-            cleaned = limitTextLength(cleaned, MAX_TEXT_LENGTH);
+            cleaned = promptBudgeter.trimToChars(cleaned, MAX_TEXT_LENGTH);
             log.warn("글로벌화된 텍스트가 {}자에서 {}자로 축소되었습니다.", cleaned.length(), MAX_TEXT_LENGTH);
         }
         
@@ -370,7 +461,7 @@ public class Stage6BizPlanService {
             
             // 길이 제한
             if (extractedText.length() > MAX_TEXT_LENGTH) {
-                extractedText = limitTextLength(extractedText, MAX_TEXT_LENGTH);
+                extractedText = promptBudgeter.trimToChars(extractedText, MAX_TEXT_LENGTH);
                 log.warn("텍스트가 {}자에서 {}자로 축소되었습니다.", extractedText.length(), MAX_TEXT_LENGTH);
             }
             
@@ -411,18 +502,42 @@ public class Stage6BizPlanService {
         }
     }
     
+    @PostConstruct
+    public void registerJobHandlers() {
+        asyncJobService.registerHandler(JOB_COUNTRY_BIZPLANS, (payload, progress) -> {
+            progress.update("미중일 사업계획서 생성 중");
+            return generateCountryBizPlans((Integer) payload.get("eventCode"), (Integer) payload.get("teamCode"), progress);
+        });
+    }
+    
+    /**
+     * 미중일 국가별 사업계획서 생성 접수 (결과는 /api/jobs/{jobId})
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AsyncJobService.Submitted submitCountryBizPlans(Integer eventCode, Integer teamCode) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventCode", eventCode);
+        payload.put("teamCode", teamCode);
+        return asyncJobService.submit(JOB_COUNTRY_BIZPLANS, eventCode, teamCode, 6, payload);
+    }
+    
     /**
      * 3단계: 미중일 국가별 사업계획서 생성
+     * - 세 국가를 동시에 생성 (전체 소요 시간 ≈ 가장 느린 한 국가), 국가별 제한 시간 초과 시 해당 국가만 실패 처리
+     * - 완료된 국가는 바로 짧은 트랜잭션으로 저장 → 한 국가 실패가 다른 국가 저장을 막지 않음
+     * - 진행 상황은 getCountryBizPlanStatus로 조회
      * @param eventCode 행사코드
      * @param teamCode 팀코드
+     * @param progress 비동기 작업 진행 상황 (없으면 null)
      * @return 국가별 생성 결과
      */
-    @Transactional
-    public Stage6CountryBizPlanRespDto generateCountryBizPlans(Integer eventCode, Integer teamCode) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Stage6CountryBizPlanRespDto generateCountryBizPlans(Integer eventCode, Integer teamCode,
+                                                               AsyncJobService.Progress progress) {
         log.info("미중일 국가별 사업계획서 생성 시작 - eventCode: {}, teamCode: {}", eventCode, teamCode);
         
-        try {
-            // 1. 기존 데이터 조회
+        // 1. 기존 데이터 조회 (LLM 호출 전 커넥션 반납)
+        String globalSummary = transactionRunner.read(TX_FLOW_COUNTRY, () -> {
             Stage6BizplanSummary existing = stage6BizplanSummaryRepository
                 .findByEventCodeAndTeamCode(eventCode, teamCode)
                 .orElseThrow(() -> new RuntimeException("기존 데이터가 없습니다. 먼저 글로벌 사업계획서를 생성해주세요."));
@@ -430,54 +545,243 @@ public class Stage6BizPlanService {
             if (existing.getGlobalBizItemSummary() == null || existing.getGlobalBizItemSummary().trim().isEmpty()) {
                 throw new RuntimeException("글로벌 사업계획서 내용이 없습니다. 먼저 글로벌 사업계획서를 생성해주세요.");
             }
-            
-            // 2. 미중일 순서로 생성
-            CountryGenerationResult usaResult = generateCountryBizPlan("USA", existing);
-            CountryGenerationResult chinaResult = generateCountryBizPlan("CHINA", existing);
-            CountryGenerationResult japanResult = generateCountryBizPlan("JAPAN", existing);
-            
-            // 3. DB 저장 (각국별로 성공한 경우만)
-            boolean updated = false;
-            
-            if (usaResult.isSuccess()) {
-                existing.setUsaSummary(usaResult.getMessage());
-                updated = true;
-                log.info("미국 사업계획서 DB 저장 완료");
+            return existing.getGlobalBizItemSummary();
+        });
+        
+        // 2. 미중일 동시 생성 (국가별 생성 → 즉시 저장)
+        Map<String, String> states = new ConcurrentHashMap<>();
+        COUNTRIES.forEach(country -> states.put(country, COUNTRY_PENDING));
+        String key = progressKey(eventCode, teamCode);
+        countryProgress.put(key, states);
+        AtomicInteger completed = new AtomicInteger();
+        
+        Map<String, CountryGenerationResult> results = new LinkedHashMap<>();
+        try {
+            Map<String, Future<CountryGenerationResult>> futures = new LinkedHashMap<>();
+            for (String country : COUNTRIES) {
+                futures.put(country, llmFanOutExecutor.submit(() -> {
+                    CountryGenerationResult result = generateAndSaveCountry(eventCode, teamCode, country, globalSummary, states);
+                    if (progress != null) {
+                        progress.update(String.format("국가별 사업계획서 %d/%d 완료 (%s)",
+                                                      completed.incrementAndGet(), COUNTRIES.size(), getCountryName(country)));
+                    }
+                    return result;
+                }));
             }
             
-            if (chinaResult.isSuccess()) {
-                existing.setChinaSummary(chinaResult.getMessage());
-                updated = true;
-                log.info("중국 사업계획서 DB 저장 완료");
+            // 3. 결과 수집 (모든 국가가 같은 시각에 시작하므로 마감 시각도 공통)
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(openAiConfig.getCountryPlanTimeoutMs());
+            futures.forEach((country, future) ->
+                results.put(country, awaitCountryResult(country, future, deadline, states)));
+        } finally {
+            // 끝난 뒤 상태는 작업 결과(async_job.result)와 저장된 행으로 조회
+            countryProgress.remove(key, states);
+        }
+        
+        CountryGenerationResult usaResult = results.get("USA");
+        CountryGenerationResult chinaResult = results.get("CHINA");
+        CountryGenerationResult japanResult = results.get("JAPAN");
+        
+        log.info("미중일 국가별 사업계획서 생성 완료 - USA: {}, CHINA: {}, JAPAN: {}", 
+                 usaResult.isSuccess(), chinaResult.isSuccess(), japanResult.isSuccess());
+        
+        return Stage6CountryBizPlanRespDto.create(usaResult, chinaResult, japanResult);
+    }
+    
+    /**
+     * 국가별 생성 → 저장 (작업 스레드)
+     * - 상태는 compare-and-set 으로만 전이 (PENDING → RUNNING → SAVING → SAVED/FAILED)
+     * - 제한 시간 처리(TIMEOUT)가 먼저 상태를 가져가면 생성이 끝나도 저장하지 않음 (인터럽트를 무시하는 호출 대비)
+     */
+    private CountryGenerationResult generateAndSaveCountry(Integer eventCode, Integer teamCode, String country,
+                                                           String globalSummary, Map<String, String> states) {
+        String countryName = getCountryName(country);
+        if (!states.replace(country, COUNTRY_PENDING, COUNTRY_RUNNING)) {
+            return CountryGenerationResult.failure(countryName + " 사업계획서 생성이 취소되었습니다.");
+        }
+        
+        CountryGenerationResult result = generateCountryBizPlan(eventCode, country, globalSummary);
+        if (!result.isSuccess()) {
+            states.replace(country, COUNTRY_RUNNING, COUNTRY_FAILED);
+            return result;
+        }
+        
+        if (Thread.currentThread().isInterrupted() || !states.replace(country, COUNTRY_RUNNING, COUNTRY_SAVING)) {
+            log.warn("{} 사업계획서 생성 완료 전 시간 초과 처리됨 - 저장하지 않음", countryName);
+            return CountryGenerationResult.failure(countryName + " 사업계획서 생성 시간 초과");
+        }
+        try {
+            saveCountryBizPlan(eventCode, teamCode, country, result.getMessage());
+            states.replace(country, COUNTRY_SAVING, COUNTRY_SAVED);
+            return result;
+        } catch (RuntimeException e) {
+            states.replace(country, COUNTRY_SAVING, COUNTRY_FAILED);
+            throw e;
+        }
+    }
+    
+    /**
+     * 국가별 결과 대기 (마감 시각 초과 시 작업 중단 후 실패 처리)
+     * - 마감 시각에 이미 저장 단계(SAVING)에 들어간 국가는 중단하지 않고 저장 결과를 기다림
+     */
+    private CountryGenerationResult awaitCountryResult(String country, Future<CountryGenerationResult> future,
+                                                       long deadline, Map<String, String> states) {
+        String countryName = getCountryName(country);
+        try {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (states.replace(country, COUNTRY_PENDING, COUNTRY_TIMEOUT)
+                        || states.replace(country, COUNTRY_RUNNING, COUNTRY_TIMEOUT)) {
+                    future.cancel(true);
+                    String errorMessage = String.format("%s 사업계획서 생성 시간 초과 (%dms)", countryName, openAiConfig.getCountryPlanTimeoutMs());
+                    log.error(errorMessage);
+                    return CountryGenerationResult.failure(errorMessage);
+                }
+                log.info("{} 사업계획서 제한 시간 도달, 저장 진행 중이므로 저장 완료까지 대기", countryName);
+                return future.get();
             }
             
-            if (japanResult.isSuccess()) {
-                existing.setJapanSummary(japanResult.getMessage());
-                updated = true;
-                log.info("일본 사업계획서 DB 저장 완료");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (states.replace(country, COUNTRY_PENDING, COUNTRY_FAILED)
+                    || states.replace(country, COUNTRY_RUNNING, COUNTRY_FAILED)) {
+                future.cancel(true);
             }
-            
-            // DB 업데이트 (하나라도 성공했으면)
-            if (updated) {
-                stage6BizplanSummaryRepository.save(existing);
-                log.info("국가별 사업계획서 DB 업데이트 완료");
+            return CountryGenerationResult.failure(countryName + " 사업계획서 생성이 중단되었습니다.");
+            
+        } catch (ExecutionException e) {
+            // 저장 실패 등 생성 이후 단계의 오류 (상태는 작업 스레드가 FAILED 로 전이)
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String errorMessage = String.format("%s 사업계획서 저장 실패: %s", countryName, cause.getMessage());
+            log.error(errorMessage, cause);
+            return CountryGenerationResult.failure(errorMessage);
+        }
+    }
+    
+    /**
+     * 국가별 사업계획서 생성 진행 상황 (DB 기준이라 어느 서버에서 조회해도 같은 결과)
+     * - 생성 중: 이 서버에서 실행 중이면 국가별 상태(PENDING/RUNNING/SAVING/SAVED/FAILED/TIMEOUT), 아니면 작업 상태
+     * - 끝난 뒤: 마지막 작업 결과에서 실패한 국가는 FAILED(+error), 나머지는 저장 여부로 SAVED/NOT_STARTED
+     */
+    public Map<String, Object> getCountryBizPlanStatus(Integer eventCode, Integer teamCode) {
+        Stage6BizplanSummary existing = stage6BizplanSummaryRepository
+            .findByEventCodeAndTeamCode(eventCode, teamCode)
+            .orElseThrow(() -> new RuntimeException("기존 데이터가 없습니다. 먼저 글로벌 사업계획서를 생성해주세요."));
+        Optional<AsyncJob> latestJob = asyncJobService.findLatest(JOB_COUNTRY_BIZPLANS, eventCode, teamCode);
+        boolean running = latestJob.map(AsyncJobService::isActive).orElse(false);
+        
+        Map<String, String> states = running
+            ? countryProgress.getOrDefault(progressKey(eventCode, teamCode), Map.of())
+            : Map.of();
+        Stage6CountryBizPlanRespDto lastResult = running ? null : latestJob
+            .flatMap(job -> asyncJobService.readResult(job, Stage6CountryBizPlanRespDto.class))
+            .orElse(null);
+        
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("eventCode", eventCode);
+        status.put("teamCode", teamCode);
+        for (String country : COUNTRIES) {
+            String content = switch (country) {
+                case "USA" -> existing.getUsaSummary();
+                case "CHINA" -> existing.getChinaSummary();
+                default -> existing.getJapanSummary();
+            };
+            boolean saved = content != null && !content.trim().isEmpty();
+            CountryGenerationResult result = lastResult == null ? null : switch (country) {
+                case "USA" -> lastResult.getUsa();
+                case "CHINA" -> lastResult.getChina();
+                default -> lastResult.getJapan();
+            };
+            
+            String countryState;
+            if (running) {
+                countryState = states.getOrDefault(country,
+                    AsyncJobService.PENDING.equals(latestJob.get().getStatus()) ? COUNTRY_PENDING : COUNTRY_RUNNING);
+            } else if (result != null && !result.isSuccess()) {
+                countryState = COUNTRY_FAILED;
+            } else {
+                countryState = saved ? COUNTRY_SAVED : COUNTRY_NOT_STARTED;
             }
             
-            log.info("미중일 국가별 사업계획서 생성 완료 - USA: {}, CHINA: {}, JAPAN: {}", 
-                     usaResult.isSuccess(), chinaResult.isSuccess(), japanResult.isSuccess());
-            
-            return Stage6CountryBizPlanRespDto.create(usaResult, chinaResult, japanResult);
-            
-        } catch (Exception e) {
-            log.error("미중일 국가별 사업계획서 생성 실패", e);
-            throw new RuntimeException("국가별 사업계획서 생성 실패: " + e.getMessage());
+            Map<String, Object> countryStatus = new LinkedHashMap<>();
+            countryStatus.put("status", countryState);
+            countryStatus.put("saved", saved);
+            countryStatus.put("length", saved ? content.length() : 0);
+            if (COUNTRY_FAILED.equals(countryState) && result != null) {
+                countryStatus.put("error", result.getErrorMessage());
+            }
+            status.put(country.toLowerCase(), countryStatus);
+        }
+        status.put("running", running);
+        latestJob.ifPresent(job -> status.put("jobId", job.getJobId()));
+        return status;
+    }
+    
+    private String progressKey(Integer eventCode, Integer teamCode) {
+        return eventCode + ":" + teamCode;
+    }
+    
+    /**
+     * 개별 국가 사업계획서 생성 (스트리밍)
+     * - 생성되는 대로 조각을 방출하고, 스트림 종료 시 해당 국가 컬럼에 저장
+     * - 클라이언트 연결이 끊겨도 생성/저장은 계속 진행 (오류 시 부분 결과 저장)
+     * @param country 국가 코드 (USA, CHINA, JAPAN)
+     */
+    public Flux<String> streamCountryBizPlan(Integer eventCode, Integer teamCode, String country) {
+        String countryCode = country.toUpperCase();
+        String countryName = getCountryName(countryCode);
+        
+        return Mono.fromCallable(() -> {
+                    log.info("{} 사업계획서 스트리밍 생성 시작 - eventCode: {}, teamCode: {}", countryName, eventCode, teamCode);
+                    
+                    Stage6BizplanSummary existing = stage6BizplanSummaryRepository
+                        .findByEventCodeAndTeamCode(eventCode, teamCode)
+                        .orElseThrow(() -> new RuntimeException("기존 데이터가 없습니다. 먼저 글로벌 사업계획서를 생성해주세요."));
+                    
+                    if (existing.getGlobalBizItemSummary() == null || existing.getGlobalBizItemSummary().trim().isEmpty()) {
+                        throw new RuntimeException("글로벌 사업계획서 내용이 없습니다. 먼저 글로벌 사업계획서를 생성해주세요.");
+                    }
+                    return existing.getGlobalBizItemSummary();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(globalSummary -> globalBusinessPlanService.generateGlobalBusinessPlanStream(
+                    eventCode, countryCode, globalSummary, null, countryBizPlan -> saveCountryBizPlan(eventCode, teamCode, countryCode, countryBizPlan)));
+    }
+    
+    /**
+     * 국가별 사업계획서 단건 저장 (짧은 트랜잭션)
+     */
+    private void saveCountryBizPlan(Integer eventCode, Integer teamCode, String country, String countryBizPlan) {
+        String countryName = getCountryName(country);
+        String content = countryBizPlan;
+        if (content.length() > MAX_TEXT_LENGTH) {
+            content = promptBudgeter.trimToChars(content, MAX_TEXT_LENGTH);
+            log.warn("{} 사업계획서가 {}자로 축소되었습니다.", countryName, MAX_TEXT_LENGTH);
         }
+        String limited = content;
+        
+        // 국가별 작업이 같은 행을 동시에 저장하므로 팀 락 + 버전 충돌 재시도 (각 국가 컬럼만 갱신)
+        transactionRunner.writeWithoutResult(TX_FLOW_COUNTRY, eventCode, teamCode, () -> {
+            Stage6BizplanSummary existing = stage6BizplanSummaryRepository
+                .findByEventCodeAndTeamCode(eventCode, teamCode)
+                .orElseThrow(() -> new RuntimeException("기존 데이터가 없습니다. 먼저 글로벌 사업계획서를 생성해주세요."));
+            
+            switch (country) {
+                case "USA": existing.setUsaSummary(limited); break;
+                case "CHINA": existing.setChinaSummary(limited); break;
+                case "JAPAN": existing.setJapanSummary(limited); break;
+                default: throw new IllegalArgumentException("지원하지 않는 국가입니다: " + country);
+            }
+            stage6BizplanSummaryRepository.save(existing);
+        });
+        log.info("{} 사업계획서 DB 저장 완료 - 길이: {}자", countryName, limited.length());
     }
     
     /**
-     * 개별 국가 사업계획서 생성 (3번 재시도)
+     * 개별 국가 사업계획서 생성 (3번 재시도, 중단 요청 시 즉시 포기)
      */
-    private CountryGenerationResult generateCountryBizPlan(String country, Stage6BizplanSummary existing) {
+    private CountryGenerationResult generateCountryBizPlan(Integer eventCode, String country, String globalSummary) {
         String countryName = getCountryName(country);
         log.info("{} 사업계획서 생성 시작", countryName);
         
@@ -488,8 +792,9 @@ public class Stage6BizPlanService {
                 
                 // GlobalBusinessPlanService 호출
                 String countryBizPlan = globalBusinessPlanService.generateGlobalBusinessPlan(
+                    eventCode,
                     country, 
-                    existing.getGlobalBizItemSummary(), 
+                    globalSummary, 
                     null // stageAnswers는 null 처리
                 );
                 
@@ -499,9 +804,8 @@ public class Stage6BizPlanService {
                 
                 // 텍스트 길이 제한
                 if (countryBizPlan.length() > MAX_TEXT_LENGTH) {
-                    countryBizPlan = limitTextLength(countryBizPlan, MAX_TEXT_LENGTH);
-                    log.warn("{} 사업계획서가 {}자에서 {}자로 축소되었습니다.", 
-                             countryName, countryBizPlan.length(), MAX_TEXT_LENGTH);
+                    countryBizPlan = promptBudgeter.trimToChars(countryBizPlan, MAX_TEXT_LENGTH);
+                    log.warn("{} 사업계획서가 {}자로 축소되었습니다.", countryName, MAX_TEXT_LENGTH);
                 }
                 
                 log.info("{} 사업계획서 생성 성공 - 길이: {}자", countryName, countryBizPlan.length());
@@ -510,10 +814,9 @@ public class Stage6BizPlanService {
             } catch (Exception e) {
                 log.warn("{} 사업계획서 생성 실패 (시도 {}/3): {}", countryName, attempt, e.getMessage());
                 
-                if (attempt == 3) {
-                    // 3번 모두 실패
-                    String errorMessage = String.format("%s 사업계획서 생성 실패 (3번 시도 후 포기): %s", 
-                                                       countryName, e.getMessage());
+                if (attempt == 3 || Thread.currentThread().isInterrupted()) {
+                    String errorMessage = String.format("%s 사업계획서 생성 실패 (%d번 시도 후 포기): %s", 
+                                                       countryName, attempt, e.getMessage());
                     log.error(errorMessage);
                     return CountryGenerationResult.failure(errorMessage);
                 }
@@ -523,6 +826,7 @@ public class Stage6BizPlanService {
                     Thread.sleep(1000);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
+                    return CountryGenerationResult.failure(countryName + " 사업계획서 생성이 중단되었습니다.");
                 }
             }
         }
@@ -617,27 +921,4 @@ public class Stage6BizPlanService {
             throw new RuntimeException("일본 사업계획서 조회 실패: " + e.getMessage());
         }
     }
-    private String limitTextLength(String text, int maxLength) {
-        if (text == null || text.length() <= maxLength) {
-            return text;
-        }
-        
-        // 문장 단위로 자르기 (단어 중간에서 자르지 않도록)
-        String truncated = text.substring(0, maxLength);
-        
-        // 마지막 완전한 문장을 찾기
-        int lastPeriod = truncated.lastIndexOf('.');
-        int lastExclamation = truncated.lastIndexOf('!');
-        int lastQuestion = truncated.lastIndexOf('?');
-        int lastNewline = truncated.lastIndexOf('\n');
-        
-        int cutPoint = Math.max(Math.max(lastPeriod, lastExclamation), 
-                               Math.max(lastQuestion, lastNewline));
-        
-        if (cutPoint > maxLength - 1000) { // 너무 많이 잘리지 않도록
-            return truncated.substring(0, cutPoint + 1);
-        } else {
-            return truncated + "...";
-        }
-    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.aspect.RetryOnConflict;
 import com.example.chatgpt.dto.stage.respDto.CurrentStageInfoRespDto;
 import com.example.chatgpt.dto.stage.respDto.StageInfoDto;
 import com.example.chatgpt.entity.StageMst;
@@ -63,6 +64,7 @@ public class StageProgressService {
      * 다음 스텝으로 진행 (currentStepId +1)
      */
     @Transactional
+    @RetryOnConflict
     public CurrentStageInfoRespDto progressToNextStep(Integer eventCode, Integer teamCode) {
         try {
             log.info("다음 스텝 진행 - eventCode: {}, teamCode: {}", eventCode, teamCode);
@@ -93,6 +95,7 @@ public class StageProgressService {
      * 다음 스테이지로 진행 (currentStageId +1, currentStepId = 1)
      */
     @Transactional
+    @RetryOnConflict
     public CurrentStageInfoRespDto progressToNextStage(Integer eventCode, Integer teamCode) {
         try {
             log.info("다음 스테이지 진행 - eventCode: {}, teamCode: {}", eventCode, teamCode);
@@ -1,12 +1,15 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
+import com.example.chatgpt.dto.LlmOutputDto;
 import com.example.chatgpt.entity.*;
 import com.example.chatgpt.repository.*;
-import com.example.chatgpt.util.DatabaseLockManager;
+import com.example.chatgpt.util.LlmJsonDecoder;
+import com.example.chatgpt.util.TransactionRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import org.springframework.retry.annotation.EnableRetry;
@@ -17,19 +20,25 @@ import org.springframework.retry.annotation.EnableRetry;
 @RequiredArgsConstructor
 public class StageSummaryGeneratorService {
 
+    private static final String TX_FLOW = "stage_summary_generator";
+
     private final LlmQuestionRepository llmQuestionRepository;
     private final GroupSummaryRepository groupSummaryRepository;
     private final OperatingExpenseRepository operatingExpenseRepository;
+    private final BatchWriteRepository batchWriteRepository;
     private final StageSummaryRepository stageSummaryRepository;
     private final Stage1BizplanRepository stage1BizplanRepository;
     private final RevenueModelRepository revenueModelRepository;
     private final OpenAiService openAiService;
-    private final DatabaseLockManager lockManager;  // Lock Manager 추가
+    private final TransactionRunner transactionRunner;
+    private final LlmJsonDecoder llmJsonDecoder;
 
     /**
-     * 스테이지 완료 시 전체 프로세스 실행 (데드락 방지 적용)
+     * 스테이지 완료 시 전체 프로세스 실행
+     * - 1단계: 답변 저장 + 입력 데이터 스냅샷 (짧은 트랜잭션)
+     * - 2단계: Group/Stage Summary LLM 호출 (트랜잭션/커넥션/락 없음)
+     * - 3단계: 그사이 답변이 바뀌지 않았는지 확인 후 결과 저장 (짧은 트랜잭션)
      */
-    @Transactional
     public Map<String, Object> generateStageSummary(
             Integer eventCode,
             Integer teamCode,
@@ -38,41 +47,55 @@ public class StageSummaryGeneratorService {
         
         log.info("스테이지 {} 요약 생성 시작 - eventCode: {}, teamCode: {}", stage, eventCode, teamCode);
         
-        // 데드락 방지를 위한 Lock 적용
-        return lockManager.executeWithLock(DatabaseLockManager.ServiceType.STAGE_SUMMARY, () -> {
-            try {
-                // 1. 답변 데이터를 llm_question 테이블에 업데이트
+        try {
+            // 1. 답변 저장 + 모든 데이터 수집 (사업계획서, 수익모델, 질문/답변)
+            Map<String, Object> allData = transactionRunner.write(TX_FLOW, eventCode, teamCode, () -> {
                 updateAnswersToQuestions(teamCode, stage, answers);
+                return collectAllData(eventCode, teamCode, stage);
+            });
+            
+            @SuppressWarnings("unchecked")
+            Map<Integer, String> answerSnapshot = answerSnapshot((List<LlmQuestion>) allData.get("questions"));
+            
+            // 2. Group Summary / Stage Summary 생성 (LLM, DB 미점유)
+            GroupSummary groupSummary = generateGroupSummary(eventCode, teamCode, stage, allData);
+            String summaryText = generateStageSummaryText(eventCode, stage, groupSummary);
+            
+            // 3. 결과 저장
+            Map<String, Object> result = transactionRunner.write(TX_FLOW, eventCode, teamCode, () -> {
+                TransactionRunner.verifyUnchanged("스테이지 " + stage + " 답변", answerSnapshot,
+                        answerSnapshot(llmQuestionRepository.findByTeamCodeAndStageStep(teamCode, stage)));
                 
-                // 2. 모든 데이터 수집 (사업계획서, 수익모델, 질문/답변)
-                Map<String, Object> allData = collectAllData(eventCode, teamCode, stage);
-                
-                // 3. Group Summary 생성 및 저장
-                GroupSummary groupSummary = generateAndSaveGroupSummary(eventCode, teamCode, stage, allData);
-                
-                // 4. Operating Expense 생성 및 저장
-                List<OperatingExpense> operatingExpenses = generateAndSaveOperatingExpenses(eventCode, teamCode, stage, allData);
-                
-                // 5. Stage Summary 생성 및 저장
-                StageSummary stageSummary = generateAndSaveStageSummary(eventCode, teamCode, stage, groupSummary);
-                
-                // 6. 결과 응답
-                Map<String, Object> result = new HashMap<>();
-                result.put("groupSummary", groupSummary);
-                result.put("operatingExpenses", operatingExpenses);
-                result.put("stageSummary", stageSummary);
-                result.put("totalAnswers", answers.size());
-                result.put("message", "스테이지 " + stage + " 요약 생성 완료");
-                
-                log.info("스테이지 {} 요약 생성 완료 - teamCode: {}", stage, teamCode);
-                
-                return result;
-                
-            } catch (Exception e) {
-                log.error("스테이지 {} 요약 생성 실패 - eventCode: {}, teamCode: {}", stage, eventCode, teamCode, e);
-                throw new RuntimeException("스테이지 요약 생성 실패: " + e.getMessage());
-            }
-        });
+                Map<String, Object> saved = new HashMap<>();
+                saved.put("groupSummary", saveGroupSummary(eventCode, teamCode, stage, groupSummary));
+                saved.put("operatingExpenses", saveOperatingExpenses(eventCode, teamCode, stage, allData));
+                saved.put("stageSummary", saveStageSummary(eventCode, teamCode, stage, summaryText));
+                return saved;
+            });
+            
+            // 4. 결과 응답
+            result.put("totalAnswers", answers.size());
+            result.put("message", "스테이지 " + stage + " 요약 생성 완료");
+            
+            log.info("스테이지 {} 요약 생성 완료 - teamCode: {}", stage, teamCode);
+            
+            return result;
+            
+        } catch (Exception e) {
+            log.error("스테이지 {} 요약 생성 실패 - eventCode: {}, teamCode: {}", stage, eventCode, teamCode, e);
+            throw new RuntimeException("스테이지 요약 생성 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 질문별 답변 스냅샷 (questionCode → userAnswer)
+     */
+    private Map<Integer, String> answerSnapshot(List<LlmQuestion> questions) {
+        Map<Integer, String> snapshot = new HashMap<>();
+        for (LlmQuestion question : questions) {
+            snapshot.put(question.getQuestionCode(), question.getUserAnswer());
+        }
+        return snapshot;
     }
     
     /**
@@ -146,32 +169,37 @@ public class StageSummaryGeneratorService {
     }
     
     /**
-     * 3. Group Summary 생성 및 저장
+     * 3. Group Summary 생성 (LLM)
      */
-    private GroupSummary generateAndSaveGroupSummary(Integer eventCode, Integer teamCode, int stage, Map<String, Object> allData) {
+    private GroupSummary generateGroupSummary(Integer eventCode, Integer teamCode, int stage, Map<String, Object> allData) {
         log.info("Group Summary 생성 시작");
         
-        // 기존 데이터 삭제 (덮어쓰기)
-        groupSummaryRepository.deleteByTeamCodeAndEventCodeAndStageStep(teamCode, eventCode, stage);
-        
         // ChatGPT 프롬프트 생성
         String prompt = createGroupSummaryPrompt(stage, allData);
         
         // ChatGPT 호출
-        String response = openAiService.chat(prompt);
+        String response = openAiService.chat(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.STAGE_SUMMARY).withJsonMode());
         
-        // 응답 파싱 및 저장
-        GroupSummary groupSummary = parseAndSaveGroupSummary(eventCode, teamCode, stage, response);
+        // 응답 파싱
+        return parseGroupSummary(eventCode, teamCode, stage, response);
+    }
+    
+    /**
+     * Group Summary 저장 (기존 데이터 덮어쓰기)
+     */
+    private GroupSummary saveGroupSummary(Integer eventCode, Integer teamCode, int stage, GroupSummary groupSummary) {
+        groupSummaryRepository.deleteByTeamCodeAndEventCodeAndStageStep(teamCode, eventCode, stage);
+        GroupSummary saved = groupSummaryRepository.save(groupSummary);
         
-        log.info("Group Summary 생성 완료 - summaryId: {}", groupSummary.getSummaryId());
+        log.info("Group Summary 저장 완료 - summaryId: {}", saved.getSummaryId());
         
-        return groupSummary;
+        return saved;
     }
     
     /**
-     * 4. Operating Expense 생성 및 저장
+     * 4. Operating Expense 저장
      */
-    private List<OperatingExpense> generateAndSaveOperatingExpenses(Integer eventCode, Integer teamCode, int stage, Map<String, Object> allData) {
+    private List<OperatingExpense> saveOperatingExpenses(Integer eventCode, Integer teamCode, int stage, Map<String, Object> allData) {
         log.info("Operating Expense 생성 시작");
         
         // 기존 데이터 삭제
@@ -180,7 +208,7 @@ public class StageSummaryGeneratorService {
         @SuppressWarnings("unchecked")
         List<LlmQuestion> questions = (List<LlmQuestion>) allData.get("questions");
         
-        List<OperatingExpense> expenses = new ArrayList<>();
+        List<OperatingExpense> newExpenses = new ArrayList<>();
         
         for (LlmQuestion question : questions) {
             OperatingExpense expense = OperatingExpense.builder()
@@ -191,26 +219,35 @@ public class StageSummaryGeneratorService {
                 .expenseAmount(null) // 일단 NULL
                 .build();
                 
-            expenses.add(operatingExpenseRepository.save(expense));
+            newExpenses.add(expense);
         }
         
+        // 한 번의 batch INSERT 후 생성된 expense_code 포함해 다시 조회
+        batchWriteRepository.insertOperatingExpenses(newExpenses);
+        List<OperatingExpense> expenses = operatingExpenseRepository.findByTeamCodeAndStageStep(teamCode, stage);
+        
         log.info("Operating Expense 생성 완료 - {} 개", expenses.size());
         
         return expenses;
     }
     
     /**
-     * 5. Stage Summary 생성 및 저장
+     * 5. Stage Summary 마크다운 생성 (LLM)
      */
-    private StageSummary generateAndSaveStageSummary(Integer eventCode, Integer teamCode, int stage, GroupSummary groupSummary) {
+    private String generateStageSummaryText(Integer eventCode, int stage, GroupSummary groupSummary) {
         log.info("Stage Summary 생성 시작");
         
-        // 기존 데이터 삭제
-        stageSummaryRepository.deleteByTeamCodeAndEventCodeAndStageStep(teamCode, eventCode, stage);
-        
         // Group Summary 기반으로 마크다운 요약 생성
         String summaryPrompt = createStageSummaryPrompt(stage, groupSummary);
-        String summaryResponse = openAiService.chat(summaryPrompt);
+        return openAiService.chat(summaryPrompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.STAGE_SUMMARY));
+    }
+    
+    /**
+     * Stage Summary 저장 (기존 데이터 덮어쓰기)
+     */
+    private StageSummary saveStageSummary(Integer eventCode, Integer teamCode, int stage, String summaryResponse) {
+        // 기존 데이터 삭제
+        stageSummaryRepository.deleteByTeamCodeAndEventCodeAndStageStep(teamCode, eventCode, stage);
         
         StageSummary stageSummary = StageSummary.builder()
             .eventCode(eventCode)
@@ -319,40 +356,29 @@ public class StageSummaryGeneratorService {
     }
     
     /**
-     * Group Summary 응답 파싱 및 저장
+     * Group Summary 응답 파싱 (저장은 3단계에서)
      */
-    private GroupSummary parseAndSaveGroupSummary(Integer eventCode, Integer teamCode, int stage, String response) {
+    private GroupSummary parseGroupSummary(Integer eventCode, Integer teamCode, int stage, String response) {
         try {
-            // JSON 파싱 (간단한 방법으로 처리)
-            String jsonText = response;
-            if (response.contains("```json")) {
-                jsonText = response.substring(
-                    response.indexOf("```json") + 7,
-                    response.lastIndexOf("```")
-                ).trim();
-            } else if (response.contains("```")) {
-                jsonText = response.substring(
-                    response.indexOf("```") + 3,
-                    response.lastIndexOf("```")
-                ).trim();
-            }
+            LlmJsonDecoder.Decoded<LlmOutputDto.GroupSummaryExtraction> decoded =
+                    llmJsonDecoder.decode(response, LlmOutputDto.GroupSummaryExtraction.class);
+            LlmOutputDto.GroupSummaryExtraction extraction = decoded.value();
             
-            // JSON 수동 파싱 (ObjectMapper 사용 가능하지만 간단하게 처리)
             GroupSummary groupSummary = GroupSummary.builder()
                 .eventCode(eventCode)
                 .teamCode(teamCode)
                 .stageStep(stage)
-                .businessType(extractJsonValue(jsonText, "business_type"))
-                .coreTechnology(extractJsonValue(jsonText, "core_technology"))
-                .revenueModel(extractJsonValue(jsonText, "revenue_model"))
-                .keyAnswers(extractJsonValue(jsonText, "key_answers"))
-                .investmentScale(extractJsonValue(jsonText, "investment_scale"))
-                .strengths(extractJsonValue(jsonText, "strengths"))
-                .weaknesses(extractJsonValue(jsonText, "weaknesses"))
-                .summaryText(extractJsonValue(jsonText, "summary_text"))
+                .businessType(extraction.getBusinessType())
+                .coreTechnology(extraction.getCoreTechnology())
+                .revenueModel(extraction.getRevenueModel())
+                .keyAnswers(extraction.getKeyAnswers())
+                .investmentScale(extraction.getInvestmentScale())
+                .strengths(extraction.getStrengths())
+                .weaknesses(extraction.getWeaknesses())
+                .summaryText(extraction.getSummaryText())
                 .build();
                 
-            return groupSummaryRepository.save(groupSummary);
+            return groupSummary;
             
         } catch (Exception e) {
             log.error("Group Summary 파싱 실패: {}", e.getMessage());
@@ -360,19 +386,4 @@ public class StageSummaryGeneratorService {
             throw new RuntimeException("Group Summary 생성 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
-    
-    /**
-     * JSON에서 값 추출하는 헬퍼 메서드
-     */
-    private String extractJsonValue(String jsonText, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*?)\"";
-        java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher matcher = regex.matcher(jsonText);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return null;
-    }
 }
\ No newline at end of file
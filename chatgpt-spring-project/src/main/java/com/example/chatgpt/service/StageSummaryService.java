@@ -1,13 +1,16 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.example.chatgpt.entity.StageSummary;
 import com.example.chatgpt.repository.StageSummaryRepository;
-import com.example.chatgpt.util.DatabaseLockManager;
+import com.example.chatgpt.util.TransactionRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -19,14 +22,16 @@ import org.springframework.retry.annotation.EnableRetry;
 @Slf4j
 public class StageSummaryService {
     
+    private static final String TX_FLOW = "stage_summary";
+    
     private final StageSummaryRepository stageSummaryRepository;
     private final OpenAiService openAiService;
-    private final DatabaseLockManager lockManager;  // Lock Manager 추가
+    private final TransactionRunner transactionRunner;
     
     /**
-     * Stage 요약본 생성 (데드락 방지 적용)
+     * Stage 요약본 생성
+     * - 기존 요약본 스냅샷 조회 → LLM 호출 (트랜잭션/커넥션/락 없음) → 그사이 변경이 없을 때만 저장
      */
-    @Transactional
     public StageSummary generateStageSummary(
             Integer eventCode,
             Integer teamCode,
@@ -36,18 +41,25 @@ public class StageSummaryService {
         
         log.info("Stage {} 요약본 생성 시작 - teamCode: {}", stageStep, teamCode);
         
-        // 데드락 방지를 위한 Lock 적용
-        return lockManager.executeWithLock(DatabaseLockManager.ServiceType.STAGE_SUMMARY, () -> {
-            try {
-                // 1. ChatGPT 프롬프트 생성
-                String prompt = buildSummaryPrompt(stageStep, businessPlan, stageAnswers);
-                
-                // 2. ChatGPT로 요약본 생성
-                String summaryContent = openAiService.chat(prompt);
-                
-                // 3. 기존 요약본 확인 및 업데이트/생성
+        try {
+            // 1. 기존 요약본 스냅샷 (수정 시각)
+            LocalDateTime snapshot = transactionRunner.read(TX_FLOW, () -> stageSummaryRepository
+                    .findByTeamCodeAndStageStep(teamCode, stageStep)
+                    .map(StageSummary::getUpdatedAt)
+                    .orElse(null));
+            
+            // 2. ChatGPT 프롬프트 생성
+            String prompt = buildSummaryPrompt(stageStep, businessPlan, stageAnswers);
+            
+            // 3. ChatGPT로 요약본 생성
+            String summaryContent = openAiService.chat(prompt, ChatOptions.interactive(eventCode).withCallSite(CallSite.STAGE_SUMMARY));
+            
+            // 4. 기존 요약본 확인 및 업데이트/생성
+            return transactionRunner.write(TX_FLOW, eventCode, teamCode, () -> {
                 StageSummary stageSummary;
                 Optional<StageSummary> existing = stageSummaryRepository.findByTeamCodeAndStageStep(teamCode, stageStep);
+                TransactionRunner.verifyUnchanged("Stage " + stageStep + " 요약본", snapshot,
+                        existing.map(StageSummary::getUpdatedAt).orElse(null));
                 
                 if (existing.isPresent()) {
                     // 기존 요약본 업데이트
@@ -65,14 +77,17 @@ public class StageSummaryService {
                     log.info("새로운 Stage {} 요약본 생성", stageStep);
                 }
                 
-                // 4. 저장
+                // 5. 저장
                 return stageSummaryRepository.save(stageSummary);
-                
-            } catch (Exception e) {
-                log.error("Stage {} 요약본 생성 실패 - teamCode: {}", stageStep, teamCode, e);
-                throw new RuntimeException("요약본 생성 중 오류가 발생했습니다.", e);
-            }
-        });
+            });
+            
+        } catch (TransactionRunner.StaleSnapshotException e) {
+            log.warn("Stage {} 요약본 저장 충돌 - teamCode: {}", stageStep, teamCode);
+            throw e;
+        } catch (Exception e) {
+            log.error("Stage {} 요약본 생성 실패 - teamCode: {}", stageStep, teamCode, e);
+            throw new RuntimeException("요약본 생성 중 오류가 발생했습니다.", e);
+        }
     }
     
     /**
@@ -223,26 +238,22 @@ public class StageSummaryService {
     }
     
     /**
-     * 요약본 삭제 (데드락 방지 적용)
+     * 요약본 삭제 (팀 락 적용)
      */
     @Transactional
     public void deleteStageSummary(Integer teamCode, Integer stageStep) {
-        lockManager.executeWithLock(DatabaseLockManager.ServiceType.STAGE_SUMMARY, () -> {
-            stageSummaryRepository.findByTeamCodeAndStageStep(teamCode, stageStep)
-                .ifPresent(stageSummaryRepository::delete);
-            log.info("Stage {} 요약본 삭제 완료 - teamCode: {}", stageStep, teamCode);
-        });
+        stageSummaryRepository.findByTeamCodeAndStageStep(teamCode, stageStep)
+            .ifPresent(stageSummaryRepository::delete);
+        log.info("Stage {} 요약본 삭제 완료 - teamCode: {}", stageStep, teamCode);
     }
     
     /**
-     * 팀의 모든 요약본 삭제 (데드락 방지 적용)
+     * 팀의 모든 요약본 삭제 (팀 락 적용)
      */
     @Transactional
     public void deleteAllTeamSummaries(Integer teamCode) {
-        lockManager.executeWithLock(DatabaseLockManager.ServiceType.STAGE_SUMMARY, () -> {
-            List<StageSummary> summaries = stageSummaryRepository.findByTeamCodeOrderByStageStep(teamCode);
-            stageSummaryRepository.deleteAll(summaries);
-            log.info("팀 {} 모든 요약본 삭제 완료", teamCode);
-        });
+        List<StageSummary> summaries = stageSummaryRepository.findByTeamCodeOrderByStageStep(teamCode);
+        stageSummaryRepository.deleteAll(summaries);
+        log.info("팀 {} 모든 요약본 삭제 완료", teamCode);
     }
 }
\ No newline at end of file
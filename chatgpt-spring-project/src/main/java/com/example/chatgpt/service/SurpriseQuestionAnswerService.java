@@ -1,5 +1,7 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.dto.ChatOptions;
+import com.example.chatgpt.dto.ChatOptions.CallSite;
 import com.example.chatgpt.dto.surprisequestion.reqDto.SurpriseQuestionSelectionReqDto;
 import com.example.chatgpt.dto.surprisequestion.reqDto.SurpriseQuestionSubjectiveAnswerReqDto;
 import com.example.chatgpt.dto.surprisequestion.respDto.SurpriseQuestionSelectionRespDto;
@@ -14,10 +16,15 @@ import com.example.chatgpt.repository.SurpriseQuestionAnswerRepository;
 import com.example.chatgpt.repository.SurpriseQuestionRepository;
 import com.example.chatgpt.repository.SurpriseQuestionSelectionRepository;
 import com.example.chatgpt.repository.SurpriseQuestionSubjectiveRepository;
+import com.example.chatgpt.util.QuestionSamplingIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,125 +44,125 @@ public class SurpriseQuestionAnswerService {
     private final SurpriseQuestionSubjectiveRepository surpriseQuestionSubjectiveRepository;
     private final GroupSummaryRepository groupSummaryRepository;
     private final OpenAiService openAiService; // ChatGPT API
+    private final TransactionTemplate transactionTemplate;
+    private final PromptBudgeter promptBudgeter;
+    private final QuestionSamplingIndex questionSamplingIndex; // 팀별 답변한 돌발질문 목록 갱신
+    
+    private static final int STAGE_SUMMARY_TOKENS = 6000; // 피드백 프롬프트의 스테이지 요약 토큰 예산
     
     /**
-     * 객관식 돌발질문 답변 선택 및 AI 피드백 생성
+     * 객관식 돌발질문 답변 제출 및 AI 피드백 생성 (비동기)
+     * - 조회/저장은 boundedElastic에서, LLM 대기 중에는 스레드를 점유하지 않음
      */
-    @Transactional
-    public SurpriseQuestionSelectionRespDto submitSurpriseQuestionAnswer(SurpriseQuestionSelectionReqDto request) {
-        try {
-            log.info("객관식 돌발질문 답변 제출 - sqCode: {}, teamCode: {}, answer: {}", 
-                     request.getSqCode(), request.getTeamCode(), request.getSqAnswer());
-            
-            // 1. 돌발질문 정보 조회
-            SurpriseQuestion question = surpriseQuestionRepository.findById(request.getSqCode())
-                .orElseThrow(() -> new RuntimeException("존재하지 않는 돌발질문입니다."));
-            
-            // 2. 팀의 스테이지 요약 조회 (6개가 아니어도 가능)
-            List<GroupSummary> stageSummaries = groupSummaryRepository
-                .findByEventCodeAndTeamCodeOrderByStageStep(request.getEventCode(), request.getTeamCode());
-            
-            log.info("팀 {}의 스테이지 요약 개수: {}개", request.getTeamCode(), stageSummaries.size());
-            
-            // 3. AI 피드백 생성
-            String aiFeedback = generateObjectiveFeedback(question, stageSummaries, request.getSqAnswer());
-            
-            // 4. 답변 저장 (중복 체크 후 덮어쓰기 또는 신규 생성)
-            SurpriseQuestionSelection selection = saveOrUpdateObjectiveSelection(request, aiFeedback);
-            
-            log.info("객관식 돌발질문 답변 저장 완료 - selectionCode: {}", selection.getSqSelectionCode());
-            return SurpriseQuestionSelectionRespDto.from(selection);
-            
-        } catch (Exception e) {
-            log.error("객관식 돌발질문 답변 처리 실패", e);
-            throw new RuntimeException("객관식 돌발질문 답변 처리 실패: " + e.getMessage());
-        }
+    public Mono<SurpriseQuestionSelectionRespDto> submitSurpriseQuestionAnswerAsync(SurpriseQuestionSelectionReqDto request) {
+        return Mono.fromCallable(() -> {
+                    log.info("객관식 돌발질문 답변 제출(비동기) - sqCode: {}, teamCode: {}, answer: {}", 
+                             request.getSqCode(), request.getTeamCode(), request.getSqAnswer());
+                    return loadObjectiveFeedbackPrompt(request);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(prompt -> openAiService.chatAsync(prompt, ChatOptions.interactive(request.getEventCode()).withCallSite(CallSite.MENTORING_FEEDBACK)))
+                .filter(feedback -> !feedback.trim().isEmpty())
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("AI 피드백 생성 실패: 빈 응답")))
+                .publishOn(Schedulers.boundedElastic())
+                .map(feedback -> transactionTemplate.execute(status -> saveOrUpdateObjectiveSelection(request, feedback)))
+                .map(selection -> {
+                    log.info("객관식 돌발질문 답변 저장 완료 - selectionCode: {}", selection.getSqSelectionCode());
+                    return SurpriseQuestionSelectionRespDto.from(selection);
+                })
+                .onErrorMap(e -> {
+                    log.error("객관식 돌발질문 답변 처리 실패", e);
+                    return new RuntimeException("객관식 돌발질문 답변 처리 실패: " + e.getMessage());
+                });
     }
     
     /**
-     * 주관식 돌발질문 답변 제출 및 AI 피드백 생성
+     * 주관식 돌발질문 답변 제출 및 AI 피드백 생성 (비동기)
      */
-    @Transactional
-    public SurpriseQuestionSubjectiveAnswerRespDto submitSubjectiveSurpriseQuestionAnswer(SurpriseQuestionSubjectiveAnswerReqDto request) {
-        try {
-            log.info("주관식 돌발질문 답변 제출 - sqSubjCode: {}, teamCode: {}, answer: {}", 
-                     request.getSqSubjCode(), request.getTeamCode(), request.getAnswerText());
-            
-            // 1. 주관식 돌발질문 정보 조회
-            SurpriseQuestionSubjective question = surpriseQuestionSubjectiveRepository.findById(request.getSqSubjCode())
-                .orElseThrow(() -> new RuntimeException("존재하지 않는 주관식 돌발질문입니다."));
-            
-            // 2. 팀의 스테이지 요약 조회
-            List<GroupSummary> stageSummaries = groupSummaryRepository
-                .findByEventCodeAndTeamCodeOrderByStageStep(request.getEventCode(), request.getTeamCode());
-            
-            log.info("팀 {}의 스테이지 요약 개수: {}개", request.getTeamCode(), stageSummaries.size());
-            
-            // 3. AI 피드백 생성
-            String aiFeedback = generateSubjectiveFeedback(question, stageSummaries, request.getAnswerText());
-            
-            // 4. 답변 저장 (중복 체크 후 덮어쓰기 또는 신규 생성)
-            SurpriseQuestionAnswer answer = saveOrUpdateSubjectiveAnswer(request, aiFeedback);
-            
-            log.info("주관식 돌발질문 답변 저장 완료 - answerCode: {}", answer.getSqAnswerCode());
-            return SurpriseQuestionSubjectiveAnswerRespDto.from(answer);
-            
-        } catch (Exception e) {
-            log.error("주관식 돌발질문 답변 처리 실패", e);
-            throw new RuntimeException("주관식 돌발질문 답변 처리 실패: " + e.getMessage());
-        }
+    public Mono<SurpriseQuestionSubjectiveAnswerRespDto> submitSubjectiveSurpriseQuestionAnswerAsync(SurpriseQuestionSubjectiveAnswerReqDto request) {
+        return Mono.fromCallable(() -> {
+                    log.info("주관식 돌발질문 답변 제출(비동기) - sqSubjCode: {}, teamCode: {}", 
+                             request.getSqSubjCode(), request.getTeamCode());
+                    return loadSubjectiveFeedbackPrompt(request);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(prompt -> openAiService.chatAsync(prompt, ChatOptions.interactive(request.getEventCode()).withCallSite(CallSite.MENTORING_FEEDBACK)))
+                .filter(feedback -> !feedback.trim().isEmpty())
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("AI 피드백 생성 실패: 빈 응답")))
+                .publishOn(Schedulers.boundedElastic())
+                .map(feedback -> transactionTemplate.execute(status -> saveOrUpdateSubjectiveAnswer(request, feedback)))
+                .map(answer -> {
+                    log.info("주관식 돌발질문 답변 저장 완료 - answerCode: {}", answer.getSqAnswerCode());
+                    return SurpriseQuestionSubjectiveAnswerRespDto.from(answer);
+                })
+                .onErrorMap(e -> {
+                    log.error("주관식 돌발질문 답변 처리 실패", e);
+                    return new RuntimeException("주관식 돌발질문 답변 처리 실패: " + e.getMessage());
+                });
     }
     
     /**
-     * 객관식 AI 피드백 생성
+     * 객관식 돌발질문 답변 제출 및 AI 피드백 스트리밍
+     * - 피드백 조각을 생성되는 대로 방출, 스트림이 정상 종료되면 전체 피드백 저장 (중간 오류 시 기존 피드백 유지)
+     * - 클라이언트 연결이 끊겨도 생성/저장은 계속 진행
      */
-    private String generateObjectiveFeedback(SurpriseQuestion question, List<GroupSummary> stageSummaries, String selectedAnswer) {
-        try {
-            // 프롬프트 구성
-            String prompt = createObjectiveFeedbackPrompt(question, stageSummaries, selectedAnswer);
-            
-            log.info("객관식 AI 피드백 생성 요청 - 질문: {}", question.getCardTitle());
-            
-            // ChatGPT API 호출 (OpenAiService 사용)
-            String feedback = openAiService.chat(prompt);
-            
-            if (feedback == null || feedback.trim().isEmpty()) {
-                throw new RuntimeException("AI 피드백 생성 실패: 빈 응답");
-            }
-            
-            log.info("객관식 AI 피드백 생성 완료 - 길이: {}자", feedback.length());
-            return feedback;
-            
-        } catch (Exception e) {
-            log.error("객관식 AI 피드백 생성 중 오류 발생", e);
-            throw new RuntimeException("객관식 AI 피드백 생성 실패: " + e.getMessage());
-        }
+    public Flux<String> streamSurpriseQuestionAnswer(SurpriseQuestionSelectionReqDto request) {
+        return Mono.fromCallable(() -> {
+                    log.info("객관식 돌발질문 답변 제출(스트리밍) - sqCode: {}, teamCode: {}, answer: {}", 
+                             request.getSqCode(), request.getTeamCode(), request.getSqAnswer());
+                    return loadObjectiveFeedbackPrompt(request);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(prompt -> openAiService.chatStreamAndThen(prompt, ChatOptions.interactive(request.getEventCode()).withCallSite(CallSite.MENTORING_FEEDBACK), feedback -> {
+                    SurpriseQuestionSelection selection = transactionTemplate.execute(
+                        status -> saveOrUpdateObjectiveSelection(request, feedback));
+                    log.info("객관식 돌발질문 스트리밍 피드백 저장 완료 - selectionCode: {}, 길이: {}자", 
+                             selection.getSqSelectionCode(), feedback.length());
+                }));
     }
     
     /**
-     * 주관식 AI 피드백 생성
+     * 주관식 돌발질문 답변 제출 및 AI 피드백 스트리밍
      */
-    private String generateSubjectiveFeedback(SurpriseQuestionSubjective question, List<GroupSummary> stageSummaries, String answerText) {
-        try {
-            // 프롬프트 구성
-            String prompt = createSubjectiveFeedbackPrompt(question, stageSummaries, answerText);
-            
-            log.info("주관식 AI 피드백 생성 요청 - 질문: {}", question.getCardTitle());
-            
-            // ChatGPT API 호출 (OpenAiService 사용)
-            String feedback = openAiService.chat(prompt);
-            
-            if (feedback == null || feedback.trim().isEmpty()) {
-                throw new RuntimeException("AI 피드백 생성 실패: 빈 응답");
-            }
-            
-            log.info("주관식 AI 피드백 생성 완료 - 길이: {}자", feedback.length());
-            return feedback;
-            
-        } catch (Exception e) {
-            log.error("주관식 AI 피드백 생성 중 오류 발생", e);
-            throw new RuntimeException("주관식 AI 피드백 생성 실패: " + e.getMessage());
-        }
+    public Flux<String> streamSubjectiveSurpriseQuestionAnswer(SurpriseQuestionSubjectiveAnswerReqDto request) {
+        return Mono.fromCallable(() -> {
+                    log.info("주관식 돌발질문 답변 제출(스트리밍) - sqSubjCode: {}, teamCode: {}", 
+                             request.getSqSubjCode(), request.getTeamCode());
+                    return loadSubjectiveFeedbackPrompt(request);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(prompt -> openAiService.chatStreamAndThen(prompt, ChatOptions.interactive(request.getEventCode()).withCallSite(CallSite.MENTORING_FEEDBACK), feedback -> {
+                    SurpriseQuestionAnswer answer = transactionTemplate.execute(
+                        status -> saveOrUpdateSubjectiveAnswer(request, feedback));
+                    log.info("주관식 돌발질문 스트리밍 피드백 저장 완료 - answerCode: {}, 길이: {}자", 
+                             answer.getSqAnswerCode(), feedback.length());
+                }));
+    }
+    
+    /**
+     * 객관식 피드백 프롬프트 준비 (질문 + 팀 스테이지 요약 조회)
+     */
+    private String loadObjectiveFeedbackPrompt(SurpriseQuestionSelectionReqDto request) {
+        SurpriseQuestion question = surpriseQuestionRepository.findById(request.getSqCode())
+            .orElseThrow(() -> new RuntimeException("존재하지 않는 돌발질문입니다."));
+        List<GroupSummary> stageSummaries = groupSummaryRepository
+            .findByEventCodeAndTeamCodeOrderByStageStep(request.getEventCode(), request.getTeamCode());
+        
+        log.info("팀 {}의 스테이지 요약 개수: {}개", request.getTeamCode(), stageSummaries.size());
+        return createObjectiveFeedbackPrompt(question, stageSummaries, request.getSqAnswer());
+    }
+    
+    /**
+     * 주관식 피드백 프롬프트 준비 (질문 + 팀 스테이지 요약 조회)
+     */
+    private String loadSubjectiveFeedbackPrompt(SurpriseQuestionSubjectiveAnswerReqDto request) {
+        SurpriseQuestionSubjective question = surpriseQuestionSubjectiveRepository.findById(request.getSqSubjCode())
+            .orElseThrow(() -> new RuntimeException("존재하지 않는 주관식 돌발질문입니다."));
+        List<GroupSummary> stageSummaries = groupSummaryRepository
+            .findByEventCodeAndTeamCodeOrderByStageStep(request.getEventCode(), request.getTeamCode());
+        
+        log.info("팀 {}의 스테이지 요약 개수: {}개", request.getTeamCode(), stageSummaries.size());
+        return createSubjectiveFeedbackPrompt(question, stageSummaries, request.getAnswerText());
     }
     
     /**
@@ -171,11 +178,7 @@ public class SurpriseQuestionAnswerService {
         if (stageSummaries.isEmpty()) {
             prompt.append("**현재 사업 정보 없음** - 초기 단계 팀으로 추정됩니다.\n\n");
         } else {
-            for (GroupSummary summary : stageSummaries) {
-                if (summary.getSummaryText() != null && !summary.getSummaryText().trim().isEmpty()) {
-                    prompt.append(String.format("**%d단계**: %s\n\n", summary.getStageStep(), summary.getSummaryText()));
-                }
-            }
+            appendStageSummaries(prompt, stageSummaries);
         }
         
         // 2. 돌발질문 상황
@@ -242,11 +245,7 @@ public class SurpriseQuestionAnswerService {
         if (stageSummaries.isEmpty()) {
             prompt.append("**현재 사업 정보 없음** - 초기 단계 팀으로 추정됩니다.\n\n");
         } else {
-            for (GroupSummary summary : stageSummaries) {
-                if (summary.getSummaryText() != null && !summary.getSummaryText().trim().isEmpty()) {
-                    prompt.append(String.format("**%d단계**: %s\n\n", summary.getStageStep(), summary.getSummaryText()));
-                }
-            }
+            appendStageSummaries(prompt, stageSummaries);
         }
         
         // 2. 돌발질문 상황
@@ -296,6 +295,23 @@ public class SurpriseQuestionAnswerService {
         return prompt.toString();
     }
     
+    /**
+     * 스테이지 요약 추가 (요약 전체를 토큰 예산 안에서 스테이지별로 균등 분배)
+     */
+    private void appendStageSummaries(StringBuilder prompt, List<GroupSummary> stageSummaries) {
+        List<GroupSummary> validSummaries = stageSummaries.stream()
+            .filter(summary -> summary.getSummaryText() != null && !summary.getSummaryText().trim().isEmpty())
+            .collect(Collectors.toList());
+        
+        List<String> fitted = promptBudgeter.fitSections(STAGE_SUMMARY_TOKENS, validSummaries.stream()
+            .map(summary -> new PromptBudgeter.Section(summary.getStageStep() + "단계 요약", summary.getSummaryText(), 1))
+            .collect(Collectors.toList()));
+        
+        for (int i = 0; i < validSummaries.size(); i++) {
+            prompt.append(String.format("**%d단계**: %s\n\n", validSummaries.get(i).getStageStep(), fitted.get(i)));
+        }
+    }
+    
     /**
      * 객관식 답변 저장 또는 업데이트
      */
@@ -323,7 +339,9 @@ public class SurpriseQuestionAnswerService {
                 .build();
             
             log.info("신규 객관식 돌발질문 답변 생성");
-            return surpriseQuestionSelectionRepository.save(newSelection);
+            SurpriseQuestionSelection saved = surpriseQuestionSelectionRepository.save(newSelection);
+            questionSamplingIndex.markSurpriseAnswered(request.getTeamCode(), request.getSqCode());
+            return saved;
         }
     }
     
@@ -354,7 +372,9 @@ public class SurpriseQuestionAnswerService {
                 .build();
             
             log.info("신규 주관식 돌발질문 답변 생성");
-            return surpriseQuestionAnswerRepository.save(newAnswer);
+            SurpriseQuestionAnswer saved = surpriseQuestionAnswerRepository.save(newAnswer);
+            questionSamplingIndex.markSubjectiveAnswered(request.getTeamCode(), request.getSqSubjCode());
+            return saved;
         }
     }
 }
\ No newline at end of file
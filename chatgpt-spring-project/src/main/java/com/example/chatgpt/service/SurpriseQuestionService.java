@@ -1,5 +1,6 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.config.QuestionSamplingConfig;
 import com.example.chatgpt.dto.surprisequestion.respDto.SurpriseQuestionListDto;
 import com.example.chatgpt.dto.surprisequestion.respDto.SurpriseQuestionListRespDto;
 import com.example.chatgpt.dto.surprisequestion.respDto.SurpriseQuestionRespDto;
@@ -16,6 +17,7 @@ import com.example.chatgpt.repository.SurpriseQuestionAnswerRepository;
 import com.example.chatgpt.repository.SurpriseQuestionRepository;
 import com.example.chatgpt.repository.SurpriseQuestionSelectionRepository;
 import com.example.chatgpt.repository.SurpriseQuestionSubjectiveRepository;
+import com.example.chatgpt.util.QuestionSamplingIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,8 +25,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.retry.annotation.EnableRetry;
 
 @EnableRetry
@@ -39,7 +44,8 @@ public class SurpriseQuestionService {
     private final SurpriseQuestionSelectionRepository surpriseQuestionSelectionRepository;
     private final SurpriseQuestionAnswerRepository surpriseQuestionAnswerRepository;
     private final RevenueModelRepository revenueModelRepository;
-    private final Random random = new Random();
+    private final QuestionSamplingIndex questionSamplingIndex;
+    private final QuestionSamplingConfig questionSamplingConfig;
     
     /**
      * 객관식 돌발질문 목록 조회 (답변 + 질문 정보)
@@ -59,12 +65,16 @@ public class SurpriseQuestionService {
             
             List<SurpriseQuestionListDto> resultList = new ArrayList<>();
             
-            // 2. 각 답변에 대해 질문 정보와 조인
+            // 2. 답변한 질문 정보 일괄 조회 (IN 조회 1회) 후 조인
+            Map<Integer, SurpriseQuestion> questions = surpriseQuestionRepository
+                .findAllById(selections.stream().map(SurpriseQuestionSelection::getSqCode).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(SurpriseQuestion::getSqCode, Function.identity()));
+            
             for (SurpriseQuestionSelection selection : selections) {
-                Optional<SurpriseQuestion> questionOpt = surpriseQuestionRepository.findById(selection.getSqCode());
+                SurpriseQuestion question = questions.get(selection.getSqCode());
                 
-                if (questionOpt.isPresent()) {
-                    SurpriseQuestion question = questionOpt.get();
+                if (question != null) {
                     SurpriseQuestionListDto dto = SurpriseQuestionListDto.from(selection, question);
                     resultList.add(dto);
                 } else {
@@ -99,12 +109,16 @@ public class SurpriseQuestionService {
             
             List<SurpriseQuestionSubjectiveListDto> resultList = new ArrayList<>();
             
-            // 2. 각 답변에 대해 질문 정보와 조인
+            // 2. 답변한 질문 정보 일괄 조회 (IN 조회 1회) 후 조인
+            Map<Integer, SurpriseQuestionSubjective> questions = surpriseQuestionSubjectiveRepository
+                .findAllById(answers.stream().map(SurpriseQuestionAnswer::getSqSubjCode).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(SurpriseQuestionSubjective::getSqSubjCode, Function.identity()));
+            
             for (SurpriseQuestionAnswer answer : answers) {
-                Optional<SurpriseQuestionSubjective> questionOpt = surpriseQuestionSubjectiveRepository.findById(answer.getSqSubjCode());
+                SurpriseQuestionSubjective question = questions.get(answer.getSqSubjCode());
                 
-                if (questionOpt.isPresent()) {
-                    SurpriseQuestionSubjective question = questionOpt.get();
+                if (question != null) {
                     SurpriseQuestionSubjectiveListDto dto = SurpriseQuestionSubjectiveListDto.from(answer, question);
                     resultList.add(dto);
                 } else {
@@ -137,16 +151,14 @@ public class SurpriseQuestionService {
             Integer revenueCategory = revenueModel.getRevenueCategory();
             log.info("팀 {}의 수익모델 카테고리: {}", teamCode, revenueCategory);
             
-            // 2. 해당 카테고리의 객관식 돌발질문 목록 조회
-            List<SurpriseQuestion> questions = surpriseQuestionRepository.findByCategoryCode(revenueCategory);
-            
-            if (questions.isEmpty()) {
-                throw new RuntimeException("해당 카테고리(" + revenueCategory + ")의 객관식 돌발질문이 없습니다.");
-            }
-            
-            // 3. 랜덤으로 질문 선택
-            int randomIndex = random.nextInt(questions.size());
-            SurpriseQuestion selectedQuestion = questions.get(randomIndex);
+            // 2~3. 카테고리 ID 인덱스에서 랜덤 선택 (이미 답한 질문 제외) 후 한 건 조회
+            Set<Integer> answered = questionSamplingConfig.getExcludeAnswered()
+                ? questionSamplingIndex.answeredSurprise(teamCode)
+                : Set.of();
+            SurpriseQuestion selectedQuestion = questionSamplingIndex.fetch(
+                    () -> questionSamplingIndex.sampleSurprise(revenueCategory, answered),
+                    surpriseQuestionRepository::findById)
+                .orElseThrow(() -> new RuntimeException("해당 카테고리(" + revenueCategory + ")의 객관식 돌발질문이 없습니다."));
             
             log.info("객관식 돌발질문 선택 완료 - sqCode: {}, 카테고리: {}, 제목: {}", 
                      selectedQuestion.getSqCode(), revenueCategory, selectedQuestion.getCardTitle());
@@ -176,16 +188,14 @@ public class SurpriseQuestionService {
             Integer revenueCategory = revenueModel.getRevenueCategory();
             log.info("팀 {}의 수익모델 카테고리: {}", teamCode, revenueCategory);
             
-            // 2. 해당 카테고리의 주관식 돌발질문 목록 조회
-            List<SurpriseQuestionSubjective> questions = surpriseQuestionSubjectiveRepository.findByCategoryCode(revenueCategory);
-            
-            if (questions.isEmpty()) {
-                throw new RuntimeException("해당 카테고리(" + revenueCategory + ")의 주관식 돌발질문이 없습니다.");
-            }
-            
-            // 3. 랜덤으로 질문 선택
-            int randomIndex = random.nextInt(questions.size());
-            SurpriseQuestionSubjective selectedQuestion = questions.get(randomIndex);
+            // 2~3. 카테고리 ID 인덱스에서 랜덤 선택 (이미 답한 질문 제외) 후 한 건 조회
+            Set<Integer> answered = questionSamplingConfig.getExcludeAnswered()
+                ? questionSamplingIndex.answeredSubjective(teamCode)
+                : Set.of();
+            SurpriseQuestionSubjective selectedQuestion = questionSamplingIndex.fetch(
+                    () -> questionSamplingIndex.sampleSubjective(revenueCategory, answered),
+                    surpriseQuestionSubjectiveRepository::findById)
+                .orElseThrow(() -> new RuntimeException("해당 카테고리(" + revenueCategory + ")의 주관식 돌발질문이 없습니다."));
             
             log.info("주관식 돌발질문 선택 완료 - sqSubjCode: {}, 카테고리: {}, 제목: {}", 
                      selectedQuestion.getSqSubjCode(), revenueCategory, selectedQuestion.getCardTitle());
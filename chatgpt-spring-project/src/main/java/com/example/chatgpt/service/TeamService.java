@@ -1,5 +1,6 @@
 package com.example.chatgpt.service;
 
+import com.example.chatgpt.aspect.RetryOnConflict;
 import com.example.chatgpt.dto.team.reqDto.TeamCreateReqDto;
 import com.example.chatgpt.dto.team.reqDto.TeamUpdateReqDto;
 import com.example.chatgpt.dto.team.respDto.TeamSelectRespDto;
@@ -7,6 +8,7 @@ import com.example.chatgpt.entity.Event;
 import com.example.chatgpt.entity.TeamDtl;
 import com.example.chatgpt.entity.TeamMst;
 import com.example.chatgpt.entity.CompanyCapabilityScore;
+import com.example.chatgpt.repository.BatchWriteRepository;
 import com.example.chatgpt.repository.EventRepository;
 import com.example.chatgpt.repository.TeamDtlRepository;
 import com.example.chatgpt.repository.TeamMstRepository;
@@ -34,6 +36,7 @@ public class TeamService {
     
     private final TeamMstRepository teamMstRepository;
     private final TeamDtlRepository teamDtlRepository;
+    private final BatchWriteRepository batchWriteRepository;
     private final EventRepository eventRepository;
     private final CompanyCapabilityScoreRepository companyCapabilityScoreRepository;
     
@@ -44,6 +47,7 @@ public class TeamService {
      * 팀 생성
      */
     @Transactional
+    @RetryOnConflict
     public TeamMst createTeam(TeamCreateReqDto request) {
         log.info("팀 생성 요청 - eventCode: {}", request.getEventCode());
         
@@ -118,6 +122,7 @@ public class TeamService {
      * 팀 삭제 (팀원도 함께 삭제)
      */
     @Transactional
+    @RetryOnConflict
     public TeamDeleteResult deleteTeam(Integer teamCode) {
         log.info("팀 삭제 요청 - teamCode: {}", teamCode);
         
@@ -244,6 +249,7 @@ public class TeamService {
      * 팀 정보 수정 (TeamMst 수정 + TeamDtl 재생성)
      */
     @Transactional
+    @RetryOnConflict
     public TeamMst updateTeam(TeamUpdateReqDto request) {
         try {
             log.info("팀 정보 수정 요청 - eventCode: {}, teamCode: {}, teamName: {}", 
@@ -275,20 +281,17 @@ public class TeamService {
             
             // 5. 새로운 TeamDtl 생성 (members 배열이 있는 경우)
             if (request.getMembers() != null && !request.getMembers().isEmpty()) {
-                List<TeamDtl> newMembers = new ArrayList<>();
+                List<String> newMembers = new ArrayList<>();
                 
                 for (String memberName : request.getMembers()) {
                     if (memberName != null && !memberName.trim().isEmpty()) {
-                        TeamDtl teamDtl = TeamDtl.builder()
-                            .teamCode(request.getTeamCode())
-                            .teamMemberName(memberName.trim())
-                            .build();
-                        newMembers.add(teamDtl);
+                        newMembers.add(memberName.trim());
                     }
                 }
                 
                 if (!newMembers.isEmpty()) {
-                    teamDtlRepository.saveAll(newMembers);
+                    // 팀원 수만큼 INSERT를 보내지 않도록 batch INSERT
+                    batchWriteRepository.insertTeamMembers(request.getTeamCode(), newMembers);
                     log.info("새 팀원 추가 완료 - teamCode: {}, 추가된 팀원 수: {}", request.getTeamCode(), newMembers.size());
                 }
             }
@@ -0,0 +1,114 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.LockConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 낙관적 락 충돌/데드락 재시도 정책
+ * - 트랜잭션 바깥(가장 바깥 호출)에서만 사용: 재시도마다 새 트랜잭션으로 최신 데이터를 다시 읽음
+ * - 대기: min(상한, 기준 × 2^(n-1)) 의 절반 ~ 전체 사이 무작위 (동시 재시도 분산)
+ * - app.conflict.retries / app.conflict.exhausted 메트릭 (reason: optimistic | deadlock)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConflictRetry {
+
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    private static final String SQLSTATE_SERIALIZATION_FAILURE = "40001";
+
+    private final LockConfig lockConfig;
+    private final MeterRegistry meterRegistry;
+
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T run() throws Throwable;
+    }
+
+    public <T> T call(String operation, Attempt<T> attempt) throws Throwable {
+        int maxAttempts = Math.max(1, lockConfig.getConflictMaxAttempts());
+        for (int attemptNo = 1; ; attemptNo++) {
+            try {
+                return attempt.run();
+            } catch (Throwable e) {
+                String reason = classify(e);
+                if (reason == null) {
+                    throw e;
+                }
+                if (attemptNo >= maxAttempts) {
+                    counter("app.conflict.exhausted", operation, reason).increment();
+                    log.warn("충돌 재시도 한도 초과: {} ({}회, {})", operation, attemptNo, reason);
+                    throw e;
+                }
+
+                long backoffMs = backoffMs(attemptNo);
+                counter("app.conflict.retries", operation, reason).increment();
+                log.warn("충돌 감지, {}ms 후 재시도 ({}/{}): {} - {}",
+                         backoffMs, attemptNo, maxAttempts - 1, operation, e.getMessage());
+                Thread.sleep(backoffMs);
+            }
+        }
+    }
+
+    /**
+     * 예외를 던지지 않는 작업용 (checked 예외는 발생하지 않음)
+     */
+    public <T> T callUnchecked(String operation, Attempt<T> attempt) {
+        try {
+            return call(operation, attempt);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long backoffMs(int attemptNo) {
+        long base = lockConfig.getConflictBackoffMs() << Math.min(attemptNo - 1, 20);
+        long cap = Math.max(1, Math.min(lockConfig.getConflictMaxBackoffMs(), base));
+        return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+
+    /**
+     * 재시도 대상 분류 (원인 체인까지 확인, 서비스에서 RuntimeException으로 감싼 경우 포함)
+     * - 데드락은 예외 타입 또는 SQLException 의 에러 코드/SQLState 로만 판단 (메시지 문자열은 사용하지 않음)
+     * @return optimistic | deadlock, 재시도 대상이 아니면 null
+     */
+    private String classify(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof OptimisticLockingFailureException || t instanceof OptimisticLockException) {
+                return "optimistic";
+            }
+            if (t instanceof PessimisticLockingFailureException || isDeadlock(t)) {
+                return "deadlock";
+            }
+        }
+        return null;
+    }
+
+    private boolean isDeadlock(Throwable t) {
+        if (!(t instanceof SQLException sqlException)) return false;
+
+        return sqlException.getErrorCode() == MYSQL_DEADLOCK ||
+               sqlException.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT ||
+               SQLSTATE_SERIALIZATION_FAILURE.equals(sqlException.getSQLState());
+    }
+
+    private Counter counter(String name, String operation, String reason) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.LockConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 행사/팀 단위 스트라이프 락 저장소
+ * - 팀 작업: 행사 읽기 락 + 팀 락 → 다른 팀과는 완전히 병렬, 같은 팀끼리만 순차
+ * - 행사 전체 작업 (teamCode 없음): 행사 쓰기 락 → 해당 행사의 팀 작업과만 순차
+ * - 획득 순서는 항상 행사 → 팀이라 스트라이프 충돌이 있어도 교착되지 않음
+ * - app.lock.wait(대기 시간), app.lock.contended(즉시 획득 실패), app.lock.timeouts, app.lock.held 메트릭
+ */
+@Component
+@Slf4j
+public class KeyedLockRegistry {
+
+    private final LockConfig lockConfig;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantReadWriteLock[] eventLocks;
+    private final ReentrantLock[] teamLocks;
+    private final AtomicInteger heldCount = new AtomicInteger();
+    private final ThreadLocal<Handle> current = new ThreadLocal<>();
+
+    public KeyedLockRegistry(LockConfig lockConfig, MeterRegistry meterRegistry) {
+        this.lockConfig = lockConfig;
+        this.meterRegistry = meterRegistry;
+        this.eventLocks = new ReentrantReadWriteLock[lockConfig.getEventStripes()];
+        for (int i = 0; i < eventLocks.length; i++) {
+            eventLocks[i] = new ReentrantReadWriteLock();
+        }
+        this.teamLocks = new ReentrantLock[lockConfig.getTeamStripes()];
+        for (int i = 0; i < teamLocks.length; i++) {
+            teamLocks[i] = new ReentrantLock();
+        }
+        Gauge.builder("app.lock.held", heldCount, AtomicInteger::get)
+                .description("행사/팀 락을 보유 중인 작업 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(lockConfig.getEnabled());
+    }
+
+    /**
+     * 현재 스레드가 이미 행사/팀 락을 보유 중인지 (중첩 트랜잭션은 바깥 락을 그대로 사용)
+     */
+    public boolean isHeldByCurrentThread() {
+        return current.get() != null;
+    }
+
+    /**
+     * 행사/팀 락 획득 (둘 다 null이면 락 없이 빈 핸들 반환)
+     * - 반환된 핸들을 try-with-resources로 닫아 해제
+     * @throws LockTimeoutException 최대 대기 시간 내 획득 실패
+     */
+    public Handle acquire(Integer eventCode, Integer teamCode) {
+        Deque<Lock> acquired = new ArrayDeque<>();
+        try {
+            if (eventCode != null) {
+                ReentrantReadWriteLock eventLock = eventLocks[stripe(eventCode, eventLocks.length)];
+                if (teamCode != null) {
+                    lock(eventLock.readLock(), "event", "read", acquired);
+                } else {
+                    lock(eventLock.writeLock(), "event", "write", acquired);
+                }
+            }
+            if (teamCode != null) {
+                lock(teamLocks[stripe(teamCode, teamLocks.length)], "team", "write", acquired);
+            }
+        } catch (RuntimeException e) {
+            acquired.forEach(Lock::unlock);
+            throw e;
+        }
+
+        Handle handle = new Handle(acquired);
+        if (!acquired.isEmpty()) {
+            current.set(handle);
+            heldCount.incrementAndGet();
+        }
+        return handle;
+    }
+
+    private void lock(Lock lock, String scope, String mode, Deque<Lock> acquired) {
+        if (lock.tryLock()) {
+            acquired.push(lock);
+            return;
+        }
+
+        Counter.builder("app.lock.contended")
+                .description("즉시 획득하지 못하고 대기한 락 요청 수")
+                .tag("scope", scope)
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean locked;
+        try {
+            locked = lock.tryLock(lockConfig.getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockTimeoutException("락 대기 중 인터럽트: " + scope);
+        } finally {
+            sample.stop(Timer.builder("app.lock.wait")
+                    .description("락 경합 시 대기 시간")
+                    .tag("scope", scope)
+                    .tag("mode", mode)
+                    .register(meterRegistry));
+        }
+
+        if (!locked) {
+            Counter.builder("app.lock.timeouts")
+                    .description("최대 대기 시간 내 획득하지 못한 락 요청 수")
+                    .tag("scope", scope)
+                    .register(meterRegistry)
+                    .increment();
+            throw new LockTimeoutException("⏰ 같은 " + ("team".equals(scope) ? "팀" : "행사")
+                    + "의 다른 작업이 진행 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        acquired.push(lock);
+    }
+
+    private int stripe(Integer key, int stripes) {
+        return Math.floorMod(key.hashCode(), stripes);
+    }
+
+    /**
+     * 보유 중인 락 묶음 (획득 역순으로 해제)
+     */
+    public final class Handle implements AutoCloseable {
+
+        private final Deque<Lock> locks;
+
+        private Handle(Deque<Lock> locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            if (locks.isEmpty()) {
+                return;
+            }
+            while (!locks.isEmpty()) {
+                locks.pop().unlock();
+            }
+            current.remove();
+            heldCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 락 대기 시간 초과
+     */
+    public static class LockTimeoutException extends RuntimeException {
+        public LockTimeoutException(String message) {
+            super(message);
+        }
+    }
+}
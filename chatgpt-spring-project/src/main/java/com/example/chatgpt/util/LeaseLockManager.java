@@ -0,0 +1,259 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.LockConfig;
+import com.example.chatgpt.entity.JobLease;
+import com.example.chatgpt.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 리스 락 (관리자 일괄 작업의 인스턴스 간 중복 실행 방지)
+ * - 키: (operation, eventCode, stage), job_lease 테이블 한 행이 곧 락
+ * - 획득: INSERT (PK 중복이면 보유 중) → 만료된 행만 조건부 UPDATE로 인수
+ * - 보유 중에는 heartbeat 스레드가 expires_at 연장, 인스턴스가 죽으면 만료 후 인수 가능
+ * - expires_at 계산과 만료 비교는 DB 시계로만 (인스턴스 시계가 앞서도 살아 있는 리스를 인수하지 않음)
+ * - 리스 관련 쓰기는 모두 별도 트랜잭션(REQUIRES_NEW)으로 즉시 커밋 → 다른 인스턴스에 바로 보임
+ * - app.lease.acquired / app.lease.rejected / app.lease.lost 메트릭
+ */
+@Component
+@Slf4j
+public class LeaseLockManager {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final LockConfig lockConfig;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate leaseTemplate;
+    private final ScheduledExecutorService heartbeatExecutor;
+    private final String instanceId;
+
+    public LeaseLockManager(JobLeaseRepository jobLeaseRepository,
+                            LockConfig lockConfig,
+                            MeterRegistry meterRegistry,
+                            PlatformTransactionManager transactionManager) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.lockConfig = lockConfig;
+        this.meterRegistry = meterRegistry;
+        this.leaseTemplate = new TransactionTemplate(transactionManager);
+        this.leaseTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.instanceId = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    /**
+     * 리스 획득 (반환된 리스를 try-with-resources로 닫아 해제)
+     * @throws LeaseHeldException 다른 요청/인스턴스가 같은 작업을 실행 중
+     */
+    public Lease acquire(String operation, Integer eventCode, Integer stage) {
+        String leaseKey = operation + ":" + eventCode + ":" + stage;
+        String owner = instanceId + "/" + UUID.randomUUID().toString().substring(0, 8);
+        String progress = "시작";
+
+        if (!tryAcquire(leaseKey, operation, eventCode, stage, owner, progress)) {
+            counter("app.lease.rejected", operation).increment();
+            JobLease current = find(leaseKey).orElse(null);
+            log.warn("이미 실행 중인 작업 - key: {}, owner: {}", leaseKey, current != null ? current.getOwner() : "-");
+            throw new LeaseHeldException(current);
+        }
+
+        counter("app.lease.acquired", operation).increment();
+        log.info("작업 리스 획득 - key: {}, owner: {}", leaseKey, owner);
+
+        Lease lease = new Lease(leaseKey, operation, owner, progress);
+        long heartbeatMs = lockConfig.getLeaseHeartbeatMs();
+        lease.heartbeat = heartbeatExecutor.scheduleWithFixedDelay(lease::renew, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        return lease;
+    }
+
+    /**
+     * 현재 실행 중인 작업 상태 (만료된 리스는 실행 중이 아님)
+     */
+    public Optional<JobLease> findRunning(String operation, Integer eventCode, Integer stage) {
+        String leaseKey = operation + ":" + eventCode + ":" + stage;
+        return leaseTemplate.execute(status -> jobLeaseRepository.findLive(leaseKey));
+    }
+
+    private boolean tryAcquire(String leaseKey, String operation, Integer eventCode, Integer stage,
+                               String owner, String progress) {
+        try {
+            leaseTemplate.executeWithoutResult(status -> jobLeaseRepository.insertLease(
+                    leaseKey, operation, eventCode, stage, owner, progress, ttlMicros()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // 이미 행이 있음 → 만료된 경우에만 인수
+        }
+        Integer updated = leaseTemplate.execute(status ->
+                jobLeaseRepository.takeOverExpired(leaseKey, owner, progress, ttlMicros()));
+        if (updated != null && updated == 1) {
+            log.warn("만료된 작업 리스 인수 - key: {} (이전 보유 인스턴스 응답 없음)", leaseKey);
+            return true;
+        }
+        return false;
+    }
+
+    private Optional<JobLease> find(String leaseKey) {
+        return leaseTemplate.execute(status -> jobLeaseRepository.findById(leaseKey));
+    }
+
+    private long ttlMicros() {
+        return TimeUnit.MILLISECONDS.toMicros(lockConfig.getLeaseTtlMs());
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 보유 중인 리스
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String leaseKey;
+        private final String operation;
+        private final String owner;
+        private volatile String progress;
+        private volatile boolean lost;
+        private volatile ScheduledFuture<?> heartbeat;
+
+        private Lease(String leaseKey, String operation, String owner, String progress) {
+            this.leaseKey = leaseKey;
+            this.operation = operation;
+            this.owner = owner;
+            this.progress = progress;
+        }
+
+        /**
+         * 진행 상황 갱신 (중복 요청에 그대로 노출, 리스도 함께 연장)
+         */
+        public void progress(String progress) {
+            this.progress = progress;
+            renew();
+        }
+
+        /**
+         * 결과 저장 직전 리스 보유 확인 (만료되어 다른 인스턴스가 인수했다면 저장하지 않음)
+         * @throws LeaseLostException 리스를 잃은 경우
+         */
+        public void verifyHeld() {
+            renew();
+            if (lost) {
+                throw new LeaseLostException("작업 리스가 만료되어 다른 서버가 작업을 인수했습니다. 결과를 저장하지 않습니다.");
+            }
+        }
+
+        private void renew() {
+            if (lost) {
+                return;
+            }
+            try {
+                Integer updated = leaseTemplate.execute(status ->
+                        jobLeaseRepository.renew(leaseKey, owner, progress, ttlMicros()));
+                if (updated == null || updated == 0) {
+                    lost = true;
+                    cancelHeartbeat();
+                    counter("app.lease.lost", operation).increment();
+                    log.warn("작업 리스 상실 - key: {}, owner: {}", leaseKey, owner);
+                }
+            } catch (RuntimeException e) {
+                // 일시적인 DB 오류는 다음 heartbeat에서 재시도 (만료 전까지는 보유 유지)
+                log.warn("작업 리스 연장 실패 - key: {}: {}", leaseKey, e.getMessage());
+            }
+        }
+
+        private void cancelHeartbeat() {
+            ScheduledFuture<?> future = heartbeat;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        /**
+         * 리스 해제 (트랜잭션 안이면 커밋/롤백 이후 해제 → 결과가 보이기 전에 다음 실행이 시작되지 않음)
+         */
+        @Override
+        public void close() {
+            cancelHeartbeat();
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        release();
+                    }
+                });
+            } else {
+                release();
+            }
+        }
+
+        private void release() {
+            try {
+                leaseTemplate.executeWithoutResult(status -> jobLeaseRepository.release(leaseKey, owner));
+                log.info("작업 리스 해제 - key: {}", leaseKey);
+            } catch (RuntimeException e) {
+                // 해제 실패 시에도 만료 시간이 지나면 다른 요청이 인수 가능
+                log.warn("작업 리스 해제 실패 - key: {}: {}", leaseKey, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 같은 작업이 이미 실행 중 (현재 진행 상황 포함)
+     */
+    public static class LeaseHeldException extends RuntimeException {
+
+        private final transient JobLease current;
+
+        public LeaseHeldException(JobLease current) {
+            super(current == null
+                    ? "이미 실행 중인 작업입니다. 잠시 후 다시 시도해주세요."
+                    : String.format("이미 실행 중인 작업입니다. (진행: %s, 시작: %s, 서버: %s)",
+                                    current.getProgress(),
+                                    current.getAcquiredAt() != null ? current.getAcquiredAt().format(TIME_FORMAT) : "-",
+                                    current.getOwner()));
+            this.current = current;
+        }
+
+        public JobLease getCurrent() {
+            return current;
+        }
+    }
+
+    /**
+     * 작업 도중 리스 상실
+     */
+    public static class LeaseLostException extends RuntimeException {
+        public LeaseLostException(String message) {
+            super(message);
+        }
+    }
+}
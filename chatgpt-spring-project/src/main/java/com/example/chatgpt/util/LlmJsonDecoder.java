@@ -0,0 +1,163 @@
+package com.example.chatgpt.util;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LLM 응답 JSON 디코더 (공용)
+ * - 응답에서 JSON 시작 위치를 한 번만 찾고, 그 위치부터 Jackson으로 바로 읽음 (코드블록/앞뒤 설명 무시)
+ * - 문법/타입 오류는 JSON 경로와 함께 LlmOutputException
+ * - Bean Validation 제약 위반은 경로별 Violation 목록으로 반환 → 호출부에서 해당 필드만 보정
+ */
+@Component
+@Slf4j
+public class LlmJsonDecoder {
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public LlmJsonDecoder(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * 타입 지정 디코딩 + 제약 검증
+     */
+    public <T> Decoded<T> decode(String response, Class<T> type) {
+        T value = read(response, objectMapper.constructType(type));
+        List<Violation> violations = validator.validate(value).stream()
+                .map(violation -> new Violation(violation.getPropertyPath().toString(), violation.getMessage()))
+                .sorted(Comparator.comparing(Violation::path))
+                .toList();
+
+        if (!violations.isEmpty()) {
+            log.warn("LLM 응답 스키마 위반 {}건 ({}): {}", violations.size(), type.getSimpleName(), violations);
+        }
+        return new Decoded<>(value, violations);
+    }
+
+    /**
+     * 스키마가 고정되지 않은 응답용 (Map)
+     */
+    public Map<String, Object> decodeMap(String response) {
+        return read(response, objectMapper.getTypeFactory().constructType(new TypeReference<Map<String, Object>>() {}));
+    }
+
+    private <T> T read(String response, JavaType type) {
+        if (response == null) {
+            throw new LlmOutputException("LLM 응답이 비어 있습니다.", List.of());
+        }
+        int start = response.indexOf('{');
+        if (start < 0) {
+            throw new LlmOutputException("LLM 응답에서 JSON을 찾을 수 없습니다.", List.of());
+        }
+
+        // JSON 값 하나만 읽고 멈추므로 뒤쪽 ``` 나 설명 문장은 읽지 않음
+        try (Reader reader = new StringReader(response)) {
+            reader.skip(start);
+            T value = objectMapper.readValue(reader, type);
+            if (value == null) {
+                throw new LlmOutputException("LLM 응답 JSON이 null 입니다.", List.of());
+            }
+            return value;
+        } catch (JsonEOFException e) {
+            throw new LlmOutputException("LLM 응답 JSON이 중간에 잘렸습니다. (max_tokens 확인, 응답 길이: "
+                    + response.length() + "자)", List.of(new Violation(location(e.getLocation()), "unexpected end")), e);
+        } catch (JsonMappingException e) {
+            String path = e.getPathReference() != null ? e.getPathReference() : "$";
+            throw new LlmOutputException("LLM 응답 JSON 타입 오류: " + path,
+                    List.of(new Violation(path, e.getOriginalMessage())), e);
+        } catch (JsonProcessingException e) {
+            throw new LlmOutputException("LLM 응답 JSON 문법 오류: " + location(e.getLocation()),
+                    List.of(new Violation(location(e.getLocation()), e.getOriginalMessage())), e);
+        } catch (IOException e) {
+            throw new LlmOutputException("LLM 응답 읽기 실패: " + e.getMessage(), List.of(), e);
+        }
+    }
+
+    private String location(JsonLocation location) {
+        return location == null ? "$" : "line " + location.getLineNr() + ", column " + location.getColumnNr();
+    }
+
+    /**
+     * 제약 위반 (JSON 경로 + 사유)
+     */
+    public record Violation(String path, String message) {
+        @Override
+        public String toString() {
+            return path + ": " + message;
+        }
+    }
+
+    /**
+     * 디코딩 결과 (값 + 제약 위반 목록)
+     */
+    public record Decoded<T>(T value, List<Violation> violations) {
+
+        public boolean isValid() {
+            return violations.isEmpty();
+        }
+
+        /**
+         * 해당 경로(또는 하위 경로)에 위반이 있는지
+         */
+        public boolean hasViolation(String path) {
+            return violations.stream().anyMatch(v -> v.path().equals(path) || v.path().startsWith(path + ".")
+                    || v.path().startsWith(path + "["));
+        }
+
+        /**
+         * 하위 객체 결과 (해당 경로 아래 위반만, 경로는 하위 객체 기준으로 변환)
+         */
+        public <U> Decoded<U> section(String path, U sectionValue) {
+            String prefix = path + ".";
+            return new Decoded<>(sectionValue, violations.stream()
+                    .filter(v -> v.path().startsWith(prefix))
+                    .map(v -> new Violation(v.path().substring(prefix.length()), v.message()))
+                    .toList());
+        }
+    }
+
+    /**
+     * LLM 응답을 JSON으로 읽을 수 없음 (위치 정보 포함)
+     */
+    public static class LlmOutputException extends RuntimeException {
+        private final List<Violation> violations;
+
+        public LlmOutputException(String message, List<Violation> violations) {
+            this(message, violations, null);
+        }
+
+        public LlmOutputException(String message, List<Violation> violations, Throwable cause) {
+            super(violations.isEmpty() ? message : message + " " + violations, cause);
+            this.violations = violations;
+        }
+
+        public List<Violation> getViolations() {
+            return violations;
+        }
+    }
+}
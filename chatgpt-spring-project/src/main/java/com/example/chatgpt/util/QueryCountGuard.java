@@ -0,0 +1,91 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.QueryGuardConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 요청당 SQL 실행 수 감시 (N+1 회귀 감지)
+ * - Hibernate StatementInspector로 요청 스레드에서 준비되는 SQL 수를 셈
+ * - 한도 초과 시 경고 로그 + app.query.guard.exceeded 메트릭, failOnExceed 이면 초과 시점에 예외로 요청 실패
+ * - 요청 밖(비동기 작업 워커, 스케줄러)에서 실행되는 SQL은 집계하지 않음
+ * - JdbcTemplate 으로 직접 보내는 SQL(BatchWriteRepository 일괄 저장 등)은 Hibernate를 거치지 않으므로 집계하지 않음
+ */
+@Component
+@Slf4j
+public class QueryCountGuard extends OncePerRequestFilter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final QueryGuardConfig queryGuardConfig;
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<int[]> statementCount = new ThreadLocal<>();
+
+    public QueryCountGuard(QueryGuardConfig queryGuardConfig, MeterRegistry meterRegistry) {
+        this.queryGuardConfig = queryGuardConfig;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        if (Boolean.TRUE.equals(queryGuardConfig.getEnabled())) {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !Boolean.TRUE.equals(queryGuardConfig.getEnabled());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int[] count = new int[1];
+        statementCount.set(count);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementCount.remove();
+            if (count[0] > queryGuardConfig.getMaxStatements()) {
+                Counter.builder("app.query.guard.exceeded")
+                        .description("요청당 SQL 한도를 넘은 요청 수")
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("요청당 SQL 한도 초과: {} {} - {}개 (한도 {}개)",
+                         request.getMethod(), request.getRequestURI(), count[0], queryGuardConfig.getMaxStatements());
+            }
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = statementCount.get();
+        if (count != null && ++count[0] > queryGuardConfig.getMaxStatements()
+                && Boolean.TRUE.equals(queryGuardConfig.getFailOnExceed())) {
+            throw new QueryLimitExceededException("요청당 SQL 한도(" + queryGuardConfig.getMaxStatements()
+                    + "개)를 초과했습니다. N+1 조회를 확인하세요: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 요청당 SQL 한도 초과 (failOnExceed 모드)
+     */
+    public static class QueryLimitExceededException extends RuntimeException {
+        public QueryLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
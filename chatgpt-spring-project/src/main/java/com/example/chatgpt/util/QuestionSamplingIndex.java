@@ -0,0 +1,288 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.QuestionSamplingConfig;
+import com.example.chatgpt.repository.QuizQuestionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionAnswerRepository;
+import com.example.chatgpt.repository.SurpriseQuestionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionSelectionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionSubjectiveRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * 랜덤 퀴즈/돌발질문 선택용 ID 인덱스 (메모리)
+ * - 퀴즈 코드 전체, 카테고리별 객관식/주관식 돌발질문 코드를 int 배열로 보관 → 균등 선택 O(1)
+ * - 제외 목록(팀이 이미 답한 질문)은 몇 번 다시 뽑고, 대부분 제외된 경우에만 남은 후보를 한 번 훑어 선택
+ * - 팀별 답변한 돌발질문 코드도 보관 (팀당 첫 선택 시 한 번 조회, 이후 답변 저장 커밋 시 추가)
+ * - refreshMs 마다 백그라운드 스레드가 ID를 다시 적재하고 팀별 답변 목록을 비움 (요청 스레드는 재적재를 기다리지 않음)
+ * - 다른 인스턴스에서 저장된 답변은 다음 재적재 이후 반영 (그사이 이미 답한 질문이 다시 나올 수 있음)
+ * - 선택한 ID가 사라졌으면 invalidate()로 즉시 재적재
+ * - 앱에는 질문 추가/삭제 경로가 없음 (DB에 직접 적재): 추가한 질문은 재적재 주기 또는 관리자 재적재 API 이후 출제
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionSamplingIndex {
+
+    private static final int REJECTION_ATTEMPTS = 8;
+    private static final int[] EMPTY = new int[0];
+
+    private final QuizQuestionRepository quizQuestionRepository;
+    private final SurpriseQuestionRepository surpriseQuestionRepository;
+    private final SurpriseQuestionSubjectiveRepository surpriseQuestionSubjectiveRepository;
+    private final SurpriseQuestionSelectionRepository surpriseQuestionSelectionRepository;
+    private final SurpriseQuestionAnswerRepository surpriseQuestionAnswerRepository;
+    private final QuestionSamplingConfig config;
+
+    private final ReentrantLock loadLock = new ReentrantLock(); // 적재 중 DB 조회 → 가상 스레드 carrier를 고정하지 않도록 synchronized 대신 사용
+    private final Map<Integer, Set<Integer>> answeredSurprise = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> answeredSubjective = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService refresher;
+
+    /**
+     * 적재 시점의 질문 ID (불변)
+     */
+    private record Snapshot(int[] quizCodes,
+                            Map<Integer, int[]> surpriseCodes,
+                            Map<Integer, int[]> subjectiveCodes) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("question-index-refresh").daemon(true).factory());
+        refresher.scheduleWithFixedDelay(this::refresh, config.getRefreshMs(), config.getRefreshMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * 랜덤 퀴즈 코드 (퀴즈가 없으면 empty)
+     */
+    public OptionalInt sampleQuiz() {
+        return sample(current().quizCodes(), Set.of());
+    }
+
+    /**
+     * 카테고리의 랜덤 객관식 돌발질문 코드 (제외 목록에 없는 것 우선, 모두 제외되면 전체에서 선택)
+     */
+    public OptionalInt sampleSurprise(Integer categoryCode, Collection<Integer> excluded) {
+        return sampleOrAny(current().surpriseCodes().getOrDefault(categoryCode, EMPTY), excluded);
+    }
+
+    /**
+     * 카테고리의 랜덤 주관식 돌발질문 코드 (제외 규칙은 객관식과 동일)
+     */
+    public OptionalInt sampleSubjective(Integer categoryCode, Collection<Integer> excluded) {
+        return sampleOrAny(current().subjectiveCodes().getOrDefault(categoryCode, EMPTY), excluded);
+    }
+
+    /**
+     * 뽑은 ID로 한 건만 조회 (후보가 없거나 적재 이후 삭제된 질문이면 재적재 후 한 번 더 선택)
+     */
+    public <T> Optional<T> fetch(Supplier<OptionalInt> sampler, IntFunction<Optional<T>> finder) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            OptionalInt code = sampler.get();
+            if (code.isPresent()) {
+                Optional<T> found = finder.apply(code.getAsInt());
+                if (found.isPresent()) {
+                    return found;
+                }
+                log.info("선택한 질문이 DB에 없음 - code: {}, 인덱스 재적재", code.getAsInt());
+            }
+            if (attempt == 0) {
+                invalidate();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 팀이 답변한 객관식 돌발질문 코드 (팀당 첫 호출에만 조회)
+     */
+    public Set<Integer> answeredSurprise(Integer teamCode) {
+        return answered(answeredSurprise, teamCode, surpriseQuestionSelectionRepository::findSqCodesByTeamCode);
+    }
+
+    /**
+     * 팀이 답변한 주관식 돌발질문 코드 (팀당 첫 호출에만 조회)
+     */
+    public Set<Integer> answeredSubjective(Integer teamCode) {
+        return answered(answeredSubjective, teamCode, surpriseQuestionAnswerRepository::findSqSubjCodesByTeamCode);
+    }
+
+    /**
+     * 객관식 답변 저장 반영 (트랜잭션 안이면 커밋 후)
+     */
+    public void markSurpriseAnswered(Integer teamCode, Integer sqCode) {
+        afterCommit(() -> mark(answeredSurprise, teamCode, sqCode));
+    }
+
+    /**
+     * 주관식 답변 저장 반영 (트랜잭션 안이면 커밋 후)
+     */
+    public void markSubjectiveAnswered(Integer teamCode, Integer sqSubjCode) {
+        afterCommit(() -> mark(answeredSubjective, teamCode, sqSubjCode));
+    }
+
+    /**
+     * 다음 조회 시 다시 적재 (관리자 재적재 API, 또는 선택한 ID가 DB에 없을 때)
+     */
+    public void invalidate() {
+        snapshot = null;
+        answeredSurprise.clear();
+        answeredSubjective.clear();
+    }
+
+    /**
+     * 주기 재적재 (백그라운드, 실패 시 이전 인덱스 유지)
+     */
+    void refresh() {
+        loadLock.lock();
+        try {
+            snapshot = load();
+        } catch (RuntimeException e) {
+            log.warn("질문 ID 인덱스 재적재 실패, 이전 인덱스 사용: {}", e.getMessage());
+        } finally {
+            loadLock.unlock();
+        }
+        answeredSurprise.clear();
+        answeredSubjective.clear();
+    }
+
+    private Set<Integer> answered(Map<Integer, Set<Integer>> cache, Integer teamCode,
+                                  Function<Integer, List<Integer>> loader) {
+        Set<Integer> answered = cache.get(teamCode);
+        if (answered != null) {
+            return answered;
+        }
+        // computeIfAbsent는 조회 동안 맵 내부 락을 잡으므로 조회는 밖에서 하고 먼저 넣은 쪽을 사용
+        Set<Integer> loaded = ConcurrentHashMap.newKeySet();
+        loaded.addAll(loader.apply(teamCode));
+        Set<Integer> raced = cache.putIfAbsent(teamCode, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private void mark(Map<Integer, Set<Integer>> cache, Integer teamCode, Integer code) {
+        Set<Integer> answered = cache.get(teamCode);
+        if (answered != null) {
+            answered.add(code);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private OptionalInt sampleOrAny(int[] codes, Collection<Integer> excluded) {
+        OptionalInt picked = sample(codes, excluded);
+        return picked.isPresent() || excluded.isEmpty() ? picked : sample(codes, Set.of());
+    }
+
+    private OptionalInt sample(int[] codes, Collection<Integer> excluded) {
+        if (codes.length == 0) {
+            return OptionalInt.empty();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (excluded.isEmpty()) {
+            return OptionalInt.of(codes[random.nextInt(codes.length)]);
+        }
+
+        Set<Integer> excludedSet = excluded instanceof Set<Integer> set ? set : new HashSet<>(excluded);
+        for (int attempt = 0; attempt < REJECTION_ATTEMPTS; attempt++) {
+            int code = codes[random.nextInt(codes.length)];
+            if (!excludedSet.contains(code)) {
+                return OptionalInt.of(code);
+            }
+        }
+
+        // 후보 대부분이 제외된 경우: 남은 후보 중 균등 선택
+        int[] remaining = Arrays.stream(codes).filter(code -> !excludedSet.contains(code)).toArray();
+        return remaining.length == 0
+            ? OptionalInt.empty()
+            : OptionalInt.of(remaining[random.nextInt(remaining.length)]);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        int[] quizCodes = quizQuestionRepository.findAllQuizCodes().stream()
+            .mapToInt(Integer::intValue)
+            .toArray();
+        Map<Integer, int[]> surpriseCodes = groupByCategory(surpriseQuestionRepository.findCategoryAndCodes());
+        Map<Integer, int[]> subjectiveCodes = groupByCategory(surpriseQuestionSubjectiveRepository.findCategoryAndCodes());
+
+        log.info("질문 ID 인덱스 적재 - 퀴즈 {}개, 객관식 돌발질문 {}개 카테고리, 주관식 돌발질문 {}개 카테고리",
+                 quizCodes.length, surpriseCodes.size(), subjectiveCodes.size());
+        return new Snapshot(quizCodes, surpriseCodes, subjectiveCodes);
+    }
+
+    /**
+     * (categoryCode, code) 행 → 카테고리별 코드 배열 (카테고리 없는 질문은 제외)
+     */
+    private Map<Integer, int[]> groupByCategory(List<Object[]> rows) {
+        Map<Integer, List<Integer>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] != null && row[1] != null) {
+                grouped.computeIfAbsent((Integer) row[0], key -> new ArrayList<>()).add((Integer) row[1]);
+            }
+        }
+        Map<Integer, int[]> result = new HashMap<>();
+        grouped.forEach((category, codes) -> result.put(category, codes.stream().mapToInt(Integer::intValue).toArray()));
+        return Map.copyOf(result);
+    }
+}
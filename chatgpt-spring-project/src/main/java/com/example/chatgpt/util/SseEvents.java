@@ -0,0 +1,28 @@
+package com.example.chatgpt.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * LLM 스트리밍 토큰 → SSE 이벤트 변환
+ * - token: 생성 중인 텍스트 조각
+ * - done: 생성 및 저장 완료
+ * - error: 실패 메시지 (그때까지 생성된 부분은 서버에 저장됨)
+ */
+@Slf4j
+public final class SseEvents {
+
+    private SseEvents() {
+    }
+
+    public static Flux<ServerSentEvent<String>> fromTokens(Flux<String> tokens, String doneMessage) {
+        return tokens
+                .map(token -> ServerSentEvent.<String>builder(token).event("token").build())
+                .concatWith(Flux.just(ServerSentEvent.<String>builder(doneMessage).event("done").build()))
+                .onErrorResume(e -> {
+                    log.warn("스트리밍 응답 실패: {}", e.getMessage());
+                    return Flux.just(ServerSentEvent.<String>builder(e.getMessage()).event("error").build());
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.chatgpt.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 짧은 트랜잭션 실행기 (스냅샷 읽기 → LLM 호출 → 쓰기 3단계 흐름용)
+ * - read: 읽기 전용 트랜잭션으로 스냅샷만 조회 (LLM 호출 전 커넥션 반납)
+ * - write: 행사/팀 락 + 트랜잭션, LLM 결과 저장 시에만 커넥션/락 점유 (낙관적 락 충돌 시 재시도)
+ * - app.db.transaction 타이머로 단계별 트랜잭션(커넥션 점유) 시간 기록
+ */
+@Component
+@Slf4j
+public class TransactionRunner {
+
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final KeyedLockRegistry keyedLockRegistry;
+    private final ConflictRetry conflictRetry;
+    private final MeterRegistry meterRegistry;
+
+    public TransactionRunner(PlatformTransactionManager transactionManager,
+                             KeyedLockRegistry keyedLockRegistry,
+                             ConflictRetry conflictRetry,
+                             MeterRegistry meterRegistry) {
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.keyedLockRegistry = keyedLockRegistry;
+        this.conflictRetry = conflictRetry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 읽기 전용 스냅샷 조회
+     */
+    public <T> T read(String flow, Supplier<T> work) {
+        return timed(flow, "read", () -> readTemplate.execute(status -> work.get()));
+    }
+
+    /**
+     * 행사/팀 락을 잡고 짧은 쓰기 트랜잭션 실행 (이미 락을 보유한 스레드는 그대로 사용)
+     * - 낙관적 락 충돌 시 새 트랜잭션으로 재시도하므로 work는 필요한 엔티티를 안에서 다시 조회해야 함
+     */
+    public <T> T write(String flow, Integer eventCode, Integer teamCode, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return writeOnce(flow, eventCode, teamCode, work);
+        }
+        return conflictRetry.callUnchecked(flow, () -> writeOnce(flow, eventCode, teamCode, work));
+    }
+
+    private <T> T writeOnce(String flow, Integer eventCode, Integer teamCode, Supplier<T> work) {
+        if (!keyedLockRegistry.isEnabled() || keyedLockRegistry.isHeldByCurrentThread()) {
+            return timed(flow, "write", () -> writeTemplate.execute(status -> work.get()));
+        }
+        try (KeyedLockRegistry.Handle ignored = keyedLockRegistry.acquire(eventCode, teamCode)) {
+            return timed(flow, "write", () -> writeTemplate.execute(status -> work.get()));
+        }
+    }
+
+    public void writeWithoutResult(String flow, Integer eventCode, Integer teamCode, Runnable work) {
+        write(flow, eventCode, teamCode, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * 스냅샷 이후 변경 여부 확인 (낙관적 충돌 감지)
+     * @throws StaleSnapshotException LLM 호출 중 다른 요청이 같은 데이터를 변경한 경우
+     */
+    public static void verifyUnchanged(String what, Object snapshot, Object current) {
+        if (!Objects.equals(snapshot, current)) {
+            throw new StaleSnapshotException(what + " 데이터가 처리 중 다른 요청에 의해 변경되었습니다. 다시 시도해주세요.");
+        }
+    }
+
+    private <T> T timed(String flow, String phase, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return work.get();
+        } finally {
+            sample.stop(Timer.builder("app.db.transaction")
+                    .description("트랜잭션(커넥션 점유) 시간")
+                    .tag("flow", flow)
+                    .tag("phase", phase)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 낙관적 충돌 (스냅샷 이후 데이터 변경)
+     */
+    public static class StaleSnapshotException extends RuntimeException {
+        public StaleSnapshotException(String message) {
+            super(message);
+        }
+    }
+}
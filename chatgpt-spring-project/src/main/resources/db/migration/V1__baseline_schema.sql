@@ -0,0 +1,452 @@
+-- 초기 스키마 (Flyway 도입 이전 Hibernate ddl-auto 로 생성되던 테이블)
+-- 기존 DB는 spring.flyway.baseline-on-migrate 로 이 버전을 건너뛰고, 빈 DB에서만 실행됨
+
+CREATE TABLE IF NOT EXISTS async_job (
+    job_id VARCHAR(36) NOT NULL,
+    job_type VARCHAR(50) NOT NULL,
+    event_code INT,
+    team_code INT,
+    stage INT,
+    active_key VARCHAR(150),
+    status VARCHAR(20) NOT NULL,
+    progress VARCHAR(500),
+    payload LONGTEXT,
+    result LONGTEXT,
+    error_message VARCHAR(1000),
+    attempts INT NOT NULL,
+    max_attempts INT NOT NULL,
+    owner VARCHAR(150),
+    next_run_at DATETIME(6) NOT NULL,
+    started_at DATETIME(6),
+    heartbeat_at DATETIME(6),
+    finished_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (job_id),
+    UNIQUE KEY uk_async_job_active_key (active_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS bank (
+    bank_code INT NOT NULL AUTO_INCREMENT,
+    bank_name VARCHAR(50) NOT NULL,
+    description LONGTEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (bank_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS chatgpt_memory_log (
+    log_id INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT NOT NULL,
+    memory_key VARCHAR(100) NOT NULL,
+    stored_content TEXT NOT NULL,
+    storage_status VARCHAR(20),
+    chatgpt_response TEXT,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6),
+    PRIMARY KEY (log_id),
+    UNIQUE KEY uk_chatgpt_memory_log_memory_key (memory_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS company_capability_score (
+    capability_score_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    strategy_capability INT NOT NULL,
+    finance_capability INT NOT NULL,
+    market_customer_capability INT NOT NULL,
+    operation_management_capability INT NOT NULL,
+    technology_innovation_capability INT NOT NULL,
+    sustainability_capability INT NOT NULL,
+    total_capability_level INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (capability_score_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS event (
+    event_code INT NOT NULL AUTO_INCREMENT,
+    event_name VARCHAR(250) NOT NULL,
+    event_status INT NOT NULL,
+    event_at VARCHAR(50),
+    stage_batch_process INT,
+    summary_view_process INT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (event_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS financial_statement (
+    fs_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT,
+    cash_and_deposits INT,
+    tangible_assets INT,
+    inventory_assets INT,
+    ppe_assets INT,
+    intangible_assets INT,
+    accounts_payable INT,
+    borrowings INT,
+    capital_stock INT,
+    total_assets INT,
+    total_liabilities_equity INT,
+    revenue INT,
+    cogs INT,
+    gross_profit INT,
+    sgna_expenses INT,
+    rnd_expenses INT,
+    operating_income INT,
+    non_operating_income INT,
+    corporate_tax INT,
+    net_income INT,
+    fs_score INT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (fs_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS group_summary (
+    summary_id INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT NOT NULL,
+    business_type VARCHAR(200),
+    core_technology VARCHAR(300),
+    revenue_model VARCHAR(300),
+    key_answers TEXT,
+    investment_scale VARCHAR(200),
+    strengths TEXT,
+    weaknesses TEXT,
+    summary_text TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (summary_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS ir_upload (
+    ir_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    ir_file_path VARCHAR(500),
+    ir_word_file_path VARCHAR(500),
+    ir_word_contents LONGTEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (ir_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS job_lease (
+    lease_key VARCHAR(100) NOT NULL,
+    operation VARCHAR(50) NOT NULL,
+    event_code INT NOT NULL,
+    stage INT NOT NULL,
+    owner VARCHAR(150) NOT NULL,
+    progress VARCHAR(500),
+    acquired_at DATETIME(6) NOT NULL,
+    heartbeat_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (lease_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS llm_question (
+    question_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT NOT NULL,
+    category VARCHAR(255),
+    selection_reason TEXT,
+    question_summary VARCHAR(255),
+    question TEXT NOT NULL,
+    option1 VARCHAR(255),
+    option2 VARCHAR(255),
+    option3 VARCHAR(255),
+    option4 VARCHAR(255),
+    option5 VARCHAR(255),
+    user_answer TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (question_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS llm_response_cache (
+    cache_key VARCHAR(64) NOT NULL,
+    model VARCHAR(100),
+    response_text LONGTEXT NOT NULL,
+    hit_count INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (cache_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS loan_business_plan (
+    loan_biz_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT NOT NULL,
+    product_or_service_name VARCHAR(250),
+    product_usage_features LONGTEXT,
+    product_specifications LONGTEXT,
+    target_customers_industry LONGTEXT,
+    market_size_growth LONGTEXT,
+    major_clients_distribution LONGTEXT,
+    competitors_products LONGTEXT,
+    tech_capabilities_certifications LONGTEXT,
+    quality_control_facilities LONGTEXT,
+    competitive_advantages LONGTEXT,
+    sales_forecast_3years LONGTEXT,
+    sales_strategy_client_plan LONGTEXT,
+    marketing_strategy LONGTEXT,
+    biz_execution_plan LONGTEXT,
+    fund_utilization_plan LONGTEXT,
+    expected_effects LONGTEXT,
+    desired_loan_amount INT,
+    calculated_loan_amount INT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (loan_biz_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS loan_info (
+    loan_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    bank_code INT NOT NULL,
+    loan_type VARCHAR(50) NOT NULL,
+    stage_step INT NOT NULL,
+    biz_reg_doc_path VARCHAR(250),
+    corp_reg_doc_path VARCHAR(250),
+    shareholder_list_doc_path VARCHAR(250),
+    financial_statement_doc_path VARCHAR(250),
+    vat_tax_doc_path VARCHAR(250),
+    social_insurance_doc_path VARCHAR(250),
+    tax_payment_doc_path VARCHAR(250),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (loan_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS operating_expense (
+    expense_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT NOT NULL,
+    llm_response TEXT,
+    expense_amount VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (expense_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS quiz_question (
+    quiz_code INT NOT NULL,
+    question_text LONGTEXT,
+    option1 VARCHAR(250) NOT NULL,
+    option2 VARCHAR(250) NOT NULL,
+    option3 VARCHAR(250) NOT NULL,
+    option4 VARCHAR(250) NOT NULL,
+    hint_text VARCHAR(250) NOT NULL,
+    answer VARCHAR(10) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (quiz_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS quiz_selection (
+    quiz_selection_code INT NOT NULL AUTO_INCREMENT,
+    quiz_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (quiz_selection_code),
+    UNIQUE KEY uk_quiz_selection_quiz_team (quiz_code, team_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS revenue_model (
+    revenue_model_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    revenue_category INT,
+    monthly_subscription_fee INT,
+    product_dev_investment INT,
+    marketing_budget INT,
+    customer_support_cost INT,
+    free_trial_period INT,
+    avg_sale_price INT,
+    product_cost INT,
+    ad_marketing_budget INT,
+    site_app_improve_invest INT,
+    logistics_inventory_invest INT,
+    transaction_fee_rate INT,
+    supplier_acquisition_budget INT,
+    learner_acquisition_budget INT,
+    platform_feature_invest INT,
+    trust_safety_invest INT,
+    product_retail_price INT,
+    quarterly_production_goal INT,
+    rnd_design_invest INT,
+    process_improvement_invest INT,
+    sales_distribution_invest INT,
+    hourly_charge_rate INT,
+    sales_activity_hours INT,
+    project_execution_hours INT,
+    team_skill_invest INT,
+    internal_rnd_hours INT,
+    content_production_invest INT,
+    traffic_acquisition_budget INT,
+    ad_age_target_settings INT,
+    ad_density_per_page INT,
+    ux_improvement_invest INT,
+    primary_revenue_option VARCHAR(255),
+    secondary_revenue_option VARCHAR(255),
+    conversion_ratio INT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (revenue_model_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS stage1_bizplan (
+    stage1_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    bizplan_file_path VARCHAR(250),
+    bizplan_content TEXT,
+    biz_item_summary TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (stage1_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS stage6_bizplan_summary (
+    stage6_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    bizplan_file_path VARCHAR(500),
+    biz_item_summary LONGTEXT,
+    global_bizplan_file_path VARCHAR(500),
+    global_biz_item_summary LONGTEXT,
+    usa_summary LONGTEXT,
+    china_summary LONGTEXT,
+    japan_summary LONGTEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (stage6_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS stage_mst (
+    stage_step_code INT NOT NULL AUTO_INCREMENT,
+    stage_id INT NOT NULL,
+    step_id INT NOT NULL,
+    step_name VARCHAR(250) NOT NULL,
+    type VARCHAR(250),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (stage_step_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS stage_summary (
+    summary_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT NOT NULL,
+    summary_text TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (summary_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS surprise_question (
+    sq_code INT NOT NULL AUTO_INCREMENT,
+    category_code INT NOT NULL,
+    card_title VARCHAR(200) NOT NULL,
+    situation_description TEXT NOT NULL,
+    question_text TEXT NOT NULL,
+    option1 VARCHAR(500),
+    option2 VARCHAR(500),
+    option3 VARCHAR(500),
+    hint_text VARCHAR(500),
+    answer INT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (sq_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS surprise_question_answer (
+    sq_answer_code INT NOT NULL AUTO_INCREMENT,
+    sq_subj_code INT NOT NULL,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    answer_text TEXT,
+    ai_feedback TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (sq_answer_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS surprise_question_selection (
+    sq_selection_code INT NOT NULL AUTO_INCREMENT,
+    sq_code INT NOT NULL,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    sq_answer VARCHAR(250),
+    ai_feedback TEXT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (sq_selection_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS surprise_question_subjective (
+    sq_subj_code INT NOT NULL AUTO_INCREMENT,
+    category_code INT,
+    card_title VARCHAR(250),
+    situation_description TEXT,
+    question_text TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (sq_subj_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS team_dtl (
+    team_dtl_code INT NOT NULL AUTO_INCREMENT,
+    team_code INT NOT NULL,
+    team_member_name VARCHAR(100) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (team_dtl_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS team_mst (
+    team_code INT NOT NULL AUTO_INCREMENT,
+    event_code INT NOT NULL,
+    team_id VARCHAR(100) NOT NULL,
+    team_name VARCHAR(250) NOT NULL,
+    team_leader_name VARCHAR(50),
+    team_image_url VARCHAR(500),
+    current_stage_id INT NOT NULL,
+    current_step_id INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (team_code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS team_revenue_allocation (
+    allocation_id INT NOT NULL AUTO_INCREMENT,
+    distribution_id VARCHAR(255) NOT NULL,
+    event_code INT NOT NULL,
+    team_code INT NOT NULL,
+    stage_step INT NOT NULL,
+    allocated_revenue BIGINT NOT NULL,
+    stage_rank INT,
+    allocation_reason TEXT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (allocation_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,57 @@
+-- 기존 DB 보정: ddl-auto 로 추가되던 작업 테이블 / 낙관적 락 버전 컬럼 (이미 있으면 건너뜀)
+
+CREATE TABLE IF NOT EXISTS job_lease (
+    lease_key VARCHAR(100) NOT NULL,
+    operation VARCHAR(50) NOT NULL,
+    event_code INT NOT NULL,
+    stage INT NOT NULL,
+    owner VARCHAR(150) NOT NULL,
+    progress VARCHAR(500),
+    acquired_at DATETIME(6) NOT NULL,
+    heartbeat_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (lease_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS async_job (
+    job_id VARCHAR(36) NOT NULL,
+    job_type VARCHAR(50) NOT NULL,
+    event_code INT,
+    team_code INT,
+    stage INT,
+    active_key VARCHAR(150),
+    status VARCHAR(20) NOT NULL,
+    progress VARCHAR(500),
+    payload LONGTEXT,
+    result LONGTEXT,
+    error_message VARCHAR(1000),
+    attempts INT NOT NULL,
+    max_attempts INT NOT NULL,
+    owner VARCHAR(150),
+    next_run_at DATETIME(6) NOT NULL,
+    started_at DATETIME(6),
+    heartbeat_at DATETIME(6),
+    finished_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (job_id),
+    UNIQUE KEY uk_async_job_active_key (active_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS llm_response_cache (
+    cache_key VARCHAR(64) NOT NULL,
+    model VARCHAR(100),
+    response_text LONGTEXT NOT NULL,
+    hit_count INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (cache_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+ALTER TABLE event ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE team_mst ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE financial_statement ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE group_summary ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE company_capability_score ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE stage6_bizplan_summary ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
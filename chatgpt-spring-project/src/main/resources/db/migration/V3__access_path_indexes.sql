@@ -0,0 +1,133 @@
+-- (event_code, team_code, stage_step) 조회 경로 인덱스
+-- - 팀 화면: team_code + stage_step, 관리자 일괄처리: event_code + stage_step (+ team_code 정렬)
+-- - InnoDB 보조 인덱스는 PK를 포함하므로 ORDER BY PK 는 별도 컬럼 불필요
+
+-- 1. 팀/스테이지당 한 행인 테이블: 중복 정리 후 유니크 키 (batch upsert 기준)
+-- - 같은 (행사, 팀, 스테이지)의 최신 행만 남기고, 지우는 이전 행은 *_dup_backup 테이블에 먼저 복사
+-- - 백업 테이블은 확인 후 수동으로 DROP (애플리케이션은 사용하지 않음)
+CREATE TABLE IF NOT EXISTS financial_statement_dup_backup LIKE financial_statement;
+INSERT IGNORE INTO financial_statement_dup_backup
+SELECT * FROM financial_statement
+WHERE fs_code IN (
+    SELECT older.fs_code FROM financial_statement older
+    JOIN financial_statement newer
+      ON newer.event_code = older.event_code
+     AND newer.team_code = older.team_code
+     AND newer.stage_step = older.stage_step
+     AND newer.fs_code > older.fs_code);
+
+DELETE FROM financial_statement
+WHERE fs_code IN (SELECT fs_code FROM financial_statement_dup_backup);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_financial_statement_team_stage
+    ON financial_statement (event_code, team_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_financial_statement_event_stage
+    ON financial_statement (event_code, stage_step, team_code);
+CREATE INDEX IF NOT EXISTS idx_financial_statement_team_stage
+    ON financial_statement (team_code, stage_step);
+
+CREATE TABLE IF NOT EXISTS team_revenue_allocation_dup_backup LIKE team_revenue_allocation;
+INSERT IGNORE INTO team_revenue_allocation_dup_backup
+SELECT * FROM team_revenue_allocation
+WHERE allocation_id IN (
+    SELECT older.allocation_id FROM team_revenue_allocation older
+    JOIN team_revenue_allocation newer
+      ON newer.event_code = older.event_code
+     AND newer.team_code = older.team_code
+     AND newer.stage_step = older.stage_step
+     AND newer.allocation_id > older.allocation_id);
+
+DELETE FROM team_revenue_allocation
+WHERE allocation_id IN (SELECT allocation_id FROM team_revenue_allocation_dup_backup);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_team_revenue_allocation_team_stage
+    ON team_revenue_allocation (event_code, team_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_team_revenue_allocation_event_stage_rank
+    ON team_revenue_allocation (event_code, stage_step, stage_rank);
+CREATE INDEX IF NOT EXISTS idx_team_revenue_allocation_distribution
+    ON team_revenue_allocation (distribution_id, stage_rank);
+CREATE INDEX IF NOT EXISTS idx_team_revenue_allocation_team_stage
+    ON team_revenue_allocation (team_code, stage_step);
+
+-- 2. 스테이지 요약/질문/운영비
+CREATE INDEX IF NOT EXISTS idx_group_summary_event_team_stage
+    ON group_summary (event_code, team_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_group_summary_event_stage_team
+    ON group_summary (event_code, stage_step, team_code);
+CREATE INDEX IF NOT EXISTS idx_group_summary_team_stage
+    ON group_summary (team_code, stage_step);
+
+CREATE INDEX IF NOT EXISTS idx_stage_summary_event_stage_team
+    ON stage_summary (event_code, stage_step, team_code);
+CREATE INDEX IF NOT EXISTS idx_stage_summary_team_stage
+    ON stage_summary (team_code, stage_step);
+
+CREATE INDEX IF NOT EXISTS idx_llm_question_team_stage
+    ON llm_question (team_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_llm_question_event_stage_team
+    ON llm_question (event_code, stage_step, team_code);
+
+CREATE INDEX IF NOT EXISTS idx_operating_expense_team_stage
+    ON operating_expense (team_code, stage_step);
+
+CREATE INDEX IF NOT EXISTS idx_chatgpt_memory_log_event_stage_team
+    ON chatgpt_memory_log (event_code, stage_step, team_code);
+CREATE INDEX IF NOT EXISTS idx_chatgpt_memory_log_event_team_stage
+    ON chatgpt_memory_log (event_code, team_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_chatgpt_memory_log_status_created
+    ON chatgpt_memory_log (storage_status, created_at);
+
+-- 3. 팀 단위 조회
+CREATE INDEX IF NOT EXISTS idx_team_mst_event_created
+    ON team_mst (event_code, created_at);
+CREATE INDEX IF NOT EXISTS idx_team_mst_team_id
+    ON team_mst (team_id);
+CREATE INDEX IF NOT EXISTS idx_team_dtl_team
+    ON team_dtl (team_code);
+
+CREATE INDEX IF NOT EXISTS idx_company_capability_score_event_team
+    ON company_capability_score (event_code, team_code);
+CREATE INDEX IF NOT EXISTS idx_revenue_model_event_team
+    ON revenue_model (event_code, team_code);
+CREATE INDEX IF NOT EXISTS idx_revenue_model_team
+    ON revenue_model (team_code);
+CREATE INDEX IF NOT EXISTS idx_stage1_bizplan_event_team
+    ON stage1_bizplan (event_code, team_code);
+CREATE INDEX IF NOT EXISTS idx_stage6_bizplan_summary_event_team
+    ON stage6_bizplan_summary (event_code, team_code);
+CREATE INDEX IF NOT EXISTS idx_ir_upload_event_team
+    ON ir_upload (event_code, team_code);
+
+CREATE INDEX IF NOT EXISTS idx_loan_business_plan_event_team_stage
+    ON loan_business_plan (event_code, team_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_loan_business_plan_event_stage
+    ON loan_business_plan (event_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_loan_info_event_team_stage
+    ON loan_info (event_code, team_code, stage_step);
+
+CREATE INDEX IF NOT EXISTS idx_quiz_selection_team_stage
+    ON quiz_selection (team_code, stage_step);
+CREATE INDEX IF NOT EXISTS idx_surprise_question_answer_team_subj
+    ON surprise_question_answer (team_code, sq_subj_code);
+CREATE INDEX IF NOT EXISTS idx_surprise_question_answer_event_team
+    ON surprise_question_answer (event_code, team_code);
+CREATE INDEX IF NOT EXISTS idx_surprise_question_selection_team_sq
+    ON surprise_question_selection (team_code, sq_code);
+CREATE INDEX IF NOT EXISTS idx_surprise_question_selection_event_team
+    ON surprise_question_selection (event_code, team_code);
+
+-- 4. 작업 큐 / 캐시 폴링
+CREATE INDEX IF NOT EXISTS idx_async_job_status_next_run
+    ON async_job (status, next_run_at);
+CREATE INDEX IF NOT EXISTS idx_async_job_status_heartbeat
+    ON async_job (status, heartbeat_at);
+CREATE INDEX IF NOT EXISTS idx_async_job_owner_status
+    ON async_job (owner, status);
+CREATE INDEX IF NOT EXISTS idx_llm_response_cache_expires
+    ON llm_response_cache (expires_at);
+
+-- 5. 행사명 중복 확인 (LOWER(event_name) 비교를 생성 컬럼 인덱스로)
+ALTER TABLE event
+    ADD COLUMN IF NOT EXISTS event_name_lower VARCHAR(250) AS (LOWER(event_name)) PERSISTENT;
+CREATE INDEX IF NOT EXISTS idx_event_name_lower
+    ON event (event_name_lower);
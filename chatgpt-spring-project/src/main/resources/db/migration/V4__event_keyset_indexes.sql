@@ -0,0 +1,9 @@
+-- 이벤트 목록 정렬/키셋 페이지네이션 인덱스
+-- - /events, /events/history: (event_status,) event_at DESC, event_code DESC 범위 탐색
+-- - /events/recent: created_at DESC
+CREATE INDEX IF NOT EXISTS idx_event_at_code
+    ON event (event_at, event_code);
+CREATE INDEX IF NOT EXISTS idx_event_status_at_code
+    ON event (event_status, event_at, event_code);
+CREATE INDEX IF NOT EXISTS idx_event_created
+    ON event (created_at);
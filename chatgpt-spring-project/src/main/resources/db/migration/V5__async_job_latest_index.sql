@@ -0,0 +1,4 @@
+-- 행사/팀별 최근 비동기 작업 조회 인덱스
+-- - 미중일 사업계획서 진행 상황: job_type + event_code + team_code, created_at DESC 첫 행
+CREATE INDEX IF NOT EXISTS idx_async_job_type_event_team_created
+    ON async_job (job_type, event_code, team_code, created_at);
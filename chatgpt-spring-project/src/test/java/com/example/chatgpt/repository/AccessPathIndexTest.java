@@ -0,0 +1,155 @@
+package com.example.chatgpt.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V3 조회 경로 인덱스 + 중복 정리 검증 (MariaDB 전용)
+ * - TEST_MARIADB_URL(_USER, _PASSWORD) 이 있을 때만 실행, 해당 스키마는 clean 후 다시 마이그레이션하므로 테스트 전용 스키마 사용
+ * - V2까지 적용 → 중복 행 + 조회용 데이터 적재 → 나머지 마이그레이션 → ANALYZE 후 주요 조회의 EXPLAIN 확인
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_MARIADB_URL", matches = ".+")
+class AccessPathIndexTest {
+
+    private static final String URL = System.getenv("TEST_MARIADB_URL");
+    private static final String USER = System.getenv().getOrDefault("TEST_MARIADB_USER", "root");
+    private static final String PASSWORD = System.getenv().getOrDefault("TEST_MARIADB_PASSWORD", "");
+
+    private static final int DUPLICATE_TEAM = 9001;
+
+    /**
+     * EXPLAIN 첫 행 (접근 방식 + 사용 인덱스)
+     */
+    private record Plan(String type, String key) {}
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure().dataSource(URL, USER, PASSWORD).cleanDisabled(false).load().clean();
+        Flyway.configure().dataSource(URL, USER, PASSWORD).target("2").load().migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // V3 에서 정리될 중복 (최신 행만 남아야 함)
+            statement.execute("""
+                    INSERT INTO financial_statement (event_code, team_code, stage_step, revenue, created_at, updated_at)
+                    VALUES (1, %d, 2, 100, NOW(6), NOW(6)), (1, %d, 2, 200, NOW(6), NOW(6))
+                    """.formatted(DUPLICATE_TEAM, DUPLICATE_TEAM));
+            statement.execute("""
+                    INSERT INTO team_revenue_allocation
+                        (distribution_id, event_code, team_code, stage_step, allocated_revenue, created_at)
+                    VALUES ('old', 1, %d, 2, 100, NOW(6)), ('new', 1, %d, 2, 200, NOW(6))
+                    """.formatted(DUPLICATE_TEAM, DUPLICATE_TEAM));
+
+            // 조회용 데이터: 행사 10개, 스테이지 6개 (financial_statement 는 팀/스테이지당 한 행)
+            statement.execute("""
+                    INSERT INTO financial_statement (event_code, team_code, stage_step, revenue, created_at, updated_at)
+                    SELECT seq % 10 + 1, seq, seq % 6 + 1, seq, NOW(6), NOW(6) FROM seq_1_to_3000
+                    """);
+            statement.execute("""
+                    INSERT INTO operating_expense (event_code, team_code, stage_step, llm_response, expense_amount, created_at, updated_at)
+                    SELECT seq % 10 + 1, seq % 300 + 1, seq % 6 + 1, 'expense', '0', NOW(6), NOW(6) FROM seq_1_to_3000
+                    """);
+            statement.execute("""
+                    INSERT INTO llm_question (event_code, team_code, stage_step, question, created_at, updated_at)
+                    SELECT seq % 10 + 1, seq % 300 + 1, seq % 6 + 1, 'question', NOW(6), NOW(6) FROM seq_1_to_3000
+                    """);
+            statement.execute("""
+                    INSERT INTO surprise_question_selection (sq_code, event_code, team_code, sq_answer, created_at)
+                    SELECT seq % 50 + 1, seq % 10 + 1, seq % 300 + 1, '1', NOW(6) FROM seq_1_to_3000
+                    """);
+            statement.execute("""
+                    INSERT INTO quiz_selection (quiz_code, team_code, stage_step, created_at, updated_at)
+                    SELECT seq, seq % 300 + 1, seq % 6 + 1, NOW(6), NOW(6) FROM seq_1_to_3000
+                    """);
+        }
+
+        Flyway.configure().dataSource(URL, USER, PASSWORD).load().migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE financial_statement, operating_expense, llm_question, "
+                    + "surprise_question_selection, quiz_selection");
+        }
+    }
+
+    @Test
+    void duplicatesAreBackedUpBeforeDelete() throws SQLException {
+        assertThat(queryInt("SELECT revenue FROM financial_statement WHERE team_code = " + DUPLICATE_TEAM))
+                .isEqualTo(200);
+        assertThat(queryInt("SELECT revenue FROM financial_statement_dup_backup WHERE team_code = " + DUPLICATE_TEAM))
+                .isEqualTo(100);
+        assertThat(queryInt("SELECT allocated_revenue FROM team_revenue_allocation WHERE team_code = " + DUPLICATE_TEAM))
+                .isEqualTo(200);
+        assertThat(queryInt("SELECT allocated_revenue FROM team_revenue_allocation_dup_backup WHERE team_code = " + DUPLICATE_TEAM))
+                .isEqualTo(100);
+    }
+
+    @Test
+    void financialStatementLookupsUseIndexes() throws SQLException {
+        // 팀 60: 행사 1, 스테이지 1
+        assertUses("SELECT * FROM financial_statement WHERE event_code = 1 AND team_code = 60 AND stage_step = 1",
+                   "uk_financial_statement_team_stage");
+        assertUses("SELECT * FROM financial_statement WHERE event_code = 1 AND stage_step = 1 ORDER BY team_code",
+                   "idx_financial_statement_event_stage");
+        assertUses("SELECT * FROM financial_statement WHERE team_code = 60 AND stage_step = 1",
+                   "idx_financial_statement_team_stage");
+    }
+
+    @Test
+    void teamStageLookupsUseIndexes() throws SQLException {
+        assertUses("SELECT * FROM operating_expense WHERE team_code = 60 AND stage_step = 6",
+                   "idx_operating_expense_team_stage");
+        assertUses("SELECT * FROM llm_question WHERE team_code = 60 AND stage_step = 6",
+                   "idx_llm_question_team_stage");
+        assertUses("SELECT * FROM llm_question WHERE event_code = 1 AND stage_step = 1 ORDER BY team_code",
+                   "idx_llm_question_event_stage_team");
+        assertUses("SELECT * FROM quiz_selection WHERE team_code = 60 AND stage_step = 6 ORDER BY created_at",
+                   "idx_quiz_selection_team_stage");
+    }
+
+    @Test
+    void surpriseQuestionSelectionLookupsUseIndexes() throws SQLException {
+        assertUses("SELECT * FROM surprise_question_selection WHERE event_code = 10 AND team_code = 60",
+                   "idx_surprise_question_selection_event_team", "idx_surprise_question_selection_team_sq");
+        assertUses("SELECT sq_code FROM surprise_question_selection WHERE team_code = 60",
+                   "idx_surprise_question_selection_team_sq");
+    }
+
+    private static void assertUses(String sql, String... expectedKeys) throws SQLException {
+        Plan plan = explain(sql);
+        assertThat(plan.type()).as("접근 방식: %s", sql).isNotEqualTo("ALL");
+        assertThat(plan.key()).as("사용 인덱스: %s", sql).isIn((Object[]) expectedKeys);
+    }
+
+    private static Plan explain(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            assertThat(rs.next()).isTrue();
+            return new Plan(rs.getString("type"), rs.getString("key"));
+        }
+    }
+
+    private static int queryInt(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            assertThat(rs.next()).as(sql).isTrue();
+            int value = rs.getInt(1);
+            assertThat(rs.next()).as("한 행만 있어야 함: %s", sql).isFalse();
+            return value;
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.RevenueScoringConfig;
+import com.example.chatgpt.dto.LlmOutputDto.TeamRevenueScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 점수 → 매출 환산 (기준 매출 ± spreadRatio, 최소/최대 매출로 제한, 만원 단위)
+ */
+class AdminTriggerServiceRevenueTest {
+
+    private final RevenueScoringConfig config = new RevenueScoringConfig();
+
+    @Test
+    void revenuesSpreadAroundBaseByScoreDeviation() {
+        // 평균 50점 → 기준 매출 2천만 + 4.8억 × 0.5 = 2.6억, 최대 편차 팀이 ±30%
+        Map<Integer, AdminTriggerService.RevenueData> revenues = normalize(Map.of(1, 80, 2, 50, 3, 20, 4, 65, 5, 35));
+
+        assertThat(revenue(revenues, 1)).isEqualTo(338_000_000L);
+        assertThat(revenue(revenues, 2)).isEqualTo(260_000_000L);
+        assertThat(revenue(revenues, 3)).isEqualTo(182_000_000L);
+        assertThat(revenue(revenues, 4)).isEqualTo(299_000_000L);
+        assertThat(revenue(revenues, 5)).isEqualTo(221_000_000L);
+        assertThat(revenues.get(1).getReason()).isEqualTo("reason-1");
+    }
+
+    @Test
+    void revenuesStayWithinSpreadOfBase() {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (int teamCode = 1; teamCode <= 30; teamCode++) {
+            scores.put(teamCode, (teamCode * 37) % 101);
+        }
+        double mean = scores.values().stream().mapToInt(Integer::intValue).average().orElseThrow();
+        double base = config.getMinRevenue() + (config.getMaxRevenue() - config.getMinRevenue()) * mean / 100.0;
+
+        Map<Integer, AdminTriggerService.RevenueData> revenues = normalize(scores);
+
+        assertThat(revenues).hasSize(30);
+        revenues.values().forEach(data -> {
+            assertThat(data.getRevenue() % 10_000).isZero();
+            assertThat((double) data.getRevenue())
+                    .isBetween(base * (1 - config.getSpreadRatio()) - 5_000, base * (1 + config.getSpreadRatio()) + 5_000);
+        });
+    }
+
+    @Test
+    void revenuesAreClampedToMinAndMax() {
+        // 평균 95점 → 기준 4.76억, ±100%면 9.52억/0원 → 5억/2천만으로 제한
+        config.setSpreadRatio(1.0);
+
+        Map<Integer, AdminTriggerService.RevenueData> revenues = normalize(Map.of(1, 100, 2, 90));
+
+        assertThat(revenue(revenues, 1)).isEqualTo(config.getMaxRevenue());
+        assertThat(revenue(revenues, 2)).isEqualTo(config.getMinRevenue());
+    }
+
+    @Test
+    void equalScoresGetBaseRevenue() {
+        Map<Integer, AdminTriggerService.RevenueData> revenues = normalize(Map.of(1, 70, 2, 70, 3, 70));
+
+        // 편차가 없으면 모두 기준 매출 (2천만 + 4.8억 × 0.7)
+        assertThat(revenues.values()).extracting(AdminTriggerService.RevenueData::getRevenue)
+                .containsOnly(356_000_000L);
+    }
+
+    @Test
+    void noScoresGiveNoRevenues() {
+        assertThat(normalize(Map.of())).isEmpty();
+    }
+
+    private Map<Integer, AdminTriggerService.RevenueData> normalize(Map<Integer, Integer> scores) {
+        Map<Integer, TeamRevenueScore> teamScores = new HashMap<>();
+        scores.forEach((teamCode, score) ->
+                teamScores.put(teamCode, new TeamRevenueScore(teamCode, score, "reason-" + teamCode, "short-" + teamCode)));
+        return AdminTriggerService.normalizeRevenues(teamScores, config);
+    }
+
+    private static long revenue(Map<Integer, AdminTriggerService.RevenueData> revenues, int teamCode) {
+        return revenues.get(teamCode).getRevenue();
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.AsyncJobConfig;
+import com.example.chatgpt.entity.AsyncJob;
+import com.example.chatgpt.repository.AsyncJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비동기 작업 큐 (애플리케이션 컨텍스트 = 서버 1대, 같은 DB 공유)
+ * - 중복 접수, 선점 후 실행, heartbeat가 끊긴 작업 복구, 종료 시 재실행 대기로 복구
+ */
+class AsyncJobServiceTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:asyncjob;MODE=MariaDB;DB_CLOSE_DELAY=-1";
+    private static final String JOB_TYPE = "test_job";
+    private static final long TIMEOUT_MS = 10_000;
+
+    private static volatile CountDownLatch release;
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS async_job (
+                        job_id VARCHAR(36) NOT NULL PRIMARY KEY,
+                        job_type VARCHAR(50) NOT NULL,
+                        event_code INT,
+                        team_code INT,
+                        stage INT,
+                        active_key VARCHAR(150) UNIQUE,
+                        status VARCHAR(20) NOT NULL,
+                        progress VARCHAR(500),
+                        payload VARCHAR(10000),
+                        result VARCHAR(10000),
+                        error_message VARCHAR(1000),
+                        attempts INT NOT NULL,
+                        max_attempts INT NOT NULL,
+                        owner VARCHAR(150),
+                        next_run_at DATETIME(6) NOT NULL,
+                        started_at DATETIME(6),
+                        heartbeat_at DATETIME(6),
+                        finished_at DATETIME(6),
+                        created_at DATETIME(6) NOT NULL,
+                        updated_at DATETIME(6) NOT NULL,
+                        version BIGINT NOT NULL DEFAULT 0
+                    )
+                    """);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        contexts.forEach(ConfigurableApplicationContext::close);
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM async_job");
+        }
+    }
+
+    @Test
+    void sameJobIsNotSubmittedTwiceWhileActive() throws Exception {
+        AsyncJobService instance = startInstance(15_000, 90_000);
+
+        AsyncJobService.Submitted first = instance.submit(JOB_TYPE, 1, 2, 3, Map.of("block", true));
+        AsyncJobService.Submitted second = instance.submit(JOB_TYPE, 1, 2, 3, Map.of("block", true));
+
+        assertThat(first.duplicate()).isFalse();
+        assertThat(second.duplicate()).isTrue();
+        assertThat(second.job().getJobId()).isEqualTo(first.job().getJobId());
+
+        // 다른 팀은 별개 작업
+        assertThat(instance.submit(JOB_TYPE, 1, 9, 3, Map.of()).duplicate()).isFalse();
+
+        release.countDown();
+        awaitStatus(first.job().getJobId(), AsyncJobService.SUCCEEDED);
+
+        // 끝난 작업은 진행 중 키를 풀어 다시 접수 가능
+        AsyncJobService.Submitted again = instance.submit(JOB_TYPE, 1, 2, 3, Map.of());
+        assertThat(again.duplicate()).isFalse();
+        assertThat(again.job().getJobId()).isNotEqualTo(first.job().getJobId());
+    }
+
+    @Test
+    void claimedJobRunsToSuccess() throws Exception {
+        AsyncJobService instance = startInstance(15_000, 90_000);
+
+        String jobId = instance.submit(JOB_TYPE, 1, 2, 3, Map.of("value", "ok")).job().getJobId();
+
+        awaitStatus(jobId, AsyncJobService.SUCCEEDED);
+        AsyncJob job = instance.getJob(jobId).orElseThrow();
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getActiveKey()).isNull();
+        assertThat(job.getResult()).isEqualTo("{\"value\":\"ok\"}");
+        assertThat(AsyncJobService.isActive(job)).isFalse();
+        assertThat(instance.readResult(job, Map.class)).contains(Map.of("value", "ok"));
+        assertThat(instance.findLatest(JOB_TYPE, 1, 2)).map(AsyncJob::getJobId).contains(jobId);
+    }
+
+    @Test
+    void jobAbandonedByCrashedInstanceIsRerunOrFailed() throws Exception {
+        insertAbandoned("retry-me", 1, 3);
+        insertAbandoned("give-up", 3, 3);
+
+        // 재시작한 인스턴스가 DB 시계 기준으로 heartbeat가 끊긴 작업을 복구
+        AsyncJobService instance = startInstance(15_000, 60_000);
+
+        awaitStatus("retry-me", AsyncJobService.SUCCEEDED);
+        assertThat(instance.getJob("retry-me").orElseThrow().getAttempts()).isEqualTo(2);
+
+        awaitStatus("give-up", AsyncJobService.FAILED);
+        assertThat(instance.getJob("give-up").orElseThrow().getActiveKey()).isNull();
+    }
+
+    @Test
+    void runningJobWithLiveHeartbeatIsNotTakenOver() throws Exception {
+        AsyncJobService first = startInstance(100, 500);
+        startInstance(100, 500);
+
+        String jobId = first.submit(JOB_TYPE, 1, 2, 3, Map.of("block", true)).job().getJobId();
+        awaitStatus(jobId, AsyncJobService.RUNNING);
+
+        // 중단 판정 시간의 3배가 지나도 heartbeat가 이어지는 동안은 그대로
+        Thread.sleep(1500);
+        assertThat(status(jobId)).isEqualTo(AsyncJobService.RUNNING);
+        assertThat(first.getJob(jobId).orElseThrow().getAttempts()).isEqualTo(1);
+
+        release.countDown();
+        awaitStatus(jobId, AsyncJobService.SUCCEEDED);
+        assertThat(first.getJob(jobId).orElseThrow().getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void jobInterruptedByShutdownIsRequeuedForAnotherInstance() throws Exception {
+        ConfigurableApplicationContext stopping = startContext(15_000, 90_000);
+        String jobId = stopping.getBean(AsyncJobService.class)
+                .submit(JOB_TYPE, 1, 2, 3, Map.of("block", true)).job().getJobId();
+        awaitStatus(jobId, AsyncJobService.RUNNING);
+
+        stopping.close();
+        assertThat(status(jobId)).isEqualTo(AsyncJobService.PENDING);
+
+        release.countDown();
+        AsyncJobService other = startInstance(15_000, 90_000);
+        awaitStatus(jobId, AsyncJobService.SUCCEEDED);
+        assertThat(other.getJob(jobId).orElseThrow().getAttempts()).isEqualTo(2);
+    }
+
+    private AsyncJobService startInstance(long heartbeatMs, long staleAfterMs) {
+        return startContext(heartbeatMs, staleAfterMs).getBean(AsyncJobService.class);
+    }
+
+    private ConfigurableApplicationContext startContext(long heartbeatMs, long staleAfterMs) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JobInstance.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + DB_URL,
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "app.job.poll-interval-ms=50",
+                        "app.job.heartbeat-ms=" + heartbeatMs,
+                        "app.job.stale-after-ms=" + staleAfterMs)
+                .run();
+        contexts.add(context);
+        return context;
+    }
+
+    private static void insertAbandoned(String jobId, int attempts, int maxAttempts) throws Exception {
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             PreparedStatement statement = connection.prepareStatement("""
+                     INSERT INTO async_job (job_id, job_type, active_key, status, payload, attempts, max_attempts,
+                                            owner, next_run_at, started_at, heartbeat_at, created_at, updated_at)
+                     VALUES (?, ?, ?, 'RUNNING', '{}', ?, ?, 'crashed', CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6),
+                             TIMESTAMPADD(MINUTE, -10, CURRENT_TIMESTAMP(6)), CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6))
+                     """)) {
+            statement.setString(1, jobId);
+            statement.setString(2, JOB_TYPE);
+            statement.setString(3, JOB_TYPE + ":" + jobId);
+            statement.setInt(4, attempts);
+            statement.setInt(5, maxAttempts);
+            statement.executeUpdate();
+        }
+    }
+
+    private static String status(String jobId) throws Exception {
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             PreparedStatement statement = connection.prepareStatement("SELECT status FROM async_job WHERE job_id = ?")) {
+            statement.setString(1, jobId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    private static void awaitStatus(String jobId, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!expected.equals(status(jobId))) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("작업 " + jobId + " 상태가 " + expected + "가 되지 않음 (현재: " + status(jobId) + ")");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+                              TransactionAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @EnableConfigurationProperties
+    @EntityScan(basePackageClasses = AsyncJob.class)
+    @EnableJpaRepositories(basePackageClasses = AsyncJobRepository.class,
+                           includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                                                                  classes = AsyncJobRepository.class))
+    @Import({AsyncJobConfig.class, AsyncJobService.class})
+    static class JobInstance {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        Object testJobHandler(AsyncJobService asyncJobService) {
+            // block=true면 release 전까지 대기, 그 외엔 payload를 그대로 결과로 반환
+            asyncJobService.registerHandler(JOB_TYPE, (payload, progress) -> {
+                if (Boolean.TRUE.equals(payload.get("block"))) {
+                    progress.update("대기 중");
+                    release.await();
+                }
+                return payload;
+            });
+            return JOB_TYPE;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서킷 상태 전이 (CLOSED → OPEN → HALF_OPEN → CLOSED/OPEN)
+ */
+class OpenAiCircuitBreakerTest {
+
+    private static final String CALL_SITE = "expense_analysis";
+    private static final long OPEN_MS = 100;
+
+    private final OpenAiConfig config = new OpenAiConfig();
+    private final OpenAiCircuitBreaker breaker;
+
+    OpenAiCircuitBreakerTest() {
+        config.setCircuitWindowSize(10);
+        config.setCircuitMinimumCalls(4);
+        config.setCircuitFailureRateThreshold(50);
+        config.setCircuitSlowCallMs(1000L);
+        config.setCircuitSlowCallRateThreshold(75);
+        config.setCircuitOpenMs(OPEN_MS);
+        config.setCircuitHalfOpenProbes(2);
+        breaker = new OpenAiCircuitBreaker(config);
+    }
+
+    @Test
+    void staysClosedUntilMinimumCallsThenOpensOnFailureRate() {
+        recordCalls(true, true, true);
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.CLOSED);
+
+        recordCalls(false);
+
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen(CALL_SITE)).isTrue();
+        assertThat(breaker.tryAcquire(CALL_SITE)).isFalse();
+        // 다른 호출 위치는 영향 없음
+        assertThat(breaker.tryAcquire("country_plan")).isTrue();
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        for (int i = 0; i < 3; i++) {
+            breaker.record(CALL_SITE, false, 1000);
+        }
+        breaker.record(CALL_SITE, false, 10);
+
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenAllowsLimitedProbesAndClosesWhenAllSucceed() throws Exception {
+        open();
+        Thread.sleep(OPEN_MS + 50);
+
+        assertThat(breaker.isOpen(CALL_SITE)).isFalse();
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+        assertThat(breaker.tryAcquire(CALL_SITE)).isFalse();
+
+        breaker.record(CALL_SITE, false, 10);
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.HALF_OPEN);
+        breaker.record(CALL_SITE, false, 10);
+
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+        // 닫히면 이전 기록은 초기화 (실패 1건으로 다시 열리지 않음)
+        recordCalls(true);
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedOrSlowProbeReopens() throws Exception {
+        open();
+        Thread.sleep(OPEN_MS + 50);
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+
+        breaker.record(CALL_SITE, true, 10);
+
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(CALL_SITE)).isFalse();
+
+        Thread.sleep(OPEN_MS + 50);
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+        breaker.record(CALL_SITE, false, 1000);
+
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void releasedProbeFreesSlotWithoutDecidingState() throws Exception {
+        open();
+        Thread.sleep(OPEN_MS + 50);
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+        assertThat(breaker.tryAcquire(CALL_SITE)).isFalse();
+
+        breaker.release(CALL_SITE);
+
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+    }
+
+    @Test
+    void disabledBreakerAlwaysAllows() {
+        config.setCircuitEnabled(false);
+
+        recordCalls(true, true, true, true);
+
+        assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+        assertThat(breaker.isOpen(CALL_SITE)).isFalse();
+    }
+
+    private void open() {
+        recordCalls(true, true, true, true);
+        assertThat(state()).isEqualTo(OpenAiCircuitBreaker.State.OPEN);
+    }
+
+    private void recordCalls(boolean... failed) {
+        for (boolean f : failed) {
+            assertThat(breaker.tryAcquire(CALL_SITE)).isTrue();
+            breaker.record(CALL_SITE, f, 10);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private OpenAiCircuitBreaker.State state() {
+        Map<String, Object> sites = (Map<String, Object>) breaker.getStats().get("callSites");
+        return (OpenAiCircuitBreaker.State) ((Map<String, Object>) sites.get(CALL_SITE)).get("state");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동일 요청 합치기 + 호출 위치별 llm.coalesced 카운터
+ */
+class OpenAiRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OpenAiRequestCoalescer coalescer =
+            new OpenAiRequestCoalescer(new OpenAiMetrics(meterRegistry, new OpenAiConfig()));
+
+    @Test
+    void concurrentSameKeyRequestsShareOneCall() {
+        Sinks.One<String> response = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> first = coalescer.execute("key", "expense_analysis", () -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+        Mono<String> second = coalescer.execute("key", "capability_analysis", () -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+
+        StringBuilder results = new StringBuilder();
+        first.subscribe(results::append);
+        second.subscribe(results::append);
+        response.tryEmitValue("ok");
+
+        assertThat(calls).hasValue(1);
+        assertThat(results).hasToString("okok");
+        assertThat(coalescedCount("capability_analysis")).isEqualTo(1.0);
+        assertThat(coalescedCount("expense_analysis")).isZero();
+    }
+
+    @Test
+    void finishedRequestIsNotJoined() {
+        coalescer.execute("key", "expense_analysis", () -> Mono.just("first")).block();
+        String second = coalescer.execute("key", "expense_analysis", () -> Mono.just("second")).block();
+
+        assertThat(second).isEqualTo("second");
+        assertThat(coalescedCount("expense_analysis")).isZero();
+    }
+
+    private double coalescedCount(String callSite) {
+        var counter = meterRegistry.find("llm.coalesced").tag("call_site", callSite).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.dto.ChatOptions.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스케줄러 슬롯 배분 (클래스 가중치 16/4/1, 같은 클래스 안 행사별 라운드로빈)
+ * + 슬롯 대기 메트릭 (llm.scheduler.queue 게이지, llm.scheduler.wait 타이머)
+ */
+class OpenAiSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OpenAiScheduler scheduler;
+
+    OpenAiSchedulerTest() {
+        OpenAiConfig config = new OpenAiConfig();
+        config.setSchedulerMaxConcurrent(1);
+        scheduler = new OpenAiScheduler(config, new OpenAiMetrics(meterRegistry, config));
+    }
+
+    @Test
+    void slotsAreSharedByPriorityWeight() {
+        Sinks.One<String> running = Sinks.one();
+        List<String> started = new ArrayList<>();
+        scheduler.schedule(Priority.INTERACTIVE, 1, running::asMono).subscribe();
+
+        for (int i = 0; i < 64; i++) {
+            for (Priority priority : Priority.values()) {
+                scheduler.schedule(priority, 1, () -> {
+                    started.add(priority.name());
+                    return Mono.just(priority.name());
+                }).subscribe();
+            }
+        }
+        running.tryEmitValue("done");
+
+        // 모든 클래스가 밀려 있는 동안은 가중치 비율대로 (16:4:1 → 42건 중 32/8/2)
+        List<String> window = started.subList(0, 42);
+        assertThat(Collections.frequency(window, Priority.INTERACTIVE.name())).isEqualTo(32);
+        assertThat(Collections.frequency(window, Priority.ADMIN_BATCH.name())).isEqualTo(8);
+        assertThat(Collections.frequency(window, Priority.BACKGROUND.name())).isEqualTo(2);
+        assertThat(started).hasSize(64 * Priority.values().length);
+    }
+
+    @Test
+    void eventsTakeTurnsWithinPriority() {
+        Sinks.One<String> running = Sinks.one();
+        List<String> started = new ArrayList<>();
+        scheduler.schedule(Priority.INTERACTIVE, 1, running::asMono).subscribe();
+
+        for (int i = 1; i <= 4; i++) {
+            scheduleEvent(1, "big-" + i, started);
+        }
+        scheduleEvent(2, "small", started);
+        scheduleEvent(null, "shared", started);
+        running.tryEmitValue("done");
+
+        // 큰 행사가 먼저 4건을 넣어도 다른 행사/공용 큐가 한 번씩 끼어듦
+        assertThat(started).containsExactly("big-1", "small", "shared", "big-2", "big-3", "big-4");
+    }
+
+    @Test
+    void queuedCallsAreGaugedPerPriority() {
+        Sinks.One<String> running = Sinks.one();
+        List<String> results = new ArrayList<>();
+
+        scheduler.schedule(Priority.BACKGROUND, 1, running::asMono).subscribe(results::add);
+        scheduler.schedule(Priority.INTERACTIVE, 1, () -> Mono.just("interactive")).subscribe(results::add);
+        scheduler.schedule(Priority.ADMIN_BATCH, 2, () -> Mono.just("batch")).subscribe(results::add);
+
+        assertThat(queued(Priority.BACKGROUND)).isZero();
+        assertThat(queued(Priority.INTERACTIVE)).isEqualTo(1.0);
+        assertThat(queued(Priority.ADMIN_BATCH)).isEqualTo(1.0);
+
+        running.tryEmitValue("background");
+
+        assertThat(results).containsExactlyInAnyOrder("background", "interactive", "batch");
+        assertThat(queued(Priority.INTERACTIVE)).isZero();
+        assertThat(queued(Priority.ADMIN_BATCH)).isZero();
+        assertThat(waitCount(Priority.BACKGROUND)).isEqualTo(1);
+        assertThat(waitCount(Priority.INTERACTIVE)).isEqualTo(1);
+        assertThat(waitCount(Priority.ADMIN_BATCH)).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledWaitLeavesQueueWithoutRecordingWait() {
+        Sinks.One<String> running = Sinks.one();
+        scheduler.schedule(Priority.INTERACTIVE, 1, running::asMono).subscribe();
+        Disposable waiting = scheduler.schedule(Priority.INTERACTIVE, 1, () -> Mono.just("late")).subscribe();
+
+        assertThat(queued(Priority.INTERACTIVE)).isEqualTo(1.0);
+        waiting.dispose();
+
+        assertThat(queued(Priority.INTERACTIVE)).isZero();
+        running.tryEmitValue("done");
+        assertThat(waitCount(Priority.INTERACTIVE)).isEqualTo(1);
+    }
+
+    private void scheduleEvent(Integer eventCode, String label, List<String> started) {
+        scheduler.schedule(Priority.INTERACTIVE, eventCode, () -> {
+            started.add(label);
+            return Mono.just(label);
+        }).subscribe();
+    }
+
+    private double queued(Priority priority) {
+        return meterRegistry.get("llm.scheduler.queue").tag("priority", tag(priority)).gauge().value();
+    }
+
+    private long waitCount(Priority priority) {
+        return meterRegistry.get("llm.scheduler.wait").tag("priority", tag(priority)).timer().count();
+    }
+
+    private static String tag(Priority priority) {
+        return priority.name().toLowerCase();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.chatgpt.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스트리밍 종료 처리 (정상 종료 시에만 전체 텍스트 저장)
+ */
+class OpenAiServiceStreamTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void completedStreamIsPassedToOnFinish() {
+        List<String> saved = new ArrayList<>();
+
+        List<String> deltas = OpenAiService.streamAndThen(Flux.just("좋은 ", "답변"), saved::add)
+                .collectList()
+                .block(TIMEOUT);
+
+        assertThat(deltas).containsExactly("좋은 ", "답변");
+        assertThat(saved).containsExactly("좋은 답변");
+    }
+
+    @Test
+    void failedStreamDoesNotSavePartialText() {
+        List<String> saved = new ArrayList<>();
+        List<String> deltas = new ArrayList<>();
+        Flux<String> truncated = Flux.just("좋은 ").concatWith(Flux.error(new IllegalStateException("upstream reset")));
+
+        assertThatThrownBy(() -> OpenAiService.streamAndThen(truncated, saved::add)
+                .doOnNext(deltas::add)
+                .blockLast(TIMEOUT))
+                .hasMessageContaining("upstream reset");
+
+        assertThat(deltas).containsExactly("좋은 ");
+        assertThat(saved).isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiStubConfig;
+import com.example.chatgpt.dto.LlmOutputDto;
+import com.example.chatgpt.dto.OpenAiDto;
+import com.example.chatgpt.service.OpenAiStubResponder.PromptFamily;
+import com.example.chatgpt.util.LlmJsonDecoder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 스텁 프롬프트 판별 + 고정 응답이 실제 디코딩 대상 DTO 제약을 통과하는지
+ * - 프롬프트는 OperatingExpenseService 의 응답 형식 부분과 같은 형태
+ */
+class OpenAiStubResponderTest {
+
+    private static final String COMBINED_PROMPT = """
+            ## 응답 형식
+            {
+              "financial": {
+                "sgnaExpenses": 판매관리비_합계(숫자만),
+                "fsScore": 재무상태점수(1-100, 숫자만)
+              },
+              "capability": {
+                "capability1": "역량명(위 6개 중 하나)",
+                "score1": 점수(1-3),
+                "capability2": "역량명(위 6개 중 하나)",
+                "score2": 점수(1-3)
+              }
+            }
+            """;
+
+    private static final String CAPABILITY_PROMPT = """
+            {
+              "capability1": "역량명(위 6개 중 하나)",
+              "score1": 점수(1-3),
+              "reason1": "점수 부여 근거",
+              "capability2": "역량명(위 6개 중 하나)",
+              "score2": 점수(1-3)
+            }
+            """;
+
+    private static final String FINANCIAL_COMPLETION_PROMPT = """
+            {
+              "sgnaExpenses": 판매관리비_합계(숫자만),
+              "rndExpenses": 연구개발비_합계(숫자만),
+              "fsScore": 재무상태점수(1-100, 숫자만),
+              "expenseClassification": {
+                "sgnaItems": ["판매관리비로 분류된 항목들"]
+              }
+            }
+            """;
+
+    private final OpenAiStubResponder responder =
+            new OpenAiStubResponder(new OpenAiStubConfig(), mock(PromptBudgeter.class));
+    private final LlmJsonDecoder decoder =
+            new LlmJsonDecoder(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void combinedExpenseAnalysisPromptGetsValidExpenseAnalysis() {
+        assertThat(responder.detectFamily(COMBINED_PROMPT)).isEqualTo(PromptFamily.EXPENSE_ANALYSIS);
+
+        LlmJsonDecoder.Decoded<LlmOutputDto.ExpenseAnalysis> decoded =
+                decoder.decode(responder.createContent(request(COMBINED_PROMPT)), LlmOutputDto.ExpenseAnalysis.class);
+
+        assertThat(decoded.violations()).isEmpty();
+        assertThat(decoded.value().getCapability().getCapability1()).isEqualTo("market_customer");
+    }
+
+    @Test
+    void capabilityPromptGetsValidCapabilityDelta() {
+        assertThat(responder.detectFamily(CAPABILITY_PROMPT)).isEqualTo(PromptFamily.CAPABILITY);
+
+        LlmJsonDecoder.Decoded<LlmOutputDto.CapabilityDelta> decoded =
+                decoder.decode(responder.createContent(request(CAPABILITY_PROMPT)), LlmOutputDto.CapabilityDelta.class);
+
+        assertThat(decoded.violations()).isEmpty();
+    }
+
+    @Test
+    void financialCompletionPromptGetsValidFinancialAnalysis() {
+        assertThat(responder.detectFamily(FINANCIAL_COMPLETION_PROMPT)).isEqualTo(PromptFamily.EXPENSE_FINANCIAL);
+
+        LlmJsonDecoder.Decoded<LlmOutputDto.FinancialAnalysis> decoded =
+                decoder.decode(responder.createContent(request(FINANCIAL_COMPLETION_PROMPT)), LlmOutputDto.FinancialAnalysis.class);
+
+        assertThat(decoded.violations()).isEmpty();
+    }
+
+    @Test
+    void unrelatedPromptFallsBackToGeneric() {
+        assertThat(responder.detectFamily("다음 사업계획서를 요약하세요.")).isEqualTo(PromptFamily.GENERIC);
+    }
+
+    private OpenAiDto.ChatRequest request(String prompt) {
+        return OpenAiDto.ChatRequest.builder()
+                .messages(List.of(OpenAiDto.Message.builder().role("user").content(prompt).build()))
+                .build();
+    }
+}
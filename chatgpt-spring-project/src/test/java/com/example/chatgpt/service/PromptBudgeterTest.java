@@ -0,0 +1,37 @@
+package com.example.chatgpt.service;
+
+import com.example.chatgpt.config.OpenAiConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 글자 수 기준 자르기 (결과가 maxChars를 넘지 않음, 생략 표시가 안 들어가는 길이도 처리)
+ */
+class PromptBudgeterTest {
+
+    private final PromptBudgeter promptBudgeter = new PromptBudgeter(new OpenAiConfig());
+
+    @Test
+    void shortTextIsReturnedAsIs() {
+        assertThat(promptBudgeter.trimToChars("짧은 문장입니다.", 100)).isEqualTo("짧은 문장입니다.");
+        assertThat(promptBudgeter.trimToChars(null, 10)).isNull();
+    }
+
+    @Test
+    void longTextIsCutAtSentenceWithMark() {
+        String text = "첫 번째 문장입니다. 두 번째 문장입니다. ".repeat(20);
+
+        String trimmed = promptBudgeter.trimToChars(text, 60);
+
+        assertThat(trimmed).hasSizeLessThanOrEqualTo(60).endsWith("(이하 생략)");
+    }
+
+    @Test
+    void limitShorterThanMarkCutsWithoutMark() {
+        String text = "가나다라마바사아자차카타파하".repeat(5);
+
+        assertThat(promptBudgeter.trimToChars(text, 5)).isEqualTo("가나다라마");
+        assertThat(promptBudgeter.trimToChars(text, 0)).isEmpty();
+    }
+}
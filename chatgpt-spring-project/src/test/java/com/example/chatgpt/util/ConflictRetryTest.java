@@ -0,0 +1,96 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.LockConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ConflictRetry 재시도 대상 분류
+ */
+class ConflictRetryTest {
+
+    private ConflictRetry conflictRetry;
+
+    @BeforeEach
+    void setUp() {
+        LockConfig lockConfig = new LockConfig();
+        lockConfig.setConflictMaxAttempts(3);
+        lockConfig.setConflictBackoffMs(1L);
+        lockConfig.setConflictMaxBackoffMs(2L);
+        conflictRetry = new ConflictRetry(lockConfig, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retriesOptimisticLockFailureUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = conflictRetry.callUnchecked("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("TeamMst", 1);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void retriesDeadlockBySqlErrorCodeInCauseChain() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        conflictRetry.callUnchecked("test", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new RuntimeException("저장 실패", new SQLException("Deadlock found", "40001", 1213));
+            }
+            return null;
+        });
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void retriesCannotAcquireLock() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> conflictRetry.callUnchecked("test", () -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("lock wait timeout");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void doesNotRetryMessagesThatOnlyContainErrorCodeDigits() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> conflictRetry.callUnchecked("test", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("팀 코드 1213 / 금액 40001 원 처리 실패");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void doesNotRetryOtherSqlErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> conflictRetry.callUnchecked("test", () -> {
+            attempts.incrementAndGet();
+            throw new RuntimeException(new SQLException("Duplicate entry '1213'", "23000", 1062));
+        })).isInstanceOf(RuntimeException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+}
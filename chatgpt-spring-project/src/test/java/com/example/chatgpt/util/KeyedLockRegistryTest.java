@@ -0,0 +1,177 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.LockConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 행사/팀 락 동작 + 처리량
+ * - 다른 팀은 병렬, 같은 팀은 순차, 행사 전체 작업은 해당 행사의 팀 작업과 배타
+ */
+class KeyedLockRegistryTest {
+
+    private static final long WORK_MS = 100;
+    private static final int TEAMS = 8;
+
+    private KeyedLockRegistry registry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        LockConfig lockConfig = new LockConfig();
+        lockConfig.setWaitTimeoutMs(10_000L);
+        registry = new KeyedLockRegistry(lockConfig, new SimpleMeterRegistry());
+        executor = Executors.newFixedThreadPool(TEAMS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void differentTeamsRunInParallel() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        long elapsedMs = runTimed(TEAMS, i -> {
+            try (KeyedLockRegistry.Handle ignored = registry.acquire(1, i + 1)) {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                sleep(WORK_MS);
+                active.decrementAndGet();
+            }
+        });
+
+        // 팀 수가 늘어도 전체 시간은 작업 한 건 수준 (처리량이 팀 수에 비례)
+        assertThat(maxActive.get()).isEqualTo(TEAMS);
+        assertThat(elapsedMs).isLessThan(WORK_MS * TEAMS / 2);
+    }
+
+    @Test
+    void sameTeamIsSerialized() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        int tasks = 4;
+
+        long elapsedMs = runTimed(tasks, i -> {
+            try (KeyedLockRegistry.Handle ignored = registry.acquire(1, 7)) {
+                if (active.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                sleep(WORK_MS);
+                active.decrementAndGet();
+            }
+        });
+
+        assertThat(overlapped).isFalse();
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(WORK_MS * tasks);
+    }
+
+    @Test
+    void eventWriteLockExcludesTeamWorkOfSameEventOnly() throws Exception {
+        CountDownLatch eventLocked = new CountDownLatch(1);
+        CountDownLatch releaseEvent = new CountDownLatch(1);
+        Future<?> eventWork = executor.submit(() -> {
+            try (KeyedLockRegistry.Handle ignored = registry.acquire(1, null)) {
+                eventLocked.countDown();
+                releaseEvent.await();
+            }
+            return null;
+        });
+        assertThat(eventLocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicBoolean sameEventEntered = new AtomicBoolean();
+        Future<?> sameEventTeam = executor.submit(() -> {
+            try (KeyedLockRegistry.Handle ignored = registry.acquire(1, 3)) {
+                sameEventEntered.set(true);
+            }
+        });
+        Future<?> otherEventTeam = executor.submit(() -> {
+            try (KeyedLockRegistry.Handle ignored = registry.acquire(2, 3)) {
+                // 다른 행사는 대기하지 않음
+            }
+        });
+
+        otherEventTeam.get(1, TimeUnit.SECONDS);
+        Thread.sleep(WORK_MS);
+        assertThat(sameEventEntered).isFalse();
+
+        releaseEvent.countDown();
+        eventWork.get(5, TimeUnit.SECONDS);
+        sameEventTeam.get(5, TimeUnit.SECONDS);
+        assertThat(sameEventEntered).isTrue();
+    }
+
+    @Test
+    void timesOutWhenLockIsHeldTooLong() throws Exception {
+        LockConfig lockConfig = new LockConfig();
+        lockConfig.setWaitTimeoutMs(50L);
+        KeyedLockRegistry shortWait = new KeyedLockRegistry(lockConfig, new SimpleMeterRegistry());
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> {
+            try (KeyedLockRegistry.Handle ignored = shortWait.acquire(1, 1)) {
+                locked.countDown();
+                release.await();
+            }
+            return null;
+        });
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> shortWait.acquire(1, 1))
+                .isInstanceOf(KeyedLockRegistry.LockTimeoutException.class);
+        assertThat(shortWait.isHeldByCurrentThread()).isFalse();
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    private long runTimed(int tasks, IndexedTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(index);
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
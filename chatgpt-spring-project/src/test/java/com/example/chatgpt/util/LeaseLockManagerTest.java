@@ -0,0 +1,147 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.LockConfig;
+import com.example.chatgpt.entity.JobLease;
+import com.example.chatgpt.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 인스턴스 간 작업 리스 (애플리케이션 컨텍스트 2개 = 서버 2대, 같은 DB 공유)
+ */
+class LeaseLockManagerTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:lease;MODE=MariaDB;DB_CLOSE_DELAY=-1";
+    private static final String OPERATION = "summary_view";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS job_lease (
+                        lease_key VARCHAR(100) NOT NULL PRIMARY KEY,
+                        operation VARCHAR(50) NOT NULL,
+                        event_code INT NOT NULL,
+                        stage INT NOT NULL,
+                        owner VARCHAR(150) NOT NULL,
+                        progress VARCHAR(500),
+                        acquired_at DATETIME(6) NOT NULL,
+                        heartbeat_at DATETIME(6) NOT NULL,
+                        expires_at DATETIME(6) NOT NULL
+                    )
+                    """);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        contexts.forEach(ConfigurableApplicationContext::close);
+        try (Connection connection = DriverManager.getConnection(DB_URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM job_lease");
+        }
+    }
+
+    @Test
+    void secondInstanceIsRejectedWhileLeaseIsLive() {
+        LeaseLockManager first = startInstance(60_000);
+        LeaseLockManager second = startInstance(60_000);
+
+        try (LeaseLockManager.Lease lease = first.acquire(OPERATION, 1, 2)) {
+            assertThatThrownBy(() -> second.acquire(OPERATION, 1, 2))
+                    .isInstanceOf(LeaseLockManager.LeaseHeldException.class);
+            assertThat(second.findRunning(OPERATION, 1, 2)).isPresent();
+
+            // 다른 키는 독립
+            second.acquire(OPERATION, 1, 3).close();
+        }
+
+        assertThat(second.findRunning(OPERATION, 1, 2)).isEmpty();
+        second.acquire(OPERATION, 1, 2).close();
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndFormerOwnerCannotSave() throws Exception {
+        LeaseLockManager first = startInstance(300);
+        LeaseLockManager second = startInstance(300);
+
+        LeaseLockManager.Lease stale = first.acquire(OPERATION, 1, 2);
+        assertThatThrownBy(() -> second.acquire(OPERATION, 1, 2))
+                .isInstanceOf(LeaseLockManager.LeaseHeldException.class);
+
+        // heartbeat 주기(60초) 전에 TTL 만료 → DB 시계 기준으로 만료된 뒤에만 인수
+        Thread.sleep(600);
+        assertThat(second.findRunning(OPERATION, 1, 2)).isEmpty();
+
+        try (LeaseLockManager.Lease takenOver = second.acquire(OPERATION, 1, 2)) {
+            assertThatThrownBy(stale::verifyHeld)
+                    .isInstanceOf(LeaseLockManager.LeaseLostException.class);
+            takenOver.verifyHeld();
+
+            // 이전 보유자의 해제는 새 보유자의 리스를 지우지 않음
+            stale.close();
+            assertThat(first.findRunning(OPERATION, 1, 2)).isPresent();
+        }
+    }
+
+    private LeaseLockManager startInstance(long leaseTtlMs) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LeaseInstance.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + DB_URL,
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "app.lock.lease-ttl-ms=" + leaseTtlMs,
+                        "app.lock.lease-heartbeat-ms=60000")
+                .run();
+        contexts.add(context);
+        return context.getBean(LeaseLockManager.class);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+                              TransactionAutoConfiguration.class})
+    @EnableConfigurationProperties
+    @EntityScan(basePackageClasses = JobLease.class)
+    @EnableJpaRepositories(basePackageClasses = JobLeaseRepository.class,
+                           includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                                                                  classes = JobLeaseRepository.class))
+    @Import({LockConfig.class, LeaseLockManager.class})
+    static class LeaseInstance {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.LockConfig;
+import com.example.chatgpt.config.OpenAiConfig;
+import com.example.chatgpt.config.QueryGuardConfig;
+import com.example.chatgpt.config.QuestionSamplingConfig;
+import com.example.chatgpt.controller.OperatingExpenseController;
+import com.example.chatgpt.controller.QuizSelectionController;
+import com.example.chatgpt.controller.SurpriseQuestionController;
+import com.example.chatgpt.entity.CompanyCapabilityScore;
+import com.example.chatgpt.entity.FinancialStatement;
+import com.example.chatgpt.entity.OperatingExpense;
+import com.example.chatgpt.entity.QuizQuestion;
+import com.example.chatgpt.entity.QuizSelection;
+import com.example.chatgpt.entity.SurpriseQuestion;
+import com.example.chatgpt.entity.SurpriseQuestionAnswer;
+import com.example.chatgpt.entity.SurpriseQuestionSelection;
+import com.example.chatgpt.entity.SurpriseQuestionSubjective;
+import com.example.chatgpt.repository.CompanyCapabilityScoreRepository;
+import com.example.chatgpt.repository.FinancialStatementRepository;
+import com.example.chatgpt.repository.OperatingExpenseRepository;
+import com.example.chatgpt.repository.QuizQuestionRepository;
+import com.example.chatgpt.repository.QuizSelectionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionAnswerRepository;
+import com.example.chatgpt.repository.SurpriseQuestionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionSelectionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionSubjectiveRepository;
+import com.example.chatgpt.service.BusinessPlanAnalyzer;
+import com.example.chatgpt.service.OperatingExpenseService;
+import com.example.chatgpt.service.QuizSelectionService;
+import com.example.chatgpt.service.SurpriseQuestionAnswerService;
+import com.example.chatgpt.service.SurpriseQuestionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요청당 SQL 한도 (failOnExceed) 로 목록/지출 API의 N+1 회귀 감지
+ * - 행이 ROWS개라도 SQL 수는 행 수와 무관해야 하므로, 한도를 ROWS보다 작게 두고 요청 전체를 실행
+ * - 한도를 넘으면 inspect()가 예외를 던져 API가 실패 응답(code -1)을 반환
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.query-guard.enabled=true",
+        "app.query-guard.fail-on-exceed=true",
+        "app.query-guard.max-statements=" + QueryCountGuardTest.MAX_STATEMENTS
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({QueryCountGuard.class, QueryGuardConfig.class,
+         SurpriseQuestionService.class, QuizSelectionService.class, OperatingExpenseService.class,
+         QuestionSamplingIndex.class, QuestionSamplingConfig.class, OpenAiConfig.class,
+         TransactionRunner.class, KeyedLockRegistry.class, ConflictRetry.class, LockConfig.class,
+         QueryCountGuardTest.Beans.class})
+class QueryCountGuardTest {
+
+    static final int MAX_STATEMENTS = 15;
+    private static final int ROWS = 20;
+    private static final int EVENT = 1;
+    private static final int TEAM = 5;
+    private static final int STAGE = 2;
+
+    @TestConfiguration
+    @EnableConfigurationProperties
+    static class Beans {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        LlmJsonDecoder llmJsonDecoder() {
+            return new LlmJsonDecoder(Validation.buildDefaultValidatorFactory().getValidator());
+        }
+    }
+
+    @MockitoBean
+    private BusinessPlanAnalyzer businessPlanAnalyzer;
+
+    @Autowired private QueryCountGuard queryCountGuard;
+    @Autowired private QueryGuardConfig queryGuardConfig;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private SurpriseQuestionService surpriseQuestionService;
+    @Autowired private QuizSelectionService quizSelectionService;
+    @Autowired private OperatingExpenseService operatingExpenseService;
+
+    @Autowired private SurpriseQuestionRepository surpriseQuestionRepository;
+    @Autowired private SurpriseQuestionSelectionRepository surpriseQuestionSelectionRepository;
+    @Autowired private SurpriseQuestionSubjectiveRepository surpriseQuestionSubjectiveRepository;
+    @Autowired private SurpriseQuestionAnswerRepository surpriseQuestionAnswerRepository;
+    @Autowired private QuizQuestionRepository quizQuestionRepository;
+    @Autowired private QuizSelectionRepository quizSelectionRepository;
+    @Autowired private OperatingExpenseRepository operatingExpenseRepository;
+    @Autowired private FinancialStatementRepository financialStatementRepository;
+    @Autowired private CompanyCapabilityScoreRepository companyCapabilityScoreRepository;
+
+    private MockMvc mockMvc;
+    private double exceededBefore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new SurpriseQuestionController(surpriseQuestionService, mock(SurpriseQuestionAnswerService.class)),
+                        new QuizSelectionController(quizSelectionService),
+                        new OperatingExpenseController(operatingExpenseService))
+                .addFilters(queryCountGuard)
+                .build();
+        exceededBefore = exceededCount();
+
+        String cannedAnalysis = new ClassPathResource("openai-stub/expense-analysis.json")
+                .getContentAsString(StandardCharsets.UTF_8);
+        when(businessPlanAnalyzer.callChatGptApi(anyString(), any())).thenReturn(cannedAnalysis);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryGuardConfig.setMaxStatements(MAX_STATEMENTS);
+        surpriseQuestionSelectionRepository.deleteAll();
+        surpriseQuestionRepository.deleteAll();
+        surpriseQuestionAnswerRepository.deleteAll();
+        surpriseQuestionSubjectiveRepository.deleteAll();
+        quizSelectionRepository.deleteAll();
+        quizQuestionRepository.deleteAll();
+        operatingExpenseRepository.deleteAll();
+        financialStatementRepository.deleteAll();
+        companyCapabilityScoreRepository.deleteAll();
+    }
+
+    @Test
+    void surpriseQuestionListStaysWithinBudget() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            SurpriseQuestion question = surpriseQuestionRepository.save(SurpriseQuestion.builder()
+                    .categoryCode(1).cardTitle("카드 " + i).situationDescription("상황 " + i)
+                    .questionText("질문 " + i).option1("A").option2("B").option3("C").hintText("힌트").answer(1)
+                    .createdAt(now).updatedAt(now)
+                    .build());
+            surpriseQuestionSelectionRepository.save(SurpriseQuestionSelection.builder()
+                    .sqCode(question.getSqCode()).eventCode(EVENT).teamCode(TEAM).sqAnswer("1")
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/v1/surprise-question/list")
+                        .param("eventCode", String.valueOf(EVENT))
+                        .param("teamCode", String.valueOf(TEAM)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(1))
+                .andExpect(jsonPath("$.data.length()").value(ROWS));
+
+        assertThat(exceededCount()).isEqualTo(exceededBefore);
+    }
+
+    @Test
+    void subjectiveQuestionListStaysWithinBudget() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            SurpriseQuestionSubjective question = surpriseQuestionSubjectiveRepository.save(SurpriseQuestionSubjective.builder()
+                    .categoryCode(1).cardTitle("카드 " + i).situationDescription("상황 " + i).questionText("질문 " + i)
+                    .createdAt(now).updatedAt(now)
+                    .build());
+            surpriseQuestionAnswerRepository.save(SurpriseQuestionAnswer.builder()
+                    .sqSubjCode(question.getSqSubjCode()).eventCode(EVENT).teamCode(TEAM).answerText("답변 " + i)
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/v1/surprise-question-subjective/list")
+                        .param("eventCode", String.valueOf(EVENT))
+                        .param("teamCode", String.valueOf(TEAM)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(1))
+                .andExpect(jsonPath("$.data.length()").value(ROWS));
+
+        assertThat(exceededCount()).isEqualTo(exceededBefore);
+    }
+
+    @Test
+    void quizSelectionListStaysWithinBudget() throws Exception {
+        for (int i = 1; i <= ROWS; i++) {
+            quizQuestionRepository.save(QuizQuestion.builder()
+                    .quizCode(i).questionText("퀴즈 " + i)
+                    .option1("A").option2("B").option3("C").option4("D").hintText("힌트").answer("1")
+                    .build());
+            quizSelectionRepository.save(QuizSelection.builder()
+                    .quizCode(i).teamCode(TEAM).stageStep(STAGE)
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/v1/quiz-selection/list")
+                        .param("teamCode", String.valueOf(TEAM))
+                        .param("stageStep", String.valueOf(STAGE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(1))
+                .andExpect(jsonPath("$.data.length()").value(ROWS));
+
+        assertThat(exceededCount()).isEqualTo(exceededBefore);
+    }
+
+    @Test
+    void expenseUpdateStaysWithinBudget() throws Exception {
+        financialStatementRepository.save(FinancialStatement.builder()
+                .eventCode(EVENT).teamCode(TEAM).stageStep(STAGE).revenue(50_000_000)
+                .build());
+        companyCapabilityScoreRepository.save(CompanyCapabilityScore.createDefault(EVENT, TEAM));
+        List<Integer> expenseCodes = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            expenseCodes.add(operatingExpenseRepository.save(OperatingExpense.builder()
+                    .eventCode(EVENT).teamCode(TEAM).stageStep(STAGE)
+                    .llmResponse("지출 항목 " + i).expenseAmount("0")
+                    .build()).getExpenseCode());
+        }
+
+        String body = expenseCodes.stream()
+                .map(code -> "{\"expenseCode\":" + code + ",\"expenseAmount\":\"1500000\"}")
+                .collect(Collectors.joining(",", "{\"expenses\":[", "]}"));
+
+        mockMvc.perform(put("/api/expense/update").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(1));
+
+        assertThat(exceededCount()).isEqualTo(exceededBefore);
+        assertThat(operatingExpenseRepository.findByTeamCodeAndStageStep(TEAM, STAGE))
+                .extracting(OperatingExpense::getExpenseAmount)
+                .containsOnly("1500000");
+        assertThat(financialStatementRepository.findByEventCodeAndTeamCodeAndStageStep(EVENT, TEAM, STAGE))
+                .get()
+                .extracting(FinancialStatement::getFsScore)
+                .isNotNull();
+    }
+
+    @Test
+    void requestOverBudgetFails() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        IntStream.range(0, 3).forEach(i -> {
+            SurpriseQuestion question = surpriseQuestionRepository.save(SurpriseQuestion.builder()
+                    .categoryCode(1).cardTitle("카드 " + i).situationDescription("상황 " + i)
+                    .questionText("질문 " + i).option1("A").option2("B").option3("C").hintText("힌트").answer(1)
+                    .createdAt(now).updatedAt(now)
+                    .build());
+            surpriseQuestionSelectionRepository.save(SurpriseQuestionSelection.builder()
+                    .sqCode(question.getSqCode()).eventCode(EVENT).teamCode(TEAM).sqAnswer("1")
+                    .build());
+        });
+        // 목록 조회는 SQL 2개 (답변 목록 + 질문 IN 조회) → 한도 1이면 두 번째 SQL에서 실패
+        queryGuardConfig.setMaxStatements(1);
+
+        mockMvc.perform(get("/api/v1/surprise-question/list")
+                        .param("eventCode", String.valueOf(EVENT))
+                        .param("teamCode", String.valueOf(TEAM)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(-1));
+
+        assertThat(exceededCount()).isEqualTo(exceededBefore + 1);
+    }
+
+    private double exceededCount() {
+        Counter counter = meterRegistry.find("app.query.guard.exceeded").counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
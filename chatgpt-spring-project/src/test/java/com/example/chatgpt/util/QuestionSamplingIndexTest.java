@@ -0,0 +1,123 @@
+package com.example.chatgpt.util;
+
+import com.example.chatgpt.config.QuestionSamplingConfig;
+import com.example.chatgpt.repository.QuizQuestionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionAnswerRepository;
+import com.example.chatgpt.repository.SurpriseQuestionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionSelectionRepository;
+import com.example.chatgpt.repository.SurpriseQuestionSubjectiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 질문 ID 인덱스 재적재 (재적재 전에는 스냅샷 유지, refresh()/invalidate() 이후 반영)
+ * + 팀별 답변한 돌발질문 목록 (팀당 한 번 조회, 저장 시 추가)
+ */
+class QuestionSamplingIndexTest {
+
+    private static final int SAMPLES = 200;
+
+    private final QuizQuestionRepository quizQuestionRepository = mock(QuizQuestionRepository.class);
+    private final SurpriseQuestionRepository surpriseQuestionRepository = mock(SurpriseQuestionRepository.class);
+    private final SurpriseQuestionSubjectiveRepository surpriseQuestionSubjectiveRepository =
+            mock(SurpriseQuestionSubjectiveRepository.class);
+    private final SurpriseQuestionSelectionRepository surpriseQuestionSelectionRepository =
+            mock(SurpriseQuestionSelectionRepository.class);
+    private final SurpriseQuestionAnswerRepository surpriseQuestionAnswerRepository =
+            mock(SurpriseQuestionAnswerRepository.class);
+    private QuestionSamplingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        QuestionSamplingConfig config = new QuestionSamplingConfig();
+        config.setRefreshMs(Long.MAX_VALUE);
+        index = new QuestionSamplingIndex(quizQuestionRepository, surpriseQuestionRepository,
+                                          surpriseQuestionSubjectiveRepository, surpriseQuestionSelectionRepository,
+                                          surpriseQuestionAnswerRepository, config);
+        when(surpriseQuestionRepository.findCategoryAndCodes()).thenReturn(List.of());
+        when(surpriseQuestionSubjectiveRepository.findCategoryAndCodes()).thenReturn(List.of());
+    }
+
+    @Test
+    void addedQuestionIsSampledOnlyAfterInvalidate() {
+        when(quizQuestionRepository.findAllQuizCodes()).thenReturn(List.of(1), List.of(1, 2));
+
+        assertThat(sampleQuizzes()).containsExactly(1);
+
+        index.invalidate();
+
+        assertThat(sampleQuizzes()).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void refreshReplacesSnapshotWithoutRequestPathReload() {
+        when(quizQuestionRepository.findAllQuizCodes()).thenReturn(List.of(1), List.of(1, 2));
+
+        assertThat(sampleQuizzes()).containsExactly(1);
+        verify(quizQuestionRepository, times(1)).findAllQuizCodes();
+
+        index.refresh();
+
+        assertThat(sampleQuizzes()).containsExactlyInAnyOrder(1, 2);
+        verify(quizQuestionRepository, times(2)).findAllQuizCodes();
+    }
+
+    @Test
+    void failedRefreshKeepsPreviousSnapshot() {
+        when(quizQuestionRepository.findAllQuizCodes())
+                .thenReturn(List.of(1))
+                .thenThrow(new IllegalStateException("db down"));
+
+        assertThat(sampleQuizzes()).containsExactly(1);
+        index.refresh();
+
+        assertThat(sampleQuizzes()).containsExactly(1);
+    }
+
+    @Test
+    void answeredCodesAreLoadedOncePerTeamAndUpdatedOnSave() {
+        when(surpriseQuestionSelectionRepository.findSqCodesByTeamCode(7)).thenReturn(List.of(1));
+
+        assertThat(index.answeredSurprise(7)).containsExactly(1);
+        index.markSurpriseAnswered(7, 2);
+        index.markSurpriseAnswered(8, 3);
+
+        assertThat(index.answeredSurprise(7)).containsExactlyInAnyOrder(1, 2);
+        verify(surpriseQuestionSelectionRepository, times(1)).findSqCodesByTeamCode(7);
+
+        index.refresh();
+        index.answeredSurprise(7);
+        verify(surpriseQuestionSelectionRepository, times(2)).findSqCodesByTeamCode(7);
+    }
+
+    @Test
+    void missingQuestionTriggersReloadAndRetry() {
+        when(quizQuestionRepository.findAllQuizCodes()).thenReturn(List.of(1), List.of(2));
+
+        Optional<Integer> found = index.fetch(index::sampleQuiz,
+                code -> code == 2 ? Optional.of(code) : Optional.empty());
+
+        assertThat(found).contains(2);
+    }
+
+    private Set<Integer> sampleQuizzes() {
+        Set<Integer> sampled = new HashSet<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            OptionalInt code = index.sampleQuiz();
+            code.ifPresent(sampled::add);
+        }
+        return sampled;
+    }
+}